@@ -2,6 +2,8 @@ import axios from 'axios';
 
 const API = axios.create({
     baseURL: process.env.REACT_APP_API_URL || 'http://localhost:8080/api',
+    // Sends back the cookie that keeps reads on the primary after a write
+    withCredentials: true,
     headers: {
         'Content-Type': 'application/json',
     },
@@ -47,6 +49,7 @@ export const expenseAPI = {
     getByUser: (userId) => API.get(`/expenses/user/${userId}`),
     getTotal: (userId) => API.get(`/expenses/user/${userId}/total`),
     getByCategory: (userId) => API.get(`/expenses/user/${userId}/by-category`),
+    search: (userId, params) => API.get(`/expenses/user/${userId}/search`, { params }),
     create: (data) => API.post('/expenses', data),
     update: (id, data) => API.put(`/expenses/${id}`, data),
     delete: (id) => API.delete(`/expenses/${id}`),
@@ -55,6 +58,7 @@ export const expenseAPI = {
 export const goalAPI = {
     getAll: () => API.get('/goals'),
     getByUser: (userId) => API.get(`/goals/user/${userId}`),
+    getForecasts: (userId) => API.get(`/goals/user/${userId}/forecasts`),
     create: (data) => API.post('/goals', data),
     update: (id, data) => API.put(`/goals/${id}`, data),
     contribute: (id, amount) => API.patch(`/goals/${id}/contribute?amount=${amount}`),
@@ -96,7 +100,12 @@ export const budgetAPI = {
 
 export const reportAPI = {
     getByUser: (userId) => API.get(`/reports/user/${userId}`),
+    getById: (id) => API.get(`/reports/${id}`),
+    getStatus: (id) => API.get(`/reports/${id}/status`),
     create: (data) => API.post('/reports', data),
+    // params: { type, from, to }
+    generate: (userId, params) =>
+        API.post(`/reports/user/${userId}/generate`, null, { params }),
     delete: (id) => API.delete(`/reports/${id}`),
 };
 
@@ -104,4 +113,10 @@ export const dashboardAPI = {
     get: (userId) => API.get(`/dashboard/${userId}`),
 };
 
+// params: { from, to, granularity: 'DAILY' | 'WEEKLY' | 'MONTHLY' }
+export const analyticsAPI = {
+    getTrend: (userId, params) =>
+        API.get(`/analytics/user/${userId}/trend`, { params }),
+};
+
 export default API;
\ No newline at end of file
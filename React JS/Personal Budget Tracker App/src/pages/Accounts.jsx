@@ -18,6 +18,7 @@ const Accounts = () => {
         accountType: 'BANK',
         initialBalance: '',
         currentBalance: '',
+        currency: '',
         isActive: true
     });
 
@@ -69,6 +70,7 @@ const Accounts = () => {
             accountType: account.accountType,
             initialBalance: account.initialBalance,
             currentBalance: account.currentBalance,
+            currency: account.currency,
             isActive: account.isActive
         });
         setShowModal(true);
@@ -89,6 +91,7 @@ const Accounts = () => {
             accountType: 'BANK',
             initialBalance: '',
             currentBalance: '',
+            currency: '',
             isActive: true
         });
     };
@@ -129,13 +132,13 @@ const Accounts = () => {
                             <tr key={acc.accountId}>
                                 <td><strong>{acc.accountName}</strong></td>
                                 <td>{acc.accountType}</td>
-                                <td>₹{acc.initialBalance?.toLocaleString()}</td>
+                                <td>{acc.currency} {acc.initialBalance?.toLocaleString()}</td>
                                 <td className={
                                     acc.currentBalance >= acc.initialBalance
                                         ? 'amount-positive'
                                         : 'amount-negative'
                                 }>
-                                    ₹{acc.currentBalance?.toLocaleString()}
+                                    {acc.currency} {acc.currentBalance?.toLocaleString()}
                                 </td>
                                 <td>
                                     <span className={`status-badge ${
@@ -247,6 +250,27 @@ const Accounts = () => {
                                     />
                                 </div>
                             </div>
+                            {/* An account's currency is fixed once created */}
+                            {!editId && (
+                                <div className="form-group">
+                                    <label>Currency</label>
+                                    <select
+                                        className="form-control"
+                                        value={form.currency}
+                                        onChange={(e) =>
+                                            setForm({
+                                                ...form,
+                                                currency: e.target.value
+                                            })
+                                        }
+                                    >
+                                        <option value="">My currency</option>
+                                        <option value="INR">INR (₹)</option>
+                                        <option value="USD">USD ($)</option>
+                                        <option value="EUR">EUR (€)</option>
+                                    </select>
+                                </div>
+                            )}
                             <div className="form-group">
                                 <label>Current Balance</label>
                                 <input
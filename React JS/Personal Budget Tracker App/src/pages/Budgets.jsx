@@ -98,7 +98,7 @@ const Budgets = ({ userId }) => {
                             }}>
                                 <div>
                                     <strong>
-                                        {budget.category?.categoryName}
+                                        {budget.categoryName}
                                     </strong>
                                     <span style={{
                                         marginLeft: 12,
@@ -132,11 +132,11 @@ const Expenses = ({ userId }) => {
                                 <td>{exp.dateSpent}</td>
                                 <td>
                                     <span className="status-badge active">
-                                        {exp.category?.categoryName}
+                                        {exp.categoryName}
                                     </span>
                                 </td>
                                 <td>{exp.description}</td>
-                                <td>{exp.account?.accountName}</td>
+                                <td>{exp.accountName}</td>
                                 <td>{exp.paymentMethod}</td>
                                 <td className="amount-negative">
                                     -₹{exp.amount?.toLocaleString()}
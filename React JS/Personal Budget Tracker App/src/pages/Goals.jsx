@@ -3,6 +3,7 @@ import { goalAPI, userAPI } from '../api/axiosConfig';
 
 const Goals = ({ userId }) => {
     const [goals, setGoals] = useState([]);
+    const [forecasts, setForecasts] = useState({});
     const [showModal, setShowModal] = useState(false);
     const [contributeModal, setContributeModal] = useState(null);
     const [contributeAmount, setContributeAmount] = useState('');
@@ -15,8 +16,14 @@ const Goals = ({ userId }) => {
 
     const loadGoals = async () => {
         try {
-            const res = await goalAPI.getByUser(userId);
+            const [res, forecastRes] = await Promise.all([
+                goalAPI.getByUser(userId),
+                goalAPI.getForecasts(userId)
+            ]);
             setGoals(res.data);
+            setForecasts(Object.fromEntries(
+                forecastRes.data.map((f) => [f.goalId, f])
+            ));
         } catch (err) { console.error(err); }
     };
 
@@ -113,6 +120,13 @@ const Goals = ({ userId }) => {
                                         Saved: ₹{goal.currentAmount?.toLocaleString()}
                                     </p>
                                     <p>Target Date: {goal.targetDate}</p>
+                                    {forecasts[goal.goalId]?.projectedDate && (
+                                        <p>
+                                            Projected: {forecasts[goal.goalId].projectedDate}
+                                            {forecasts[goal.goalId].onTrack === false
+                                                && ' (behind target)'}
+                                        </p>
+                                    )}
                                 </div>
                                 <div className="progress-bar">
                                     <div
@@ -143,7 +143,7 @@ const Income = () => {
                                 <td>{inc.dateReceived}</td>
                                 <td>{inc.incomeType}</td>
                                 <td>{inc.description}</td>
-                                <td>{inc.account?.accountName}</td>
+                                <td>{inc.accountName}</td>
                                 <td className="amount-positive">
                                     +₹{inc.amount?.toLocaleString()}
                                 </td>
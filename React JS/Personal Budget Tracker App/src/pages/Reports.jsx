@@ -1,11 +1,29 @@
 import React, { useState, useEffect } from 'react';
 import { reportAPI } from '../api/axiosConfig';
 
+const REPORT_TYPES = [
+    'MONTHLY_STATEMENT', 'CATEGORY_BREAKDOWN', 'CASH_FLOW', 'GOAL_PROGRESS'
+];
+
 const Reports = ({ userId }) => {
     const [reports, setReports] = useState([]);
+    const [showModal, setShowModal] = useState(false);
+    const [form, setForm] = useState({
+        type: 'MONTHLY_STATEMENT', from: '', to: ''
+    });
 
     useEffect(() => { loadReports(); }, [userId]);
 
+    // Poll while any report is still being generated
+    useEffect(() => {
+        const unfinished = reports.some(
+            r => r.status === 'PENDING' || r.status === 'RUNNING'
+        );
+        if (!unfinished) return undefined;
+        const timer = setTimeout(loadReports, 2000);
+        return () => clearTimeout(timer);
+    }, [reports]);
+
     const loadReports = async () => {
         try {
             const res = await reportAPI.getByUser(userId);
@@ -13,6 +31,35 @@ const Reports = ({ userId }) => {
         } catch (err) { console.error(err); }
     };
 
+    const handleSubmit = async (e) => {
+        e.preventDefault();
+        try {
+            await reportAPI.generate(userId, {
+                type: form.type,
+                from: form.from || undefined,
+                to: form.to || undefined
+            });
+            setShowModal(false);
+            setForm({ type: 'MONTHLY_STATEMENT', from: '', to: '' });
+            loadReports();
+        } catch (err) { console.error(err); }
+    };
+
+    const handleView = async (id) => {
+        try {
+            const res = await reportAPI.getById(id);
+            const win = window.open('', '_blank');
+            if (win) {
+                // textContent, so descriptions are never parsed as HTML
+                const pre = win.document.createElement('pre');
+                pre.textContent = JSON.stringify(
+                    JSON.parse(res.data.data), null, 2
+                );
+                win.document.body.appendChild(pre);
+            }
+        } catch (err) { console.error(err); }
+    };
+
     const handleDelete = async (id) => {
         if (window.confirm('Delete this report?')) {
             await reportAPI.delete(id);
@@ -25,6 +72,12 @@ const Reports = ({ userId }) => {
             <div className="card">
                 <div className="card-header">
                     <h3>📈 Reports</h3>
+                    <button
+                        className="btn btn-primary"
+                        onClick={() => setShowModal(true)}
+                    >
+                        + Generate Report
+                    </button>
                 </div>
 
                 <table className="data-table">
@@ -32,6 +85,8 @@ const Reports = ({ userId }) => {
                         <tr>
                             <th>Report ID</th>
                             <th>Type</th>
+                            <th>Period</th>
+                            <th>Status</th>
                             <th>Generated At</th>
                             <th>Actions</th>
                         </tr>
@@ -45,12 +100,34 @@ const Reports = ({ userId }) => {
                                         {report.reportType}
                                     </span>
                                 </td>
+                                <td>
+                                    {report.periodStart
+                                        ? `${report.periodStart} – ${report.periodEnd}`
+                                        : '-'}
+                                </td>
+                                <td title={report.errorMessage || ''}>
+                                    <span className={`status-badge ${
+                                        report.status?.toLowerCase()
+                                    }`}>
+                                        {report.status || '-'}
+                                    </span>
+                                </td>
                                 <td>
                                     {new Date(
                                         report.generatedAt
                                     ).toLocaleString()}
                                 </td>
                                 <td>
+                                    {report.status === 'COMPLETED' && (
+                                        <button
+                                            className="btn btn-primary btn-sm"
+                                            onClick={() =>
+                                                handleView(report.reportId)
+                                            }
+                                        >
+                                            👁️
+                                        </button>
+                                    )}
                                     <button
                                         className="btn btn-danger btn-sm"
                                         onClick={() =>
@@ -72,8 +149,71 @@ const Reports = ({ userId }) => {
                     </div>
                 )}
             </div>
+
+            {showModal && (
+                <div className="modal-overlay" onClick={() => setShowModal(false)}>
+                    <div className="modal" onClick={(e) => e.stopPropagation()}>
+                        <h3>Generate Report</h3>
+                        <form onSubmit={handleSubmit}>
+                            <div className="form-group">
+                                <label>Report Type</label>
+                                <select
+                                    className="form-control"
+                                    value={form.type}
+                                    onChange={(e) =>
+                                        setForm({...form, type: e.target.value})
+                                    }
+                                >
+                                    {REPORT_TYPES.map((type) => (
+                                        <option key={type} value={type}>
+                                            {type}
+                                        </option>
+                                    ))}
+                                </select>
+                            </div>
+                            <div className="form-row">
+                                <div className="form-group">
+                                    <label>From (default: this month)</label>
+                                    <input
+                                        type="date"
+                                        className="form-control"
+                                        value={form.from}
+                                        onChange={(e) =>
+                                            setForm({...form, from: e.target.value})
+                                        }
+                                    />
+                                </div>
+                                <div className="form-group">
+                                    <label>To</label>
+                                    <input
+                                        type="date"
+                                        className="form-control"
+                                        value={form.to}
+                                        onChange={(e) =>
+                                            setForm({...form, to: e.target.value})
+                                        }
+                                    />
+                                </div>
+                            </div>
+                            <div className="modal-actions">
+                                <button
+                                    type="button"
+                                    className="btn"
+                                    onClick={() => setShowModal(false)}
+                                    style={{ background: '#eee' }}
+                                >
+                                    Cancel
+                                </button>
+                                <button type="submit" className="btn btn-primary">
+                                    Generate
+                                </button>
+                            </div>
+                        </form>
+                    </div>
+                </div>
+            )}
         </div>
     );
 };
 
-export default Reports;
\ No newline at end of file
+export default Reports;
@@ -82,8 +82,8 @@ const Transfers = ({ userId }) => {
                         {transfers.map((t) => (
                             <tr key={t.transferId}>
                                 <td>{t.date}</td>
-                                <td>{t.fromAccount?.accountName}</td>
-                                <td>{t.toAccount?.accountName}</td>
+                                <td>{t.fromAccountName}</td>
+                                <td>{t.toAccountName}</td>
                                 <td>₹{t.amount?.toLocaleString()}</td>
                                 <td>{t.description}</td>
                             </tr>
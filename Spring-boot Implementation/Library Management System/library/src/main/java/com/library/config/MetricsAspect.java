@@ -0,0 +1,136 @@
+// config/MetricsAspect.java
+package com.library.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service and repository metrics.
+ *
+ * Every public method of a @Service is timed as service.method, tagged
+ * with class, method and the exception thrown ("none" on success), so
+ * the same series give latency histograms and error counts. Helpers in
+ * the service package that are plain components (caches, batches) are
+ * left alone. Meters are built once per method and outcome and then
+ * looked up, so a timed call allocates nothing of its own. Repository
+ * latency and errors come from Spring Data's own
+ * spring.data.repository.invocations; this adds repository.rows, the
+ * number of rows each query method returned. Aggregates and streams are
+ * not counted.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Method, Map<String, Timer>> serviceTimers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Map<Method, DistributionSummary>> rowSummaries =
+            new ConcurrentHashMap<>();
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.library.service..*(..)) "
+            + "&& @within(org.springframework.stereotype.Service)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            serviceTimer(((MethodSignature) joinPoint.getSignature()).getMethod(), exception)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @AfterReturning(
+            pointcut = "execution(* org.springframework.data.repository.Repository+.*(..))",
+            returning = "result")
+    public void countRows(JoinPoint joinPoint, Object result) {
+        long rows;
+        if (result instanceof Collection<?> collection) {
+            rows = collection.size();
+        } else if (result instanceof Slice<?> slice) {
+            rows = slice.getNumberOfElements();
+        } else if (result instanceof Optional<?> optional) {
+            rows = optional.isPresent() ? 1 : 0;
+        } else {
+            return;
+        }
+
+        rowSummary(joinPoint.getThis(),
+                ((MethodSignature) joinPoint.getSignature()).getMethod())
+                .record(rows);
+    }
+
+    private Timer serviceTimer(Method method, String exception) {
+        Map<String, Timer> byException = serviceTimers.get(method);
+        if (byException == null) {
+            byException = serviceTimers.computeIfAbsent(method,
+                    key -> new ConcurrentHashMap<>());
+        }
+        Timer timer = byException.get(exception);
+        if (timer == null) {
+            timer = byException.computeIfAbsent(exception, key ->
+                    Timer.builder("service.method")
+                            .description("Service method latency")
+                            .tag("class", method.getDeclaringClass().getSimpleName())
+                            .tag("method", method.getName())
+                            .tag("exception", key)
+                            .publishPercentileHistogram()
+                            .register(meterRegistry));
+        }
+        return timer;
+    }
+
+    private DistributionSummary rowSummary(Object proxy, Method method) {
+        Map<Method, DistributionSummary> byMethod = rowSummaries.get(proxy.getClass());
+        if (byMethod == null) {
+            byMethod = rowSummaries.computeIfAbsent(proxy.getClass(),
+                    key -> new ConcurrentHashMap<>());
+        }
+        DistributionSummary summary = byMethod.get(method);
+        if (summary == null) {
+            summary = byMethod.computeIfAbsent(method, key ->
+                    DistributionSummary.builder("repository.rows")
+                            .description("Rows returned per repository query")
+                            .tag("repository", repositoryName(proxy))
+                            .tag("method", key.getName())
+                            .register(meterRegistry));
+        }
+        return summary;
+    }
+
+    // The application interface behind the Spring Data proxy
+    private String repositoryName(Object proxy) {
+        return repositoryNames.computeIfAbsent(proxy.getClass(), type -> {
+            for (Class<?> face : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+                if (face.getPackageName().startsWith("com.library")) {
+                    return face.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+}
@@ -0,0 +1,126 @@
+// config/StatementCountFilter.java
+package com.library.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Records how many SQL statements each request ran, as the
+ * http.server.statements summary tagged by method and URI pattern, and
+ * logs requests at or above the warning threshold: a count that grows
+ * with the size of the result is the mark of an N+1 query.
+ *
+ * With library.metrics.statement-header on (the dev profile) the
+ * count is also returned in the X-Statement-Count header. Headers must
+ * go out before the body, so the header counts the statements run
+ * before the response started; the metric and the log line count all.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class StatementCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Statement-Count";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${library.metrics.statement-header:false}")
+    private boolean header;
+
+    @Value("${library.metrics.statement-warn-threshold:50}")
+    private int warnThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain)
+            throws ServletException, IOException {
+
+        CountHeaderResponse counted = header
+                ? new CountHeaderResponse(response)
+                : null;
+
+        StatementCounter.start();
+        try {
+            chain.doFilter(request, counted != null ? counted : response);
+            if (counted != null) {
+                // No body was written
+                counted.addCountHeader();
+            }
+        } finally {
+            record(request, StatementCounter.stop());
+        }
+    }
+
+    private void record(HttpServletRequest request, int count) {
+        Object pattern = request.getAttribute(
+                HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("http.server.statements")
+                .description("SQL statements run per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(count);
+
+        if (count >= warnThreshold) {
+            log.warn("{} {} ran {} SQL statements, possible N+1 query",
+                    request.getMethod(), request.getRequestURI(), count);
+        }
+    }
+
+    // Adds the header as the body starts
+    private static class CountHeaderResponse extends HttpServletResponseWrapper {
+
+        private boolean added;
+
+        CountHeaderResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        void addCountHeader() {
+            if (!added && !isCommitted()) {
+                setHeader(HEADER, String.valueOf(StatementCounter.current()));
+            }
+            added = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addCountHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addCountHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addCountHeader();
+            super.flushBuffer();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 // File: src/main/java/com/healthcare/config/JwtAuthenticationFilter.java
 package com.healthcare.config;
 
+import com.healthcare.service.EventTicketService;
+import com.healthcare.util.JwtClaims;
 import com.healthcare.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -20,7 +22,10 @@ import java.util.Collections;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String EVENTS_PATH = "/api/events";
+
     private final JwtUtil jwtUtil;
+    private final EventTicketService ticketService;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -29,31 +34,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         String authHeader = request.getHeader("Authorization");
-
+        JwtClaims claims = null;
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String token = authHeader.substring(7);
             try {
-                String email = jwtUtil.extractEmail(token);
-                String role = jwtUtil.extractRole(token);
-
-                if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    if (jwtUtil.validateToken(token, email)) {
-                        UsernamePasswordAuthenticationToken authToken =
-                                new UsernamePasswordAuthenticationToken(
-                                        email,
-                                        null,
-                                        Collections.singletonList(
-                                                new SimpleGrantedAuthority("ROLE_" + role)
-                                        )
-                                );
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                    }
-                }
+                // One verification per request; repeat tokens come from the cache
+                claims = jwtUtil.validate(authHeader.substring(7));
             } catch (Exception e) {
-                logger.error("JWT authentication failed", e);
+                // An expired or forged token is the client's problem, not ours
+                logger.debug("JWT authentication failed: " + e.getMessage());
+            }
+        } else if (EVENTS_PATH.equals(request.getServletPath())) {
+            // EventSource cannot set headers, so the stream takes a one-time ticket instead
+            String ticket = request.getParameter("ticket");
+            if (ticket != null) {
+                claims = ticketService.redeem(ticket);
             }
         }
 
+        if (claims != null && claims.email() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(
+                            claims.email(),
+                            null,
+                            Collections.singletonList(
+                                    new SimpleGrantedAuthority("ROLE_" + claims.role())
+                            )
+                    );
+            // Carries the user id for endpoints that need it
+            authToken.setDetails(claims);
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
+
         filterChain.doFilter(request, response);
     }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+// File: src/main/java/com/healthcare/controller/EventController.java
+package com.healthcare.controller;
+
+import com.healthcare.service.EventStreamService;
+import com.healthcare.service.EventTicketService;
+import com.healthcare.util.JwtClaims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+/**
+ * The signed-in user's event stream: "notification" and "message"
+ * events as they are created, in place of polling for them. Clients
+ * that cannot send the token, as EventSource cannot, first take a
+ * ticket and open the stream with ?ticket= instead.
+ */
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+public class EventController {
+
+    private final EventStreamService service;
+    private final EventTicketService ticketService;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(Authentication authentication) {
+        JwtClaims claims = (JwtClaims) authentication.getDetails();
+        return service.subscribe(claims.userId());
+    }
+
+    @PostMapping("/ticket")
+    public ResponseEntity<Map<String, String>> ticket(Authentication authentication) {
+        JwtClaims claims = (JwtClaims) authentication.getDetails();
+        return ResponseEntity.ok(Map.of("ticket", ticketService.issue(claims)));
+    }
+}
@@ -0,0 +1,75 @@
+// File: src/main/java/com/healthcare/controller/VitalController.java
+package com.healthcare.controller;
+
+import com.healthcare.dto.VitalReading;
+import com.healthcare.dto.VitalSeriesDTO;
+import com.healthcare.model.VitalThreshold;
+import com.healthcare.service.VitalAlertService;
+import com.healthcare.service.VitalIngestService;
+import com.healthcare.service.VitalService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/vitals")
+@RequiredArgsConstructor
+public class VitalController {
+
+    private final VitalService service;
+    private final VitalIngestService ingestService;
+    private final VitalAlertService alertService;
+
+    @PostMapping
+    public ResponseEntity<Map<String, Integer>> record(@RequestBody List<VitalReading> readings) {
+        return ResponseEntity.ok(Map.of("accepted", service.record(readings)));
+    }
+
+    // Monitor feeds: logged and queued, written shortly after the 202
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Integer>> ingest(@RequestBody List<VitalReading> readings) {
+        return ResponseEntity.accepted().body(Map.of("accepted", ingestService.accept(readings)));
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Map<String, Integer>> ingestNdjson(InputStream body) throws IOException {
+        return ResponseEntity.accepted().body(Map.of("accepted", ingestService.acceptNdjson(body)));
+    }
+
+    @ExceptionHandler(VitalIngestService.QueueFullException.class)
+    public ResponseEntity<Map<String, String>> queueFull(VitalIngestService.QueueFullException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", e.getMessage()));
+    }
+
+    @GetMapping("/patient/{patientId}")
+    public ResponseEntity<VitalSeriesDTO> getSeries(
+            @PathVariable Integer patientId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "500") int points) {
+        return ResponseEntity.ok(service.getSeries(patientId, from, to, points));
+    }
+
+    @GetMapping("/thresholds/patient/{patientId}")
+    public ResponseEntity<VitalThreshold> getThreshold(@PathVariable Integer patientId) {
+        return ResponseEntity.ok(alertService.getThreshold(patientId));
+    }
+
+    @PutMapping("/thresholds/patient/{patientId}")
+    public ResponseEntity<VitalThreshold> saveThreshold(@PathVariable Integer patientId,
+                                                        @RequestBody VitalThreshold threshold) {
+        return ResponseEntity.ok(alertService.saveThreshold(patientId, threshold));
+    }
+}
@@ -0,0 +1,35 @@
+// File: src/main/java/com/healthcare/dto/MessageEvent.java
+package com.healthcare.dto;
+
+import com.healthcare.model.Message;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A new message as pushed on the receiver's event stream.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MessageEvent {
+    private Integer messageId;
+    private Integer senderId;
+    private Integer receiverId;
+    private String content;
+    private LocalDateTime sentAt;
+
+    public static MessageEvent from(Message message) {
+        return MessageEvent.builder()
+                .messageId(message.getMessageId())
+                .senderId(message.getSender().getUserId())
+                .receiverId(message.getReceiver().getUserId())
+                .content(message.getContent())
+                .sentAt(message.getSentAt())
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+// File: src/main/java/com/healthcare/dto/NotificationEvent.java
+package com.healthcare.dto;
+
+import com.healthcare.model.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A new notification as pushed on the user's event stream.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NotificationEvent {
+    private Integer notificationId;
+    private String type;
+    private String message;
+    private LocalDateTime createdAt;
+
+    public static NotificationEvent from(Notification notification) {
+        return NotificationEvent.builder()
+                .notificationId(notification.getNotificationId())
+                .type(notification.getType())
+                .message(notification.getMessage())
+                .createdAt(notification.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+// File: src/main/java/com/healthcare/dto/VitalPoint.java
+package com.healthcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class VitalPoint {
+    private LocalDateTime time;
+    private long readings;
+    private VitalStat bloodPressureSystolic;
+    private VitalStat bloodPressureDiastolic;
+    private VitalStat oxygenLevel;
+    private VitalStat temperature;
+}
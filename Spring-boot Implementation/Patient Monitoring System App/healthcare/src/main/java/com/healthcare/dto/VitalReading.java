@@ -0,0 +1,28 @@
+// File: src/main/java/com/healthcare/dto/VitalReading.java
+package com.healthcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One monitor reading. Any of the vitals may be missing; a reading is
+ * identified by patient and second, so a resent reading replaces the
+ * first.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class VitalReading {
+    private Integer patientId;
+    private LocalDateTime recordedAt;
+    private Integer bloodPressureSystolic;
+    private Integer bloodPressureDiastolic;
+    private BigDecimal oxygenLevel;
+    private BigDecimal temperature;
+}
@@ -0,0 +1,28 @@
+// File: src/main/java/com/healthcare/dto/VitalSeriesDTO.java
+package com.healthcare.dto;
+
+import com.healthcare.model.VitalResolution;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A patient's vitals over [from, to) in buckets of bucketSeconds, read
+ * from the given resolution. Buckets without readings are left out.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class VitalSeriesDTO {
+    private Integer patientId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private VitalResolution resolution;
+    private long bucketSeconds;
+    private List<VitalPoint> points;
+}
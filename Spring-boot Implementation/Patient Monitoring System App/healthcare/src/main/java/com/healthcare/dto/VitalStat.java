@@ -0,0 +1,19 @@
+// File: src/main/java/com/healthcare/dto/VitalStat.java
+package com.healthcare.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Average, minimum and maximum of one vital over a bucket; null when the
+ * bucket has no value for it.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class VitalStat {
+    private Double avg;
+    private Double min;
+    private Double max;
+}
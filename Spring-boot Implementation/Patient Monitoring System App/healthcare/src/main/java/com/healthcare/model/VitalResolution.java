@@ -0,0 +1,49 @@
+// File: src/main/java/com/healthcare/model/VitalResolution.java
+package com.healthcare.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Granularities the vitals time series is stored at, finest first: the
+ * raw readings and the minute, hour and day rollups derived from them.
+ */
+public enum VitalResolution {
+    RAW("vital_reading", ChronoUnit.SECONDS, "%Y-%m-%d %H:%i:%s"),
+    MINUTE("vital_rollup_minute", ChronoUnit.MINUTES, "%Y-%m-%d %H:%i:00"),
+    HOUR("vital_rollup_hour", ChronoUnit.HOURS, "%Y-%m-%d %H:00:00"),
+    DAY("vital_rollup_day", ChronoUnit.DAYS, "%Y-%m-%d 00:00:00");
+
+    private final String table;
+    private final ChronoUnit unit;
+    private final String bucketFormat;
+
+    VitalResolution(String table, ChronoUnit unit, String bucketFormat) {
+        this.table = table;
+        this.unit = unit;
+        this.bucketFormat = bucketFormat;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public Duration getStep() {
+        return unit.getDuration();
+    }
+
+    // MySQL DATE_FORMAT pattern that truncates a DATETIME to this bucket
+    public String getBucketFormat() {
+        return bucketFormat;
+    }
+
+    public LocalDateTime floor(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    // The resolution this one is rolled up from
+    public VitalResolution getSource() {
+        return this == RAW ? null : values()[ordinal() - 1];
+    }
+}
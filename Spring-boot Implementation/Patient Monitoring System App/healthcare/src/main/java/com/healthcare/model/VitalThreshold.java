@@ -0,0 +1,31 @@
+// File: src/main/java/com/healthcare/model/VitalThreshold.java
+package com.healthcare.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.math.BigDecimal;
+
+/**
+ * A patient's own alert thresholds. Any left null falls back to the
+ * configured default.
+ */
+@Entity
+@Table(name = "vital_threshold")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VitalThreshold {
+    @Id
+    @Column(name = "patient_id")
+    private Integer patientId;
+
+    @Column(name = "min_oxygen_level")
+    private BigDecimal minOxygenLevel;
+
+    @Column(name = "max_systolic")
+    private Integer maxSystolic;
+
+    @Column(name = "fever_temperature")
+    private BigDecimal feverTemperature;
+}
@@ -3,6 +3,7 @@ package com.healthcare.repository;
 
 import com.healthcare.model.Appointment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import java.util.List;
 
 public interface AppointmentRepository extends JpaRepository<Appointment, Integer> {
@@ -10,4 +11,8 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Intege
     List<Appointment> findByDoctorDoctorId(Integer doctorId);
     List<Appointment> findByStatus(Appointment.Status status);
     long countByStatus(Appointment.Status status);
+
+    // The doctors looking after a patient: any they have an appointment with
+    @Query("SELECT DISTINCT a.doctor.doctorId FROM Appointment a WHERE a.patient.patientId = ?1 AND a.status <> ?2")
+    List<Integer> findDoctorIdsByPatientId(Integer patientId, Appointment.Status excluded);
 }
\ No newline at end of file
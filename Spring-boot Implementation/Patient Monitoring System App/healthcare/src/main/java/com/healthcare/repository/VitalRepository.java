@@ -0,0 +1,266 @@
+// File: src/main/java/com/healthcare/repository/VitalRepository.java
+package com.healthcare.repository;
+
+import com.healthcare.dto.VitalPoint;
+import com.healthcare.dto.VitalReading;
+import com.healthcare.dto.VitalStat;
+import com.healthcare.model.VitalResolution;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * JDBC access to the vitals time series. These tables are not JPA
+ * entities: they are range-partitioned by day (raw readings) or month
+ * (minute rollups), which Hibernate's schema update cannot express, and
+ * are written in batches far larger than an entity flush suits.
+ *
+ * Every rollup row holds, per vital, the count, sum, min and max of the
+ * readings in its bucket, so any coarser bucket is an exact merge of
+ * finer ones.
+ */
+@Repository
+@RequiredArgsConstructor
+public class VitalRepository {
+
+    public static final String MAX_PARTITION = "pmax";
+
+    // TO_DAYS('1970-01-01')
+    private static final long TO_DAYS_EPOCH = 719528;
+
+    private static final List<Metric> METRICS = List.of(
+            new Metric("blood_pressure_systolic", "systolic", "SMALLINT"),
+            new Metric("blood_pressure_diastolic", "diastolic", "SMALLINT"),
+            new Metric("oxygen_level", "oxygen", "DECIMAL(5,2)"),
+            new Metric("temperature", "temperature", "DECIMAL(5,2)"));
+
+    private static final String INSERT_READING_SQL =
+            "INSERT INTO vital_reading (patient_id, recorded_at, " +
+            "blood_pressure_systolic, blood_pressure_diastolic, oxygen_level, " +
+            "temperature) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "blood_pressure_systolic = VALUES(blood_pressure_systolic), " +
+            "blood_pressure_diastolic = VALUES(blood_pressure_diastolic), " +
+            "oxygen_level = VALUES(oxygen_level), " +
+            "temperature = VALUES(temperature)";
+
+    private static final int[] INSERT_READING_TYPES = {
+            Types.INTEGER, Types.TIMESTAMP, Types.SMALLINT, Types.SMALLINT,
+            Types.DECIMAL, Types.DECIMAL
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // =================== SCHEMA ===================
+    public void createTables(LocalDate firstDay) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS vital_reading (" +
+                "patient_id INT NOT NULL, " +
+                "recorded_at DATETIME NOT NULL, " +
+                METRICS.stream().map(m -> m.column() + " " + m.type() + ", ")
+                        .collect(Collectors.joining()) +
+                "PRIMARY KEY (patient_id, recorded_at), " +
+                "KEY idx_vital_reading_time (recorded_at)" +
+                ") ENGINE = InnoDB " + partitioned("recorded_at", firstDay));
+
+        for (VitalResolution resolution : List.of(VitalResolution.MINUTE,
+                VitalResolution.HOUR, VitalResolution.DAY)) {
+            String table = resolution.getTable();
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table + " (" +
+                    "patient_id INT NOT NULL, " +
+                    "bucket_start DATETIME NOT NULL, " +
+                    "sample_count INT NOT NULL, " +
+                    METRICS.stream().map(m -> m.prefix() + "_count INT NOT NULL, "
+                                    + m.prefix() + "_sum DOUBLE NOT NULL, "
+                                    + m.prefix() + "_min " + m.type() + ", "
+                                    + m.prefix() + "_max " + m.type() + ", ")
+                            .collect(Collectors.joining()) +
+                    "PRIMARY KEY (patient_id, bucket_start), " +
+                    "KEY idx_" + table + "_time (bucket_start)" +
+                    ") ENGINE = InnoDB" +
+                    (resolution == VitalResolution.MINUTE
+                            ? " " + partitioned("bucket_start", firstDay.withDayOfMonth(1))
+                            : ""));
+        }
+    }
+
+    // One partition for anything older, then the catch-all
+    private static String partitioned(String column, LocalDate firstDay) {
+        return "PARTITION BY RANGE (TO_DAYS(" + column + ")) (" +
+                "PARTITION p0 VALUES LESS THAN (" + toDays(firstDay) + "), " +
+                "PARTITION " + MAX_PARTITION + " VALUES LESS THAN MAXVALUE)";
+    }
+
+    // =================== PARTITIONS ===================
+    /**
+     * The exclusive upper bound of each partition of a table as a day,
+     * null for MAX_PARTITION. Empty if the table is not partitioned.
+     */
+    public Map<String, LocalDate> getPartitionBounds(String table) {
+        Map<String, LocalDate> bounds = new LinkedHashMap<>();
+        for (Map<String, Object> row : jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION " +
+                "FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? " +
+                "AND PARTITION_NAME IS NOT NULL " +
+                "ORDER BY PARTITION_ORDINAL_POSITION", table)) {
+            String description = String.valueOf(row.get("PARTITION_DESCRIPTION"));
+            bounds.put((String) row.get("PARTITION_NAME"),
+                    "MAXVALUE".equals(description)
+                            ? null
+                            : LocalDate.ofEpochDay(Long.parseLong(description) - TO_DAYS_EPOCH));
+        }
+        return bounds;
+    }
+
+    // Splits the empty catch-all, so no rows move
+    public void addPartition(String table, String name, LocalDate lessThan) {
+        jdbcTemplate.execute("ALTER TABLE " + table +
+                " REORGANIZE PARTITION " + MAX_PARTITION + " INTO (" +
+                "PARTITION " + name + " VALUES LESS THAN (" + toDays(lessThan) + "), " +
+                "PARTITION " + MAX_PARTITION + " VALUES LESS THAN MAXVALUE)");
+    }
+
+    public void dropPartition(String table, String name) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP PARTITION " + name);
+    }
+
+    private static long toDays(LocalDate day) {
+        return day.toEpochDay() + TO_DAYS_EPOCH;
+    }
+
+    // =================== WRITES ===================
+    public void insertReadings(List<VitalReading> readings) {
+        List<Object[]> rows = new ArrayList<>(readings.size());
+        for (VitalReading reading : readings) {
+            rows.add(new Object[]{
+                    reading.getPatientId(),
+                    Timestamp.valueOf(reading.getRecordedAt().truncatedTo(ChronoUnit.SECONDS)),
+                    reading.getBloodPressureSystolic(),
+                    reading.getBloodPressureDiastolic(),
+                    reading.getOxygenLevel(),
+                    reading.getTemperature()
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_READING_SQL, rows, INSERT_READING_TYPES);
+    }
+
+    /**
+     * Recomputes every bucket of a rollup that starts at or after from,
+     * from the next finer resolution. Re-running it is harmless, so a
+     * bucket can be refreshed while it is still filling and again once
+     * late readings arrive.
+     */
+    public int refreshRollup(VitalResolution resolution, LocalDateTime from) {
+        VitalResolution source = resolution.getSource();
+        String time = timeColumn(source);
+        String columns = "patient_id, bucket_start, sample_count, " +
+                METRICS.stream().map(m -> m.prefix() + "_count, " + m.prefix()
+                                + "_sum, " + m.prefix() + "_min, " + m.prefix() + "_max")
+                        .collect(Collectors.joining(", "));
+
+        String sql = "INSERT INTO " + resolution.getTable() + " (" + columns + ") " +
+                "SELECT * FROM (SELECT patient_id, " +
+                "DATE_FORMAT(" + time + ", '" + resolution.getBucketFormat() + "') AS bucket, " +
+                aggregates(source) + " FROM " + source.getTable() +
+                " WHERE " + time + " >= ? GROUP BY patient_id, bucket) AS agg " +
+                "ON DUPLICATE KEY UPDATE " +
+                "sample_count = agg.sample_count, " +
+                METRICS.stream().map(m -> {
+                            String p = m.prefix();
+                            return p + "_count = agg." + p + "_count, "
+                                    + p + "_sum = agg." + p + "_sum, "
+                                    + p + "_min = agg." + p + "_min, "
+                                    + p + "_max = agg." + p + "_max";
+                        })
+                        .collect(Collectors.joining(", "));
+        return jdbcTemplate.update(sql, Timestamp.valueOf(resolution.floor(from)));
+    }
+
+    // Start of the newest bucket of a resolution, null when it is empty
+    public LocalDateTime findLatestBucket(VitalResolution resolution) {
+        Timestamp latest = jdbcTemplate.queryForObject(
+                "SELECT MAX(" + timeColumn(resolution) + ") FROM " + resolution.getTable(),
+                Timestamp.class);
+        return latest != null ? latest.toLocalDateTime() : null;
+    }
+
+    // =================== READS ===================
+    /**
+     * A patient's series over [from, to) from the given resolution, merged
+     * into buckets of bucketSeconds counted from from.
+     */
+    public List<VitalPoint> findSeries(VitalResolution resolution, Integer patientId,
+                                       LocalDateTime from, LocalDateTime to,
+                                       long bucketSeconds) {
+        String time = timeColumn(resolution);
+        String sql = "SELECT TIMESTAMPDIFF(SECOND, ?, " + time + ") DIV ? AS bucket, " +
+                aggregates(resolution) + " FROM " + resolution.getTable() +
+                " WHERE patient_id = ? AND " + time + " >= ? AND " + time + " < ? " +
+                "GROUP BY bucket ORDER BY bucket";
+        Timestamp start = Timestamp.valueOf(from);
+        return jdbcTemplate.query(sql, (rs, rowNum) -> VitalPoint.builder()
+                        .time(from.plusSeconds(rs.getLong("bucket") * bucketSeconds))
+                        .readings(rs.getLong("sample_count"))
+                        .bloodPressureSystolic(stat(rs, METRICS.get(0)))
+                        .bloodPressureDiastolic(stat(rs, METRICS.get(1)))
+                        .oxygenLevel(stat(rs, METRICS.get(2)))
+                        .temperature(stat(rs, METRICS.get(3)))
+                        .build(),
+                start, bucketSeconds, patientId, start, Timestamp.valueOf(to));
+    }
+
+    // =================== HELPERS ===================
+    private static String timeColumn(VitalResolution resolution) {
+        return resolution == VitalResolution.RAW ? "recorded_at" : "bucket_start";
+    }
+
+    // sample_count and the four columns per vital, over raw rows or rollups
+    private static String aggregates(VitalResolution resolution) {
+        boolean raw = resolution == VitalResolution.RAW;
+        StringBuilder sql = new StringBuilder(raw
+                ? "COUNT(*) AS sample_count"
+                : "SUM(sample_count) AS sample_count");
+        for (Metric m : METRICS) {
+            String p = m.prefix();
+            if (raw) {
+                sql.append(", COUNT(").append(m.column()).append(") AS ").append(p).append("_count")
+                        .append(", COALESCE(SUM(").append(m.column()).append("), 0) AS ").append(p).append("_sum")
+                        .append(", MIN(").append(m.column()).append(") AS ").append(p).append("_min")
+                        .append(", MAX(").append(m.column()).append(") AS ").append(p).append("_max");
+            } else {
+                sql.append(", SUM(").append(p).append("_count) AS ").append(p).append("_count")
+                        .append(", SUM(").append(p).append("_sum) AS ").append(p).append("_sum")
+                        .append(", MIN(").append(p).append("_min) AS ").append(p).append("_min")
+                        .append(", MAX(").append(p).append("_max) AS ").append(p).append("_max");
+            }
+        }
+        return sql.toString();
+    }
+
+    private static VitalStat stat(ResultSet rs, Metric metric) throws SQLException {
+        long count = rs.getLong(metric.prefix() + "_count");
+        if (count == 0) {
+            return null;
+        }
+        return new VitalStat(
+                rs.getDouble(metric.prefix() + "_sum") / count,
+                rs.getDouble(metric.prefix() + "_min"),
+                rs.getDouble(metric.prefix() + "_max"));
+    }
+
+    private record Metric(String column, String prefix, String type) {
+    }
+}
@@ -0,0 +1,8 @@
+// File: src/main/java/com/healthcare/repository/VitalThresholdRepository.java
+package com.healthcare.repository;
+
+import com.healthcare.model.VitalThreshold;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface VitalThresholdRepository extends JpaRepository<VitalThreshold, Integer> {
+}
@@ -0,0 +1,136 @@
+// File: src/main/java/com/healthcare/service/EventStreamService.java
+package com.healthcare.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent event streams, any number per user (one per open tab), so
+ * new notifications and messages are pushed instead of polled for.
+ * Streams are async servlet responses: an idle one holds a socket and a
+ * registry entry but no thread, so tens of thousands cost little.
+ * <p>
+ * Services publish a {@link UserEvent}; it is sent once their
+ * transaction commits, so a client never hears of a row it cannot read
+ * yet, and from a small pool of sender threads, so a slow client never
+ * holds up the request that caused the event. A heartbeat comment keeps
+ * proxies from closing idle streams and finds dead ones. Streams end
+ * after the timeout and the browser's EventSource reconnects by itself.
+ */
+@Service
+public class EventStreamService {
+
+    /**
+     * An event for one user's streams. {@code name} is the SSE event name
+     * the client listens for, {@code data} is sent as JSON.
+     */
+    public record UserEvent(Integer userId, String name, Object data) {
+    }
+
+    private final Map<Integer, Set<SseEmitter>> streams = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger();
+
+    @Value("${healthcare.events.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${healthcare.events.send-threads:4}")
+    private int sendThreads;
+
+    private ExecutorService senders;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(sendThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        senders.shutdownNow();
+        streams.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+    }
+
+    public SseEmitter subscribe(Integer userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        streams.compute(userId, (id, emitters) -> {
+            Set<SseEmitter> set = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            set.add(emitter);
+            return set;
+        });
+        open.incrementAndGet();
+        Runnable remove = () -> remove(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        // Sends the headers, so the client sees the stream open at once
+        send(userId, emitter, SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    public int getOpenStreams() {
+        return open.get();
+    }
+
+    // After commit, or straight away when published outside a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(UserEvent event) {
+        Set<SseEmitter> emitters = streams.get(event.userId());
+        if (emitters == null) {
+            return;
+        }
+        senders.execute(() -> {
+            for (SseEmitter emitter : emitters) {
+                send(event.userId(), emitter, SseEmitter.event()
+                        .name(event.name())
+                        .data(event.data()));
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${healthcare.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        senders.execute(() -> streams.forEach((userId, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                send(userId, emitter, SseEmitter.event().comment("heartbeat"));
+            }
+        }));
+    }
+
+    private void send(Integer userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Gone: the client disconnected or the stream already ended
+            remove(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(Integer userId, SseEmitter emitter) {
+        streams.computeIfPresent(userId, (id, emitters) -> {
+            if (emitters.remove(emitter)) {
+                open.decrementAndGet();
+            }
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,55 @@
+// File: src/main/java/com/healthcare/service/EventTicketService.java
+package com.healthcare.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.healthcare.util.JwtClaims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * One-time tickets for opening an event stream. A browser's EventSource
+ * cannot send an Authorization header, and a token in the URL would be
+ * written to access logs, proxies and history while it stays valid for
+ * hours. So the client POSTs to /api/events/ticket with its token and
+ * opens /api/events?ticket= with the random value it gets back, which
+ * works once, within ticket-ttl, and says nothing about the user.
+ * Tickets are held in memory, so the stream has to be opened on the
+ * instance that issued the ticket, as the streams themselves live there.
+ */
+@Service
+public class EventTicketService {
+
+    private final SecureRandom random = new SecureRandom();
+    private final Cache<String, JwtClaims> tickets;
+
+    public EventTicketService(@Value("${healthcare.events.ticket-ttl:30s}") Duration ttl,
+                              @Value("${healthcare.events.ticket-max-size:100000}") long maxSize) {
+        this.tickets = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public String issue(JwtClaims claims) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tickets.put(ticket, claims);
+        return ticket;
+    }
+
+    /**
+     * The claims the ticket was issued for, taking it so it cannot be
+     * used again; null when it is unknown, used, or expired, or when the
+     * token it was issued for has since expired.
+     */
+    public JwtClaims redeem(String ticket) {
+        JwtClaims claims = tickets.asMap().remove(ticket);
+        return claims != null && !claims.isExpired() ? claims : null;
+    }
+}
@@ -1,12 +1,15 @@
 // File: src/main/java/com/healthcare/service/MessageService.java
 package com.healthcare.service;
 
+import com.healthcare.dto.MessageEvent;
 import com.healthcare.model.Message;
 import com.healthcare.model.User;
 import com.healthcare.repository.MessageRepository;
 import com.healthcare.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -15,6 +18,7 @@ import java.util.List;
 public class MessageService {
     private final MessageRepository messageRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<Message> getMessagesByUserId(Integer userId) {
         return messageRepository.findByUserId(userId);
@@ -26,6 +30,8 @@ public class MessageService {
                         user1Id, user2Id, user2Id, user1Id);
     }
 
+    // Pushed to the receiver's open event streams once committed
+    @Transactional
     public Message sendMessage(Integer senderId, Integer receiverId, String content) {
         User sender = userRepository.findById(senderId)
                 .orElseThrow(() -> new RuntimeException("Sender not found"));
@@ -38,6 +44,9 @@ public class MessageService {
                 .content(content)
                 .build();
 
-        return messageRepository.save(message);
+        Message saved = messageRepository.save(message);
+        eventPublisher.publishEvent(new EventStreamService.UserEvent(
+                receiverId, "message", MessageEvent.from(saved)));
+        return saved;
     }
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 // File: src/main/java/com/healthcare/service/NotificationService.java
 package com.healthcare.service;
 
+import com.healthcare.dto.NotificationEvent;
 import com.healthcare.model.Notification;
 import com.healthcare.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -12,6 +15,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class NotificationService {
     private final NotificationRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<Notification> getByUserId(Integer userId) {
         return repository.findByUserUserIdOrderByCreatedAtDesc(userId);
@@ -28,7 +32,12 @@ public class NotificationService {
         return repository.save(notification);
     }
 
+    // Pushed to the user's open event streams once committed
+    @Transactional
     public Notification save(Notification notification) {
-        return repository.save(notification);
+        Notification saved = repository.save(notification);
+        eventPublisher.publishEvent(new EventStreamService.UserEvent(
+                saved.getUser().getUserId(), "notification", NotificationEvent.from(saved)));
+        return saved;
     }
 }
\ No newline at end of file
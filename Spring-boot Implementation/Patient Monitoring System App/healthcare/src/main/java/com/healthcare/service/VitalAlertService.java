@@ -0,0 +1,286 @@
+// File: src/main/java/com/healthcare/service/VitalAlertService.java
+package com.healthcare.service;
+
+import com.healthcare.dto.VitalReading;
+import com.healthcare.model.Appointment;
+import com.healthcare.model.Notification;
+import com.healthcare.model.VitalThreshold;
+import com.healthcare.repository.AppointmentRepository;
+import com.healthcare.repository.UserRepository;
+import com.healthcare.repository.VitalThresholdRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Watches incoming vitals for dangerous values and notifies the
+ * patient's doctors. Ingestion only hands each accepted batch over (a
+ * single non-blocking offer); one evaluator thread checks every reading
+ * against the patient's thresholds, or the defaults, keeping the rule
+ * state per patient in memory, and alerts are written as Notifications
+ * on a separate thread so a slow database never holds evaluation up.
+ * <p>
+ * A rule fires once it has been breached by its number of readings
+ * within the window, by reading time: one for low oxygen and fever,
+ * three for high systolic pressure by default, since a single high cuff
+ * reading is often movement. It fires once per episode, a reading back
+ * in range ending the episode, and again every repeat-after while the
+ * episode lasts. Each reading costs a fixed amount of work, whatever the
+ * window or the number of patients.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VitalAlertService {
+
+    static final String NOTIFICATION_TYPE = "VITAL_ALERT";
+
+    private final VitalThresholdRepository thresholdRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+
+    @Value("${healthcare.vitals.alerts.min-oxygen-level:92}")
+    private BigDecimal defaultMinOxygenLevel;
+
+    @Value("${healthcare.vitals.alerts.max-systolic:180}")
+    private int defaultMaxSystolic;
+
+    @Value("${healthcare.vitals.alerts.fever-temperature:38.0}")
+    private BigDecimal defaultFeverTemperature;
+
+    @Value("${healthcare.vitals.alerts.low-oxygen-readings:1}")
+    private int lowOxygenReadings;
+
+    @Value("${healthcare.vitals.alerts.high-systolic-readings:3}")
+    private int highSystolicReadings;
+
+    @Value("${healthcare.vitals.alerts.fever-readings:1}")
+    private int feverReadings;
+
+    @Value("${healthcare.vitals.alerts.window:10m}")
+    private Duration window;
+
+    @Value("${healthcare.vitals.alerts.repeat-after:30m}")
+    private Duration repeatAfter;
+
+    @Value("${healthcare.vitals.alerts.queue-batches:10000}")
+    private int queueBatches;
+
+    private final Map<Integer, VitalThreshold> thresholds = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private BlockingQueue<List<VitalReading>> queue;
+    // Only ever touched by the evaluator thread
+    private final Map<Integer, PatientState> states = new HashMap<>();
+    private Thread evaluator;
+    private ExecutorService notifier;
+
+    enum Rule {
+        LOW_OXYGEN, HIGH_SYSTOLIC, FEVER
+    }
+
+    @PostConstruct
+    public void start() {
+        thresholdRepository.findAll().forEach(t -> thresholds.put(t.getPatientId(), t));
+        queue = new LinkedBlockingQueue<>(queueBatches);
+        notifier = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "vital-alerts");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evaluator = new Thread(this::evaluate, "vital-rules");
+        evaluator.setDaemon(true);
+        evaluator.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        evaluator.interrupt();
+        notifier.shutdown();
+        notifier.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Queues readings for evaluation without waiting. Should the
+     * evaluator fall that far behind, the batch is skipped rather than
+     * slowing ingestion.
+     */
+    public void submit(List<VitalReading> readings) {
+        if (!readings.isEmpty() && !queue.offer(readings)
+                && dropped.incrementAndGet() % 1000 == 1) {
+            log.warn("Vitals alert queue full, {} batches skipped so far", dropped.get());
+        }
+    }
+
+    // =================== THRESHOLDS ===================
+    public VitalThreshold getThreshold(Integer patientId) {
+        VitalThreshold threshold = thresholds.get(patientId);
+        return threshold != null ? threshold : VitalThreshold.builder().patientId(patientId).build();
+    }
+
+    public VitalThreshold saveThreshold(Integer patientId, VitalThreshold threshold) {
+        threshold.setPatientId(patientId);
+        VitalThreshold saved = thresholdRepository.save(threshold);
+        thresholds.put(patientId, saved);
+        return saved;
+    }
+
+    // =================== EVALUATION ===================
+    private void evaluate() {
+        try {
+            while (true) {
+                for (VitalReading reading : queue.take()) {
+                    try {
+                        evaluate(reading);
+                    } catch (RuntimeException e) {
+                        log.warn("Could not evaluate vitals for patient {}",
+                                reading.getPatientId(), e);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void evaluate(VitalReading reading) {
+        Integer patientId = reading.getPatientId();
+        VitalThreshold own = thresholds.get(patientId);
+        PatientState state = states.computeIfAbsent(patientId, id -> new PatientState(
+                lowOxygenReadings, highSystolicReadings, feverReadings));
+        long time = reading.getRecordedAt().toEpochSecond(ZoneOffset.UTC);
+
+        BigDecimal minOxygen = own != null && own.getMinOxygenLevel() != null
+                ? own.getMinOxygenLevel() : defaultMinOxygenLevel;
+        if (reading.getOxygenLevel() != null && fires(state.lowOxygen, time,
+                reading.getOxygenLevel().compareTo(minOxygen) < 0)) {
+            alert(reading, Rule.LOW_OXYGEN, state.lowOxygen, "SpO2 "
+                    + reading.getOxygenLevel().toPlainString() + "% below "
+                    + minOxygen.toPlainString() + "%");
+        }
+
+        int maxSystolic = own != null && own.getMaxSystolic() != null
+                ? own.getMaxSystolic() : defaultMaxSystolic;
+        if (reading.getBloodPressureSystolic() != null && fires(state.highSystolic, time,
+                reading.getBloodPressureSystolic() > maxSystolic)) {
+            alert(reading, Rule.HIGH_SYSTOLIC, state.highSystolic, "systolic pressure "
+                    + reading.getBloodPressureSystolic() + " above " + maxSystolic);
+        }
+
+        BigDecimal fever = own != null && own.getFeverTemperature() != null
+                ? own.getFeverTemperature() : defaultFeverTemperature;
+        if (reading.getTemperature() != null && fires(state.fever, time,
+                reading.getTemperature().compareTo(fever) >= 0)) {
+            alert(reading, Rule.FEVER, state.fever, "temperature "
+                    + reading.getTemperature().toPlainString() + " at or above "
+                    + fever.toPlainString());
+        }
+    }
+
+    // Records the reading against the rule, true when the rule should alert now
+    private boolean fires(RuleState rule, long time, boolean breached) {
+        if (!breached) {
+            rule.notifiedAt = RuleState.NONE;
+            return false;
+        }
+        rule.add(time);
+        if (!rule.isFull() || time - rule.oldest() > window.getSeconds()) {
+            return false;
+        }
+        if (rule.notifiedAt != RuleState.NONE
+                && time - rule.notifiedAt < repeatAfter.getSeconds()) {
+            return false;
+        }
+        rule.notifiedAt = time;
+        return true;
+    }
+
+    private void alert(VitalReading reading, Rule rule, RuleState state, String detail) {
+        Integer patientId = reading.getPatientId();
+        String message = "Vitals alert for patient #" + patientId + ": " + detail
+                + (state.times.length > 1
+                        ? " (" + state.times.length + " readings within " + window.toMinutes() + " min)"
+                        : "")
+                + " at " + reading.getRecordedAt();
+        notifier.execute(() -> notifyDoctors(patientId, rule, message));
+    }
+
+    private void notifyDoctors(Integer patientId, Rule rule, String message) {
+        try {
+            List<Integer> doctorIds = appointmentRepository.findDoctorIdsByPatientId(
+                    patientId, Appointment.Status.CANCELLED);
+            if (doctorIds.isEmpty()) {
+                log.warn("{} for patient {} but no doctor to notify", rule, patientId);
+                return;
+            }
+            for (Integer doctorId : doctorIds) {
+                notificationService.save(Notification.builder()
+                        .user(userRepository.getReferenceById(doctorId))
+                        .type(NOTIFICATION_TYPE)
+                        .message(message)
+                        .build());
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not notify doctors of {} for patient {}", rule, patientId, e);
+        }
+    }
+
+    private static final class PatientState {
+        private final RuleState lowOxygen;
+        private final RuleState highSystolic;
+        private final RuleState fever;
+
+        private PatientState(int lowOxygenReadings, int highSystolicReadings, int feverReadings) {
+            lowOxygen = new RuleState(lowOxygenReadings);
+            highSystolic = new RuleState(highSystolicReadings);
+            fever = new RuleState(feverReadings);
+        }
+    }
+
+    // The times of a rule's last few breaching readings, as a ring
+    private static final class RuleState {
+        private static final long NONE = Long.MIN_VALUE;
+
+        private final long[] times;
+        private int next;
+        private int size;
+        private long notifiedAt = NONE;
+
+        private RuleState(int readings) {
+            times = new long[Math.max(readings, 1)];
+        }
+
+        private void add(long time) {
+            times[next] = time;
+            next = (next + 1) % times.length;
+            size = Math.min(size + 1, times.length);
+        }
+
+        private boolean isFull() {
+            return size == times.length;
+        }
+
+        // With the ring full, the slot about to be overwritten
+        private long oldest() {
+            return times[next];
+        }
+    }
+}
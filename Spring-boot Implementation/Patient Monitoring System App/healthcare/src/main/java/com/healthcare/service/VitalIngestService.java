@@ -0,0 +1,290 @@
+// File: src/main/java/com/healthcare/service/VitalIngestService.java
+package com.healthcare.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.dto.VitalReading;
+import com.healthcare.repository.VitalRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Batch ingestion of monitor vitals. A request's readings are validated,
+ * appended to the write-ahead log and fsynced, then queued, and only
+ * then acknowledged; writer threads drain the queue into JDBC batch
+ * inserts. The queue holds at most queue-capacity readings: a request
+ * that does not fit is refused whole with {@link QueueFullException}
+ * (HTTP 429), so callers slow down instead of the database falling
+ * behind. A batch that fails to insert for a passing reason (a lock
+ * timeout, deadlock or lost connection) is retried with backoff, up to
+ * max-attempts, keeping its queue space meanwhile; one the database
+ * refuses outright, or that runs out of attempts, is moved to a
+ * dead-letter file in the log directory so the writer can go on.
+ */
+@Slf4j
+@Service
+@DependsOn("vitalPartitionService")
+@RequiredArgsConstructor
+public class VitalIngestService {
+
+    private final VitalRepository repository;
+    private final VitalService vitalService;
+    private final VitalRollupService rollupService;
+    private final VitalAlertService alertService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${healthcare.vitals.ingest.queue-capacity:200000}")
+    private int queueCapacity;
+
+    @Value("${healthcare.vitals.ingest.writers:4}")
+    private int writerCount;
+
+    @Value("${healthcare.vitals.ingest.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${healthcare.vitals.ingest.max-request-readings:10000}")
+    private int maxRequestReadings;
+
+    @Value("${healthcare.vitals.ingest.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${healthcare.vitals.ingest.wal-dir:data/vitals-wal}")
+    private String walDirectory;
+
+    @Value("${healthcare.vitals.ingest.wal-segment-bytes:67108864}")
+    private long walSegmentBytes;
+
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+
+    private Semaphore capacity;
+    private VitalWriteAheadLog wal;
+    private ExecutorService writers;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() throws IOException {
+        capacity = new Semaphore(queueCapacity);
+        wal = new VitalWriteAheadLog(Path.of(walDirectory), walSegmentBytes, objectMapper);
+        // Left by the last run: written straight through before accepting more
+        wal.recover(batchSize, readings -> {
+            repository.insertReadings(readings);
+            rollupService.markDirty(earliest(readings));
+        });
+
+        running = true;
+        AtomicInteger threadNumber = new AtomicInteger();
+        writers = Executors.newFixedThreadPool(writerCount, runnable -> {
+            Thread thread = new Thread(runnable, "vital-writer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < writerCount; i++) {
+            writers.execute(this::drain);
+        }
+    }
+
+    /**
+     * Stops accepting and gives the writers a moment to empty the queue;
+     * anything still queued is in the log and replayed on the next start.
+     */
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        running = false;
+        writers.shutdown();
+        if (!writers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("{} vitals left unwritten, they will be replayed on restart",
+                    queue.size());
+            writers.shutdownNow();
+        }
+        wal.close();
+    }
+
+    // =================== ACCEPT ===================
+    public int accept(List<VitalReading> readings) {
+        if (readings.isEmpty()) {
+            return 0;
+        }
+        if (readings.size() > maxRequestReadings) {
+            throw new IllegalArgumentException(
+                    "At most " + maxRequestReadings + " readings per request");
+        }
+        if (!running) {
+            throw new QueueFullException("Vitals ingestion is shutting down");
+        }
+        Set<Integer> patientIds = new HashSet<>();
+        for (VitalReading reading : readings) {
+            VitalService.validate(reading);
+            patientIds.add(reading.getPatientId());
+        }
+        vitalService.requirePatients(patientIds);
+
+        if (!capacity.tryAcquire(readings.size())) {
+            throw new QueueFullException("Vitals queue is full, retry shortly");
+        }
+        VitalWriteAheadLog.Segment segment;
+        try {
+            segment = wal.append(readings);
+        } catch (IOException e) {
+            capacity.release(readings.size());
+            throw new UncheckedIOException("Could not log vitals", e);
+        }
+        for (VitalReading reading : readings) {
+            queue.add(new Pending(reading, segment));
+        }
+        alertService.submit(readings);
+        return readings.size();
+    }
+
+    // One JSON reading per line; blank lines are ignored
+    public int acceptNdjson(InputStream body) throws IOException {
+        List<VitalReading> readings = new ArrayList<>();
+        try (MappingIterator<VitalReading> lines = objectMapper
+                .readerFor(VitalReading.class).readValues(body)) {
+            while (lines.hasNextValue()) {
+                if (readings.size() == maxRequestReadings) {
+                    throw new IllegalArgumentException(
+                            "At most " + maxRequestReadings + " readings per request");
+                }
+                readings.add(lines.nextValue());
+            }
+        }
+        return accept(readings);
+    }
+
+    // =================== WRITERS ===================
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !queue.isEmpty()) {
+                Pending first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                if (!write(batch)) {
+                    return;
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // False when stopped before the batch could be written
+    private boolean write(List<Pending> batch) throws InterruptedException {
+        List<VitalReading> readings = new ArrayList<>(batch.size());
+        Map<VitalWriteAheadLog.Segment, Integer> perSegment = new HashMap<>();
+        for (Pending pending : batch) {
+            readings.add(pending.reading());
+            perSegment.merge(pending.segment(), 1, Integer::sum);
+        }
+
+        long backoff = 100;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                repository.insertReadings(readings);
+                rollupService.markDirty(earliest(readings));
+                break;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return false;
+                }
+                if (!isTransient(e) || attempt == maxAttempts) {
+                    if (!deadLetter(readings, attempt, e)) {
+                        // Still in the log, replayed on the next start
+                        capacity.release(batch.size());
+                        return true;
+                    }
+                    break;
+                }
+                log.warn("Writing {} vitals failed ({}), retrying in {} ms",
+                        readings.size(), e.getMessage(), backoff);
+                Thread.sleep(backoff);
+                backoff = Math.min(backoff * 2, 5000);
+            }
+        }
+
+        capacity.release(batch.size());
+        perSegment.forEach(wal::release);
+        return true;
+    }
+
+    // False when the readings could not be set aside either
+    private boolean deadLetter(List<VitalReading> readings, int attempts, RuntimeException cause) {
+        try {
+            Path file = wal.deadLetter(readings);
+            log.error("Writing {} vitals failed after {} attempt(s), moved to {}",
+                    readings.size(), attempts, file, cause);
+            return true;
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+            log.error("Writing {} vitals failed after {} attempt(s) and they could not be "
+                    + "dead-lettered", readings.size(), attempts, cause);
+            return false;
+        }
+    }
+
+    // Worth another try: lock timeouts, deadlocks and lost or unavailable connections
+    private static boolean isTransient(RuntimeException e) {
+        if (e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException) {
+            return true;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientException || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static LocalDateTime earliest(List<VitalReading> readings) {
+        LocalDateTime earliest = null;
+        for (VitalReading reading : readings) {
+            if (earliest == null || reading.getRecordedAt().isBefore(earliest)) {
+                earliest = reading.getRecordedAt();
+            }
+        }
+        return earliest;
+    }
+
+    private record Pending(VitalReading reading, VitalWriteAheadLog.Segment segment) {
+    }
+
+    public static class QueueFullException extends RuntimeException {
+        public QueueFullException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+// File: src/main/java/com/healthcare/service/VitalPartitionService.java
+package com.healthcare.service;
+
+import com.healthcare.model.VitalResolution;
+import com.healthcare.repository.VitalRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Creates the vitals tables at startup and maintains their partitions:
+ * raw readings one partition per day, minute rollups one per month.
+ * Partitions are created ahead of time, so inserts only ever append to
+ * the newest few, and ones past retention are dropped whole instead of
+ * deleted row by row. The hour and day rollups are small and kept.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VitalPartitionService {
+
+    private final VitalRepository repository;
+
+    @Value("${healthcare.vitals.raw-retention-days:30}")
+    private int rawRetentionDays;
+
+    @Value("${healthcare.vitals.minute-retention-months:12}")
+    private int minuteRetentionMonths;
+
+    @Value("${healthcare.vitals.partitions-ahead-days:7}")
+    private int partitionsAheadDays;
+
+    @PostConstruct
+    public void createTables() {
+        repository.createTables(LocalDate.now());
+        maintain();
+    }
+
+    @Scheduled(cron = "${healthcare.vitals.partition-cron:0 10 0 * * *}")
+    public void maintain() {
+        LocalDate today = LocalDate.now();
+        LocalDate month = today.withDayOfMonth(1);
+        maintain(VitalResolution.RAW.getTable(), ChronoUnit.DAYS,
+                today.plusDays(partitionsAheadDays),
+                today.minusDays(rawRetentionDays));
+        maintain(VitalResolution.MINUTE.getTable(), ChronoUnit.MONTHS,
+                month.plusMonths(2),
+                month.minusMonths(minuteRetentionMonths));
+    }
+
+    private void maintain(String table, ChronoUnit unit,
+                          LocalDate until, LocalDate keepFrom) {
+        Map<String, LocalDate> bounds = repository.getPartitionBounds(table);
+        if (!bounds.containsKey(VitalRepository.MAX_PARTITION)) {
+            log.warn("{} has no {} partition, leaving its partitions alone",
+                    table, VitalRepository.MAX_PARTITION);
+            return;
+        }
+
+        LocalDate last = bounds.values().stream()
+                .filter(Objects::nonNull)
+                .max(LocalDate::compareTo)
+                .orElse(keepFrom);
+        while (last.isBefore(until)) {
+            LocalDate next = last.plus(1, unit);
+            repository.addPartition(table, name(last), next);
+            last = next;
+        }
+
+        // A partition whose bound is at or before keepFrom holds only
+        // expired rows
+        bounds.forEach((name, bound) -> {
+            if (bound != null && !bound.isAfter(keepFrom)) {
+                repository.dropPartition(table, name);
+                log.info("Dropped partition {} of {}", name, table);
+            }
+        });
+    }
+
+    // Named after the first day it holds
+    private static String name(LocalDate start) {
+        return "p" + start.format(DateTimeFormatter.BASIC_ISO_DATE);
+    }
+}
@@ -0,0 +1,81 @@
+// File: src/main/java/com/healthcare/service/VitalRollupService.java
+package com.healthcare.service;
+
+import com.healthcare.model.VitalResolution;
+import com.healthcare.repository.VitalRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the minute, hour and day rollups continuously up to date. Every
+ * run recomputes the buckets from a little before now (the lateness
+ * window, for readings that arrive late) or from the oldest reading
+ * written since the last run, whichever is earlier, each resolution from
+ * the one below it. After a restart the first run resumes from the
+ * newest minute bucket, so nothing written while the service was down
+ * is missed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VitalRollupService {
+
+    private static final List<VitalResolution> ROLLUPS = List.of(
+            VitalResolution.MINUTE, VitalResolution.HOUR, VitalResolution.DAY);
+
+    // Before any reading could have been taken, to roll up everything
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final VitalRepository repository;
+
+    private final AtomicReference<LocalDateTime> dirtyFrom = new AtomicReference<>();
+
+    private volatile boolean resumed;
+
+    @Value("${healthcare.vitals.rollup-lateness:10m}")
+    private Duration lateness;
+
+    // Called after readings are written, with the oldest of them
+    public void markDirty(LocalDateTime recordedAt) {
+        if (recordedAt != null) {
+            dirtyFrom.accumulateAndGet(recordedAt, (current, time) ->
+                    current == null || time.isBefore(current) ? time : current);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${healthcare.vitals.rollup-interval-ms:30000}")
+    public void refresh() {
+        LocalDateTime from = LocalDateTime.now().minus(lateness);
+        LocalDateTime dirty = dirtyFrom.getAndSet(null);
+        if (dirty != null && dirty.isBefore(from)) {
+            from = dirty;
+        }
+        if (!resumed) {
+            LocalDateTime latest = repository.findLatestBucket(VitalResolution.MINUTE);
+            if (latest == null) {
+                from = BEGINNING;
+            } else if (latest.isBefore(from)) {
+                from = latest;
+            }
+        }
+
+        try {
+            for (VitalResolution resolution : ROLLUPS) {
+                repository.refreshRollup(resolution, from);
+            }
+            resumed = true;
+        } catch (RuntimeException e) {
+            // Retried from the same point on the next run
+            markDirty(from);
+            log.warn("Vitals rollup refresh from {} failed", from, e);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+// File: src/main/java/com/healthcare/service/VitalService.java
+package com.healthcare.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.healthcare.dto.VitalReading;
+import com.healthcare.dto.VitalSeriesDTO;
+import com.healthcare.model.Patient;
+import com.healthcare.model.VitalResolution;
+import com.healthcare.repository.PatientRepository;
+import com.healthcare.repository.VitalRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Monitor vitals as a time series: readings are appended to the
+ * partitioned raw table and summarised into minute, hour and day rollups
+ * by {@link VitalRollupService}. A chart asks for a range and a number
+ * of points and is served from the coarsest resolution that still has
+ * that many buckets in the range, so a year costs a few hundred day rows
+ * rather than millions of readings.
+ */
+@Service
+@RequiredArgsConstructor
+public class VitalService {
+
+    static final int MAX_POINTS = 5000;
+
+    private final VitalRepository repository;
+    private final VitalRollupService rollupService;
+    private final VitalAlertService alertService;
+    private final PatientRepository patientRepository;
+
+    // Patients are never deleted here, so a hit needs no re-check for a while
+    private final Cache<Integer, Boolean> knownPatients = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    public int record(List<VitalReading> readings) {
+        if (readings.isEmpty()) {
+            return 0;
+        }
+        Set<Integer> patientIds = new HashSet<>();
+        LocalDateTime earliest = null;
+        for (VitalReading reading : readings) {
+            validate(reading);
+            patientIds.add(reading.getPatientId());
+            if (earliest == null || reading.getRecordedAt().isBefore(earliest)) {
+                earliest = reading.getRecordedAt();
+            }
+        }
+        requirePatients(patientIds);
+
+        repository.insertReadings(readings);
+        rollupService.markDirty(earliest);
+        alertService.submit(readings);
+        return readings.size();
+    }
+
+    public VitalSeriesDTO getSeries(Integer patientId, LocalDateTime from,
+                                    LocalDateTime to, int points) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        if (points < 1 || points > MAX_POINTS) {
+            throw new IllegalArgumentException(
+                    "points must be between 1 and " + MAX_POINTS);
+        }
+
+        long rangeSeconds = Duration.between(from, to).getSeconds();
+        VitalResolution resolution = resolutionFor(rangeSeconds, points);
+        long step = resolution.getStep().getSeconds();
+        // A whole number of the resolution's buckets per point, rounded up
+        // so the chart gets no more points than asked for, give or take
+        // the partial bucket at either end
+        long perPoint = (rangeSeconds + points - 1) / points;
+        long bucketSeconds = Math.max((perPoint + step - 1) / step, 1) * step;
+
+        LocalDateTime start = resolution.floor(from);
+        return VitalSeriesDTO.builder()
+                .patientId(patientId)
+                .from(start)
+                .to(to)
+                .resolution(resolution)
+                .bucketSeconds(bucketSeconds)
+                .points(repository.findSeries(resolution, patientId,
+                        start, to, bucketSeconds))
+                .build();
+    }
+
+    /**
+     * The coarsest resolution whose buckets are no wider than the range
+     * split into the requested points, raw readings when even a minute
+     * is too wide.
+     */
+    static VitalResolution resolutionFor(long rangeSeconds, int points) {
+        long width = rangeSeconds / points;
+        VitalResolution chosen = VitalResolution.RAW;
+        for (VitalResolution resolution : VitalResolution.values()) {
+            if (resolution.getStep().getSeconds() <= width) {
+                chosen = resolution;
+            }
+        }
+        return chosen;
+    }
+
+    // The partitioned table cannot carry a foreign key
+    void requirePatients(Set<Integer> patientIds) {
+        Set<Integer> unknown = new HashSet<>();
+        for (Integer patientId : patientIds) {
+            if (knownPatients.getIfPresent(patientId) == null) {
+                unknown.add(patientId);
+            }
+        }
+        if (unknown.isEmpty()) {
+            return;
+        }
+        for (Patient patient : patientRepository.findAllById(unknown)) {
+            knownPatients.put(patient.getPatientId(), Boolean.TRUE);
+            unknown.remove(patient.getPatientId());
+        }
+        if (!unknown.isEmpty()) {
+            throw new RuntimeException("Patient not found: " + unknown);
+        }
+    }
+
+    static void validate(VitalReading reading) {
+        if (reading.getPatientId() == null || reading.getRecordedAt() == null) {
+            throw new IllegalArgumentException(
+                    "Each reading needs a patientId and recordedAt");
+        }
+        if (reading.getBloodPressureSystolic() == null
+                && reading.getBloodPressureDiastolic() == null
+                && reading.getOxygenLevel() == null
+                && reading.getTemperature() == null) {
+            throw new IllegalArgumentException(
+                    "Reading for patient " + reading.getPatientId() + " has no vitals");
+        }
+    }
+}
@@ -0,0 +1,211 @@
+// File: src/main/java/com/healthcare/service/VitalWriteAheadLog.java
+package com.healthcare.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.healthcare.dto.VitalReading;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Local write-ahead log of accepted vitals, so a reading acknowledged to
+ * a monitor survives a crash before it reaches the database. Readings
+ * are appended as NDJSON to numbered segment files and fsynced before
+ * append returns. A segment is deleted once it has been rotated out and
+ * every reading in it has been written; whatever is left at startup is
+ * replayed. Replaying a reading that did reach the database is harmless:
+ * it is upserted on (patient, second). Readings the database will not
+ * take are set aside in dead-letter files, which are never replayed.
+ */
+@Slf4j
+class VitalWriteAheadLog implements AutoCloseable {
+
+    private static final String PREFIX = "vitals-";
+    private static final String SUFFIX = ".wal";
+    private static final String DEAD_PREFIX = "vitals-dead-";
+    private static final String DEAD_SUFFIX = ".ndjson";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final ObjectMapper objectMapper;
+
+    private Segment current;
+    private long nextSequence;
+    private long nextDeadLetter;
+
+    VitalWriteAheadLog(Path directory, long segmentBytes,
+                       ObjectMapper objectMapper) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Replays the segments left by a previous run, oldest first, in
+     * batches, deleting each once the consumer has taken all of it. A
+     * torn last line, from a crash mid-append, was never acknowledged
+     * and is skipped. Call before the first append.
+     */
+    void recover(int batchSize, Consumer<List<VitalReading>> writer) throws IOException {
+        for (Path path : segments()) {
+            List<VitalReading> batch = new ArrayList<>(batchSize);
+            long replayed = 0;
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        batch.add(objectMapper.readValue(line, VitalReading.class));
+                    } catch (IOException e) {
+                        log.warn("Skipping unreadable line in {}", path.getFileName());
+                        continue;
+                    }
+                    if (batch.size() == batchSize) {
+                        writer.accept(batch);
+                        replayed += batch.size();
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                writer.accept(batch);
+                replayed += batch.size();
+            }
+            Files.delete(path);
+            log.info("Replayed {} vitals from {}", replayed, path.getFileName());
+            nextSequence = Math.max(nextSequence, sequenceOf(path) + 1);
+        }
+    }
+
+    /**
+     * Appends and fsyncs the readings, returning the segment they went to
+     * with its pending count already raised by their number.
+     */
+    synchronized Segment append(List<VitalReading> readings) throws IOException {
+        ByteBuffer buffer = toNdjson(readings);
+        if (current == null) {
+            current = open();
+        }
+        Segment segment = current;
+        while (buffer.hasRemaining()) {
+            segment.channel.write(buffer);
+        }
+        segment.channel.force(false);
+        segment.pending += readings.size();
+
+        if (segment.channel.size() >= segmentBytes) {
+            rotate();
+        }
+        return segment;
+    }
+
+    /**
+     * Writes readings the database refused to a new dead-letter file in
+     * the log directory, fsynced, and returns it. Recovery leaves these
+     * files alone; they are for loading by hand once the cause is fixed.
+     * The readings' segments still need releasing.
+     */
+    synchronized Path deadLetter(List<VitalReading> readings) throws IOException {
+        ByteBuffer buffer = toNdjson(readings);
+        Path path = directory.resolve(String.format("%s%d-%d%s", DEAD_PREFIX,
+                System.currentTimeMillis(), nextDeadLetter++, DEAD_SUFFIX));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        return path;
+    }
+
+    // Called once the given number of a segment's readings are in the database
+    synchronized void release(Segment segment, int count) {
+        segment.pending -= count;
+        deleteIfDone(segment);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (current != null) {
+            current.channel.close();
+            current = null;
+        }
+    }
+
+    private void rotate() throws IOException {
+        Segment segment = current;
+        current = null;
+        segment.channel.close();
+        segment.closed = true;
+        deleteIfDone(segment);
+    }
+
+    private void deleteIfDone(Segment segment) {
+        if (segment.closed && segment.pending == 0) {
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                // Replayed, harmlessly, on the next start
+                log.warn("Could not delete {}", segment.path, e);
+            }
+        }
+    }
+
+    private ByteBuffer toNdjson(List<VitalReading> readings) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(readings.size() * 160);
+        for (VitalReading reading : readings) {
+            objectMapper.writeValue(bytes, reading);
+            bytes.write('\n');
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private Segment open() throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", PREFIX, nextSequence++, SUFFIX));
+        return new Segment(path, FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE));
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private long pending;
+        private boolean closed;
+
+        private Segment(Path path, FileChannel channel) {
+            this.path = path;
+            this.channel = channel;
+        }
+    }
+}
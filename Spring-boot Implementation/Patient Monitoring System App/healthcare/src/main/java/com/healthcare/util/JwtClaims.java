@@ -0,0 +1,15 @@
+package com.healthcare.util;
+
+import java.time.Instant;
+
+/**
+ * The claims of a verified token. Immutable, so one instance can be
+ * cached and shared by every request carrying the same token.
+ */
+public record JwtClaims(String email, String role, Integer userId,
+                        Instant expiresAt) {
+
+    public boolean isExpired() {
+        return expiresAt != null && !Instant.now().isBefore(expiresAt);
+    }
+}
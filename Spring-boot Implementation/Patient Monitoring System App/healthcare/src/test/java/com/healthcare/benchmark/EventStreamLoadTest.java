@@ -0,0 +1,193 @@
+// File: src/test/java/com/healthcare/benchmark/EventStreamLoadTest.java
+package com.healthcare.benchmark;
+
+import com.healthcare.HealthcareApplication;
+import com.healthcare.util.JwtUtil;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Database query rate with every client polling for new notifications
+ * and messages, as the frontend did, against every client subscribed to
+ * /api/events instead. Both phases run against MySQL in a container
+ * with the same traffic of new messages, and the rate is MySQL's own
+ * Questions counter, so it counts every statement from the application.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec
+ * -Dbenchmark.main=com.healthcare.benchmark.EventStreamLoadTest}
+ * (Docker is needed); -Dload.clients, -Dload.seconds,
+ * -Dload.poll-seconds and -Dload.messages-per-second size the run.
+ */
+public class EventStreamLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 1000);
+    private static final int SECONDS = Integer.getInteger("load.seconds", 60);
+    private static final int POLL_SECONDS = Integer.getInteger("load.poll-seconds", 5);
+    private static final int MESSAGES_PER_SECOND = Integer.getInteger("load.messages-per-second", 10);
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final AtomicLong delivered = new AtomicLong();
+
+    private JdbcTemplate jdbc;
+    private String baseUrl;
+    private String[] tokens;
+    private String senderToken;
+
+    public static void main(String[] args) throws Exception {
+        try (MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")) {
+            mysql.start();
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(HealthcareApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "management.server.port=0",
+                            "spring.datasource.url=" + mysql.getJdbcUrl(),
+                            "spring.datasource.username=" + mysql.getUsername(),
+                            "spring.datasource.password=" + mysql.getPassword(),
+                            "logging.level.com.healthcare=WARN")
+                    .run();
+            try {
+                new EventStreamLoadTest().run(context);
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private void run(ConfigurableApplicationContext context) throws Exception {
+        jdbc = context.getBean(JdbcTemplate.class);
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        baseUrl = "http://localhost:"
+                + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        // User 0 sends; users 1..CLIENTS receive
+        tokens = new String[CLIENTS + 1];
+        for (int i = 0; i <= CLIENTS; i++) {
+            String email = "user" + i + "@example.com";
+            jdbc.update("INSERT INTO user (user_id, email, password_hash, role, created_at) "
+                    + "VALUES (?, ?, 'x', 'PATIENT', NOW())", i + 1, email);
+            tokens[i] = jwtUtil.generateToken(email, "PATIENT", i + 1);
+        }
+        senderToken = tokens[0];
+
+        double polling = phase("polling", this::startPolling);
+        double streaming = phase("streaming", this::startStreaming);
+
+        System.out.printf("%d clients, %d messages/s, %ds per phase%n",
+                CLIENTS, MESSAGES_PER_SECOND, SECONDS);
+        System.out.printf("polling:   %.1f queries/s%n", polling);
+        System.out.printf("streaming: %.1f queries/s, %d message events delivered%n",
+                streaming, delivered.get());
+    }
+
+    // Queries per second while the clients run alongside the message traffic
+    private double phase(String name, ClientStarter clients) throws Exception {
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(8);
+        List<Thread> streams = new ArrayList<>();
+        try {
+            clients.start(scheduler, streams);
+            scheduler.scheduleAtFixedRate(this::sendMessage, 0,
+                    1_000_000 / MESSAGES_PER_SECOND, TimeUnit.MICROSECONDS);
+            // Let every client get going before measuring
+            Thread.sleep(TimeUnit.SECONDS.toMillis(POLL_SECONDS));
+
+            long before = questions();
+            long start = System.nanoTime();
+            Thread.sleep(TimeUnit.SECONDS.toMillis(SECONDS));
+            long after = questions();
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%s phase done%n", name);
+            return (after - before) / seconds;
+        } finally {
+            scheduler.shutdownNow();
+            streams.forEach(Thread::interrupt);
+        }
+    }
+
+    private void startPolling(ScheduledExecutorService scheduler, List<Thread> streams) {
+        for (int i = 1; i <= CLIENTS; i++) {
+            int userId = i + 1;
+            String token = tokens[i];
+            // Spread over the interval, as tabs opened at different times
+            long offset = ThreadLocalRandom.current().nextLong(POLL_SECONDS * 1000L);
+            scheduler.scheduleAtFixedRate(() -> {
+                get("/api/notifications/unread-count/" + userId, token);
+                get("/api/messages/user/" + userId, token);
+            }, offset, POLL_SECONDS * 1000L, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void startStreaming(ScheduledExecutorService scheduler, List<Thread> streams) {
+        for (int i = 1; i <= CLIENTS; i++) {
+            String token = tokens[i];
+            Thread stream = new Thread(() -> {
+                try {
+                    HttpResponse<Stream<String>> response = http.send(HttpRequest.newBuilder()
+                                    .uri(URI.create(baseUrl + "/api/events"))
+                                    .header("Authorization", "Bearer " + token)
+                                    .header("Accept", "text/event-stream")
+                                    .build(),
+                            HttpResponse.BodyHandlers.ofLines());
+                    response.body()
+                            .filter(line -> line.equals("event:message"))
+                            .forEach(line -> delivered.incrementAndGet());
+                } catch (Exception e) {
+                    // Interrupted at the end of the phase
+                }
+            }, "sse-client-" + i);
+            stream.setDaemon(true);
+            stream.start();
+            streams.add(stream);
+        }
+    }
+
+    private void sendMessage() {
+        int receiverId = ThreadLocalRandom.current().nextInt(CLIENTS) + 2;
+        String body = "{\"senderId\":1,\"receiverId\":" + receiverId + ",\"content\":\"ping\"}";
+        send(HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/api/messages"))
+                .header("Authorization", "Bearer " + senderToken)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    private void get(String path, String token) {
+        send(HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .build());
+    }
+
+    // Fire and forget, so a slow response never delays the next request
+    private void send(HttpRequest request) {
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private long questions() {
+        return Long.parseLong(jdbc.queryForMap("SHOW GLOBAL STATUS LIKE 'Questions'")
+                .get("Value").toString());
+    }
+
+    @FunctionalInterface
+    private interface ClientStarter {
+        void start(ScheduledExecutorService scheduler, List<Thread> streams);
+    }
+}
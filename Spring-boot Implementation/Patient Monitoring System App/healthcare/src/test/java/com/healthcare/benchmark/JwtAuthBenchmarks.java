@@ -0,0 +1,122 @@
+// File: src/test/java/com/healthcare/benchmark/JwtAuthBenchmarks.java
+package com.healthcare.benchmark;
+
+import com.healthcare.util.JwtClaims;
+import com.healthcare.util.JwtUtil;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token, as
+ * JwtAuthenticationFilter pays it:
+ * <ul>
+ *   <li>legacy: what the filter used to do, rebuilding the key and
+ *       parser and parsing the token four times (extractEmail,
+ *       extractRole, then validateToken's extractEmail and expiry
+ *       check)</li>
+ *   <li>singleParse: one verification with the shared parser, the cache
+ *       turned off</li>
+ *   <li>cached: JwtUtil as configured, every token already verified once</li>
+ * </ul>
+ * Requests cycle through {@code users} distinct tokens. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec}; results are written to
+ * target/jmh/jwt-auth.json.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtAuthBenchmarks {
+
+    private static final String SECRET =
+            "mySecretKeyForHealthcareApplicationThatIsLongEnoughForHS256Algorithm2024";
+    private static final long EXPIRATION = 86_400_000L;
+
+    @Param({"1000"})
+    private int users;
+
+    private JwtUtil cachedJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cachedJwtUtil = new JwtUtil(SECRET, EXPIRATION, 10_000);
+        uncachedJwtUtil = new JwtUtil(SECRET, EXPIRATION, 0);
+        tokens = new String[users];
+        for (int i = 0; i < users; i++) {
+            tokens[i] = cachedJwtUtil.generateToken(
+                    "patient" + i + "@example.com", "PATIENT", i + 1);
+            cachedJwtUtil.validate(tokens[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        String token = nextToken();
+        String email = legacyParser().parseClaimsJws(token).getBody().getSubject();
+        String role = legacyParser().parseClaimsJws(token).getBody().get("role", String.class);
+        boolean valid = email.equals(legacyParser().parseClaimsJws(token).getBody().getSubject())
+                && !legacyParser().parseClaimsJws(token).getBody().getExpiration().before(new Date());
+        return valid && role != null;
+    }
+
+    @Benchmark
+    public JwtClaims singleParse() {
+        return uncachedJwtUtil.validate(nextToken());
+    }
+
+    @Benchmark
+    public JwtClaims cached() {
+        return cachedJwtUtil.validate(nextToken());
+    }
+
+    private String nextToken() {
+        String token = tokens[next];
+        next = (next + 1) % tokens.length;
+        return token;
+    }
+
+    // As JwtUtil built it on every call
+    private static JwtParser legacyParser() {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parserBuilder().setSigningKey(key).build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        File output = new File("target/jmh");
+        if (!output.isDirectory() && !output.mkdirs()) {
+            throw new IllegalStateException("Cannot create " + output);
+        }
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthBenchmarks.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result(new File(output, "jwt-auth.json").getPath())
+                .build()).run();
+    }
+}
@@ -0,0 +1,151 @@
+// File: src/test/java/com/healthcare/benchmark/VitalIngestBenchmarks.java
+package com.healthcare.benchmark;
+
+import com.healthcare.HealthcareApplication;
+import com.healthcare.dto.VitalReading;
+import com.healthcare.service.VitalIngestService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sustained throughput of POST /api/vitals/batch, in readings per second,
+ * against MySQL in a container. Each invocation submits a 500-reading
+ * batch to VitalIngestService and, when refused with a full queue, backs
+ * off and resubmits as a monitor would, so once the queue has filled the
+ * score is the rate the writers get readings into the database rather
+ * than how fast they can be queued. Readings go to 1000 patients, each
+ * one a distinct second. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec
+ * -Dbenchmark.main=com.healthcare.benchmark.VitalIngestBenchmarks};
+ * Docker is needed, and results are written to
+ * target/jmh/vital-ingest.json.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VitalIngestBenchmarks {
+
+    private static final int BATCH = 500;
+    private static final int PATIENTS = 1000;
+
+    private final AtomicLong second = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private VitalIngestService ingestService;
+    private LocalDateTime start;
+
+    @Setup
+    public void setUp() throws IOException {
+        context = new SpringApplicationBuilder(HealthcareApplication.class)
+                .properties(
+                        "server.port=0",
+                        "management.server.port=0",
+                        "spring.datasource.url=" + System.getProperty("benchmark.jdbc.url"),
+                        "spring.datasource.username=" + System.getProperty("benchmark.jdbc.username"),
+                        "spring.datasource.password=" + System.getProperty("benchmark.jdbc.password"),
+                        "healthcare.vitals.ingest.wal-dir="
+                                + Files.createTempDirectory("vitals-wal"),
+                        "logging.level.com.healthcare=WARN")
+                .run();
+        ingestService = context.getBean(VitalIngestService.class);
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        for (int i = 1; i <= PATIENTS; i++) {
+            jdbc.update("INSERT INTO user (user_id, email, password_hash, role, created_at) "
+                            + "VALUES (?, ?, 'x', 'PATIENT', NOW())",
+                    i, "patient" + i + "@example.com");
+            jdbc.update("INSERT INTO patient (patient_id, name, date_of_birth) VALUES (?, ?, ?)",
+                    i, "Patient " + i, LocalDate.of(1970, 1, 1));
+        }
+        start = LocalDateTime.now().minusDays(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int ingest() throws InterruptedException {
+        List<VitalReading> readings = nextBatch();
+        while (true) {
+            try {
+                return ingestService.accept(readings);
+            } catch (VitalIngestService.QueueFullException e) {
+                Thread.sleep(1);
+            }
+        }
+    }
+
+    private List<VitalReading> nextBatch() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<VitalReading> readings = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            long n = second.getAndIncrement();
+            readings.add(VitalReading.builder()
+                    .patientId((int) (n % PATIENTS) + 1)
+                    .recordedAt(start.plusSeconds(n / PATIENTS))
+                    .bloodPressureSystolic(110 + random.nextInt(30))
+                    .bloodPressureDiastolic(70 + random.nextInt(20))
+                    .oxygenLevel(BigDecimal.valueOf(94 + random.nextInt(6)))
+                    .temperature(BigDecimal.valueOf(365 + random.nextInt(10), 1))
+                    .build());
+        }
+        return readings;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        File output = new File("target/jmh");
+        if (!output.isDirectory() && !output.mkdirs()) {
+            throw new IllegalStateException("Cannot create " + output);
+        }
+        try (MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+                .withUrlParam("rewriteBatchedStatements", "true")) {
+            mysql.start();
+            new Runner(new OptionsBuilder()
+                    .include(VitalIngestBenchmarks.class.getSimpleName())
+                    .threads(8)
+                    .jvmArgsAppend(
+                            "-Dbenchmark.jdbc.url=" + mysql.getJdbcUrl(),
+                            "-Dbenchmark.jdbc.username=" + mysql.getUsername(),
+                            "-Dbenchmark.jdbc.password=" + mysql.getPassword())
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(output, "vital-ingest.json").getPath())
+                    .build()).run();
+        }
+    }
+}
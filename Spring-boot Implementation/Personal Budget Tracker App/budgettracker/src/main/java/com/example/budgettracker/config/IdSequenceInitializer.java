@@ -0,0 +1,57 @@
+package com.example.budgettracker.config;
+
+import com.example.budgettracker.model.IdSequences;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves every id sequence table past the ids already in its entity
+ * table. Rows written while the ids were AUTO_INCREMENT would otherwise
+ * collide with the first ids the pooled generator hands out. Runs once
+ * the schema has been updated and before the application takes any
+ * traffic.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer {
+
+    // {sequence table, entity table, id column}
+    private static final String[][] SEQUENCES = {
+            {"expense_seq", "expense", "expense_id"},
+            {"income_seq", "income", "income_id"},
+            {"transfer_seq", "transfer", "transfer_id"},
+            {"budget_seq", "budget", "budget_id"}
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void alignSequences() {
+        for (String[] sequence : SEQUENCES) {
+            Long maxId = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX(" + sequence[2] + "), 0) " +
+                            "FROM " + sequence[1], Long.class);
+
+            // The pooled optimizer hands out the block ending at the value
+            // it reads, so the value must be a full block above the max id
+            long floor = maxId + IdSequences.ALLOCATION_SIZE;
+
+            Long rows = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM " + sequence[0], Long.class);
+            if (rows == 0) {
+                jdbcTemplate.update("INSERT INTO " + sequence[0] +
+                        " (next_val) VALUES (?)", floor);
+            } else {
+                jdbcTemplate.update("UPDATE " + sequence[0] +
+                        " SET next_val = GREATEST(next_val, ?)", floor);
+            }
+            log.debug("{} aligned to at least {}", sequence[0], floor);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.budgettracker.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Keeps a client's reads on the primary for a short while after it
+ * writes, so it never reads from a replica that has not caught up with
+ * its own change.
+ *
+ * Every committed read-write transaction pins the thread it ran on until
+ * the stickiness window ends. Inside a web request the deadline also goes
+ * back to the client in a cookie, and {@link ReadYourWritesFilter} pins
+ * the client's next requests until it passes. Spring Boot registers this
+ * listener with the transaction manager.
+ */
+@Component
+public class ReadYourWrites implements TransactionExecutionListener {
+
+    public static final String COOKIE = "bt_primary_until";
+
+    private static final ThreadLocal<Long> PINNED_UNTIL = new ThreadLocal<>();
+
+    @Value("${budgettracker.datasource.replica.url:}")
+    private String replicaUrl;
+
+    @Value("${budgettracker.datasource.replica.stickiness:5s}")
+    private Duration stickiness;
+
+    public static boolean isPinned() {
+        Long until = PINNED_UNTIL.get();
+        if (until == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() < until) {
+            return true;
+        }
+        PINNED_UNTIL.remove();
+        return false;
+    }
+
+    // Keeps the later of the two deadlines
+    public static void pinUntil(long epochMillis) {
+        Long until = PINNED_UNTIL.get();
+        if (until == null || until < epochMillis) {
+            PINNED_UNTIL.set(epochMillis);
+        }
+    }
+
+    // The client's deadline, capped so a forged cookie cannot pin it longer
+    public void pinClient(long epochMillis) {
+        pinUntil(Math.min(epochMillis,
+                System.currentTimeMillis() + stickiness.toMillis()));
+    }
+
+    public static void clear() {
+        PINNED_UNTIL.remove();
+    }
+
+    public boolean isEnabled() {
+        return !replicaUrl.isBlank();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction,
+                            Throwable commitFailure) {
+        if (!isEnabled() || commitFailure != null || transaction.isReadOnly()) {
+            return;
+        }
+        long until = System.currentTimeMillis() + stickiness.toMillis();
+        pinUntil(until);
+        addCookie(until);
+    }
+
+    private void addCookie(long until) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servlet)) {
+            return;
+        }
+        HttpServletRequest request = servlet.getRequest();
+        HttpServletResponse response = servlet.getResponse();
+        // Once per request is enough: later commits only move it a little
+        if (response == null || response.isCommitted()
+                || request.getAttribute(COOKIE) != null) {
+            return;
+        }
+        request.setAttribute(COOKIE, until);
+        response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie
+                .from(COOKIE, String.valueOf(until))
+                .maxAge(stickiness)
+                .path("/")
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build().toString());
+    }
+}
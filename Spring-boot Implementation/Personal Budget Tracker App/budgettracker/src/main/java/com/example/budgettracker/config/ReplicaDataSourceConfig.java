@@ -0,0 +1,57 @@
+package com.example.budgettracker.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * With budgettracker.datasource.replica.url set, wraps the DataSource
+ * Spring Boot builds from spring.datasource.* (the primary) in a
+ * {@link ReplicaRoutingDataSource} with a second pool on the replica.
+ * JPA, JdbcTemplate and Flyway all keep using the one DataSource bean;
+ * Flyway never runs read-only, so migrations always go to the primary.
+ *
+ * Without a replica URL nothing changes.
+ */
+@Configuration
+public class ReplicaDataSourceConfig {
+
+    private static final String PREFIX = "budgettracker.datasource.replica.";
+
+    @Bean
+    static BeanPostProcessor replicaRoutingPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean,
+                                                         String beanName) {
+                String url = environment.getProperty(PREFIX + "url", "");
+                if (url.isBlank() || !"dataSource".equals(beanName)
+                        || !(bean instanceof DataSource primary)
+                        || bean instanceof ReplicaRoutingDataSource) {
+                    return bean;
+                }
+                return new ReplicaRoutingDataSource(primary,
+                        replicaPool(environment, url));
+            }
+        };
+    }
+
+    private static DataSource replicaPool(Environment environment, String url) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("replica");
+        config.setJdbcUrl(url);
+        config.setUsername(environment.getProperty(PREFIX + "username",
+                environment.getProperty("spring.datasource.username")));
+        config.setPassword(environment.getProperty(PREFIX + "password",
+                environment.getProperty("spring.datasource.password")));
+        config.setMaximumPoolSize(environment.getProperty(
+                PREFIX + "pool-size", Integer.class, 10));
+        config.setReadOnly(true);
+        return new HikariDataSource(config);
+    }
+}
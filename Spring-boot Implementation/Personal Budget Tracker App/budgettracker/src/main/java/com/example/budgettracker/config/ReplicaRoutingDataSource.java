@@ -0,0 +1,65 @@
+package com.example.budgettracker.config;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * The application DataSource when a read replica is configured. Read-only
+ * transactions (@Transactional(readOnly = true)) get a replica connection,
+ * everything else the primary.
+ *
+ * The physical connection is only fetched at the first statement, by
+ * which point the transaction manager has marked it read-only or not, so
+ * the choice needs nothing from the callers. A thread pinned by
+ * {@link ReadYourWrites} keeps its read-only transactions on the primary
+ * too.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy
+        implements Closeable {
+
+    private enum Target { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        super(primary);
+        this.primary = primary;
+        this.replica = replica;
+
+        Router router = new Router();
+        router.setTargetDataSources(Map.of(
+                Target.PRIMARY, primary, Target.REPLICA, replica));
+        router.afterPropertiesSet();
+        setReadOnlyDataSource(router);
+    }
+
+    // Both pools belong to this bean once it replaces the primary
+    @Override
+    public void close() throws IOException {
+        try {
+            closePool(replica);
+        } finally {
+            closePool(primary);
+        }
+    }
+
+    private static void closePool(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static final class Router extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return ReadYourWrites.isPinned() ? Target.PRIMARY : Target.REPLICA;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.budgettracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor that report generation runs on. The pool and its queue are
+ * both fixed in size; once the queue is full new reports are rejected
+ * rather than piling up in memory.
+ */
+@Configuration
+public class ReportExecutorConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor reportExecutor(
+            @Value("${budgettracker.reports.threads:2}") int threads,
+            @Value("${budgettracker.reports.queue-capacity:100}") int queueCapacity) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
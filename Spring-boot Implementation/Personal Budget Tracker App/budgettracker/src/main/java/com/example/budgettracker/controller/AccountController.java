@@ -1,5 +1,6 @@
 package com.example.budgettracker.controller;
 
+import com.example.budgettracker.dto.AccountDTO;
 import com.example.budgettracker.model.Account;
 
 import com.example.budgettracker.service.AccountService;
@@ -32,7 +33,7 @@ public class AccountController {
     }
 
     @GetMapping("/user/{userId}")
-    public List<Account> getByUser(@PathVariable Integer userId) {
+    public List<AccountDTO> getByUser(@PathVariable Integer userId) {
         return accountService.getAccountsByUserId(userId);
     }
 
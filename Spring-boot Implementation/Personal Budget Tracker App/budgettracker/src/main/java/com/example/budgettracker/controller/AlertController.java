@@ -1,5 +1,6 @@
 package com.example.budgettracker.controller;
 
+import com.example.budgettracker.dto.AlertDTO;
 import com.example.budgettracker.model.Alert;
 import com.example.budgettracker.service.AlertService;
 import lombok.RequiredArgsConstructor;
@@ -26,7 +27,7 @@ public class AlertController {
     }
 
     @GetMapping("/user/{userId}")
-    public List<Alert> getByUser(@PathVariable Integer userId) {
+    public List<AlertDTO> getByUser(@PathVariable Integer userId) {
         return alertService.getAlertsByUserId(userId);
     }
 
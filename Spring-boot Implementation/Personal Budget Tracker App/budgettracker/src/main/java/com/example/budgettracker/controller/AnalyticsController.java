@@ -0,0 +1,32 @@
+package com.example.budgettracker.controller;
+import com.example.budgettracker.dto.TrendPointDTO;
+import com.example.budgettracker.service.DailyTotalService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    @Autowired
+    private DailyTotalService dailyTotalService;
+
+    // Defaults to the last twelve months, bucketed by month
+    @GetMapping("/user/{userId}/trend")
+    public List<TrendPointDTO> getTrend(
+            @PathVariable Integer userId,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "MONTHLY") String granularity) {
+
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusMonths(11).withDayOfMonth(1);
+        return dailyTotalService.getTrend(userId, start, end, granularity);
+    }
+}
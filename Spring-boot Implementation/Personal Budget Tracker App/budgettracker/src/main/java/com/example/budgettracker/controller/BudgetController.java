@@ -1,5 +1,6 @@
 package com.example.budgettracker.controller;
 
+import com.example.budgettracker.dto.BudgetDTO;
 import com.example.budgettracker.model.Budget;
 import com.example.budgettracker.service.BudgetService;
 import lombok.RequiredArgsConstructor;
@@ -33,7 +34,7 @@ public class BudgetController {
     }
 
     @GetMapping("/user/{userId}")
-    public List<Budget> getByUser(@PathVariable Integer userId) {
+    public List<BudgetDTO> getByUser(@PathVariable Integer userId) {
         return budgetService.getBudgetsByUserId(userId);
     }
 
@@ -49,6 +50,11 @@ public class BudgetController {
         return budgetService.createBudget(budget);
     }
 
+    @PostMapping("/bulk")
+    public List<Budget> createAll(@RequestBody List<Budget> budgets) {
+        return budgetService.createBudgets(budgets);
+    }
+
     @PutMapping("/{id}")
     public Budget update(
             @PathVariable Integer id, @RequestBody Budget budget) {
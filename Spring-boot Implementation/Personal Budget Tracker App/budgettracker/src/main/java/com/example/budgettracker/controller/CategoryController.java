@@ -1,5 +1,7 @@
 package com.example.budgettracker.controller;
 
+import com.example.budgettracker.dto.CacheStatsDTO;
+import com.example.budgettracker.dto.CategoryDTO;
 import com.example.budgettracker.model.Category;
 import com.example.budgettracker.service.CategoryService;
 import lombok.RequiredArgsConstructor;
@@ -33,10 +35,16 @@ public class CategoryController {
     }
 
     @GetMapping("/user/{userId}")
-    public List<Category> getForUser(@PathVariable Integer userId) {
+    public List<CategoryDTO> getForUser(@PathVariable Integer userId) {
         return categoryService.getCategoriesForUser(userId);
     }
 
+    // Hit / miss counters of the category cache
+    @GetMapping("/cache/stats")
+    public List<CacheStatsDTO> getCacheStats() {
+        return categoryService.getCacheStats();
+    }
+
     @GetMapping("/type/{type}")
     public List<Category> getByType(@PathVariable String type) {
         return categoryService.getCategoriesByType(type);
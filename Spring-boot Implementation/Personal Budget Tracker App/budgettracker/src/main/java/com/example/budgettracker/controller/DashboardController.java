@@ -1,10 +1,13 @@
 package com.example.budgettracker.controller;
 import com.example.budgettracker.dto.DashboardDTO;
+import com.example.budgettracker.dto.SummaryDriftDTO;
 import com.example.budgettracker.service.DashboardService;
+import com.example.budgettracker.service.SummaryReconciliationJob;
+import com.example.budgettracker.service.UserSummaryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
-import org.springframework.web.bind.annotation.*;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -13,8 +16,24 @@ public class DashboardController {
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Autowired
+    private SummaryReconciliationJob summaryReconciliationJob;
+
     @GetMapping("/{userId}")
     public DashboardDTO getDashboard(@PathVariable Integer userId) {
         return dashboardService.getDashboard(userId);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/{userId}/reconcile")
+    public SummaryDriftDTO reconcile(@PathVariable Integer userId) {
+        return userSummaryService.reconcile(userId);
+    }
+
+    @PostMapping("/reconcile")
+    public List<SummaryDriftDTO> reconcileAll() {
+        return summaryReconciliationJob.reconcileAll();
+    }
+}
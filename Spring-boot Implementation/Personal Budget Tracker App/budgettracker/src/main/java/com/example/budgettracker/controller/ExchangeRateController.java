@@ -0,0 +1,28 @@
+package com.example.budgettracker.controller;
+import com.example.budgettracker.dto.RateImportResultDTO;
+import com.example.budgettracker.service.ExchangeRateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/exchange-rates")
+public class ExchangeRateController {
+
+    @Autowired
+    private ExchangeRateService exchangeRateService;
+
+    // CSV of date, currency, rate; existing (currency, date) rates are replaced
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public RateImportResultDTO importRates(
+            @RequestParam("file") MultipartFile file) throws IOException {
+
+        try (InputStream input = file.getInputStream()) {
+            return exchangeRateService.importCsv(input);
+        }
+    }
+}
@@ -1,18 +1,29 @@
 package com.example.budgettracker.controller;
 
+import com.example.budgettracker.dto.CursorPageDTO;
+import com.example.budgettracker.dto.ExpenseDTO;
+import com.example.budgettracker.dto.ExpenseSearchResultDTO;
 import com.example.budgettracker.model.Category;
 import com.example.budgettracker.model.Expense;
+import com.example.budgettracker.model.MonthlyCategorySpend;
 import com.example.budgettracker.service.CategoryService;
+import com.example.budgettracker.service.ExpenseSearchService;
 import com.example.budgettracker.service.ExpenseService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -23,6 +34,12 @@ public class ExpenseController {
     @Autowired
     private ExpenseService expenseService;
 
+    @Autowired
+    private ExpenseSearchService expenseSearchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
     public List<Expense> getAll() {
         return expenseService.getAllExpenses();
@@ -36,10 +53,62 @@ public class ExpenseController {
     }
 
     @GetMapping("/user/{userId}")
-    public List<Expense> getByUser(@PathVariable Integer userId) {
+    public List<ExpenseDTO> getByUser(@PathVariable Integer userId) {
         return expenseService.getExpensesByUserId(userId);
     }
 
+    @GetMapping("/user/{userId}/page")
+    public CursorPageDTO<ExpenseDTO> getPageByUser(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) Integer categoryId,
+            @RequestParam(required = false) Integer accountId) {
+        return expenseService.getExpensePage(
+                userId, cursor, limit, start, end, categoryId, accountId);
+    }
+
+    // Text, amount, date, category and payment method filters with facets
+    @GetMapping("/user/{userId}/search")
+    public ExpenseSearchResultDTO search(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) Integer categoryId,
+            @RequestParam(required = false) String paymentMethod,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return expenseSearchService.search(userId, q, minAmount, maxAmount,
+                start, end, categoryId, paymentMethod, cursor, limit);
+    }
+
+    @GetMapping(value = "/user/{userId}/export",
+            produces = NdjsonSupport.CONTENT_TYPE)
+    public void export(
+            @PathVariable Integer userId,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) Integer categoryId,
+            @RequestParam(required = false) Integer accountId,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonSupport.CONTENT_TYPE);
+        Writer writer = response.getWriter();
+        expenseService.exportExpenses(userId, start, end, categoryId, accountId,
+                NdjsonSupport.lineWriter(objectMapper, writer));
+        writer.flush();
+    }
+
     @GetMapping("/user/{userId}/total")
     public BigDecimal getTotal(@PathVariable Integer userId) {
         return expenseService.getTotalExpense(userId);
@@ -51,11 +120,23 @@ public class ExpenseController {
         return expenseService.getExpenseByCategory(userId);
     }
 
+    @GetMapping("/user/{userId}/month/{monthYear}/by-category")
+    public List<MonthlyCategorySpend> getMonthlyByCategory(
+            @PathVariable Integer userId,
+            @PathVariable String monthYear) {
+        return expenseService.getMonthlySpendByCategory(userId, monthYear);
+    }
+
     @PostMapping
     public Expense create(@RequestBody Expense expense) {
         return expenseService.createExpense(expense);
     }
 
+    @PostMapping("/bulk")
+    public List<Expense> createAll(@RequestBody List<Expense> expenses) {
+        return expenseService.createExpenses(expenses);
+    }
+
     @PutMapping("/{id}")
     public Expense update(
             @PathVariable Integer id,
@@ -1,7 +1,10 @@
 package com.example.budgettracker.controller;
 
+import com.example.budgettracker.dto.GoalDTO;
+import com.example.budgettracker.dto.GoalForecastDTO;
 
 import com.example.budgettracker.model.Goal;
+import com.example.budgettracker.model.GoalContribution;
 import com.example.budgettracker.service.GoalService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -31,7 +34,7 @@ public class GoalController {
     }
 
     @GetMapping("/user/{userId}")
-    public List<Goal> getByUser(@PathVariable Integer userId) {
+    public List<GoalDTO> getByUser(@PathVariable Integer userId) {
         return goalService.getGoalsByUserId(userId);
     }
 
@@ -40,6 +43,17 @@ public class GoalController {
         return goalService.getActiveGoals(userId);
     }
 
+    // Rate and projected completion of every active goal
+    @GetMapping("/user/{userId}/forecasts")
+    public List<GoalForecastDTO> getForecasts(@PathVariable Integer userId) {
+        return goalService.getForecasts(userId);
+    }
+
+    @GetMapping("/{id}/contributions")
+    public List<GoalContribution> getContributions(@PathVariable Integer id) {
+        return goalService.getContributions(id);
+    }
+
     @PostMapping
     public Goal create(@RequestBody Goal goal) {
         return goalService.createGoal(goal);
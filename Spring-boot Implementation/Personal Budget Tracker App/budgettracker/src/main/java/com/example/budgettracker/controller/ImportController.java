@@ -0,0 +1,34 @@
+package com.example.budgettracker.controller;
+import com.example.budgettracker.dto.ImportResultDTO;
+import com.example.budgettracker.service.CsvImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/imports")
+public class ImportController {
+
+    @Autowired
+    private CsvImportService csvImportService;
+
+    // Bank statement CSV; rows without an account column go to accountId
+    @PostMapping(value = "/user/{userId}/csv",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ImportResultDTO importCsv(
+            @PathVariable Integer userId,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) Integer accountId,
+            @RequestParam(required = false) String dateFormat)
+            throws IOException {
+
+        try (InputStream input = file.getInputStream()) {
+            return csvImportService.importCsv(
+                    userId, input, accountId, dateFormat);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.budgettracker.controller;
 
+import com.example.budgettracker.dto.CursorPageDTO;
+import com.example.budgettracker.dto.IncomeDTO;
 import com.example.budgettracker.model.Account;
 
 import com.example.budgettracker.model.Income;
@@ -10,12 +12,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.*;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -25,6 +33,9 @@ public class IncomeController {
     @Autowired
     private IncomeService incomeService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
     public List<Income> getAll() {
         return incomeService.getAllIncomes();
@@ -38,10 +49,41 @@ public class IncomeController {
     }
 
     @GetMapping("/user/{userId}")
-    public List<Income> getByUser(@PathVariable Integer userId) {
+    public List<IncomeDTO> getByUser(@PathVariable Integer userId) {
         return incomeService.getIncomesByUserId(userId);
     }
 
+    @GetMapping("/user/{userId}/page")
+    public CursorPageDTO<IncomeDTO> getPageByUser(
+            @PathVariable Integer userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) Integer accountId) {
+        return incomeService.getIncomePage(
+                userId, cursor, limit, start, end, accountId);
+    }
+
+    @GetMapping(value = "/user/{userId}/export",
+            produces = NdjsonSupport.CONTENT_TYPE)
+    public void export(
+            @PathVariable Integer userId,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) Integer accountId,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonSupport.CONTENT_TYPE);
+        Writer writer = response.getWriter();
+        incomeService.exportIncomes(userId, start, end, accountId,
+                NdjsonSupport.lineWriter(objectMapper, writer));
+        writer.flush();
+    }
+
     @GetMapping("/user/{userId}/total")
     public BigDecimal getTotal(@PathVariable Integer userId) {
         return incomeService.getTotalIncome(userId);
@@ -52,6 +94,11 @@ public class IncomeController {
         return incomeService.createIncome(income);
     }
 
+    @PostMapping("/bulk")
+    public List<Income> createAll(@RequestBody List<Income> incomes) {
+        return incomeService.createIncomes(incomes);
+    }
+
     @PutMapping("/{id}")
     public Income update(
             @PathVariable Integer id,
@@ -0,0 +1,30 @@
+package com.example.budgettracker.controller;
+
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.function.Consumer;
+
+/**
+ * Writes one JSON document per line for the streaming export endpoints.
+ */
+final class NdjsonSupport {
+
+    static final String CONTENT_TYPE = "application/x-ndjson";
+
+    private NdjsonSupport() {
+    }
+
+    static <T> Consumer<T> lineWriter(ObjectMapper objectMapper, Writer writer) {
+        return value -> {
+            try {
+                writer.write(objectMapper.writeValueAsString(value));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.budgettracker.controller;
 
+import com.example.budgettracker.dto.RecurringTransactionDTO;
 import com.example.budgettracker.model.RecurringTransaction;
+import com.example.budgettracker.service.RecurringPostingJob;
 import com.example.budgettracker.service.RecurringTransactionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -11,7 +13,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/recurring")
@@ -20,6 +24,9 @@ public class RecurringTransactionController {
     @Autowired
     private RecurringTransactionService service;
 
+    @Autowired
+    private RecurringPostingJob recurringPostingJob;
+
     @GetMapping
     public List<RecurringTransaction> getAll() {
         return service.getAllRecurring();
@@ -34,7 +41,7 @@ public class RecurringTransactionController {
     }
 
     @GetMapping("/user/{userId}")
-    public List<RecurringTransaction> getByUser(
+    public List<RecurringTransactionDTO> getByUser(
             @PathVariable Integer userId) {
         return service.getByUserId(userId);
     }
@@ -63,4 +70,13 @@ public class RecurringTransactionController {
         service.delete(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    // Runs the posting job now, e.g. to catch up after downtime
+    @PostMapping("/post-due")
+    public Map<String, Integer> postDue(
+            @RequestParam(required = false) LocalDate date) {
+        int posted = recurringPostingJob.postDue(
+                date != null ? date : LocalDate.now());
+        return Map.of("posted", posted);
+    }
+}
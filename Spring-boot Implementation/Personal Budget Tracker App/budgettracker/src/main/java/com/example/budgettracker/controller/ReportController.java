@@ -1,5 +1,7 @@
 package com.example.budgettracker.controller;
 
+import com.example.budgettracker.dto.CacheStatsDTO;
+import com.example.budgettracker.dto.ReportDTO;
 import com.example.budgettracker.model.Report;
 import com.example.budgettracker.service.ReportService;
 import lombok.RequiredArgsConstructor;
@@ -8,9 +10,11 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -25,8 +29,26 @@ public class ReportController {
         return reportService.getAllReports();
     }
 
+    @GetMapping("/{id}")
+    public ResponseEntity<Report> getById(@PathVariable Integer id) {
+        return reportService.getReportById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Lightweight poll target, without the report content
+    @GetMapping("/{id}/status")
+    public ReportDTO getStatus(@PathVariable Integer id) {
+        return reportService.getReportStatus(id);
+    }
+
+    @GetMapping("/cache/stats")
+    public CacheStatsDTO getCacheStats() {
+        return reportService.getCacheStats();
+    }
+
     @GetMapping("/user/{userId}")
-    public List<Report> getByUser(@PathVariable Integer userId) {
+    public List<ReportDTO> getByUser(@PathVariable Integer userId) {
         return reportService.getReportsByUserId(userId);
     }
 
@@ -35,6 +57,22 @@ public class ReportController {
         return reportService.createReport(report);
     }
 
+    // Defaults to the current month; returns 202 while the report is generated
+    @PostMapping("/user/{userId}/generate")
+    public ResponseEntity<ReportDTO> generate(
+            @PathVariable Integer userId,
+            @RequestParam String type,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        LocalDate start = from != null ? from : LocalDate.now().withDayOfMonth(1);
+        LocalDate end = to != null ? to : start.withDayOfMonth(start.lengthOfMonth());
+        return ResponseEntity.accepted()
+                .body(reportService.generateReport(userId, type, start, end));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Integer id) {
         reportService.deleteReport(id);
@@ -1,5 +1,6 @@
 package com.example.budgettracker.controller;
 
+import com.example.budgettracker.dto.TransferDTO;
 import com.example.budgettracker.model.Transfer;
 import com.example.budgettracker.service.TransferService;
 import org.springframework.http.ResponseEntity;
@@ -31,7 +32,7 @@ public class TransferController {
     }
 
     @GetMapping("/user/{userId}")
-    public List<Transfer> getByUser(@PathVariable Integer userId) {
+    public List<TransferDTO> getByUser(@PathVariable Integer userId) {
         return transferService.getTransfersByUserId(userId);
     }
 
@@ -40,6 +41,11 @@ public class TransferController {
         return transferService.createTransfer(transfer);
     }
 
+    @PostMapping("/bulk")
+    public List<Transfer> createAll(@RequestBody List<Transfer> transfers) {
+        return transferService.createTransfers(transfers);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Integer id) {
         transferService.deleteTransfer(id);
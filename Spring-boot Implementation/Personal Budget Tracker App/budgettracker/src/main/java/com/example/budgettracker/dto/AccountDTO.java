@@ -0,0 +1,19 @@
+package com.example.budgettracker.dto;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountDTO {
+
+    private Integer accountId;
+    private String accountName;
+    private String accountType;
+    private BigDecimal initialBalance;
+    private BigDecimal currentBalance;
+    private Boolean isActive;
+    private String currency;
+}
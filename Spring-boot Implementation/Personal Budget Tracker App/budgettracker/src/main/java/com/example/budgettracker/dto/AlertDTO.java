@@ -0,0 +1,17 @@
+package com.example.budgettracker.dto;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertDTO {
+
+    private Integer alertId;
+    private String alertType;
+    private String message;
+    private LocalDateTime createdAt;
+    private Boolean isRead;
+}
@@ -0,0 +1,18 @@
+package com.example.budgettracker.dto;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetDTO {
+
+    private Integer budgetId;
+    private Integer categoryId;
+    private String categoryName;
+    private String monthYear;
+    private BigDecimal amountLimit;
+    private BigDecimal amountSpent;
+}
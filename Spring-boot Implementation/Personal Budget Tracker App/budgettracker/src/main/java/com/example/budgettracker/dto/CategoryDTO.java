@@ -0,0 +1,15 @@
+package com.example.budgettracker.dto;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryDTO {
+
+    private Integer categoryId;
+    private String categoryName;
+    private String categoryType;
+    private Boolean isCustom;
+    private Integer userId;
+}
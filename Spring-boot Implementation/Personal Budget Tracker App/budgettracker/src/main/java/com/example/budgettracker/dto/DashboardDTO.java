@@ -20,4 +20,6 @@ public class DashboardDTO {
     private int activeGoals;
     private long unreadAlerts;
     private List<Map<String, Object>> expenseByCategory;
+    // Every amount above is in this currency
+    private String currency;
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.example.budgettracker.dto;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseDTO {
+
+    private Integer expenseId;
+    private BigDecimal amount;
+    private String description;
+    private LocalDate dateSpent;
+    private String paymentMethod;
+    private Integer accountId;
+    private String accountName;
+    private Integer categoryId;
+    private String categoryName;
+    private String currency;
+}
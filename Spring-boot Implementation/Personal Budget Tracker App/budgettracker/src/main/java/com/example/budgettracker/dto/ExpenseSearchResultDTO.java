@@ -0,0 +1,25 @@
+package com.example.budgettracker.dto;
+import lombok.*;
+
+import java.util.List;
+
+
+/**
+ * One page of search hits, newest first. The total and the facets cover
+ * every match and are only filled in on the first page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseSearchResultDTO {
+
+    private List<ExpenseDTO> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    private Long total;
+    private List<FacetCountDTO> categories;
+    private List<FacetCountDTO> paymentMethods;
+    private List<FacetCountDTO> months;
+}
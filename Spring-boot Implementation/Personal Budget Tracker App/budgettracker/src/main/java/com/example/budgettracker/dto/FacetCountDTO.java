@@ -0,0 +1,14 @@
+package com.example.budgettracker.dto;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountDTO {
+
+    // Category id, payment method or yyyy-MM; null for rows without one
+    private String value;
+    private String label;
+    private long count;
+}
@@ -0,0 +1,19 @@
+package com.example.budgettracker.dto;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalDTO {
+
+    private Integer goalId;
+    private String goalName;
+    private BigDecimal targetAmount;
+    private BigDecimal currentAmount;
+    private LocalDate targetDate;
+    private String status;
+}
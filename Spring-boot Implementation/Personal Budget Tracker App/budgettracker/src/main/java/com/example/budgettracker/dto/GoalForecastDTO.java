@@ -0,0 +1,47 @@
+package com.example.budgettracker.dto;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class GoalForecastDTO {
+
+    private Integer goalId;
+    private String goalName;
+    private BigDecimal targetAmount;
+    private BigDecimal currentAmount;
+    private LocalDate targetDate;
+    private LocalDate firstContributionDate;
+    private LocalDate lastContributionDate;
+
+    @JsonIgnore
+    private BigDecimal contributionWeight;
+
+    // === Projected as of today ===
+    private BigDecimal dailyRate;
+    private BigDecimal monthlyRate;
+    // Null when nothing is being contributed
+    private LocalDate projectedDate;
+    // Null without a target date or a projection
+    private Boolean onTrack;
+
+    public GoalForecastDTO(Integer goalId, String goalName,
+                           BigDecimal targetAmount, BigDecimal currentAmount,
+                           LocalDate targetDate,
+                           LocalDate firstContributionDate,
+                           LocalDate lastContributionDate,
+                           BigDecimal contributionWeight) {
+        this.goalId = goalId;
+        this.goalName = goalName;
+        this.targetAmount = targetAmount;
+        this.currentAmount = currentAmount;
+        this.targetDate = targetDate;
+        this.firstContributionDate = firstContributionDate;
+        this.lastContributionDate = lastContributionDate;
+        this.contributionWeight = contributionWeight;
+    }
+}
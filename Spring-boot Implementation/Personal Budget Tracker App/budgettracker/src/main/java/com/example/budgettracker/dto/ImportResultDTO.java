@@ -0,0 +1,20 @@
+package com.example.budgettracker.dto;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDTO {
+
+    private long rowsRead;
+    private long expensesImported;
+    private long incomesImported;
+    private long errorCount;
+
+    // Only the first errors are listed; errorCount has the full number
+    private List<ImportRowErrorDTO> errors = new ArrayList<>();
+}
@@ -0,0 +1,12 @@
+package com.example.budgettracker.dto;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowErrorDTO {
+
+    private long line;
+    private String message;
+}
@@ -0,0 +1,22 @@
+package com.example.budgettracker.dto;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class IncomeDTO {
+
+    private Integer incomeId;
+    private BigDecimal amount;
+    private String incomeType;
+    private String description;
+    private LocalDate dateReceived;
+    private Boolean isRecurring;
+    private Integer accountId;
+    private String accountName;
+    private String currency;
+}
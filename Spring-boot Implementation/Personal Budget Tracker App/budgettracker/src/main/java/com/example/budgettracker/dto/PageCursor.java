@@ -0,0 +1,39 @@
+package com.example.budgettracker.dto;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+
+/**
+ * Keyset position of the last row on a page, written as "yyyy-MM-dd:id".
+ */
+@Getter
+@AllArgsConstructor
+public class PageCursor {
+
+    private LocalDate date;
+    private Integer id;
+
+    public static PageCursor parse(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new PageCursor(null, null);
+        }
+        int sep = cursor.indexOf(':');
+        try {
+            return new PageCursor(
+                    LocalDate.parse(cursor.substring(0, sep)),
+                    Integer.valueOf(cursor.substring(sep + 1))
+            );
+        } catch (IndexOutOfBoundsException
+                 | DateTimeParseException
+                 | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return date + ":" + id;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.budgettracker.dto;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateImportResultDTO {
+
+    private long rowsRead;
+    private long ratesImported;
+    private long errorCount;
+
+    // Users whose totals were recomputed at the new rates
+    private long usersRebuilt;
+
+    // Only the first errors are listed; errorCount has the full number
+    private List<ImportRowErrorDTO> errors = new ArrayList<>();
+}
@@ -0,0 +1,25 @@
+package com.example.budgettracker.dto;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringDueDTO {
+
+    private Integer recurringId;
+    private Integer userId;
+    private Integer accountId;
+    private Integer accountOwnerId;
+    private Integer categoryId;
+    private String transactionType;
+    private BigDecimal amount;
+    private String frequency;
+    private LocalDate nextDate;
+    private Integer anchorDay;
+    // The account's currency, null without an account
+    private String accountCurrency;
+}
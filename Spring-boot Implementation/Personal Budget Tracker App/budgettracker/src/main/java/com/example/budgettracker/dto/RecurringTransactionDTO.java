@@ -0,0 +1,21 @@
+package com.example.budgettracker.dto;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringTransactionDTO {
+
+    private Integer recurringId;
+    private Integer accountId;
+    private Integer categoryId;
+    private String transactionType;
+    private BigDecimal amount;
+    private String frequency;
+    private LocalDate nextDate;
+    private Boolean isActive;
+}
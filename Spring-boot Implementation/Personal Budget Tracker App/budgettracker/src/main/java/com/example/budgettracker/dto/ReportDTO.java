@@ -0,0 +1,21 @@
+package com.example.budgettracker.dto;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportDTO {
+
+    private Integer reportId;
+    private String reportType;
+    private LocalDateTime generatedAt;
+    private String status;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private LocalDateTime completedAt;
+    private String errorMessage;
+}
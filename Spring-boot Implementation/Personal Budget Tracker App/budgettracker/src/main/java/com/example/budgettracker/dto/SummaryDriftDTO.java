@@ -0,0 +1,15 @@
+package com.example.budgettracker.dto;
+import lombok.*;
+
+import java.util.List;
+
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SummaryDriftDTO {
+
+    private Integer userId;
+    private List<String> mismatches;
+}
@@ -0,0 +1,21 @@
+package com.example.budgettracker.dto;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferDTO {
+
+    private Integer transferId;
+    private BigDecimal amount;
+    private LocalDate date;
+    private String description;
+    private Integer fromAccountId;
+    private String fromAccountName;
+    private Integer toAccountId;
+    private String toAccountName;
+}
@@ -0,0 +1,18 @@
+package com.example.budgettracker.dto;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrendPointDTO {
+
+    // First day of the bucket (day, Monday of the week, or 1st of the month)
+    private LocalDate periodStart;
+    private BigDecimal income;
+    private BigDecimal expense;
+    private BigDecimal net;
+}
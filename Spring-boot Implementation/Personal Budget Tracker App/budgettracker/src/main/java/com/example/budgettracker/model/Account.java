@@ -36,4 +36,8 @@ public class Account {
 
     @Column(name = "is_active")
     private Boolean isActive;
+
+    // ISO 4217 code; the owner's preferred currency when not given
+    @Column(length = 3)
+    private String currency;
 }
\ No newline at end of file
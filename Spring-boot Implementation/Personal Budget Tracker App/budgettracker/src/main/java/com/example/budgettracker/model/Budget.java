@@ -1,7 +1,9 @@
 package com.example.budgettracker.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Formula;
 
 import java.math.BigDecimal;
 
@@ -14,7 +16,9 @@ import java.math.BigDecimal;
 public class Budget {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "budget_seq")
+    @SequenceGenerator(name = "budget_seq", sequenceName = "budget_seq",
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     @Column(name = "budget_id")
     private Integer budgetId;
 
@@ -32,6 +36,17 @@ public class Budget {
     @Column(name = "amount_limit", precision = 12, scale = 2)
     private BigDecimal amountLimit;
 
-    @Column(name = "amount_spent", precision = 12, scale = 2)
+    // Derived from the monthly spend rollup with a unique-key lookup
+    @Formula("(SELECT COALESCE(MAX(m.total_spent), 0) " +
+            "FROM monthly_category_spend m " +
+            "WHERE m.user_id = user_id " +
+            "AND m.category_id = category_id " +
+            "AND m.month_year = month_year)")
     private BigDecimal amountSpent;
+
+    // Highest spend threshold (50, 80 or 100 percent) already alerted on.
+    // Only written by BudgetRepository's conditional updates, never by save()
+    @JsonIgnore
+    @Column(name = "alerted_threshold", insertable = false, updatable = false)
+    private Integer alertedThreshold;
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.example.budgettracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Streaming statistics of one user's expense amounts in one category:
+ * count, mean and M2, the sum of squared deviations from the mean
+ * (variance = m2 / count). Amounts are in the user's reporting currency.
+ */
+@Entity
+@Table(name = "CategorySpendStats",
+        uniqueConstraints = @UniqueConstraint(
+                columnNames = {"user_id", "category_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategorySpendStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "stats_id")
+    private Integer statsId;
+
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Column(name = "category_id")
+    private Integer categoryId;
+
+    @Column(name = "sample_count", nullable = false)
+    private int sampleCount;
+
+    @Column(nullable = false)
+    private double mean;
+
+    @Column(nullable = false)
+    private double m2;
+}
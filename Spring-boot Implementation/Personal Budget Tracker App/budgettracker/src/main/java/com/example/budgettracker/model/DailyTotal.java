@@ -0,0 +1,35 @@
+package com.example.budgettracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "DailyTotal",
+        uniqueConstraints = @UniqueConstraint(
+                columnNames = {"user_id", "total_date"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "daily_total_id")
+    private Integer dailyTotalId;
+
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Column(name = "total_date")
+    private LocalDate totalDate;
+
+    @Column(name = "income_total", precision = 14, scale = 2)
+    private BigDecimal incomeTotal;
+
+    @Column(name = "expense_total", precision = 14, scale = 2)
+    private BigDecimal expenseTotal;
+}
@@ -0,0 +1,36 @@
+package com.example.budgettracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Value of one unit of a currency in the base currency on a day. The
+ * latest rate on or before a date is the one that applies to it.
+ */
+@Entity
+@Table(name = "ExchangeRate",
+        uniqueConstraints = @UniqueConstraint(
+                columnNames = {"currency", "rate_date"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExchangeRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "rate_id")
+    private Integer rateId;
+
+    @Column(length = 3, nullable = false)
+    private String currency;
+
+    @Column(name = "rate_date", nullable = false)
+    private LocalDate rateDate;
+
+    @Column(precision = 19, scale = 8, nullable = false)
+    private BigDecimal rate;
+}
@@ -15,7 +15,9 @@ import java.time.LocalDate;
 public class Expense {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_seq")
+    @SequenceGenerator(name = "expense_seq", sequenceName = "expense_seq",
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     @Column(name = "expense_id")
     private Integer expenseId;
 
@@ -42,4 +44,8 @@ public class Expense {
 
     @Column(name = "payment_method", length = 50)
     private String paymentMethod;
+
+    // Always the account's currency when there is an account
+    @Column(length = 3)
+    private String currency;
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.example.budgettracker.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDate;
@@ -38,4 +40,26 @@ public class Goal {
 
     @Column(length = 50)
     private String status;
+
+    // === Forecast state, advanced by each contribution ===
+    @JsonIgnore
+    @Column(name = "contribution_weight", precision = 16, scale = 4)
+    private BigDecimal contributionWeight;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "first_contribution_date")
+    private LocalDate firstContributionDate;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "last_contribution_date")
+    private LocalDate lastContributionDate;
+
+    // Per day, as of the last contribution
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "contribution_rate", precision = 12, scale = 4)
+    private BigDecimal contributionRate;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "projected_date")
+    private LocalDate projectedDate;
 }
\ No newline at end of file
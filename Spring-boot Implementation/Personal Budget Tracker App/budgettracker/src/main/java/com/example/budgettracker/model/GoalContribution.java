@@ -0,0 +1,37 @@
+package com.example.budgettracker.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One contribution to a goal. The log is append-only: rows are written
+ * once and only removed together with their goal.
+ */
+@Entity
+@Table(name = "GoalContribution")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GoalContribution {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "contribution_id")
+    private Integer contributionId;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "goal_id", nullable = false, updatable = false)
+    private Goal goal;
+
+    @Column(precision = 12, scale = 2, nullable = false, updatable = false)
+    private BigDecimal amount;
+
+    @Column(name = "contributed_on", nullable = false, updatable = false)
+    private LocalDate contributedOn;
+}
@@ -0,0 +1,16 @@
+package com.example.budgettracker.model;
+
+/**
+ * Id generation for the high-volume entities (Expense, Income, Transfer,
+ * Budget). Ids come from a pooled sequence; on MySQL Hibernate keeps it
+ * in a one-row table per entity, e.g. expense_seq. Each trip to that
+ * table reserves ALLOCATION_SIZE ids, so inserts no longer need the
+ * generated key back from the database and can be sent as JDBC batches.
+ */
+public final class IdSequences {
+
+    public static final int ALLOCATION_SIZE = 100;
+
+    private IdSequences() {
+    }
+}
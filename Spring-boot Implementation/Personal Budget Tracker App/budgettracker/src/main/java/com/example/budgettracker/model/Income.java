@@ -16,7 +16,9 @@ import java.time.LocalDate;
 public class Income {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "income_seq")
+    @SequenceGenerator(name = "income_seq", sequenceName = "income_seq",
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     @Column(name = "income_id")
     private Integer incomeId;
 
@@ -42,4 +44,8 @@ public class Income {
 
     @Column(name = "is_recurring")
     private Boolean isRecurring;
+
+    // Always the account's currency when there is an account
+    @Column(length = 3)
+    private String currency;
 }
\ No newline at end of file
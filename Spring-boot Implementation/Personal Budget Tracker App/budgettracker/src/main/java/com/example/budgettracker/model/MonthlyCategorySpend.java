@@ -0,0 +1,35 @@
+package com.example.budgettracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "MonthlyCategorySpend",
+        uniqueConstraints = @UniqueConstraint(
+                columnNames = {"user_id", "category_id", "month_year"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyCategorySpend {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "monthly_spend_id")
+    private Integer monthlySpendId;
+
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Column(name = "category_id")
+    private Integer categoryId;
+
+    // Same yyyy-MM format as Budget.monthYear
+    @Column(name = "month_year", length = 20)
+    private String monthYear;
+
+    @Column(name = "total_spent", precision = 14, scale = 2)
+    private BigDecimal totalSpent;
+}
@@ -24,6 +24,14 @@ public class RecurringTransaction {
     @JoinColumn(name = "user_id")
     private User user;
 
+    @ManyToOne
+    @JoinColumn(name = "account_id")
+    private Account account;
+
+    @ManyToOne
+    @JoinColumn(name = "category_id")
+    private Category category;
+
     @Column(name = "transaction_type", length = 50)
     private String transactionType;
 
@@ -36,6 +44,10 @@ public class RecurringTransaction {
     @Column(name = "next_date")
     private LocalDate nextDate;
 
+    // Day of the month monthly and yearly occurrences fall on
+    @Column(name = "anchor_day")
+    private Integer anchorDay;
+
     @Column(name = "is_active")
     private Boolean isActive;
 }
\ No newline at end of file
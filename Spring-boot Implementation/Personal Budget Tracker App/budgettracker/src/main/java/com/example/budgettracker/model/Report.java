@@ -2,6 +2,7 @@ package com.example.budgettracker.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
@@ -30,8 +31,24 @@ public class Report {
     @Column(columnDefinition = "JSON")
     private String data;
 
+    // PENDING, RUNNING, COMPLETED or FAILED
+    @Column(name = "status", length = 20)
+    private String status;
+
+    @Column(name = "period_start")
+    private LocalDate periodStart;
+
+    @Column(name = "period_end")
+    private LocalDate periodEnd;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "error_message")
+    private String errorMessage;
+
     @PrePersist
     protected void onCreate() {
         this.generatedAt = LocalDateTime.now();
     }
-}
\ No newline at end of file
+}
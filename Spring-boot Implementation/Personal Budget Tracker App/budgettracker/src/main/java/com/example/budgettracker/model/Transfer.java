@@ -14,7 +14,9 @@ import java.time.LocalDate;
 public class Transfer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transfer_seq")
+    @SequenceGenerator(name = "transfer_seq", sequenceName = "transfer_seq",
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     @Column(name = "transfer_id")
     private Integer transferId;
 
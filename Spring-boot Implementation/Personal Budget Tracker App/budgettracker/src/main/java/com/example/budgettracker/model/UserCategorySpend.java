@@ -0,0 +1,32 @@
+package com.example.budgettracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "UserCategorySpend",
+        uniqueConstraints = @UniqueConstraint(
+                columnNames = {"user_id", "category_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCategorySpend {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "spend_id")
+    private Integer spendId;
+
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @ManyToOne
+    @JoinColumn(name = "category_id")
+    private Category category;
+
+    @Column(name = "total_spent", precision = 14, scale = 2)
+    private BigDecimal totalSpent;
+}
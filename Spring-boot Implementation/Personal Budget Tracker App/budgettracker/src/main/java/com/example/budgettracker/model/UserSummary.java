@@ -0,0 +1,41 @@
+package com.example.budgettracker.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "UserSummary")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Column(name = "total_balance", precision = 14, scale = 2)
+    private BigDecimal totalBalance;
+
+    @Column(name = "total_income", precision = 14, scale = 2)
+    private BigDecimal totalIncome;
+
+    @Column(name = "total_expense", precision = 14, scale = 2)
+    private BigDecimal totalExpense;
+
+    @Column(name = "account_count")
+    private Integer accountCount;
+
+    @Column(name = "active_goals")
+    private Integer activeGoals;
+
+    @Column(name = "unread_alerts")
+    private Long unreadAlerts;
+
+    @Column(name = "rebuilt_at")
+    private LocalDateTime rebuiltAt;
+}
@@ -1,12 +1,16 @@
 package com.example.budgettracker.repository;
+
+import com.example.budgettracker.dto.AccountDTO;
 import com.example.budgettracker.model.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Integer> {
@@ -15,7 +19,41 @@ public interface AccountRepository extends JpaRepository<Account, Integer> {
 
     List<Account> findByUserUserIdAndIsActive(Integer userId, Boolean isActive);
 
+    long countByUserUserId(Integer userId);
+
     @Query("SELECT COALESCE(SUM(a.currentBalance), 0) " +
             "FROM Account a WHERE a.user.userId = :userId")
     BigDecimal getTotalBalanceByUserId(@Param("userId") Integer userId);
-}
\ No newline at end of file
+
+    // Rows are [currency, total balance] for every other currency
+    @Query("SELECT a.currency, COALESCE(SUM(a.currentBalance), 0) " +
+            "FROM Account a WHERE a.user.userId = :userId " +
+            "AND a.currency <> :currency GROUP BY a.currency")
+    List<Object[]> getForeignBalances(@Param("userId") Integer userId,
+                                      @Param("currency") String currency);
+
+    @Query("SELECT new com.example.budgettracker.dto.AccountDTO(" +
+            "a.accountId, a.accountName, a.accountType, " +
+            "a.initialBalance, a.currentBalance, a.isActive, a.currency) " +
+            "FROM Account a WHERE a.user.userId = :userId")
+    List<AccountDTO> findDtosByUserId(@Param("userId") Integer userId);
+
+    @Query("SELECT a.currentBalance FROM Account a WHERE a.accountId = :accountId")
+    Optional<BigDecimal> findCurrentBalance(@Param("accountId") Integer accountId);
+
+    // Balance changes are applied in the database so concurrent postings
+    // never overwrite each other's result
+    @Modifying
+    @Query("UPDATE Account a SET a.currentBalance = " +
+            "COALESCE(a.currentBalance, 0) + :delta " +
+            "WHERE a.accountId = :accountId")
+    int addBalance(@Param("accountId") Integer accountId,
+                   @Param("delta") BigDecimal delta);
+
+    // Only matches while the account still covers the amount
+    @Modifying
+    @Query("UPDATE Account a SET a.currentBalance = a.currentBalance - :amount " +
+            "WHERE a.accountId = :accountId AND a.currentBalance >= :amount")
+    int withdraw(@Param("accountId") Integer accountId,
+                 @Param("amount") BigDecimal amount);
+}
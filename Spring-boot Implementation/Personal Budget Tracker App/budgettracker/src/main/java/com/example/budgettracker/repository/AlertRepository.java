@@ -1,7 +1,10 @@
 package com.example.budgettracker.repository;
 
+import com.example.budgettracker.dto.AlertDTO;
 import com.example.budgettracker.model.Alert;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -13,4 +16,9 @@ public interface AlertRepository extends JpaRepository<Alert, Integer> {
     List<Alert> findByUserUserIdAndIsRead(Integer userId, Boolean isRead);
 
     long countByUserUserIdAndIsRead(Integer userId, Boolean isRead);
-}
\ No newline at end of file
+
+    @Query("SELECT new com.example.budgettracker.dto.AlertDTO(" +
+            "a.alertId, a.alertType, a.message, a.createdAt, a.isRead) " +
+            "FROM Alert a WHERE a.user.userId = :userId")
+    List<AlertDTO> findDtosByUserId(@Param("userId") Integer userId);
+}
@@ -1,9 +1,16 @@
 package com.example.budgettracker.repository;
 
+import com.example.budgettracker.dto.BudgetDTO;
 import com.example.budgettracker.model.Budget;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 
 @Repository
@@ -13,4 +20,60 @@ public interface BudgetRepository extends JpaRepository<Budget, Integer> {
 
     List<Budget> findByUserUserIdAndMonthYear(
             Integer userId, String monthYear);
-}
\ No newline at end of file
+
+    Optional<Budget> findByUserUserIdAndCategoryCategoryIdAndMonthYear(
+            Integer userId, Integer categoryId, String monthYear);
+
+    @Query("SELECT new com.example.budgettracker.dto.BudgetDTO(" +
+            "b.budgetId, c.categoryId, c.categoryName, " +
+            "b.monthYear, b.amountLimit, b.amountSpent) " +
+            "FROM Budget b LEFT JOIN b.category c " +
+            "WHERE b.user.userId = :userId")
+    List<BudgetDTO> findDtosByUserId(@Param("userId") Integer userId);
+
+    // Rows are [budget_id, user_id, category_id, month_year, amount_limit,
+    // spent, alerted_threshold, category_name]; callers filter the exact
+    // (user, category, month) keys they asked for
+    @Query(value = "SELECT b.budget_id, b.user_id, b.category_id, " +
+            "b.month_year, b.amount_limit, " +
+            "COALESCE(m.total_spent, 0), COALESCE(b.alerted_threshold, 0), " +
+            "c.category_name " +
+            "FROM budget b " +
+            "LEFT JOIN monthly_category_spend m ON m.user_id = b.user_id " +
+            "AND m.category_id = b.category_id " +
+            "AND m.month_year = b.month_year " +
+            "LEFT JOIN category c ON c.category_id = b.category_id " +
+            "WHERE b.user_id IN (:userIds) AND b.month_year IN (:months)",
+            nativeQuery = true)
+    List<Object[]> findAlertCandidates(
+            @Param("userIds") Collection<Integer> userIds,
+            @Param("months") Collection<String> months);
+
+    @Query("SELECT b.user.userId, b.category.categoryId FROM Budget b " +
+            "WHERE b.monthYear = :monthYear ORDER BY b.budgetId")
+    List<Object[]> findKeysByMonthYear(@Param("monthYear") String monthYear,
+                                       Pageable pageable);
+
+    // Only one evaluator can claim a given threshold, so it alerts once
+    @Modifying
+    @Query(value = "UPDATE budget SET alerted_threshold = :level " +
+            "WHERE budget_id = :budgetId " +
+            "AND COALESCE(alerted_threshold, 0) < :level",
+            nativeQuery = true)
+    int raiseAlertedThreshold(@Param("budgetId") Integer budgetId,
+                              @Param("level") Integer level);
+
+    // Spend fell back (expense deleted, limit raised): re-arm the thresholds
+    @Modifying
+    @Query(value = "UPDATE budget SET alerted_threshold = :level " +
+            "WHERE budget_id = :budgetId AND alerted_threshold > :level",
+            nativeQuery = true)
+    int lowerAlertedThreshold(@Param("budgetId") Integer budgetId,
+                              @Param("level") Integer level);
+
+    // Budget moved to another month: its thresholds start over
+    @Modifying
+    @Query(value = "UPDATE budget SET alerted_threshold = NULL " +
+            "WHERE budget_id = :budgetId", nativeQuery = true)
+    int resetAlertedThreshold(@Param("budgetId") Integer budgetId);
+}
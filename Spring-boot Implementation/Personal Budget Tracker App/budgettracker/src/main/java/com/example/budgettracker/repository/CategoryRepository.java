@@ -1,7 +1,10 @@
 package com.example.budgettracker.repository;
 
+import com.example.budgettracker.dto.CategoryDTO;
 import com.example.budgettracker.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -13,4 +16,23 @@ public interface CategoryRepository extends JpaRepository<Category, Integer> {
     List<Category> findByCategoryType(String categoryType);
 
     List<Category> findByUserIsNullOrUserUserId(Integer userId);
-}
\ No newline at end of file
+
+    @Query("SELECT new com.example.budgettracker.dto.CategoryDTO(" +
+            "c.categoryId, c.categoryName, c.categoryType, " +
+            "c.isCustom, u.userId) " +
+            "FROM Category c LEFT JOIN c.user u " +
+            "WHERE u IS NULL OR u.userId = :userId")
+    List<CategoryDTO> findDtosByUserId(@Param("userId") Integer userId);
+
+    @Query("SELECT new com.example.budgettracker.dto.CategoryDTO(" +
+            "c.categoryId, c.categoryName, c.categoryType, " +
+            "c.isCustom, CAST(NULL AS Integer)) " +
+            "FROM Category c WHERE c.user IS NULL")
+    List<CategoryDTO> findGlobalDtos();
+
+    @Query("SELECT new com.example.budgettracker.dto.CategoryDTO(" +
+            "c.categoryId, c.categoryName, c.categoryType, " +
+            "c.isCustom, c.user.userId) " +
+            "FROM Category c WHERE c.user.userId = :userId")
+    List<CategoryDTO> findCustomDtosByUserId(@Param("userId") Integer userId);
+}
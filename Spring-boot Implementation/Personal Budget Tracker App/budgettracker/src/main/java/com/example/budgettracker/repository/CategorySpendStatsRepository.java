@@ -0,0 +1,69 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.model.CategorySpendStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategorySpendStatsRepository
+        extends JpaRepository<CategorySpendStats, Integer> {
+
+    Optional<CategorySpendStats> findByUserIdAndCategoryId(
+            Integer userId, Integer categoryId);
+
+    List<CategorySpendStats> findByUserId(Integer userId);
+
+    /**
+     * Merges a group of samples (count, mean, m2) into the row with
+     * Chan's parallel formula; a single amount is count 1, mean = the
+     * amount, m2 0. MySQL applies the assignments left to right, so m2
+     * and mean are computed from the old mean and count before those
+     * are overwritten.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO category_spend_stats " +
+            "(user_id, category_id, sample_count, mean, m2) " +
+            "VALUES (:userId, :categoryId, :count, :mean, :m2) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "m2 = m2 + :m2 + (:mean - mean) * (:mean - mean) " +
+            "* sample_count * :count / (sample_count + :count), " +
+            "mean = mean + (:mean - mean) * :count / (sample_count + :count), " +
+            "sample_count = sample_count + :count",
+            nativeQuery = true)
+    int addSamples(@Param("userId") Integer userId,
+                   @Param("categoryId") Integer categoryId,
+                   @Param("count") int count,
+                   @Param("mean") double mean,
+                   @Param("m2") double m2);
+
+    // Welford in reverse, for a deleted amount or the old side of an edit
+    @Modifying
+    @Query(value = "UPDATE category_spend_stats SET " +
+            "m2 = CASE WHEN sample_count <= 1 THEN 0 ELSE GREATEST(m2 " +
+            "- (:amount - mean) " +
+            "* (:amount - (mean * sample_count - :amount) / (sample_count - 1)), " +
+            "0) END, " +
+            "mean = CASE WHEN sample_count <= 1 THEN 0 " +
+            "ELSE (mean * sample_count - :amount) / (sample_count - 1) END, " +
+            "sample_count = GREATEST(sample_count - 1, 0) " +
+            "WHERE user_id = :userId AND category_id = :categoryId",
+            nativeQuery = true)
+    int removeSample(@Param("userId") Integer userId,
+                     @Param("categoryId") Integer categoryId,
+                     @Param("amount") double amount);
+
+    @Modifying
+    @Query("DELETE FROM CategorySpendStats s WHERE s.userId = :userId")
+    int deleteByUserId(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query("DELETE FROM CategorySpendStats s " +
+            "WHERE s.categoryId = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") Integer categoryId);
+}
@@ -0,0 +1,87 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.model.DailyTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyTotalRepository extends JpaRepository<DailyTotal, Integer> {
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_total " +
+            "(user_id, total_date, income_total, expense_total) " +
+            "VALUES (:userId, :day, :income, :expense) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "income_total = income_total + :income, " +
+            "expense_total = expense_total + :expense",
+            nativeQuery = true)
+    int addTotals(@Param("userId") Integer userId,
+                  @Param("day") LocalDate day,
+                  @Param("income") BigDecimal income,
+                  @Param("expense") BigDecimal expense);
+
+    @Modifying
+    @Query("DELETE FROM DailyTotal d WHERE d.userId = :userId")
+    int deleteByUserId(@Param("userId") Integer userId);
+
+    // A user's income and expense per day, straight from the raw tables
+    String TRANSACTION_DAYS = "FROM (" +
+            "SELECT date_received AS day, amount AS income, 0 AS expense " +
+            "FROM income WHERE user_id = :userId " +
+            "AND date_received IS NOT NULL " +
+            "UNION ALL " +
+            "SELECT date_spent, 0, amount " +
+            "FROM expense WHERE user_id = :userId " +
+            "AND date_spent IS NOT NULL) t " +
+            "GROUP BY t.day";
+
+    // Recomputes a user's series from the raw tables in one statement
+    @Modifying
+    @Query(value = "INSERT INTO daily_total " +
+            "(user_id, total_date, income_total, expense_total) " +
+            "SELECT :userId, t.day, SUM(t.income), SUM(t.expense) " +
+            TRANSACTION_DAYS, nativeQuery = true)
+    int insertFromTransactions(@Param("userId") Integer userId);
+
+    // Rows are [day, income, expense], what insertFromTransactions writes
+    @Query(value = "SELECT t.day, SUM(t.income), SUM(t.expense) " +
+            TRANSACTION_DAYS, nativeQuery = true)
+    List<Object[]> getTotalsFromTransactions(@Param("userId") Integer userId);
+
+    List<DailyTotal> findByUserId(Integer userId);
+
+    // Rows are [bucket start, income, expense], oldest first
+    @Query(value = "SELECT total_date, income_total, expense_total " +
+            "FROM daily_total WHERE user_id = :userId " +
+            "AND total_date BETWEEN :from AND :to " +
+            "ORDER BY total_date", nativeQuery = true)
+    List<Object[]> getDailySeries(@Param("userId") Integer userId,
+                                  @Param("from") LocalDate from,
+                                  @Param("to") LocalDate to);
+
+    // Weeks start on Monday
+    @Query(value = "SELECT SUBDATE(total_date, WEEKDAY(total_date)) AS bucket, " +
+            "SUM(income_total), SUM(expense_total) " +
+            "FROM daily_total WHERE user_id = :userId " +
+            "AND total_date BETWEEN :from AND :to " +
+            "GROUP BY bucket ORDER BY bucket", nativeQuery = true)
+    List<Object[]> getWeeklySeries(@Param("userId") Integer userId,
+                                   @Param("from") LocalDate from,
+                                   @Param("to") LocalDate to);
+
+    @Query(value = "SELECT CAST(DATE_FORMAT(total_date, '%Y-%m-01') AS DATE) " +
+            "AS bucket, SUM(income_total), SUM(expense_total) " +
+            "FROM daily_total WHERE user_id = :userId " +
+            "AND total_date BETWEEN :from AND :to " +
+            "GROUP BY bucket ORDER BY bucket", nativeQuery = true)
+    List<Object[]> getMonthlySeries(@Param("userId") Integer userId,
+                                    @Param("from") LocalDate from,
+                                    @Param("to") LocalDate to);
+}
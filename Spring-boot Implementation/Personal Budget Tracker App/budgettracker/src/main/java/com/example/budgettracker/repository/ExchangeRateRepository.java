@@ -0,0 +1,17 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.model.ExchangeRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, Integer> {
+
+    // Rows are [currency, rateDate, rate], each currency's dates ascending
+    @Query("SELECT r.currency, r.rateDate, r.rate FROM ExchangeRate r " +
+            "ORDER BY r.currency, r.rateDate")
+    List<Object[]> findAllOrdered();
+}
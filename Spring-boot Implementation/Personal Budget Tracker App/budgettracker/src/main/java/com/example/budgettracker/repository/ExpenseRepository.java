@@ -1,5 +1,6 @@
 package com.example.budgettracker.repository;
 
+import com.example.budgettracker.dto.ExpenseDTO;
 import com.example.budgettracker.model.Expense;
 import com.example.budgettracker.model.Goal;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -15,7 +16,8 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface ExpenseRepository extends JpaRepository<Expense, Integer> {
+public interface ExpenseRepository extends JpaRepository<Expense, Integer>,
+        ExpenseRepositoryCustom {
 
     List<Expense> findByUserUserId(Integer userId);
 
@@ -37,9 +39,46 @@ public interface ExpenseRepository extends JpaRepository<Expense, Integer> {
             @Param("start") LocalDate start,
             @Param("end") LocalDate end);
 
-    @Query("SELECT e.category.categoryName, SUM(e.amount) " +
+    @Query("SELECT e.category.categoryId, SUM(e.amount) " +
             "FROM Expense e WHERE e.user.userId = :userId " +
-            "GROUP BY e.category.categoryName")
-    List<Object[]> getExpenseByCategoryForUser(
+            "GROUP BY e.category.categoryId")
+    List<Object[]> getExpenseByCategoryIdForUser(
             @Param("userId") Integer userId);
-}
\ No newline at end of file
+
+    @Query("SELECT e.category.categoryId, YEAR(e.dateSpent), " +
+            "MONTH(e.dateSpent), SUM(e.amount) " +
+            "FROM Expense e WHERE e.user.userId = :userId " +
+            "AND e.dateSpent IS NOT NULL " +
+            "GROUP BY e.category.categoryId, YEAR(e.dateSpent), " +
+            "MONTH(e.dateSpent)")
+    List<Object[]> getMonthlyExpenseByCategoryIdForUser(
+            @Param("userId") Integer userId);
+
+    // Rows are [categoryId, currency, dateSpent, amount] for the user's
+    // expenses in any other currency than the given one
+    @Query("SELECT e.category.categoryId, e.currency, e.dateSpent, e.amount " +
+            "FROM Expense e WHERE e.user.userId = :userId " +
+            "AND e.currency <> :currency")
+    List<Object[]> findForeignAmounts(@Param("userId") Integer userId,
+                                      @Param("currency") String currency);
+
+    // Rows are [categoryId, count, mean, population variance] over the
+    // user's expenses already in the given currency
+    @Query(value = "SELECT category_id, COUNT(*), AVG(amount), VAR_POP(amount) " +
+            "FROM expense WHERE user_id = :userId " +
+            "AND category_id IS NOT NULL " +
+            "AND (currency = :currency OR currency IS NULL) " +
+            "GROUP BY category_id",
+            nativeQuery = true)
+    List<Object[]> getAmountStatsByCategoryIdForUser(
+            @Param("userId") Integer userId,
+            @Param("currency") String currency);
+
+    @Query("SELECT new com.example.budgettracker.dto.ExpenseDTO(" +
+            "e.expenseId, e.amount, e.description, e.dateSpent, " +
+            "e.paymentMethod, a.accountId, a.accountName, " +
+            "c.categoryId, c.categoryName, e.currency) " +
+            "FROM Expense e LEFT JOIN e.account a LEFT JOIN e.category c " +
+            "WHERE e.user.userId = :userId")
+    List<ExpenseDTO> findDtosByUserId(@Param("userId") Integer userId);
+}
@@ -0,0 +1,27 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.dto.ExpenseDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Expense listings whose WHERE clause carries only the filters actually
+ * given, so every combination gets its own index range instead of one
+ * catch-all plan over optional parameters. Null arguments mean "any".
+ */
+public interface ExpenseRepositoryCustom {
+
+    // Keyset page ordered newest first; pass a null cursor for the first
+    // page. Rows without a dateSpent cannot be positioned and are skipped.
+    List<ExpenseDTO> findPageByUserId(
+            Integer userId, LocalDate start, LocalDate end,
+            Integer categoryId, Integer accountId,
+            LocalDate cursorDate, Integer cursorId, int limit);
+
+    // Newest first; must be consumed inside a transaction and closed
+    Stream<ExpenseDTO> streamByUserId(
+            Integer userId, LocalDate start, LocalDate end,
+            Integer categoryId, Integer accountId);
+}
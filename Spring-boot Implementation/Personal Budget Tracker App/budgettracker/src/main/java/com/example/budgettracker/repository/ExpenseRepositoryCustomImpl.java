@@ -0,0 +1,98 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.dto.ExpenseDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+class ExpenseRepositoryCustomImpl implements ExpenseRepositoryCustom {
+
+    private static final String SELECT_DTO =
+            "SELECT new com.example.budgettracker.dto.ExpenseDTO(" +
+            "e.expenseId, e.amount, e.description, e.dateSpent, " +
+            "e.paymentMethod, a.accountId, a.accountName, " +
+            "c.categoryId, c.categoryName, e.currency) " +
+            "FROM Expense e LEFT JOIN e.account a LEFT JOIN e.category c " +
+            "WHERE e.user.userId = :userId";
+
+    private static final String NEWEST_FIRST =
+            " ORDER BY e.dateSpent DESC, e.expenseId DESC";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ExpenseDTO> findPageByUserId(
+            Integer userId, LocalDate start, LocalDate end,
+            Integer categoryId, Integer accountId,
+            LocalDate cursorDate, Integer cursorId, int limit) {
+
+        StringBuilder jpql = new StringBuilder(SELECT_DTO)
+                .append(" AND e.dateSpent IS NOT NULL");
+        Map<String, Object> parameters = new HashMap<>();
+        appendFilters(jpql, parameters, userId, start, end, categoryId, accountId);
+        if (cursorDate != null) {
+            jpql.append(" AND (e.dateSpent < :cursorDate" +
+                    " OR (e.dateSpent = :cursorDate AND e.expenseId < :cursorId))");
+            parameters.put("cursorDate", cursorDate);
+            parameters.put("cursorId", cursorId);
+        }
+        jpql.append(NEWEST_FIRST);
+
+        return query(jpql, parameters).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<ExpenseDTO> streamByUserId(
+            Integer userId, LocalDate start, LocalDate end,
+            Integer categoryId, Integer accountId) {
+
+        StringBuilder jpql = new StringBuilder(SELECT_DTO);
+        Map<String, Object> parameters = new HashMap<>();
+        appendFilters(jpql, parameters, userId, start, end, categoryId, accountId);
+        jpql.append(NEWEST_FIRST);
+
+        return query(jpql, parameters)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+                .getResultStream();
+    }
+
+    private static void appendFilters(
+            StringBuilder jpql, Map<String, Object> parameters,
+            Integer userId, LocalDate start, LocalDate end,
+            Integer categoryId, Integer accountId) {
+
+        parameters.put("userId", userId);
+        if (start != null) {
+            jpql.append(" AND e.dateSpent >= :start");
+            parameters.put("start", start);
+        }
+        if (end != null) {
+            jpql.append(" AND e.dateSpent <= :end");
+            parameters.put("end", end);
+        }
+        if (categoryId != null) {
+            jpql.append(" AND c.categoryId = :categoryId");
+            parameters.put("categoryId", categoryId);
+        }
+        if (accountId != null) {
+            jpql.append(" AND a.accountId = :accountId");
+            parameters.put("accountId", accountId);
+        }
+    }
+
+    private TypedQuery<ExpenseDTO> query(
+            StringBuilder jpql, Map<String, Object> parameters) {
+        TypedQuery<ExpenseDTO> query = entityManager
+                .createQuery(jpql.toString(), ExpenseDTO.class);
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+}
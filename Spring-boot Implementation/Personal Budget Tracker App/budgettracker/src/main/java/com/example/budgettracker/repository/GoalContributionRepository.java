@@ -0,0 +1,15 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.model.GoalContribution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GoalContributionRepository
+        extends JpaRepository<GoalContribution, Integer> {
+
+    List<GoalContribution> findByGoalGoalIdOrderByContributedOnAscContributionIdAsc(
+            Integer goalId);
+}
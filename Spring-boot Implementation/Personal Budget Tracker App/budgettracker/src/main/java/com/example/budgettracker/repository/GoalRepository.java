@@ -1,13 +1,40 @@
 package com.example.budgettracker.repository;
 
+import com.example.budgettracker.dto.GoalDTO;
+import com.example.budgettracker.dto.GoalForecastDTO;
 import com.example.budgettracker.model.Category;
 import com.example.budgettracker.model.Goal;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface GoalRepository extends JpaRepository<Goal, Integer> {
     List<Goal> findByUserUserId(Integer userId);
     List<Goal> findByUserUserIdAndStatus(Integer userId, String status);
-}
\ No newline at end of file
+    long countByUserUserIdAndStatus(Integer userId, String status);
+
+    @Query("SELECT new com.example.budgettracker.dto.GoalDTO(" +
+            "g.goalId, g.goalName, g.targetAmount, g.currentAmount, " +
+            "g.targetDate, g.status) " +
+            "FROM Goal g WHERE g.user.userId = :userId")
+    List<GoalDTO> findDtosByUserId(@Param("userId") Integer userId);
+
+    // Serializes contributions to one goal
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM Goal g WHERE g.goalId = :id")
+    Optional<Goal> findByIdForUpdate(@Param("id") Integer id);
+
+    @Query("SELECT new com.example.budgettracker.dto.GoalForecastDTO(" +
+            "g.goalId, g.goalName, g.targetAmount, g.currentAmount, " +
+            "g.targetDate, g.firstContributionDate, g.lastContributionDate, " +
+            "g.contributionWeight) " +
+            "FROM Goal g WHERE g.user.userId = :userId " +
+            "AND g.status = 'ACTIVE' ORDER BY g.goalId")
+    List<GoalForecastDTO> findActiveForecasts(@Param("userId") Integer userId);
+}
@@ -1,5 +1,6 @@
 package com.example.budgettracker.repository;
 
+import com.example.budgettracker.dto.IncomeDTO;
 import com.example.budgettracker.model.Category;
 import com.example.budgettracker.model.Income;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -15,7 +16,8 @@ import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface IncomeRepository extends JpaRepository<Income, Integer> {
+public interface IncomeRepository extends JpaRepository<Income, Integer>,
+        IncomeRepositoryCustom {
 
     List<Income> findByUserUserId(Integer userId);
 
@@ -33,4 +35,20 @@ public interface IncomeRepository extends JpaRepository<Income, Integer> {
             @Param("userId") Integer userId,
             @Param("start") LocalDate start,
             @Param("end") LocalDate end);
-}
\ No newline at end of file
+
+    // Rows are [currency, dateReceived, amount] for the user's incomes in
+    // any other currency than the given one
+    @Query("SELECT i.currency, i.dateReceived, i.amount " +
+            "FROM Income i WHERE i.user.userId = :userId " +
+            "AND i.currency <> :currency")
+    List<Object[]> findForeignAmounts(@Param("userId") Integer userId,
+                                      @Param("currency") String currency);
+
+    @Query("SELECT new com.example.budgettracker.dto.IncomeDTO(" +
+            "i.incomeId, i.amount, i.incomeType, i.description, " +
+            "i.dateReceived, i.isRecurring, a.accountId, a.accountName, " +
+            "i.currency) " +
+            "FROM Income i LEFT JOIN i.account a " +
+            "WHERE i.user.userId = :userId")
+    List<IncomeDTO> findDtosByUserId(@Param("userId") Integer userId);
+}
@@ -0,0 +1,26 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.dto.IncomeDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Income listings whose WHERE clause carries only the filters actually
+ * given, so every combination gets its own index range instead of one
+ * catch-all plan over optional parameters. Null arguments mean "any".
+ */
+public interface IncomeRepositoryCustom {
+
+    // Keyset page ordered newest first; pass a null cursor for the first
+    // page. Rows without a dateReceived cannot be positioned and are skipped.
+    List<IncomeDTO> findPageByUserId(
+            Integer userId, LocalDate start, LocalDate end,
+            Integer accountId, LocalDate cursorDate, Integer cursorId, int limit);
+
+    // Newest first; must be consumed inside a transaction and closed
+    Stream<IncomeDTO> streamByUserId(
+            Integer userId, LocalDate start, LocalDate end,
+            Integer accountId);
+}
@@ -0,0 +1,93 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.dto.IncomeDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+class IncomeRepositoryCustomImpl implements IncomeRepositoryCustom {
+
+    private static final String SELECT_DTO =
+            "SELECT new com.example.budgettracker.dto.IncomeDTO(" +
+            "i.incomeId, i.amount, i.incomeType, i.description, " +
+            "i.dateReceived, i.isRecurring, a.accountId, a.accountName, " +
+            "i.currency) " +
+            "FROM Income i LEFT JOIN i.account a " +
+            "WHERE i.user.userId = :userId";
+
+    private static final String NEWEST_FIRST =
+            " ORDER BY i.dateReceived DESC, i.incomeId DESC";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<IncomeDTO> findPageByUserId(
+            Integer userId, LocalDate start, LocalDate end,
+            Integer accountId, LocalDate cursorDate, Integer cursorId, int limit) {
+
+        StringBuilder jpql = new StringBuilder(SELECT_DTO)
+                .append(" AND i.dateReceived IS NOT NULL");
+        Map<String, Object> parameters = new HashMap<>();
+        appendFilters(jpql, parameters, userId, start, end, accountId);
+        if (cursorDate != null) {
+            jpql.append(" AND (i.dateReceived < :cursorDate" +
+                    " OR (i.dateReceived = :cursorDate AND i.incomeId < :cursorId))");
+            parameters.put("cursorDate", cursorDate);
+            parameters.put("cursorId", cursorId);
+        }
+        jpql.append(NEWEST_FIRST);
+
+        return query(jpql, parameters).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<IncomeDTO> streamByUserId(
+            Integer userId, LocalDate start, LocalDate end,
+            Integer accountId) {
+
+        StringBuilder jpql = new StringBuilder(SELECT_DTO);
+        Map<String, Object> parameters = new HashMap<>();
+        appendFilters(jpql, parameters, userId, start, end, accountId);
+        jpql.append(NEWEST_FIRST);
+
+        return query(jpql, parameters)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+                .getResultStream();
+    }
+
+    private static void appendFilters(
+            StringBuilder jpql, Map<String, Object> parameters,
+            Integer userId, LocalDate start, LocalDate end,
+            Integer accountId) {
+
+        parameters.put("userId", userId);
+        if (start != null) {
+            jpql.append(" AND i.dateReceived >= :start");
+            parameters.put("start", start);
+        }
+        if (end != null) {
+            jpql.append(" AND i.dateReceived <= :end");
+            parameters.put("end", end);
+        }
+        if (accountId != null) {
+            jpql.append(" AND a.accountId = :accountId");
+            parameters.put("accountId", accountId);
+        }
+    }
+
+    private TypedQuery<IncomeDTO> query(
+            StringBuilder jpql, Map<String, Object> parameters) {
+        TypedQuery<IncomeDTO> query = entityManager
+                .createQuery(jpql.toString(), IncomeDTO.class);
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.model.MonthlyCategorySpend;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MonthlyCategorySpendRepository
+        extends JpaRepository<MonthlyCategorySpend, Integer> {
+
+    Optional<MonthlyCategorySpend> findByUserIdAndCategoryIdAndMonthYear(
+            Integer userId, Integer categoryId, String monthYear);
+
+    List<MonthlyCategorySpend> findByUserIdAndMonthYear(
+            Integer userId, String monthYear);
+
+    List<MonthlyCategorySpend> findByUserId(Integer userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO monthly_category_spend " +
+            "(user_id, category_id, month_year, total_spent) " +
+            "VALUES (:userId, :categoryId, :monthYear, :delta) " +
+            "ON DUPLICATE KEY UPDATE total_spent = total_spent + :delta",
+            nativeQuery = true)
+    int addSpend(@Param("userId") Integer userId,
+                 @Param("categoryId") Integer categoryId,
+                 @Param("monthYear") String monthYear,
+                 @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Query("DELETE FROM MonthlyCategorySpend m WHERE m.userId = :userId")
+    int deleteByUserId(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query("DELETE FROM MonthlyCategorySpend m " +
+            "WHERE m.categoryId = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") Integer categoryId);
+}
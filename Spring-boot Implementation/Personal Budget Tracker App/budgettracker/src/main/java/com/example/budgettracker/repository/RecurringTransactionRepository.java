@@ -1,7 +1,11 @@
 package com.example.budgettracker.repository;
 
+import com.example.budgettracker.dto.RecurringTransactionDTO;
 import com.example.budgettracker.model.RecurringTransaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
 import java.util.List;
@@ -17,4 +21,21 @@ public interface RecurringTransactionRepository
 
     List<RecurringTransaction> findByNextDateBeforeAndIsActive(
             LocalDate date, Boolean isActive);
-}
\ No newline at end of file
+
+    @Query("SELECT new com.example.budgettracker.dto.RecurringTransactionDTO(" +
+            "r.recurringId, a.accountId, c.categoryId, r.transactionType, " +
+            "r.amount, r.frequency, r.nextDate, r.isActive) " +
+            "FROM RecurringTransaction r " +
+            "LEFT JOIN r.account a LEFT JOIN r.category c " +
+            "WHERE r.user.userId = :userId")
+    List<RecurringTransactionDTO> findDtosByUserId(@Param("userId") Integer userId);
+
+    // Keyset chunk of active rows due on or before the given day
+    @Query("SELECT r.recurringId FROM RecurringTransaction r " +
+            "WHERE r.isActive = true AND r.nextDate <= :today " +
+            "AND r.recurringId > :afterId " +
+            "ORDER BY r.recurringId")
+    List<Integer> findDueIdsAfter(@Param("today") LocalDate today,
+                                  @Param("afterId") Integer afterId,
+                                  Pageable pageable);
+}
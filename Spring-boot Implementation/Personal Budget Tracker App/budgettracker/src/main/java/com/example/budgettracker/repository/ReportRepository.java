@@ -1,9 +1,17 @@
 package com.example.budgettracker.repository;
 
+import com.example.budgettracker.dto.ReportDTO;
 import com.example.budgettracker.model.Report;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReportRepository extends JpaRepository<Report, Integer> {
@@ -12,4 +20,50 @@ public interface ReportRepository extends JpaRepository<Report, Integer> {
 
     List<Report> findByUserUserIdAndReportType(
             Integer userId, String reportType);
-}
\ No newline at end of file
+
+    @Query("SELECT new com.example.budgettracker.dto.ReportDTO(" +
+            "r.reportId, r.reportType, r.generatedAt, r.status, " +
+            "r.periodStart, r.periodEnd, r.completedAt, r.errorMessage) " +
+            "FROM Report r WHERE r.user.userId = :userId")
+    List<ReportDTO> findDtosByUserId(@Param("userId") Integer userId);
+
+    @Query("SELECT new com.example.budgettracker.dto.ReportDTO(" +
+            "r.reportId, r.reportType, r.generatedAt, r.status, " +
+            "r.periodStart, r.periodEnd, r.completedAt, r.errorMessage) " +
+            "FROM Report r WHERE r.reportId = :reportId")
+    Optional<ReportDTO> findDtoById(@Param("reportId") Integer reportId);
+
+    // Claims a queued report for a worker; 0 if it was deleted meanwhile
+    @Transactional
+    @Modifying
+    @Query("UPDATE Report r SET r.status = 'RUNNING' " +
+            "WHERE r.reportId = :reportId AND r.status = 'PENDING'")
+    int markRunning(@Param("reportId") Integer reportId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Report r SET r.status = 'COMPLETED', r.data = :data, " +
+            "r.completedAt = :completedAt, r.errorMessage = NULL " +
+            "WHERE r.reportId = :reportId")
+    int markCompleted(@Param("reportId") Integer reportId,
+                      @Param("data") String data,
+                      @Param("completedAt") LocalDateTime completedAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Report r SET r.status = 'FAILED', " +
+            "r.errorMessage = :errorMessage, r.completedAt = :completedAt " +
+            "WHERE r.reportId = :reportId")
+    int markFailed(@Param("reportId") Integer reportId,
+                   @Param("errorMessage") String errorMessage,
+                   @Param("completedAt") LocalDateTime completedAt);
+
+    // Reports queued or running when the application stopped
+    @Transactional
+    @Modifying
+    @Query("UPDATE Report r SET r.status = 'FAILED', " +
+            "r.errorMessage = :errorMessage, r.completedAt = :completedAt " +
+            "WHERE r.status IN ('PENDING', 'RUNNING')")
+    int markUnfinishedFailed(@Param("errorMessage") String errorMessage,
+                             @Param("completedAt") LocalDateTime completedAt);
+}
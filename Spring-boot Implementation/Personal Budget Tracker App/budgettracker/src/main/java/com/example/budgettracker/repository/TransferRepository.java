@@ -1,5 +1,6 @@
 package com.example.budgettracker.repository;
 
+import com.example.budgettracker.dto.TransferDTO;
 import com.example.budgettracker.model.Transfer;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -22,4 +23,11 @@ public interface TransferRepository extends JpaRepository<Transfer, Integer> {
             "WHERE t.fromAccount.user.userId = :userId " +
             "OR t.toAccount.user.userId = :userId")
     List<Transfer> findByUserId(@Param("userId") Integer userId);
-}
\ No newline at end of file
+
+    @Query("SELECT new com.example.budgettracker.dto.TransferDTO(" +
+            "t.transferId, t.amount, t.date, t.description, " +
+            "f.accountId, f.accountName, d.accountId, d.accountName) " +
+            "FROM Transfer t JOIN t.fromAccount f JOIN t.toAccount d " +
+            "WHERE f.user.userId = :userId OR d.user.userId = :userId")
+    List<TransferDTO> findDtosByUserId(@Param("userId") Integer userId);
+}
@@ -0,0 +1,37 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.model.UserCategorySpend;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface UserCategorySpendRepository
+        extends JpaRepository<UserCategorySpend, Integer> {
+
+    List<UserCategorySpend> findByUserId(Integer userId);
+
+    @Modifying
+    @Query(value = "INSERT INTO user_category_spend " +
+            "(user_id, category_id, total_spent) " +
+            "VALUES (:userId, :categoryId, :delta) " +
+            "ON DUPLICATE KEY UPDATE total_spent = total_spent + :delta",
+            nativeQuery = true)
+    int addSpend(@Param("userId") Integer userId,
+                 @Param("categoryId") Integer categoryId,
+                 @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Query("DELETE FROM UserCategorySpend s WHERE s.userId = :userId")
+    int deleteByUserId(@Param("userId") Integer userId);
+
+    @Modifying
+    @Query("DELETE FROM UserCategorySpend s " +
+            "WHERE s.category.categoryId = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") Integer categoryId);
+}
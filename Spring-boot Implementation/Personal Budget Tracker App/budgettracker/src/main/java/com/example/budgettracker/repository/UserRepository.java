@@ -1,11 +1,36 @@
 package com.example.budgettracker.repository;
 import com.example.budgettracker.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Integer> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.userId FROM User u ORDER BY u.userId")
+    List<Integer> findUserIds(Pageable pageable);
+
+    @Query("SELECT u.currencyPreference FROM User u WHERE u.userId = :userId")
+    String findCurrencyPreference(@Param("userId") Integer userId);
+
+    // Users holding an account or a transaction in a currency other than
+    // their preference (the default when they have none)
+    @Query(value = "SELECT a.user_id FROM account a " +
+            "JOIN `user` u ON u.user_id = a.user_id " +
+            "WHERE a.currency <> COALESCE(u.currency_preference, :defaultCurrency) " +
+            "UNION SELECT e.user_id FROM expense e " +
+            "JOIN `user` u ON u.user_id = e.user_id " +
+            "WHERE e.currency <> COALESCE(u.currency_preference, :defaultCurrency) " +
+            "UNION SELECT i.user_id FROM income i " +
+            "JOIN `user` u ON u.user_id = i.user_id " +
+            "WHERE i.currency <> COALESCE(u.currency_preference, :defaultCurrency)",
+            nativeQuery = true)
+    List<Integer> findUserIdsWithForeignCurrency(
+            @Param("defaultCurrency") String defaultCurrency);
 }
\ No newline at end of file
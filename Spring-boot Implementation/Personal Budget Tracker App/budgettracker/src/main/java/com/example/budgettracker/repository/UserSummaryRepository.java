@@ -0,0 +1,67 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.model.UserSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+
+@Repository
+public interface UserSummaryRepository
+        extends JpaRepository<UserSummary, Integer> {
+
+    /**
+     * Claims a user's summary row with zero totals, for a rebuild to fill
+     * in: 1 when this call created it, 0 when it already existed. A row
+     * another transaction has just inserted is waited for rather than
+     * reported as a duplicate, so concurrent first writes build it once.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO user_summary (user_id, total_balance, " +
+            "total_income, total_expense, account_count, active_goals, " +
+            "unread_alerts) VALUES (:userId, 0, 0, 0, 0, 0, 0)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Integer userId);
+
+    // Each increment returns the number of rows touched so the caller
+    // can fall back to a full rebuild when the summary row is missing.
+
+    @Modifying
+    @Query("UPDATE UserSummary s SET s.totalBalance = s.totalBalance + :delta " +
+            "WHERE s.userId = :userId")
+    int addBalance(@Param("userId") Integer userId,
+                   @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Query("UPDATE UserSummary s SET s.totalIncome = s.totalIncome + :delta " +
+            "WHERE s.userId = :userId")
+    int addIncome(@Param("userId") Integer userId,
+                  @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Query("UPDATE UserSummary s SET s.totalExpense = s.totalExpense + :delta " +
+            "WHERE s.userId = :userId")
+    int addExpense(@Param("userId") Integer userId,
+                   @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Query("UPDATE UserSummary s SET s.accountCount = s.accountCount + :delta " +
+            "WHERE s.userId = :userId")
+    int addAccountCount(@Param("userId") Integer userId,
+                        @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE UserSummary s SET s.activeGoals = s.activeGoals + :delta " +
+            "WHERE s.userId = :userId")
+    int addActiveGoals(@Param("userId") Integer userId,
+                       @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE UserSummary s SET s.unreadAlerts = s.unreadAlerts + :delta " +
+            "WHERE s.userId = :userId")
+    int addUnreadAlerts(@Param("userId") Integer userId,
+                        @Param("delta") long delta);
+}
@@ -0,0 +1,94 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.model.Account;
+import com.example.budgettracker.repository.AccountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Single place where account balances change. Every change is one
+ * UPDATE ... SET current_balance = current_balance + ? statement, so two
+ * postings against the same account can no longer read the same balance
+ * and overwrite each other. Withdrawals carry the sufficient-funds check
+ * in their WHERE clause, which makes check and debit one atomic step.
+ */
+@Service
+public class AccountBalanceService {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Transactional
+    public void deposit(Account account, BigDecimal amount) {
+        adjust(account, amount);
+    }
+
+    @Transactional
+    public void withdraw(Account account, BigDecimal amount) {
+        if (accountRepository.withdraw(account.getAccountId(), amount) == 0) {
+            BigDecimal available = accountRepository
+                    .findCurrentBalance(account.getAccountId())
+                    .orElse(BigDecimal.ZERO);
+            throw new RuntimeException(
+                    "Insufficient balance. Available: " + available
+            );
+        }
+        refresh(account);
+    }
+
+    // Unchecked change, used when reversing or re-pricing a posting
+    @Transactional
+    public void adjust(Account account, BigDecimal delta) {
+        if (delta.signum() == 0) {
+            return;
+        }
+        accountRepository.addBalance(account.getAccountId(), delta);
+        refresh(account);
+    }
+
+    /**
+     * Moves money between two accounts. The two rows are always updated
+     * lower account id first, so opposite transfers running at the same
+     * time wait on each other instead of deadlocking.
+     */
+    @Transactional
+    public void transfer(Account from, Account to, BigDecimal amount) {
+        if (from.getAccountId() < to.getAccountId()) {
+            withdraw(from, amount);
+            deposit(to, amount);
+        } else {
+            deposit(to, amount);
+            withdraw(from, amount);
+        }
+    }
+
+    /**
+     * Locks the given accounts (SELECT ... FOR UPDATE) in account id order
+     * and reloads their balances, for changes that must read the balance
+     * before writing it.
+     */
+    @Transactional
+    public void lockInOrder(Account... accounts) {
+        Arrays.stream(accounts)
+                .sorted(Comparator.comparing(Account::getAccountId))
+                .forEach(account -> entityManager.refresh(
+                        account, LockModeType.PESSIMISTIC_WRITE));
+    }
+
+    // Keep the managed entity in step with the row it was loaded from
+    private void refresh(Account account) {
+        if (entityManager.contains(account)) {
+            entityManager.refresh(account);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.dto.AccountDTO;
 import com.example.budgettracker.model.Account;
 import com.example.budgettracker.model.User;
 import com.example.budgettracker.repository.AccountRepository;
@@ -7,6 +8,7 @@ import org.springframework.stereotype.Service;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +19,15 @@ public class AccountService {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Autowired
+    private CurrencyService currencyService;
+
     public List<Account> getAllAccounts() {
         return accountRepository.findAll();
     }
@@ -25,14 +36,19 @@ public class AccountService {
         return accountRepository.findById(id);
     }
 
-    public List<Account> getAccountsByUserId(Integer userId) {
-        return accountRepository.findByUserUserId(userId);
+    @Transactional(readOnly = true)
+    public List<AccountDTO> getAccountsByUserId(Integer userId) {
+        return accountRepository.findDtosByUserId(userId);
     }
 
+    // Converted into the user's currency, from the summary row like the dashboard
     public BigDecimal getTotalBalance(Integer userId) {
-        return accountRepository.getTotalBalanceByUserId(userId);
+        return userSummaryService.findSummary(userId)
+                .orElseGet(() -> userSummaryService.getSummary(userId))
+                .getTotalBalance();
     }
 
+    @Transactional
     public Account createAccount(Account account) {
         // Set current balance to initial balance if not provided
         if (account.getCurrentBalance() == null) {
@@ -42,27 +58,71 @@ public class AccountService {
                             : BigDecimal.ZERO
             );
         }
-        return accountRepository.save(account);
+
+        Integer ownerId = ownerIdOf(account);
+
+        // The owner's preferred currency unless given; fixed from here on
+        account.setCurrency(currencyService.transactionCurrency(
+                ownerId, null, account.getCurrency()));
+
+        userSummaryService.ensureSummary(ownerId);
+
+        Account saved = accountRepository.save(account);
+        userSummaryService.recordAccountCount(ownerId, 1);
+        userSummaryService.recordBalanceChange(
+                saved, saved.getCurrentBalance());
+        return saved;
     }
 
+    @Transactional
     public Account updateAccount(Integer id, Account details) {
         Account account = accountRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException(
                         "Account not found with ID: " + id
                 ));
 
+        Integer ownerId = ownerIdOf(account);
+        userSummaryService.ensureSummary(ownerId);
+        BigDecimal oldBalance = balanceOf(account);
+
         account.setAccountName(details.getAccountName());
         account.setAccountType(details.getAccountType());
         account.setCurrentBalance(details.getCurrentBalance());
         account.setIsActive(details.getIsActive());
 
-        return accountRepository.save(account);
+        Account saved = accountRepository.save(account);
+        userSummaryService.recordBalanceChange(
+                saved, balanceOf(saved).subtract(oldBalance));
+        // Reports show account names
+        reportCache.evict(ownerId);
+        return saved;
     }
 
+    @Transactional
     public void deleteAccount(Integer id) {
-        if (!accountRepository.existsById(id)) {
-            throw new RuntimeException("Account not found with ID: " + id);
-        }
+        Account account = accountRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException(
+                        "Account not found with ID: " + id
+                ));
+
+        Integer ownerId = ownerIdOf(account);
+        userSummaryService.ensureSummary(ownerId);
+
         accountRepository.deleteById(id);
+        userSummaryService.recordAccountCount(ownerId, -1);
+        userSummaryService.recordBalanceChange(
+                account, balanceOf(account).negate());
+    }
+
+    private Integer ownerIdOf(Account account) {
+        return account.getUser() != null
+                ? account.getUser().getUserId()
+                : null;
+    }
+
+    private BigDecimal balanceOf(Account account) {
+        return account.getCurrentBalance() != null
+                ? account.getCurrentBalance()
+                : BigDecimal.ZERO;
     }
 }
\ No newline at end of file
@@ -1,11 +1,13 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.dto.AlertDTO;
 import com.example.budgettracker.model.Alert;
 import com.example.budgettracker.repository.AlertRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class AlertService {
@@ -13,40 +15,73 @@ public class AlertService {
     @Autowired
     private AlertRepository alertRepository;
 
+    @Autowired
+    private UserSummaryService userSummaryService;
+
     public List<Alert> getAllAlerts() {
         return alertRepository.findAll();
     }
 
-    public List<Alert> getAlertsByUserId(Integer userId) {
-        return alertRepository.findByUserUserId(userId);
+    @Transactional(readOnly = true)
+    public List<AlertDTO> getAlertsByUserId(Integer userId) {
+        return alertRepository.findDtosByUserId(userId);
     }
 
     public List<Alert> getUnreadAlerts(Integer userId) {
         return alertRepository.findByUserUserIdAndIsRead(userId, false);
     }
 
+    @Transactional(readOnly = true)
     public long getUnreadCount(Integer userId) {
         return alertRepository.countByUserUserIdAndIsRead(userId, false);
     }
 
+    @Transactional
     public Alert createAlert(Alert alert) {
-        return alertRepository.save(alert);
+        Integer userId = userIdOf(alert);
+        userSummaryService.ensureSummary(userId);
+
+        Alert saved = alertRepository.save(alert);
+        userSummaryService.recordAlertReadChange(
+                userId, null, saved.getIsRead());
+        return saved;
     }
 
+    @Transactional
     public Alert markAsRead(Integer id) {
         Alert alert = alertRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException(
                         "Alert not found with ID: " + id
                 ));
 
+        Integer userId = userIdOf(alert);
+        userSummaryService.ensureSummary(userId);
+        Boolean oldIsRead = alert.getIsRead();
+
         alert.setIsRead(true);
-        return alertRepository.save(alert);
+        Alert saved = alertRepository.save(alert);
+        userSummaryService.recordAlertReadChange(userId, oldIsRead, true);
+        return saved;
     }
 
+    @Transactional
     public void deleteAlert(Integer id) {
-        if (!alertRepository.existsById(id)) {
-            throw new RuntimeException("Alert not found with ID: " + id);
-        }
+        Alert alert = alertRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException(
+                        "Alert not found with ID: " + id
+                ));
+
+        Integer userId = userIdOf(alert);
+        userSummaryService.ensureSummary(userId);
+
         alertRepository.deleteById(id);
+        userSummaryService.recordAlertReadChange(
+                userId, alert.getIsRead(), null);
+    }
+
+    private Integer userIdOf(Alert alert) {
+        return alert.getUser() != null
+                ? alert.getUser().getUserId()
+                : null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.repository.BudgetRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves budget evaluation off the request thread.
+ *
+ * After a spend change commits, its budget key is put on a bounded
+ * queue; a key that is already waiting is not queued again, so a burst
+ * of expenses against one budget costs a single evaluation. A worker
+ * thread drains the queue in batches through {@link BudgetAlertService}.
+ *
+ * If the queue is full the key is not kept; its month is remembered
+ * instead and, once the queue is idle, every budget of that month is
+ * re-evaluated. Memory therefore stays bounded under any burst and no
+ * threshold crossing is lost, only delayed.
+ */
+@Slf4j
+@Component
+public class BudgetAlertPipeline {
+
+    static final int QUEUE_CAPACITY = 10_000;
+    static final int BATCH_SIZE = 500;
+
+    private final BlockingQueue<BudgetSpendEvent> queue =
+            new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+
+    // Keys currently waiting in the queue, used to coalesce duplicates
+    private final Set<BudgetSpendEvent> queued = ConcurrentHashMap.newKeySet();
+
+    // Months whose keys were dropped on overflow or a failed evaluation
+    private final Set<String> sweepMonths = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    private BudgetAlertService budgetAlertService;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onSpendChanged(BudgetSpendEvent event) {
+        submit(event);
+    }
+
+    public void submit(BudgetSpendEvent event) {
+        if (event.userId() == null || event.categoryId() == null
+                || event.monthYear() == null || !queued.add(event)) {
+            return;
+        }
+        if (!queue.offer(event)) {
+            queued.remove(event);
+            if (sweepMonths.add(event.monthYear())) {
+                log.warn("Budget alert queue full, {} will be swept",
+                        event.monthYear());
+            }
+        }
+    }
+
+    // =================== WORKER ===================
+    @PostConstruct
+    void start() {
+        running = true;
+        worker = new Thread(this::run, "budget-alerts");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                BudgetSpendEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first != null) {
+                    List<BudgetSpendEvent> batch = new ArrayList<>(BATCH_SIZE);
+                    batch.add(first);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                    // Later changes to these keys must queue them again
+                    batch.forEach(queued::remove);
+                    evaluate(batch);
+                } else if (!sweepMonths.isEmpty()) {
+                    sweep();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Never let the worker die
+                log.error("Budget alert worker error", e);
+            }
+        }
+    }
+
+    private void evaluate(List<BudgetSpendEvent> batch) {
+        try {
+            budgetAlertService.evaluate(batch);
+        } catch (RuntimeException e) {
+            log.error("Budget alert evaluation failed, will retry by sweep", e);
+            batch.forEach(event -> sweepMonths.add(event.monthYear()));
+        }
+    }
+
+    // Re-evaluates every budget of the months that lost keys
+    private void sweep() {
+        for (String monthYear : List.copyOf(sweepMonths)) {
+            sweepMonths.remove(monthYear);
+            int page = 0;
+            List<Object[]> keys;
+            do {
+                try {
+                    keys = budgetRepository.findKeysByMonthYear(
+                            monthYear, PageRequest.of(page++, BATCH_SIZE));
+                } catch (RuntimeException e) {
+                    sweepMonths.add(monthYear);
+                    throw e;
+                }
+                List<BudgetSpendEvent> batch = new ArrayList<>(keys.size());
+                for (Object[] key : keys) {
+                    batch.add(new BudgetSpendEvent(
+                            (Integer) key[0], (Integer) key[1], monthYear));
+                }
+                evaluate(batch);
+            } while (keys.size() == BATCH_SIZE);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.repository.BudgetRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks budgets against the 50% / 80% / 100% spend thresholds and
+ * writes a SPENDING_ALERT the first time each one is crossed. The
+ * highest threshold alerted on is stored on the budget and claimed with
+ * a conditional UPDATE, so repeated or concurrent evaluations never
+ * alert twice; when spend drops back below a threshold it is re-armed.
+ */
+@Service
+public class BudgetAlertService {
+
+    static final String ALERT_TYPE = "SPENDING_ALERT";
+
+    // Highest first, so a jump from 0 to 120% alerts once, at 100%
+    private static final int[] THRESHOLDS = {100, 80, 50};
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private TransactionBatchWriter transactionBatchWriter;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    /**
+     * Evaluates the budgets behind the given keys and returns the number
+     * of alerts written.
+     */
+    @Transactional
+    public int evaluate(Collection<BudgetSpendEvent> keys) {
+
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        Set<BudgetSpendEvent> wanted = new HashSet<>(keys);
+        Set<Integer> userIds = new HashSet<>();
+        Set<String> months = new HashSet<>();
+        for (BudgetSpendEvent key : keys) {
+            userIds.add(key.userId());
+            months.add(key.monthYear());
+        }
+
+        List<Object[]> alertRows = new ArrayList<>();
+        Map<Integer, Long> alertsPerUser = new HashMap<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        for (Object[] row : budgetRepository.findAlertCandidates(userIds, months)) {
+
+            Integer budgetId = ((Number) row[0]).intValue();
+            Integer userId = ((Number) row[1]).intValue();
+            Integer categoryId = row[2] != null ? ((Number) row[2]).intValue() : null;
+            String monthYear = (String) row[3];
+
+            if (!wanted.contains(new BudgetSpendEvent(userId, categoryId, monthYear))) {
+                continue;
+            }
+
+            BigDecimal limit = (BigDecimal) row[4];
+            BigDecimal spent = (BigDecimal) row[5];
+            int alerted = ((Number) row[6]).intValue();
+            if (limit == null || limit.signum() <= 0) {
+                continue;
+            }
+
+            int level = levelFor(spent, limit);
+            if (level > alerted) {
+                if (budgetRepository.raiseAlertedThreshold(budgetId, level) == 1) {
+                    alertRows.add(new Object[]{
+                            userId, ALERT_TYPE,
+                            message((String) row[7], monthYear, level, spent, limit),
+                            now, Boolean.FALSE
+                    });
+                    alertsPerUser.merge(userId, 1L, Long::sum);
+                }
+            } else if (level < alerted) {
+                budgetRepository.lowerAlertedThreshold(budgetId, level);
+            }
+        }
+
+        // Summaries must exist before the raw alert inserts
+        alertsPerUser.keySet().forEach(userSummaryService::ensureSummary);
+        transactionBatchWriter.insertAlerts(alertRows);
+        alertsPerUser.forEach(userSummaryService::recordNewUnreadAlerts);
+        return alertRows.size();
+    }
+
+    static int levelFor(BigDecimal spent, BigDecimal limit) {
+        BigDecimal percent = spent.multiply(BigDecimal.valueOf(100));
+        for (int threshold : THRESHOLDS) {
+            if (percent.compareTo(limit.multiply(BigDecimal.valueOf(threshold))) >= 0) {
+                return threshold;
+            }
+        }
+        return 0;
+    }
+
+    private static String message(String categoryName, String monthYear,
+                                  int level, BigDecimal spent, BigDecimal limit) {
+        String budget = categoryName != null ? categoryName : "Uncategorized";
+        int percent = spent.multiply(BigDecimal.valueOf(100))
+                .divide(limit, 0, RoundingMode.DOWN).intValue();
+        String text = level >= 100
+                ? budget + " budget for " + monthYear + " exceeded: "
+                : budget + " budget for " + monthYear + " is at " + percent + "%: ";
+        text += spent.setScale(2, RoundingMode.HALF_UP) + " of "
+                + limit.setScale(2, RoundingMode.HALF_UP);
+        return text.length() > 255 ? text.substring(0, 255) : text;
+    }
+}
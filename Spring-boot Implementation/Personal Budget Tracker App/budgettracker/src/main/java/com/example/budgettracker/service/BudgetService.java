@@ -1,17 +1,22 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.dto.BudgetDTO;
 import com.example.budgettracker.model.Budget;
 import com.example.budgettracker.repository.BudgetRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import java.math.BigDecimal;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +26,12 @@ public class BudgetService {
     @Autowired
     private BudgetRepository budgetRepository;
 
+    @Autowired
+    private MonthlySpendService monthlySpendService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Budget> getAllBudgets() {
         return budgetRepository.findAll();
     }
@@ -29,8 +40,9 @@ public class BudgetService {
         return budgetRepository.findById(id);
     }
 
-    public List<Budget> getBudgetsByUserId(Integer userId) {
-        return budgetRepository.findByUserUserId(userId);
+    @Transactional(readOnly = true)
+    public List<BudgetDTO> getBudgetsByUserId(Integer userId) {
+        return budgetRepository.findDtosByUserId(userId);
     }
 
     public List<Budget> getBudgetsByUserAndMonth(
@@ -39,24 +51,50 @@ public class BudgetService {
                 .findByUserUserIdAndMonthYear(userId, monthYear);
     }
 
+    public Optional<Budget> getBudgetForCategory(
+            Integer userId, Integer categoryId, String monthYear) {
+        return budgetRepository
+                .findByUserUserIdAndCategoryCategoryIdAndMonthYear(
+                        userId, categoryId, monthYear);
+    }
+
+    @Transactional
     public Budget createBudget(Budget budget) {
-        if (budget.getAmountSpent() == null) {
-            budget.setAmountSpent(BigDecimal.ZERO);
+        Budget saved = budgetRepository.save(budget);
+        fillAmountSpent(saved);
+        publishSpendChange(saved);
+        return saved;
+    }
+
+    // Saved with saveAll, so the inserts go out as JDBC batches
+    @Transactional
+    public List<Budget> createBudgets(List<Budget> budgets) {
+        List<Budget> saved = budgetRepository.saveAll(budgets);
+        for (Budget budget : saved) {
+            fillAmountSpent(budget);
+            publishSpendChange(budget);
         }
-        return budgetRepository.save(budget);
+        return saved;
     }
 
+    @Transactional
     public Budget updateBudget(Integer id, Budget details) {
         Budget budget = budgetRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException(
                         "Budget not found with ID: " + id
                 ));
 
+        // amountSpent is derived from the monthly spend rollup
         budget.setAmountLimit(details.getAmountLimit());
-        budget.setAmountSpent(details.getAmountSpent());
+        if (!Objects.equals(budget.getMonthYear(), details.getMonthYear())) {
+            budgetRepository.resetAlertedThreshold(id);
+        }
         budget.setMonthYear(details.getMonthYear());
 
-        return budgetRepository.save(budget);
+        Budget saved = budgetRepository.save(budget);
+        fillAmountSpent(saved);
+        publishSpendChange(saved);
+        return saved;
     }
 
     public void deleteBudget(Integer id) {
@@ -65,4 +103,27 @@ public class BudgetService {
         }
         budgetRepository.deleteById(id);
     }
+
+    // A new or changed limit may already be past a threshold
+    private void publishSpendChange(Budget budget) {
+        if (budget.getUser() != null && budget.getCategory() != null) {
+            eventPublisher.publishEvent(new BudgetSpendEvent(
+                    budget.getUser().getUserId(),
+                    budget.getCategory().getCategoryId(),
+                    budget.getMonthYear()));
+        }
+    }
+
+    // Formula columns are only read on load, so populate it for responses
+    private void fillAmountSpent(Budget budget) {
+        if (budget.getUser() == null || budget.getCategory() == null
+                || budget.getMonthYear() == null) {
+            budget.setAmountSpent(BigDecimal.ZERO);
+            return;
+        }
+        budget.setAmountSpent(monthlySpendService.getSpend(
+                budget.getUser().getUserId(),
+                budget.getCategory().getCategoryId(),
+                YearMonth.parse(budget.getMonthYear())));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.example.budgettracker.service;
+
+/**
+ * Published whenever the spend or the limit behind a budget may have
+ * changed. Carries only the budget's key; the alert pipeline re-reads
+ * the current numbers when it gets to it.
+ */
+public record BudgetSpendEvent(Integer userId, Integer categoryId,
+                               String monthYear) {
+}
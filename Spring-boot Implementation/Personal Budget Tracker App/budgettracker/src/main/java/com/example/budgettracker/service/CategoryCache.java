@@ -0,0 +1,101 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.CacheStatsDTO;
+import com.example.budgettracker.dto.CategoryDTO;
+import com.example.budgettracker.repository.CategoryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory copy of the category lists. The global categories (no user)
+ * are shared by everyone and kept as a single entry; each user's custom
+ * categories are cached separately, size-bounded and expired when idle.
+ * CategoryService evicts the affected entry whenever a category is
+ * created, updated or deleted.
+ */
+@Component
+public class CategoryCache {
+
+    private static final String GLOBAL_KEY = "global";
+
+    private final Cache<String, List<CategoryDTO>> globalCategories =
+            Caffeine.newBuilder()
+                    .maximumSize(1)
+                    .recordStats()
+                    .build();
+
+    private final Cache<Integer, List<CategoryDTO>> userCategories =
+            Caffeine.newBuilder()
+                    .maximumSize(10_000)
+                    .expireAfterAccess(Duration.ofMinutes(30))
+                    .recordStats()
+                    .build();
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    public List<CategoryDTO> getGlobal() {
+        return globalCategories.get(GLOBAL_KEY,
+                key -> List.copyOf(categoryRepository.findGlobalDtos()));
+    }
+
+    public List<CategoryDTO> getCustom(Integer userId) {
+        return userCategories.get(userId,
+                id -> List.copyOf(categoryRepository.findCustomDtosByUserId(id)));
+    }
+
+    // Global categories followed by the user's own
+    public List<CategoryDTO> getForUser(Integer userId) {
+        List<CategoryDTO> categories = new ArrayList<>(getGlobal());
+        categories.addAll(getCustom(userId));
+        return categories;
+    }
+
+    // =================== INVALIDATION ===================
+    /**
+     * Evicts the entry a category belongs to: the user's list, or the
+     * global list when userId is null. Inside a transaction the eviction
+     * waits for the commit, so a concurrent reader cannot re-cache the
+     * old rows in between.
+     */
+    public void evict(Integer userId) {
+        Runnable eviction = userId == null
+                ? () -> globalCategories.invalidate(GLOBAL_KEY)
+                : () -> userCategories.invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            eviction.run();
+                        }
+                    });
+        } else {
+            eviction.run();
+        }
+    }
+
+    // =================== METRICS ===================
+    public List<CacheStatsDTO> getStats() {
+        return List.of(
+                toDto("categories.global", globalCategories.stats(),
+                        globalCategories.estimatedSize()),
+                toDto("categories.user", userCategories.stats(),
+                        userCategories.estimatedSize()));
+    }
+
+    private static CacheStatsDTO toDto(String name, CacheStats stats, long size) {
+        return new CacheStatsDTO(name, size, stats.hitCount(),
+                stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+}
@@ -1,13 +1,19 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.dto.CacheStatsDTO;
+import com.example.budgettracker.dto.CategoryDTO;
 import com.example.budgettracker.model.Category;
 import com.example.budgettracker.repository.CategoryRepository;
+import com.example.budgettracker.repository.CategorySpendStatsRepository;
+import com.example.budgettracker.repository.MonthlyCategorySpendRepository;
+import com.example.budgettracker.repository.UserCategorySpendRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +23,21 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Autowired
+    private UserCategorySpendRepository userCategorySpendRepository;
+
+    @Autowired
+    private MonthlyCategorySpendRepository monthlyCategorySpendRepository;
+
+    @Autowired
+    private CategorySpendStatsRepository categorySpendStatsRepository;
+
     public List<Category> getAllCategories() {
         return categoryRepository.findAll();
     }
@@ -25,8 +46,8 @@ public class CategoryService {
         return categoryRepository.findById(id);
     }
 
-    public List<Category> getCategoriesForUser(Integer userId) {
-        return categoryRepository.findByUserIsNullOrUserUserId(userId);
+    public List<CategoryDTO> getCategoriesForUser(Integer userId) {
+        return categoryCache.getForUser(userId);
     }
 
     public List<Category> getCategoriesByType(String type) {
@@ -34,7 +55,9 @@ public class CategoryService {
     }
 
     public Category createCategory(Category category) {
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        categoryCache.evict(ownerIdOf(saved));
+        return saved;
     }
 
     public Category updateCategory(Integer id, Category details) {
@@ -47,13 +70,43 @@ public class CategoryService {
         category.setCategoryType(details.getCategoryType());
         category.setIsCustom(details.getIsCustom());
 
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        categoryCache.evict(ownerIdOf(saved));
+        evictReports(ownerIdOf(saved));
+        return saved;
     }
 
+    @Transactional
     public void deleteCategory(Integer id) {
-        if (!categoryRepository.existsById(id)) {
-            throw new RuntimeException("Category not found with ID: " + id);
-        }
+        Category category = categoryRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException(
+                        "Category not found with ID: " + id
+                ));
+        // Drop the dashboard's per-category totals before the category row
+        userCategorySpendRepository.deleteByCategoryId(id);
+        monthlyCategorySpendRepository.deleteByCategoryId(id);
+        categorySpendStatsRepository.deleteByCategoryId(id);
         categoryRepository.deleteById(id);
+        categoryCache.evict(ownerIdOf(category));
+        evictReports(ownerIdOf(category));
+    }
+
+    public List<CacheStatsDTO> getCacheStats() {
+        return categoryCache.getStats();
+    }
+
+    // Reports show category names; a global category appears in everyone's
+    private void evictReports(Integer ownerId) {
+        if (ownerId == null) {
+            reportCache.evictAll();
+        } else {
+            reportCache.evict(ownerId);
+        }
+    }
+
+    private Integer ownerIdOf(Category category) {
+        return category.getUser() != null
+                ? category.getUser().getUserId()
+                : null;
     }
 }
\ No newline at end of file
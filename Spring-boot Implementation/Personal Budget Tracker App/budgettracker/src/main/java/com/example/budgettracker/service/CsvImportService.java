@@ -0,0 +1,400 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.CategoryDTO;
+import com.example.budgettracker.dto.ImportResultDTO;
+import com.example.budgettracker.dto.ImportRowErrorDTO;
+import com.example.budgettracker.model.Account;
+import com.example.budgettracker.repository.AccountRepository;
+import com.example.budgettracker.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Imports a bank statement CSV for one user in a single pass.
+ *
+ * The first record is the header. Columns are matched by name, ignoring
+ * case, spaces and underscores:
+ * <ul>
+ *   <li>date (required)</li>
+ *   <li>amount, or separate debit / credit columns (required)</li>
+ *   <li>type: EXPENSE / DEBIT or INCOME / CREDIT. Without it a negative
+ *       amount is an expense and a positive one is income</li>
+ *   <li>description, category, account, payment method, income type</li>
+ * </ul>
+ * Categories and accounts are looked up by name from maps loaded once
+ * up front. Rows are written in JDBC batches as they are read, and the
+ * account, summary and monthly spend effects are applied once per
+ * account / category / month at the end, so memory stays flat however
+ * long the file is. Rows that fail validation are skipped and reported
+ * by line number. Imported history is applied to balances as-is,
+ * without the sufficient-funds check interactive postings get.
+ *
+ * Rows are in their account's currency, or the user's reporting currency
+ * when they have no account; totals are converted row by row at each
+ * row's date.
+ */
+@Service
+public class CsvImportService {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final BigDecimal MAX_AMOUNT = new BigDecimal("9999999999.99");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private TransactionBatchWriter transactionBatchWriter;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Autowired
+    private MonthlySpendService monthlySpendService;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @Autowired
+    private SpendStatsService spendStatsService;
+
+    // =================== IMPORT ===================
+    @Transactional
+    public ImportResultDTO importCsv(Integer userId, InputStream input,
+                                     Integer defaultAccountId,
+                                     String dateFormat) throws IOException {
+
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found with ID: " + userId);
+        }
+
+        DateTimeFormatter dates = dateFormat != null && !dateFormat.isBlank()
+                ? DateTimeFormatter.ofPattern(dateFormat)
+                : DateTimeFormatter.ISO_LOCAL_DATE;
+
+        // Name lookups, loaded once
+        Map<String, Integer> accounts = new HashMap<>();
+        Map<Integer, String> accountCurrencies = new HashMap<>();
+        for (Account account : accountRepository.findByUserUserId(userId)) {
+            accounts.put(key(account.getAccountName()), account.getAccountId());
+            accountCurrencies.put(account.getAccountId(), account.getCurrency());
+        }
+        if (defaultAccountId != null
+                && !accounts.containsValue(defaultAccountId)) {
+            throw new IllegalArgumentException(
+                    "Account " + defaultAccountId
+                            + " does not belong to user " + userId
+            );
+        }
+
+        // A user's own category wins over a global one of the same name
+        Map<String, Integer> categories = new HashMap<>();
+        for (CategoryDTO category : categoryCache.getGlobal()) {
+            categories.put(key(category.getCategoryName()),
+                    category.getCategoryId());
+        }
+        for (CategoryDTO category : categoryCache.getCustom(userId)) {
+            categories.put(key(category.getCategoryName()),
+                    category.getCategoryId());
+        }
+
+        // Summary must exist before the raw inserts
+        userSummaryService.ensureSummary(userId);
+
+        ImportResultDTO result = new ImportResultDTO();
+        Import state = new Import(userId, defaultAccountId, dates,
+                accounts, accountCurrencies, categories, result);
+
+        try (CsvRowReader reader = new CsvRowReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8))) {
+
+            List<String> header = reader.next();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV file is empty");
+            }
+            state.readHeader(header);
+
+            List<String> fields;
+            while ((fields = reader.next()) != null) {
+                result.setRowsRead(result.getRowsRead() + 1);
+                try {
+                    state.addRow(fields);
+                } catch (IllegalArgumentException e) {
+                    state.reject(reader.recordLine(), e.getMessage());
+                }
+                state.flushIfFull();
+            }
+        }
+
+        state.flush();
+        state.applyTotals();
+        reportCache.evict(userId);
+        return result;
+    }
+
+    private static String key(String name) {
+        return name == null
+                ? ""
+                : name.toLowerCase().replaceAll("[^a-z0-9]", "");
+    }
+
+    /**
+     * Per-import state: column positions, the pending JDBC batches and
+     * the aggregated deltas.
+     */
+    private class Import {
+
+        private final Integer userId;
+        private final Integer defaultAccountId;
+        private final DateTimeFormatter dates;
+        private final Map<String, Integer> accounts;
+        private final Map<Integer, String> accountCurrencies;
+        private final Map<String, Integer> categories;
+        private final ImportResultDTO result;
+        private final CurrencyService.Converter converter;
+
+        private final Map<String, Integer> columns = new HashMap<>();
+
+        private final List<Object[]> expenseRows = new ArrayList<>();
+        private final List<Object[]> incomeRows = new ArrayList<>();
+
+        private final Map<Integer, BigDecimal> accountDeltas = new HashMap<>();
+        private final Map<Integer, BigDecimal> categoryTotals = new HashMap<>();
+        private final Map<MonthKey, BigDecimal> monthlyTotals = new HashMap<>();
+        private final DailyTotalBatch dailyTotals = new DailyTotalBatch();
+        private final SpendStatsBatch spendStats = new SpendStatsBatch();
+        private BigDecimal incomeTotal = BigDecimal.ZERO;
+
+        Import(Integer userId, Integer defaultAccountId,
+               DateTimeFormatter dates, Map<String, Integer> accounts,
+               Map<Integer, String> accountCurrencies,
+               Map<String, Integer> categories, ImportResultDTO result) {
+            this.userId = userId;
+            this.defaultAccountId = defaultAccountId;
+            this.dates = dates;
+            this.accounts = accounts;
+            this.accountCurrencies = accountCurrencies;
+            this.categories = categories;
+            this.result = result;
+            this.converter = currencyService.converter(userId);
+        }
+
+        void readHeader(List<String> header) {
+            // key() also drops a UTF-8 byte order mark on the first column
+            for (int i = 0; i < header.size(); i++) {
+                columns.putIfAbsent(key(header.get(i)), i);
+            }
+            if (!columns.containsKey("date")) {
+                throw new IllegalArgumentException(
+                        "CSV header must contain a date column");
+            }
+            if (!columns.containsKey("amount")
+                    && !columns.containsKey("debit")
+                    && !columns.containsKey("credit")) {
+                throw new IllegalArgumentException(
+                        "CSV header must contain an amount column " +
+                                "or debit / credit columns");
+            }
+        }
+
+        void addRow(List<String> fields) {
+
+            LocalDate date = parseDate(value(fields, "date"));
+
+            // Direction and amount
+            String type = value(fields, "type").toUpperCase();
+            BigDecimal amount;
+            boolean income;
+
+            if (!value(fields, "amount").isEmpty()) {
+                amount = parseAmount(value(fields, "amount"));
+                income = switch (type) {
+                    case "INCOME", "CREDIT" -> true;
+                    case "EXPENSE", "DEBIT" -> false;
+                    case "" -> amount.signum() > 0;
+                    default -> throw new IllegalArgumentException(
+                            "Unknown type: " + type);
+                };
+            } else if (!value(fields, "debit").isEmpty()) {
+                amount = parseAmount(value(fields, "debit"));
+                income = false;
+            } else if (!value(fields, "credit").isEmpty()) {
+                amount = parseAmount(value(fields, "credit"));
+                income = true;
+            } else {
+                throw new IllegalArgumentException("Amount is missing");
+            }
+            amount = amount.abs();
+            if (amount.signum() == 0) {
+                throw new IllegalArgumentException("Amount must not be zero");
+            }
+
+            Integer accountId = lookup(accounts, value(fields, "account"),
+                    "account", defaultAccountId);
+            String description = truncate(value(fields, "description"), 255);
+            String currency = accountId != null
+                    ? accountCurrencies.get(accountId)
+                    : converter.getCurrency();
+            BigDecimal reported = converter.apply(currency, date, amount);
+
+            if (income) {
+                incomeRows.add(new Object[]{
+                        userId, accountId, amount,
+                        orDefault(truncate(value(fields, "incometype"), 50),
+                                "Imported"),
+                        description, Date.valueOf(date), Boolean.FALSE,
+                        currency
+                });
+                incomeTotal = incomeTotal.add(reported);
+                dailyTotals.addIncome(userId, date, reported);
+                result.setIncomesImported(result.getIncomesImported() + 1);
+            } else {
+                Integer categoryId = lookup(categories,
+                        value(fields, "category"), "category", null);
+                expenseRows.add(new Object[]{
+                        userId, accountId, categoryId, amount, description,
+                        Date.valueOf(date),
+                        orDefault(truncate(value(fields, "paymentmethod"), 50),
+                                "Imported"),
+                        currency
+                });
+                categoryTotals.merge(categoryId, reported, BigDecimal::add);
+                dailyTotals.addExpense(userId, date, reported);
+                spendStats.add(userId, categoryId, reported);
+                if (categoryId != null) {
+                    monthlyTotals.merge(
+                            new MonthKey(categoryId, YearMonth.from(date)),
+                            reported, BigDecimal::add);
+                }
+                result.setExpensesImported(result.getExpensesImported() + 1);
+            }
+
+            if (accountId != null) {
+                accountDeltas.merge(accountId,
+                        income ? amount : amount.negate(), BigDecimal::add);
+            }
+        }
+
+        void reject(long line, String message) {
+            result.setErrorCount(result.getErrorCount() + 1);
+            if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                result.getErrors().add(new ImportRowErrorDTO(line, message));
+            }
+        }
+
+        void flushIfFull() {
+            if (expenseRows.size() + incomeRows.size()
+                    >= TransactionBatchWriter.BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            transactionBatchWriter.insertExpenses(expenseRows);
+            transactionBatchWriter.insertIncomes(incomeRows);
+            expenseRows.clear();
+            incomeRows.clear();
+        }
+
+        // One balance, summary and rollup increment per account / category /
+        // month / day
+        void applyTotals() {
+            transactionBatchWriter.addBalances(accountDeltas);
+            transactionBatchWriter.addDailyTotals(dailyTotals);
+            spendStatsService.add(spendStats);
+
+            accountDeltas.forEach((accountId, delta) -> userSummaryService
+                    .recordBalanceChange(userId,
+                            accountCurrencies.get(accountId), delta));
+            userSummaryService.recordIncome(userId, incomeTotal);
+            categoryTotals.forEach((categoryId, total) ->
+                    userSummaryService.recordExpense(userId, categoryId, total));
+            monthlyTotals.forEach((month, total) ->
+                    monthlySpendService.recordSpend(userId, month.categoryId(),
+                            month.month().atDay(1), total));
+        }
+
+        private String value(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            return index != null && index < fields.size()
+                    ? fields.get(index)
+                    : "";
+        }
+
+        private LocalDate parseDate(String text) {
+            if (text.isEmpty()) {
+                throw new IllegalArgumentException("Date is missing");
+            }
+            try {
+                return LocalDate.parse(text, dates);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid date: " + text);
+            }
+        }
+
+        private BigDecimal parseAmount(String text) {
+            BigDecimal amount;
+            try {
+                // Thousands separators and surrounding spaces are allowed
+                amount = new BigDecimal(text.replace(",", "").replace(" ", ""))
+                        .setScale(2, RoundingMode.HALF_UP);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid amount: " + text);
+            }
+            if (amount.abs().compareTo(MAX_AMOUNT) > 0) {
+                throw new IllegalArgumentException("Amount too large: " + text);
+            }
+            return amount;
+        }
+
+        private Integer lookup(Map<String, Integer> ids, String name,
+                               String kind, Integer fallback) {
+            if (name.isEmpty()) {
+                return fallback;
+            }
+            Integer id = ids.get(key(name));
+            if (id == null) {
+                throw new IllegalArgumentException(
+                        "Unknown " + kind + ": " + name);
+            }
+            return id;
+        }
+
+        private String truncate(String text, int length) {
+            return text.length() > length ? text.substring(0, length) : text;
+        }
+
+        private String orDefault(String text, String fallback) {
+            return text.isEmpty() ? fallback : text;
+        }
+    }
+
+    private record MonthKey(Integer categoryId, YearMonth month) {
+    }
+}
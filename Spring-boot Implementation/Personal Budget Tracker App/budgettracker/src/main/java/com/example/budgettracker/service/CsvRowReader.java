@@ -0,0 +1,101 @@
+package com.example.budgettracker.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: comma separated, fields optionally
+ * wrapped in double quotes, "" for a literal quote, and line breaks
+ * allowed inside quoted fields. Only the current record is held in
+ * memory.
+ */
+class CsvRowReader implements Closeable {
+
+    private final BufferedReader reader;
+    private long line;
+    private long recordLine;
+
+    CsvRowReader(Reader reader) {
+        this.reader = new BufferedReader(reader);
+    }
+
+    /**
+     * Returns the next record, or null at end of input. Blank lines are
+     * skipped.
+     */
+    List<String> next() throws IOException {
+
+        String text = reader.readLine();
+        while (text != null && text.isBlank()) {
+            line++;
+            text = reader.readLine();
+        }
+        if (text == null) {
+            return null;
+        }
+        line++;
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+
+        while (true) {
+            if (i == text.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // Quoted field runs on to the next line
+                String more = reader.readLine();
+                if (more == null) {
+                    throw new IOException(
+                            "Unterminated quoted field starting on line "
+                                    + recordLine);
+                }
+                line++;
+                field.append('\n');
+                text = more;
+                i = 0;
+                continue;
+            }
+
+            char c = text.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < text.length() && text.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    // Line number the last record returned by next() started on
+    long recordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.model.Account;
+import com.example.budgettracker.repository.AccountRepository;
+import com.example.budgettracker.repository.ExpenseRepository;
+import com.example.budgettracker.repository.IncomeRepository;
+import com.example.budgettracker.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts amounts into a user's reporting currency, their currency
+ * preference.
+ *
+ * Every summary and rollup (dashboard totals, category and monthly
+ * spend, the daily series) is kept in the reporting currency. A
+ * transaction is converted once, at its own date's rate, when it is
+ * posted; balances are converted at the current rate. Amounts already
+ * in the reporting currency are passed through untouched, so a user
+ * with a single currency never needs a rate.
+ */
+@Service
+public class CurrencyService {
+
+    @Autowired
+    private ExchangeRateCache exchangeRateCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Value("${budgettracker.currency.default:INR}")
+    private String defaultCurrency;
+
+    private final Cache<Integer, String> reportingCurrencies =
+            Caffeine.newBuilder()
+                    .maximumSize(100_000)
+                    .expireAfterAccess(Duration.ofHours(6))
+                    .build();
+
+    // =================== CURRENCIES ===================
+    public String reportingCurrency(Integer userId) {
+        if (userId == null) {
+            return normalize(defaultCurrency);
+        }
+        return reportingCurrencies.get(userId, id -> {
+            String preference = userRepository.findCurrencyPreference(id);
+            return normalize(preference != null ? preference : defaultCurrency);
+        });
+    }
+
+    /**
+     * The currency a new transaction is recorded in: its account's, or
+     * for one without an account the requested currency, falling back to
+     * the user's reporting currency.
+     */
+    public String transactionCurrency(Integer userId, Account account,
+                                      String requested) {
+        if (account != null && account.getCurrency() != null) {
+            if (requested != null && !requested.isBlank()
+                    && !normalize(requested).equals(account.getCurrency())) {
+                throw new IllegalArgumentException(
+                        "Currency " + requested + " does not match account "
+                                + "currency " + account.getCurrency());
+            }
+            return account.getCurrency();
+        }
+        String currency = requested != null && !requested.isBlank()
+                ? normalize(requested)
+                : reportingCurrency(userId);
+        requireKnown(userId, currency);
+        return currency;
+    }
+
+    // A currency is usable once it has rates, or is the user's own
+    public void requireKnown(Integer userId, String currency) {
+        if (!currency.equals(reportingCurrency(userId))
+                && !exchangeRateCache.isKnown(currency)) {
+            throw new IllegalArgumentException(
+                    "No exchange rates for currency: " + currency);
+        }
+    }
+
+    /**
+     * Drops the cached reporting currency. Inside a transaction it is
+     * dropped again after the commit, so a concurrent reader cannot keep
+     * the old preference cached.
+     */
+    public void evict(Integer userId) {
+        reportingCurrencies.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            reportingCurrencies.invalidate(userId);
+                        }
+                    });
+        }
+    }
+
+    // =================== CONVERSION ===================
+    /**
+     * The amount in the user's reporting currency at the rate for the
+     * given date (today's when there is no date), rounded to cents.
+     */
+    public BigDecimal toReporting(Integer userId, String currency,
+                                  LocalDate date, BigDecimal amount) {
+        return convert(amount, currency, reportingCurrency(userId), date);
+    }
+
+    // Balances are always valued at the current rate
+    public BigDecimal balanceToReporting(Integer userId, String currency,
+                                         BigDecimal amount) {
+        return toReporting(userId, currency, LocalDate.now(), amount);
+    }
+
+    public BigDecimal convert(BigDecimal amount, String from, String to,
+                              LocalDate date) {
+        if (amount == null || amount.signum() == 0
+                || from == null || from.equals(to)) {
+            return amount;
+        }
+        LocalDate day = date != null ? date : LocalDate.now();
+        return amount.multiply(exchangeRateCache.rate(from, day))
+                .divide(exchangeRateCache.rate(to, day), 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * A converter into one user's reporting currency for a single pass
+     * over many rows. It keeps the rates of the last (currency, day) it
+     * saw, so rows arriving in date order only look a rate up when the
+     * day or the currency changes. Not thread safe.
+     */
+    public Converter converter(Integer userId) {
+        return new Converter(reportingCurrency(userId));
+    }
+
+    public final class Converter {
+
+        private final String target;
+        private String lastCurrency;
+        private LocalDate lastDate;
+        private BigDecimal fromRate;
+        private BigDecimal toRate;
+
+        private Converter(String target) {
+            this.target = target;
+        }
+
+        public String getCurrency() {
+            return target;
+        }
+
+        public BigDecimal apply(String currency, LocalDate date,
+                                BigDecimal amount) {
+            if (amount == null || amount.signum() == 0
+                    || currency == null || currency.equals(target)) {
+                return amount;
+            }
+            LocalDate day = date != null ? date : LocalDate.now();
+            if (!currency.equals(lastCurrency) || !day.equals(lastDate)) {
+                fromRate = exchangeRateCache.rate(currency, day);
+                toRate = exchangeRateCache.rate(target, day);
+                lastCurrency = currency;
+                lastDate = day;
+            }
+            return amount.multiply(fromRate)
+                    .divide(toRate, 2, RoundingMode.HALF_UP);
+        }
+    }
+
+    // =================== REBUILD ADJUSTMENTS ===================
+    /**
+     * The rebuild queries sum raw amounts whatever their currency. These
+     * are the corrections for a user's rows in other currencies: each
+     * row's converted amount minus its raw amount, converted row by row
+     * exactly as the write paths do, so a rebuild matches the increments.
+     */
+    public List<Adjustment> expenseAdjustments(Integer userId) {
+        Converter converter = converter(userId);
+        List<Adjustment> adjustments = new ArrayList<>();
+        for (Object[] row : expenseRepository
+                .findForeignAmounts(userId, converter.getCurrency())) {
+            adjustments.add(adjustment(converter, (Integer) row[0],
+                    (String) row[1], (LocalDate) row[2], (BigDecimal) row[3]));
+        }
+        return adjustments;
+    }
+
+    public List<Adjustment> incomeAdjustments(Integer userId) {
+        Converter converter = converter(userId);
+        List<Adjustment> adjustments = new ArrayList<>();
+        for (Object[] row : incomeRepository
+                .findForeignAmounts(userId, converter.getCurrency())) {
+            adjustments.add(adjustment(converter, null,
+                    (String) row[0], (LocalDate) row[1], (BigDecimal) row[2]));
+        }
+        return adjustments;
+    }
+
+    // Foreign balances are summed per currency and valued at today's rate
+    public BigDecimal balanceAdjustment(Integer userId) {
+        String target = reportingCurrency(userId);
+        BigDecimal adjustment = BigDecimal.ZERO;
+        for (Object[] row : accountRepository
+                .getForeignBalances(userId, target)) {
+            BigDecimal balance = (BigDecimal) row[1];
+            adjustment = adjustment.add(convert(balance, (String) row[0],
+                    target, LocalDate.now()).subtract(balance));
+        }
+        return adjustment;
+    }
+
+    public static BigDecimal total(List<Adjustment> adjustments) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Adjustment adjustment : adjustments) {
+            total = total.add(adjustment.delta());
+        }
+        return total;
+    }
+
+    private static Adjustment adjustment(Converter converter, Integer categoryId,
+                                         String currency, LocalDate date,
+                                         BigDecimal amount) {
+        BigDecimal raw = amount != null ? amount : BigDecimal.ZERO;
+        return new Adjustment(categoryId, date,
+                converter.apply(currency, date, raw).subtract(raw));
+    }
+
+    private static String normalize(String currency) {
+        return currency.trim().toUpperCase();
+    }
+
+    /**
+     * Converted minus raw amount of one foreign row. The category is
+     * null for income.
+     */
+    public record Adjustment(Integer categoryId, LocalDate date,
+                             BigDecimal delta) {
+    }
+}
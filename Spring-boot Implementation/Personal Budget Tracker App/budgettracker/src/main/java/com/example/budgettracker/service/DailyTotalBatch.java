@@ -0,0 +1,47 @@
+package com.example.budgettracker.service;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects income / expense per (user, day) for the bulk paths, so the
+ * daily series gets one upsert per day rather than one per row.
+ */
+class DailyTotalBatch {
+
+    private final Map<DayKey, BigDecimal[]> totals = new HashMap<>();
+
+    void addIncome(Integer userId, LocalDate day, BigDecimal amount) {
+        add(userId, day, 0, amount);
+    }
+
+    void addExpense(Integer userId, LocalDate day, BigDecimal amount) {
+        add(userId, day, 1, amount);
+    }
+
+    // Rows are {user_id, total_date, income, expense}
+    List<Object[]> rows() {
+        List<Object[]> rows = new ArrayList<>(totals.size());
+        totals.forEach((key, amounts) -> rows.add(new Object[]{
+                key.userId(), Date.valueOf(key.day()), amounts[0], amounts[1]
+        }));
+        return rows;
+    }
+
+    private void add(Integer userId, LocalDate day, int index, BigDecimal amount) {
+        if (userId == null || day == null) {
+            return;
+        }
+        BigDecimal[] amounts = totals.computeIfAbsent(new DayKey(userId, day),
+                key -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+        amounts[index] = amounts[index].add(amount);
+    }
+
+    private record DayKey(Integer userId, LocalDate day) {
+    }
+}
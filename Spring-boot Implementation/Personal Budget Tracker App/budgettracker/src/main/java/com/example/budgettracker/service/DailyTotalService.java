@@ -0,0 +1,217 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.TrendPointDTO;
+import com.example.budgettracker.model.DailyTotal;
+import com.example.budgettracker.repository.DailyTotalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Keeps the per-user daily income / expense series the trend API reads,
+ * in the user's reporting currency.
+ * Every posting is a single upsert-increment on its day's row, so a
+ * monthly trend over five years groups at most ~1,800 small rows into
+ * 60 buckets instead of scanning every transaction.
+ */
+@Service
+public class DailyTotalService {
+
+    // Upper bound on buckets per request (about ten years of days)
+    static final int MAX_POINTS = 3660;
+
+    @Autowired
+    private DailyTotalRepository dailyTotalRepository;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @Autowired
+    private TransactionBatchWriter transactionBatchWriter;
+
+    // =================== TREND ===================
+    @Transactional(readOnly = true)
+    public List<TrendPointDTO> getTrend(Integer userId, LocalDate from,
+                                        LocalDate to, String granularity) {
+
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException(
+                    "from must not be after to");
+        }
+
+        String unit = granularity == null
+                ? "MONTHLY"
+                : granularity.trim().toUpperCase();
+
+        // Align the range to whole buckets
+        LocalDate start;
+        List<Object[]> rows;
+        switch (unit) {
+            case "DAILY" -> {
+                start = from;
+                rows = dailyTotalRepository.getDailySeries(userId, from, to);
+            }
+            case "WEEKLY" -> {
+                start = from.with(TemporalAdjusters
+                        .previousOrSame(DayOfWeek.MONDAY));
+                rows = dailyTotalRepository.getWeeklySeries(userId, start, to);
+            }
+            case "MONTHLY" -> {
+                start = from.withDayOfMonth(1);
+                rows = dailyTotalRepository.getMonthlySeries(userId, start, to);
+            }
+            default -> throw new IllegalArgumentException(
+                    "Granularity must be DAILY, WEEKLY or MONTHLY");
+        }
+
+        long points = switch (unit) {
+            case "DAILY" -> ChronoUnit.DAYS.between(start, to) + 1;
+            case "WEEKLY" -> ChronoUnit.WEEKS.between(start, to) + 1;
+            default -> ChronoUnit.MONTHS.between(start, to) + 1;
+        };
+        if (points > MAX_POINTS) {
+            throw new IllegalArgumentException(
+                    "Range too large: " + points + " buckets, max " + MAX_POINTS);
+        }
+
+        Map<LocalDate, Object[]> byBucket = new HashMap<>();
+        for (Object[] row : rows) {
+            byBucket.put(toLocalDate(row[0]), row);
+        }
+
+        // Every bucket in the range is returned, empty ones as zero
+        List<TrendPointDTO> trend = new ArrayList<>();
+        for (LocalDate bucket = start; !bucket.isAfter(to);
+             bucket = next(bucket, unit)) {
+            Object[] row = byBucket.get(bucket);
+            BigDecimal income = row != null ? toBigDecimal(row[1]) : BigDecimal.ZERO;
+            BigDecimal expense = row != null ? toBigDecimal(row[2]) : BigDecimal.ZERO;
+            trend.add(new TrendPointDTO(
+                    bucket, income, expense, income.subtract(expense)));
+        }
+        return trend;
+    }
+
+    // =================== INCREMENTS ===================
+    @Transactional
+    public void recordIncome(Integer userId, LocalDate day, BigDecimal delta) {
+        if (userId != null && day != null && delta != null && delta.signum() != 0) {
+            dailyTotalRepository.addTotals(userId, day, delta, BigDecimal.ZERO);
+        }
+    }
+
+    @Transactional
+    public void recordExpense(Integer userId, LocalDate day, BigDecimal delta) {
+        if (userId != null && day != null && delta != null && delta.signum() != 0) {
+            dailyTotalRepository.addTotals(userId, day, BigDecimal.ZERO, delta);
+        }
+    }
+
+    // =================== REBUILD ===================
+    @Transactional
+    public void rebuild(Integer userId) {
+        dailyTotalRepository.deleteByUserId(userId);
+        dailyTotalRepository.insertFromTransactions(userId);
+
+        // Amounts in other currencies were summed unconverted above;
+        // their corrections go in as one upsert per day
+        DailyTotalBatch adjustments = new DailyTotalBatch();
+        for (CurrencyService.Adjustment adjustment
+                : currencyService.incomeAdjustments(userId)) {
+            adjustments.addIncome(userId, adjustment.date(), adjustment.delta());
+        }
+        for (CurrencyService.Adjustment adjustment
+                : currencyService.expenseAdjustments(userId)) {
+            adjustments.addExpense(userId, adjustment.date(), adjustment.delta());
+        }
+        transactionBatchWriter.addDailyTotals(adjustments);
+    }
+
+    /**
+     * Compares the user's series with the raw tables without changing it,
+     * one line per day and column that differs; a missing row counts as
+     * zero.
+     */
+    public List<String> findDrift(Integer userId) {
+        Map<LocalDate, BigDecimal[]> stored = new TreeMap<>();
+        for (DailyTotal total : dailyTotalRepository.findByUserId(userId)) {
+            day(stored, total.getTotalDate())[0] = total.getIncomeTotal();
+            day(stored, total.getTotalDate())[1] = total.getExpenseTotal();
+        }
+
+        Map<LocalDate, BigDecimal[]> actual = new TreeMap<>();
+        for (Object[] row : dailyTotalRepository.getTotalsFromTransactions(userId)) {
+            BigDecimal[] totals = day(actual, toLocalDate(row[0]));
+            totals[0] = totals[0].add(toBigDecimal(row[1]));
+            totals[1] = totals[1].add(toBigDecimal(row[2]));
+        }
+        for (CurrencyService.Adjustment adjustment
+                : currencyService.incomeAdjustments(userId)) {
+            if (adjustment.date() != null) {
+                BigDecimal[] totals = day(actual, adjustment.date());
+                totals[0] = totals[0].add(adjustment.delta());
+            }
+        }
+        for (CurrencyService.Adjustment adjustment
+                : currencyService.expenseAdjustments(userId)) {
+            if (adjustment.date() != null) {
+                BigDecimal[] totals = day(actual, adjustment.date());
+                totals[1] = totals[1].add(adjustment.delta());
+            }
+        }
+
+        Set<LocalDate> days = new TreeSet<>(stored.keySet());
+        days.addAll(actual.keySet());
+        List<String> mismatches = new ArrayList<>();
+        for (LocalDate date : days) {
+            BigDecimal[] was = stored.getOrDefault(date, ZERO_TOTALS);
+            BigDecimal[] is = actual.getOrDefault(date, ZERO_TOTALS);
+            Drift.compare(mismatches, "dailyTotal[" + date + "].income", was[0], is[0]);
+            Drift.compare(mismatches, "dailyTotal[" + date + "].expense", was[1], is[1]);
+        }
+        return mismatches;
+    }
+
+    // =================== HELPERS ===================
+    private static final BigDecimal[] ZERO_TOTALS = {BigDecimal.ZERO, BigDecimal.ZERO};
+
+    // {income, expense} for the day, created as zeros
+    private static BigDecimal[] day(Map<LocalDate, BigDecimal[]> totals, LocalDate date) {
+        return totals.computeIfAbsent(date,
+                d -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+    }
+
+    private static LocalDate next(LocalDate bucket, String unit) {
+        return switch (unit) {
+            case "DAILY" -> bucket.plusDays(1);
+            case "WEEKLY" -> bucket.plusWeeks(1);
+            default -> bucket.plusMonths(1);
+        };
+    }
+
+    // Native queries may hand back java.sql.Date or LocalDate
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof java.sql.Date date
+                ? date.toLocalDate()
+                : (LocalDate) value;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        return value instanceof BigDecimal decimal
+                ? decimal
+                : new BigDecimal(value.toString());
+    }
+}
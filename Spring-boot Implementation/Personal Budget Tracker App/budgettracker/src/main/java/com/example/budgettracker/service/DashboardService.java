@@ -1,85 +1,65 @@
 package com.example.budgettracker.service;
 
 import com.example.budgettracker.dto.DashboardDTO;
-import com.example.budgettracker.repository.*;
+import com.example.budgettracker.model.UserCategorySpend;
+import com.example.budgettracker.model.UserSummary;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 
-import com.example.budgettracker.repository.*;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Service;
-
-import java.math.BigDecimal;
-import java.util.*;
-
 @Service
 public class DashboardService {
 
     @Autowired
-    private AccountRepository accountRepository;
-
-    @Autowired
-    private IncomeRepository incomeRepository;
-
-    @Autowired
-    private ExpenseRepository expenseRepository;
+    private UserSummaryService userSummaryService;
 
     @Autowired
-    private GoalRepository goalRepository;
-
-    @Autowired
-    private AlertRepository alertRepository;
+    private CurrencyService currencyService;
 
+    /**
+     * Reads go to the replica. Only a user without a summary yet needs the
+     * primary, to build one; that write pins the reads after it to the
+     * primary, so the category spend it built is read back from there.
+     */
     public DashboardDTO getDashboard(Integer userId) {
 
         DashboardDTO dto = new DashboardDTO();
 
-        // Total Balance
-        BigDecimal totalBalance = accountRepository
-                .getTotalBalanceByUserId(userId);
-        dto.setTotalBalance(totalBalance);
-
-        // Total Income
-        BigDecimal totalIncome = incomeRepository
-                .getTotalIncomeByUserId(userId);
-        dto.setTotalIncome(totalIncome);
+        // Totals and counts come from the maintained summary row
+        UserSummary summary = userSummaryService.findSummary(userId)
+                .orElseGet(() -> userSummaryService.getSummary(userId));
 
-        // Total Expense
-        BigDecimal totalExpense = expenseRepository
-                .getTotalExpenseByUserId(userId);
-        dto.setTotalExpense(totalExpense);
+        dto.setTotalBalance(summary.getTotalBalance());
+        dto.setTotalIncome(summary.getTotalIncome());
+        dto.setTotalExpense(summary.getTotalExpense());
 
         // Savings = Income - Expense
-        dto.setSavings(totalIncome.subtract(totalExpense));
-
-        // Counts
-        dto.setAccountCount(
-                accountRepository.findByUserUserId(userId).size()
+        dto.setSavings(
+                summary.getTotalIncome().subtract(summary.getTotalExpense())
         );
 
-        dto.setActiveGoals(
-                goalRepository.findByUserUserIdAndStatus(userId, "ACTIVE").size()
-        );
-
-        dto.setUnreadAlerts(
-                alertRepository.countByUserUserIdAndIsRead(userId, false)
-        );
+        dto.setAccountCount(summary.getAccountCount());
+        dto.setActiveGoals(summary.getActiveGoals());
+        dto.setUnreadAlerts(summary.getUnreadAlerts());
 
         // Expense by category
-        List<Object[]> categoryData = expenseRepository
-                .getExpenseByCategoryForUser(userId);
-
         List<Map<String, Object>> categoryExpenses = new ArrayList<>();
-        for (Object[] row : categoryData) {
+        for (UserCategorySpend spend
+                : userSummaryService.getCategorySpend(userId)) {
+            if (spend.getTotalSpent().signum() == 0) {
+                continue;
+            }
             Map<String, Object> map = new HashMap<>();
-            map.put("category", row[0]);
-            map.put("total", row[1]);
+            map.put("category", spend.getCategory().getCategoryName());
+            map.put("total", spend.getTotalSpent());
             categoryExpenses.add(map);
         }
         dto.setExpenseByCategory(categoryExpenses);
 
+        // The summary rows are kept in the user's reporting currency
+        dto.setCurrency(currencyService.reportingCurrency(userId));
+
         return dto;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package com.example.budgettracker.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compares maintained values against ones recomputed from the raw
+ * tables, adding a line per difference to a reconciliation report.
+ */
+final class Drift {
+
+    // Running statistics are doubles updated one sample at a time, so
+    // they never match a fresh aggregate to the last bit
+    private static final double RELATIVE_TOLERANCE = 1e-6;
+
+    private Drift() {
+    }
+
+    static void compare(List<String> mismatches, String field,
+                        Object stored, Object actual) {
+        boolean equal = stored instanceof BigDecimal s
+                && actual instanceof BigDecimal a
+                ? s.compareTo(a) == 0
+                : Objects.equals(stored, actual);
+        if (!equal) {
+            mismatches.add(field + ": stored=" + stored
+                    + ", actual=" + actual);
+        }
+    }
+
+    static void compareApproximately(List<String> mismatches, String field,
+                                     double stored, double actual) {
+        double scale = Math.max(1, Math.max(Math.abs(stored), Math.abs(actual)));
+        if (Math.abs(stored - actual) > RELATIVE_TOLERANCE * scale) {
+            mismatches.add(field + ": stored=" + stored
+                    + ", actual=" + actual);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.repository.ExchangeRateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The whole exchange_rate table in memory, as one series per currency:
+ * sorted epoch days next to their rates. A lookup is a map get and a
+ * binary search over an int array, with no allocation, so converting
+ * every row of a report costs next to nothing.
+ *
+ * The table is loaded on first use and replaced as a whole by
+ * {@link #reload()} after an import; readers always see one complete
+ * snapshot.
+ */
+@Component
+public class ExchangeRateCache {
+
+    @Autowired
+    private ExchangeRateRepository exchangeRateRepository;
+
+    @Value("${budgettracker.currency.base:INR}")
+    private String baseCurrency;
+
+    private volatile Map<String, Series> snapshot;
+
+    /**
+     * One unit of the currency in the base currency on the given day:
+     * the latest rate on or before it, or the earliest rate for days
+     * before the series starts.
+     */
+    public BigDecimal rate(String currency, LocalDate date) {
+        if (baseCurrency.equalsIgnoreCase(currency)) {
+            return BigDecimal.ONE;
+        }
+        Series series = series().get(currency);
+        if (series == null) {
+            throw new IllegalArgumentException(
+                    "No exchange rates for currency: " + currency);
+        }
+        return series.rateOn((int) date.toEpochDay());
+    }
+
+    public boolean isKnown(String currency) {
+        return baseCurrency.equalsIgnoreCase(currency)
+                || series().containsKey(currency);
+    }
+
+    public String getBaseCurrency() {
+        return baseCurrency.toUpperCase();
+    }
+
+    public synchronized void reload() {
+        snapshot = load();
+    }
+
+    private Map<String, Series> series() {
+        Map<String, Series> current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    snapshot = load();
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private Map<String, Series> load() {
+        Map<String, Series> series = new HashMap<>();
+        String currency = null;
+        List<Object[]> rows = new ArrayList<>();
+        for (Object[] row : exchangeRateRepository.findAllOrdered()) {
+            if (!row[0].equals(currency)) {
+                if (currency != null) {
+                    series.put(currency, Series.of(rows));
+                }
+                currency = (String) row[0];
+                rows.clear();
+            }
+            rows.add(row);
+        }
+        if (currency != null) {
+            series.put(currency, Series.of(rows));
+        }
+        return Map.copyOf(series);
+    }
+
+    private record Series(int[] days, BigDecimal[] rates) {
+
+        static Series of(List<Object[]> rows) {
+            int[] days = new int[rows.size()];
+            BigDecimal[] rates = new BigDecimal[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                days[i] = (int) ((LocalDate) rows.get(i)[1]).toEpochDay();
+                rates[i] = (BigDecimal) rows.get(i)[2];
+            }
+            return new Series(days, rates);
+        }
+
+        BigDecimal rateOn(int day) {
+            int index = Arrays.binarySearch(days, day);
+            if (index < 0) {
+                // Insertion point - 1 is the latest day before, -1 when
+                // the day precedes the whole series
+                index = Math.max(-index - 2, 0);
+            }
+            return rates[index];
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.ImportRowErrorDTO;
+import com.example.budgettracker.dto.RateImportResultDTO;
+import com.example.budgettracker.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads daily exchange rates into the local rate table.
+ *
+ * The CSV has a header and date, currency, rate columns in that order
+ * (ISO dates, ISO 4217 codes, the value of one unit in the base
+ * currency). Rows are upserted in JDBC batches, so importing an
+ * overlapping file again simply corrects the rates it covers. Afterwards
+ * the in-memory rate cache is reloaded, cached reports are dropped and
+ * every user holding other currencies than their own gets their totals
+ * rebuilt at the new rates.
+ */
+@Slf4j
+@Service
+public class ExchangeRateService {
+
+    private static final String UPSERT_RATE_SQL =
+            "INSERT INTO exchange_rate (currency, rate_date, rate) " +
+            "VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE rate = VALUES(rate)";
+
+    private static final int[] UPSERT_RATE_TYPES = {
+            Types.VARCHAR, Types.DATE, Types.DECIMAL
+    };
+
+    @Autowired
+    private TransactionBatchWriter transactionBatchWriter;
+
+    @Autowired
+    private ExchangeRateCache exchangeRateCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Value("${budgettracker.currency.default:INR}")
+    private String defaultCurrency;
+
+    @Value("${budgettracker.currency.rates-file:}")
+    private String ratesFile;
+
+    // =================== IMPORT ===================
+    public RateImportResultDTO importCsv(InputStream input) throws IOException {
+
+        RateImportResultDTO result = new RateImportResultDTO();
+        List<Object[]> rows = new ArrayList<>();
+
+        try (CsvRowReader reader = new CsvRowReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8))) {
+
+            if (reader.next() == null) {
+                throw new IllegalArgumentException("CSV file is empty");
+            }
+
+            List<String> fields;
+            while ((fields = reader.next()) != null) {
+                result.setRowsRead(result.getRowsRead() + 1);
+                try {
+                    rows.add(parse(fields));
+                } catch (IllegalArgumentException e) {
+                    result.setErrorCount(result.getErrorCount() + 1);
+                    if (result.getErrors().size()
+                            < CsvImportService.MAX_REPORTED_ERRORS) {
+                        result.getErrors().add(new ImportRowErrorDTO(
+                                reader.recordLine(), e.getMessage()));
+                    }
+                }
+                if (rows.size() >= TransactionBatchWriter.BATCH_SIZE) {
+                    result.setRatesImported(result.getRatesImported() + rows.size());
+                    transactionBatchWriter.batchUpdate(
+                            UPSERT_RATE_SQL, rows, UPSERT_RATE_TYPES);
+                    rows.clear();
+                }
+            }
+        }
+        result.setRatesImported(result.getRatesImported() + rows.size());
+        transactionBatchWriter.batchUpdate(UPSERT_RATE_SQL, rows, UPSERT_RATE_TYPES);
+
+        if (result.getRatesImported() > 0) {
+            exchangeRateCache.reload();
+            reportCache.evictAll();
+            result.setUsersRebuilt(rebuildForeignCurrencyUsers());
+        }
+        return result;
+    }
+
+    // Optional rate file loaded on every start
+    @EventListener(ApplicationReadyEvent.class)
+    public void importRatesFile() throws IOException {
+        if (ratesFile.isBlank()) {
+            return;
+        }
+        try (InputStream input = Files.newInputStream(Path.of(ratesFile))) {
+            RateImportResultDTO result = importCsv(input);
+            log.info("Imported {} exchange rate(s) from {}, {} error(s)",
+                    result.getRatesImported(), ratesFile, result.getErrorCount());
+        }
+    }
+
+    // =================== HELPERS ===================
+    // Each user is rebuilt in its own transaction; one without the rates
+    // it needs is logged and left as it was
+    private long rebuildForeignCurrencyUsers() {
+        long rebuilt = 0;
+        for (Integer userId : userRepository
+                .findUserIdsWithForeignCurrency(defaultCurrency)) {
+            try {
+                userSummaryService.rebuild(userId);
+                rebuilt++;
+            } catch (IllegalArgumentException e) {
+                log.warn("Totals of user {} not rebuilt: {}",
+                        userId, e.getMessage());
+            }
+        }
+        return rebuilt;
+    }
+
+    private static Object[] parse(List<String> fields) {
+        if (fields.size() < 3) {
+            throw new IllegalArgumentException(
+                    "Expected date, currency and rate");
+        }
+        LocalDate date;
+        try {
+            date = LocalDate.parse(fields.get(0).trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + fields.get(0));
+        }
+        String currency = fields.get(1).trim().toUpperCase();
+        if (!currency.matches("[A-Z]{3}")) {
+            throw new IllegalArgumentException("Invalid currency: " + currency);
+        }
+        BigDecimal rate;
+        try {
+            rate = new BigDecimal(fields.get(2).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid rate: " + fields.get(2));
+        }
+        if (rate.signum() <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        return new Object[]{currency, Date.valueOf(date), rate};
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.CategoryDTO;
+import com.example.budgettracker.model.CategorySpendStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Flags an expense as it is created when its amount is far above what
+ * the user usually spends in that category, and writes an ANOMALY alert.
+ * The score is the number of standard deviations above the category
+ * mean, read from the running statistics before the expense is added,
+ * so a check is one primary-key read and needs no history.
+ */
+@Service
+public class ExpenseAnomalyService {
+
+    static final String ALERT_TYPE = "ANOMALY";
+
+    @Autowired
+    private SpendStatsService spendStatsService;
+
+    @Autowired
+    private TransactionBatchWriter transactionBatchWriter;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @Value("${budgettracker.anomaly.sigma:5}")
+    private double sigma;
+
+    @Value("${budgettracker.anomaly.min-samples:10}")
+    private int minSamples;
+
+    /**
+     * Scores a new expense (amount in the reporting currency), alerts if
+     * it is an outlier and adds it to the statistics. Runs in the
+     * caller's transaction.
+     */
+    public void recordExpense(Integer userId, Integer categoryId,
+                              BigDecimal amount) {
+        if (userId == null || categoryId == null || amount == null) {
+            return;
+        }
+        spendStatsService.find(userId, categoryId).ifPresent(stats -> {
+            double score = score(stats, amount.doubleValue(), minSamples);
+            if (score >= sigma) {
+                alert(userId, categoryId, amount, stats, score);
+            }
+        });
+        spendStatsService.add(userId, categoryId, amount);
+    }
+
+    /**
+     * Standard deviations above the mean, or 0 until the category has
+     * enough history to judge. The deviation is floored at a tenth of
+     * the mean so a category of identical charges does not flag the
+     * first one that differs by a few cents.
+     */
+    static double score(CategorySpendStats stats, double amount,
+                        int minSamples) {
+        int count = stats.getSampleCount();
+        if (count < Math.max(minSamples, 2)) {
+            return 0;
+        }
+        double deviation = Math.max(Math.sqrt(stats.getM2() / count),
+                Math.abs(stats.getMean()) / 10);
+        if (deviation <= 0) {
+            return 0;
+        }
+        return (amount - stats.getMean()) / deviation;
+    }
+
+    private void alert(Integer userId, Integer categoryId, BigDecimal amount,
+                       CategorySpendStats stats, double score) {
+        List<Object[]> rows = List.<Object[]>of(new Object[]{
+                userId, ALERT_TYPE,
+                message(categoryName(userId, categoryId),
+                        currencyService.reportingCurrency(userId),
+                        amount, stats.getMean(), score),
+                Timestamp.valueOf(LocalDateTime.now()), Boolean.FALSE
+        });
+        userSummaryService.ensureSummary(userId);
+        transactionBatchWriter.insertAlerts(rows);
+        userSummaryService.recordNewUnreadAlerts(userId, 1L);
+    }
+
+    private String categoryName(Integer userId, Integer categoryId) {
+        return categoryCache.getForUser(userId).stream()
+                .filter(category -> Objects.equals(
+                        category.getCategoryId(), categoryId))
+                .map(CategoryDTO::getCategoryName)
+                .findFirst()
+                .orElse("Uncategorized");
+    }
+
+    private static String message(String categoryName, String currency,
+                                  BigDecimal amount, double mean, double score) {
+        String text = "Unusual " + categoryName + " expense: " + currency + " "
+                + amount.setScale(2, RoundingMode.HALF_UP) + " is "
+                + BigDecimal.valueOf(score).setScale(1, RoundingMode.DOWN)
+                + " standard deviations above your usual "
+                + BigDecimal.valueOf(mean).setScale(2, RoundingMode.HALF_UP);
+        return text.length() > 255 ? text.substring(0, 255) : text;
+    }
+}
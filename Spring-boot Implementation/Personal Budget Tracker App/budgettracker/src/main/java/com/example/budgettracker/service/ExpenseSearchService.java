@@ -0,0 +1,229 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.CategoryDTO;
+import com.example.budgettracker.dto.ExpenseDTO;
+import com.example.budgettracker.dto.ExpenseSearchResultDTO;
+import com.example.budgettracker.dto.FacetCountDTO;
+import com.example.budgettracker.dto.PageCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Search over a user's expenses: words in the description, amount and
+ * date ranges, category and payment method, with facet counts by
+ * category, payment method and month.
+ *
+ * Text goes through the FULLTEXT index on expense.description (boolean
+ * mode, every word required, each matched as a prefix), which InnoDB
+ * updates in the same transaction as the row, so there is no separate
+ * index to fall behind. The other filters use idx_expense_user_date. Hits are keyset
+ * paged newest first like the expense list; the facets come from one
+ * grouped query on the first page.
+ */
+@Service
+public class ExpenseSearchService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_TERMS = 10;
+
+    private static final String HIT_SQL =
+            "SELECT e.expense_id, e.amount, e.description, e.date_spent, " +
+            "e.payment_method, a.account_id, a.account_name, " +
+            "c.category_id, c.category_name, e.currency " +
+            "FROM expense e " +
+            "LEFT JOIN account a ON a.account_id = e.account_id " +
+            "LEFT JOIN category c ON c.category_id = e.category_id " +
+            "WHERE %s " +
+            "ORDER BY e.date_spent DESC, e.expense_id DESC LIMIT ?";
+
+    private static final String FACET_SQL =
+            "SELECT e.category_id, e.payment_method, " +
+            "DATE_FORMAT(e.date_spent, '%%Y-%%m'), COUNT(*) " +
+            "FROM expense e WHERE %s " +
+            "GROUP BY e.category_id, e.payment_method, " +
+            "DATE_FORMAT(e.date_spent, '%%Y-%%m')";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Transactional(readOnly = true)
+    public ExpenseSearchResultDTO search(
+            Integer userId, String query,
+            BigDecimal minAmount, BigDecimal maxAmount,
+            LocalDate start, LocalDate end,
+            Integer categoryId, String paymentMethod,
+            String cursor, int limit) {
+
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        PageCursor position = PageCursor.parse(cursor);
+
+        List<String> where = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        where.add("e.user_id = ?");
+        args.add(userId);
+        // Rows without a date cannot be positioned, as in the expense list
+        where.add("e.date_spent IS NOT NULL");
+
+        String match = toBooleanQuery(query);
+        if (match != null) {
+            where.add("MATCH (e.description) AGAINST (? IN BOOLEAN MODE)");
+            args.add(match);
+        }
+        if (minAmount != null) {
+            where.add("e.amount >= ?");
+            args.add(minAmount);
+        }
+        if (maxAmount != null) {
+            where.add("e.amount <= ?");
+            args.add(maxAmount);
+        }
+        if (start != null) {
+            where.add("e.date_spent >= ?");
+            args.add(Date.valueOf(start));
+        }
+        if (end != null) {
+            where.add("e.date_spent <= ?");
+            args.add(Date.valueOf(end));
+        }
+        if (categoryId != null) {
+            where.add("e.category_id = ?");
+            args.add(categoryId);
+        }
+        if (paymentMethod != null && !paymentMethod.isBlank()) {
+            where.add("e.payment_method = ?");
+            args.add(paymentMethod);
+        }
+
+        ExpenseSearchResultDTO result = new ExpenseSearchResultDTO();
+        if (position.getDate() == null) {
+            addFacets(result, userId, String.join(" AND ", where), args);
+        }
+
+        List<String> hitWhere = new ArrayList<>(where);
+        List<Object> hitArgs = new ArrayList<>(args);
+        if (position.getDate() != null) {
+            hitWhere.add("(e.date_spent < ? OR (e.date_spent = ? " +
+                    "AND e.expense_id < ?))");
+            hitArgs.add(Date.valueOf(position.getDate()));
+            hitArgs.add(Date.valueOf(position.getDate()));
+            hitArgs.add(position.getId());
+        }
+        // Fetch one extra row to learn whether another page exists
+        hitArgs.add(size + 1);
+
+        List<ExpenseDTO> rows = jdbcTemplate.query(
+                String.format(HIT_SQL, String.join(" AND ", hitWhere)),
+                (rs, rowNum) -> new ExpenseDTO(
+                        rs.getInt(1),
+                        rs.getBigDecimal(2),
+                        rs.getString(3),
+                        rs.getObject(4, LocalDate.class),
+                        rs.getString(5),
+                        rs.getObject(6, Integer.class),
+                        rs.getString(7),
+                        rs.getObject(8, Integer.class),
+                        rs.getString(9),
+                        rs.getString(10)
+                ), hitArgs.toArray());
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+            ExpenseDTO last = rows.get(rows.size() - 1);
+            result.setNextCursor(new PageCursor(
+                    last.getDateSpent(), last.getExpenseId()).toString());
+        }
+        result.setItems(rows);
+        result.setHasMore(hasMore);
+        return result;
+    }
+
+    /**
+     * Every word must match, as a prefix so partial words typed into a
+     * search box still hit. Anything but letters and digits separates
+     * words, which also keeps the boolean-mode operators out. Null when
+     * no word is left.
+     */
+    static String toBooleanQuery(String query) {
+        if (query == null) {
+            return null;
+        }
+        StringBuilder match = new StringBuilder();
+        int terms = 0;
+        for (String word : query.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty() || terms == MAX_TERMS) {
+                continue;
+            }
+            if (!match.isEmpty()) {
+                match.append(' ');
+            }
+            match.append('+').append(word).append('*');
+            terms++;
+        }
+        return match.isEmpty() ? null : match.toString();
+    }
+
+    // Counts per (category, method, month) combination, folded per facet
+    private void addFacets(ExpenseSearchResultDTO result, Integer userId,
+                           String where, List<Object> args) {
+        Map<Integer, Long> categories = new HashMap<>();
+        Map<String, Long> methods = new HashMap<>();
+        Map<String, Long> months = new TreeMap<>(Comparator.reverseOrder());
+        long[] total = {0};
+
+        jdbcTemplate.query(String.format(FACET_SQL, where), rs -> {
+            Integer categoryId = rs.getObject(1, Integer.class);
+            String method = rs.getString(2);
+            String month = rs.getString(3);
+            long count = rs.getLong(4);
+            categories.merge(categoryId, count, Long::sum);
+            methods.merge(method, count, Long::sum);
+            months.merge(month, count, Long::sum);
+            total[0] += count;
+        }, args.toArray());
+
+        Map<Integer, String> categoryNames = new HashMap<>();
+        for (CategoryDTO category : categoryCache.getForUser(userId)) {
+            categoryNames.put(category.getCategoryId(),
+                    category.getCategoryName());
+        }
+
+        List<FacetCountDTO> categoryFacets = new ArrayList<>();
+        categories.forEach((id, count) -> categoryFacets.add(new FacetCountDTO(
+                Objects.toString(id, null),
+                id != null ? categoryNames.get(id) : null, count)));
+        List<FacetCountDTO> methodFacets = new ArrayList<>();
+        methods.forEach((method, count) -> methodFacets.add(
+                new FacetCountDTO(method, method, count)));
+        List<FacetCountDTO> monthFacets = new ArrayList<>();
+        months.forEach((month, count) -> monthFacets.add(
+                new FacetCountDTO(month, month, count)));
+
+        // Largest first; months stay newest first
+        Comparator<FacetCountDTO> byCount =
+                Comparator.comparingLong(FacetCountDTO::getCount).reversed();
+        categoryFacets.sort(byCount);
+        methodFacets.sort(byCount);
+
+        result.setTotal(total[0]);
+        result.setCategories(categoryFacets);
+        result.setPaymentMethods(methodFacets);
+        result.setMonths(monthFacets);
+    }
+}
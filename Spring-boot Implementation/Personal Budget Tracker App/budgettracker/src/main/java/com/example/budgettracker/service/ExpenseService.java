@@ -1,12 +1,15 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.dto.CursorPageDTO;
+import com.example.budgettracker.dto.ExpenseDTO;
+import com.example.budgettracker.dto.PageCursor;
 import com.example.budgettracker.model.Account;
-import com.example.budgettracker.model.Budget;
 import com.example.budgettracker.model.Expense;
 import com.example.budgettracker.model.Goal;
+import com.example.budgettracker.model.MonthlyCategorySpend;
+import com.example.budgettracker.model.UserCategorySpend;
 
 import com.example.budgettracker.repository.AccountRepository;
-import com.example.budgettracker.repository.BudgetRepository;
 import com.example.budgettracker.repository.ExpenseRepository;
 import com.example.budgettracker.repository.GoalRepository;
 import lombok.RequiredArgsConstructor;
@@ -18,18 +21,21 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
 
 import java.math.BigDecimal;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 @Service
 public class ExpenseService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private ExpenseRepository expenseRepository;
 
@@ -37,7 +43,31 @@ public class ExpenseService {
     private AccountRepository accountRepository;
 
     @Autowired
-    private BudgetRepository budgetRepository;
+    private MonthlySpendService monthlySpendService;
+
+    @Autowired
+    private DailyTotalService dailyTotalService;
+
+    @Autowired
+    private AccountBalanceService accountBalanceService;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Autowired
+    private TransactionBatchWriter transactionBatchWriter;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @Autowired
+    private SpendStatsService spendStatsService;
+
+    @Autowired
+    private ExpenseAnomalyService expenseAnomalyService;
 
     public List<Expense> getAllExpenses() {
         return expenseRepository.findAll();
@@ -47,31 +77,92 @@ public class ExpenseService {
         return expenseRepository.findById(id);
     }
 
-    public List<Expense> getExpensesByUserId(Integer userId) {
-        return expenseRepository.findByUserUserId(userId);
+    @Transactional(readOnly = true)
+    public List<ExpenseDTO> getExpensesByUserId(Integer userId) {
+        return expenseRepository.findDtosByUserId(userId);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ExpenseDTO> getExpensePage(
+            Integer userId, String cursor, int limit,
+            LocalDate start, LocalDate end,
+            Integer categoryId, Integer accountId) {
+
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        PageCursor position = PageCursor.parse(cursor);
+
+        // Fetch one extra row to learn whether another page exists
+        List<ExpenseDTO> rows = expenseRepository.findPageByUserId(
+                userId, start, end, categoryId, accountId,
+                position.getDate(), position.getId(), size + 1);
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            ExpenseDTO last = rows.get(rows.size() - 1);
+            nextCursor = new PageCursor(
+                    last.getDateSpent(), last.getExpenseId()).toString();
+        }
+        return new CursorPageDTO<>(rows, nextCursor, hasMore);
+    }
+
+    /**
+     * Streams every matching expense to the sink, newest first. Rows are
+     * read as unmanaged projections, so memory stays flat regardless of
+     * how long the user's history is.
+     */
+    @Transactional(readOnly = true)
+    public void exportExpenses(
+            Integer userId, LocalDate start, LocalDate end,
+            Integer categoryId, Integer accountId,
+            Consumer<ExpenseDTO> sink) {
+
+        try (Stream<ExpenseDTO> expenses = expenseRepository.streamByUserId(
+                userId, start, end, categoryId, accountId)) {
+            expenses.forEach(sink);
+        }
+    }
+
+    // Converted into the user's currency, from the summary row like the dashboard
     public BigDecimal getTotalExpense(Integer userId) {
-        return expenseRepository.getTotalExpenseByUserId(userId);
+        return userSummaryService.findSummary(userId)
+                .orElseGet(() -> userSummaryService.getSummary(userId))
+                .getTotalExpense();
     }
 
+    // From the converted per-category rows; building a missing summary builds them
     public List<Map<String, Object>> getExpenseByCategory(Integer userId) {
 
-        List<Object[]> results = expenseRepository
-                .getExpenseByCategoryForUser(userId);
+        if (userSummaryService.findSummary(userId).isEmpty()) {
+            userSummaryService.getSummary(userId);
+        }
 
         List<Map<String, Object>> categoryExpenses = new ArrayList<>();
 
-        for (Object[] row : results) {
+        for (UserCategorySpend spend
+                : userSummaryService.getCategorySpend(userId)) {
+            if (spend.getTotalSpent().signum() == 0) {
+                continue;
+            }
             Map<String, Object> map = new HashMap<>();
-            map.put("category", row[0]);
-            map.put("total", row[1]);
+            map.put("category", spend.getCategory().getCategoryName());
+            map.put("total", spend.getTotalSpent());
             categoryExpenses.add(map);
         }
 
         return categoryExpenses;
     }
 
+    @Transactional(readOnly = true)
+    public List<MonthlyCategorySpend> getMonthlySpendByCategory(
+            Integer userId, String monthYear) {
+        return monthlySpendService
+                .getSpendForMonth(userId, YearMonth.parse(monthYear));
+    }
+
     // =================== CREATE ===================
     @Transactional
     public Expense createExpense(Expense expense) {
@@ -84,64 +175,149 @@ public class ExpenseService {
             );
         }
 
+        Integer userId = userIdOf(expense);
+        userSummaryService.ensureSummary(userId);
+
         // Step 2: Deduct from account
+        Account account = null;
         if (expense.getAccount() != null
                 && expense.getAccount().getAccountId() != null) {
 
-            Account account = accountRepository
+            account = accountRepository
                     .findById(expense.getAccount().getAccountId())
                     .orElseThrow(() -> new RuntimeException(
                             "Account not found with ID: "
                                     + expense.getAccount().getAccountId()
                     ));
+            userSummaryService.ensureSummary(ownerIdOf(account));
+        }
+        expense.setCurrency(currencyService.transactionCurrency(
+                userId, account, expense.getCurrency()));
+        if (account != null) {
+            // Funds check and debit happen in one UPDATE
+            accountBalanceService.withdraw(account, expense.getAmount());
+            userSummaryService.recordBalanceChange(
+                    account, expense.getAmount().negate());
+            expense.setAccount(account);
+        }
 
-            BigDecimal currentBalance = account.getCurrentBalance() != null
-                    ? account.getCurrentBalance()
-                    : BigDecimal.ZERO;
+        // Step 3: Save expense
+        Expense saved = expenseRepository.save(expense);
+        BigDecimal reported = reported(saved,
+                saved.getDateSpent(), saved.getAmount());
+        userSummaryService.recordExpense(
+                userId, categoryIdOf(saved), reported);
+
+        // Step 4: Update the monthly spend that budgets are derived from
+        monthlySpendService.recordSpend(userId, categoryIdOf(saved),
+                saved.getDateSpent(), reported);
+        dailyTotalService.recordExpense(
+                userId, saved.getDateSpent(), reported);
+
+        // Step 5: Score against the category's usual spend
+        expenseAnomalyService.recordExpense(
+                userId, categoryIdOf(saved), reported);
+        reportCache.evict(userId);
+        return saved;
+    }
 
-            // Check sufficient balance
-            if (currentBalance.compareTo(expense.getAmount()) < 0) {
-                throw new RuntimeException(
-                        "Insufficient balance. Available: " + currentBalance
+    // =================== BULK CREATE ===================
+    /**
+     * Creates many expenses in one transaction. Each account is debited
+     * once for the total of its expenses, so the funds check applies to
+     * the batch as a whole and nothing is saved if any account falls
+     * short. The rows go through saveAll and are flushed as JDBC batches;
+     * summaries and rollups get one increment per key. Bulk rows feed the
+     * spend statistics but are not scored for anomalies.
+     */
+    @Transactional
+    public List<Expense> createExpenses(List<Expense> expenses) {
+
+        // Step 1: Validate
+        for (Expense expense : expenses) {
+            if (expense.getAmount() == null
+                    || expense.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+                throw new IllegalArgumentException(
+                        "Expense amount must be positive"
                 );
             }
+        }
 
-            account.setCurrentBalance(
-                    currentBalance.subtract(expense.getAmount())
-            );
-            accountRepository.save(account);
+        // Step 2: Load every account once and total the debits
+        Set<Integer> accountIds = new HashSet<>();
+        for (Expense expense : expenses) {
+            if (expense.getAccount() != null
+                    && expense.getAccount().getAccountId() != null) {
+                accountIds.add(expense.getAccount().getAccountId());
+            }
+        }
+        Map<Integer, Account> accounts = new HashMap<>();
+        accountRepository.findAllById(accountIds)
+                .forEach(account -> accounts.put(account.getAccountId(), account));
+
+        Map<Integer, BigDecimal> debits = new TreeMap<>();
+        Set<Integer> userIds = new LinkedHashSet<>();
+        for (Expense expense : expenses) {
+            userIds.add(userIdOf(expense));
+            if (expense.getAccount() == null
+                    || expense.getAccount().getAccountId() == null) {
+                expense.setCurrency(currencyService.transactionCurrency(
+                        userIdOf(expense), null, expense.getCurrency()));
+                continue;
+            }
+            Integer accountId = expense.getAccount().getAccountId();
+            Account account = accounts.get(accountId);
+            if (account == null) {
+                throw new RuntimeException(
+                        "Account not found with ID: " + accountId);
+            }
             expense.setAccount(account);
+            expense.setCurrency(currencyService.transactionCurrency(
+                    userIdOf(expense), account, expense.getCurrency()));
+            debits.merge(accountId, expense.getAmount(), BigDecimal::add);
+            userIds.add(ownerIdOf(account));
         }
-
-        // Step 3: Update budget spent amount
-        if (expense.getUser() != null
-                && expense.getCategory() != null
-                && expense.getDateSpent() != null) {
-
-            String monthYear = expense.getDateSpent()
-                    .format(DateTimeFormatter.ofPattern("yyyy-MM"));
-
-            List<Budget> budgets = budgetRepository
-                    .findByUserUserIdAndMonthYear(
-                            expense.getUser().getUserId(), monthYear
-                    );
-
-            for (Budget budget : budgets) {
-                if (budget.getCategory().getCategoryId()
-                        .equals(expense.getCategory().getCategoryId())) {
-
-                    BigDecimal spent = budget.getAmountSpent() != null
-                            ? budget.getAmountSpent()
-                            : BigDecimal.ZERO;
-
-                    budget.setAmountSpent(spent.add(expense.getAmount()));
-                    budgetRepository.save(budget);
-                }
+        userIds.forEach(userSummaryService::ensureSummary);
+
+        // Step 3: Debit, lowest account id first so concurrent bulk
+        // requests lock accounts in the same order
+        debits.forEach((accountId, total) -> {
+            Account account = accounts.get(accountId);
+            accountBalanceService.withdraw(account, total);
+            userSummaryService.recordBalanceChange(account, total.negate());
+        });
+
+        // Step 4: Save
+        List<Expense> saved = expenseRepository.saveAll(expenses);
+
+        // Step 5: One summary / rollup increment per key
+        Map<SpendKey, BigDecimal> categoryTotals = new HashMap<>();
+        Map<MonthKey, BigDecimal> monthlyTotals = new HashMap<>();
+        DailyTotalBatch dailyTotals = new DailyTotalBatch();
+        SpendStatsBatch spendStats = new SpendStatsBatch();
+        for (Expense expense : saved) {
+            Integer userId = userIdOf(expense);
+            BigDecimal reported = reported(expense,
+                    expense.getDateSpent(), expense.getAmount());
+            categoryTotals.merge(new SpendKey(userId, categoryIdOf(expense)),
+                    reported, BigDecimal::add);
+            if (expense.getDateSpent() != null) {
+                monthlyTotals.merge(new MonthKey(userId, categoryIdOf(expense),
+                                YearMonth.from(expense.getDateSpent())),
+                        reported, BigDecimal::add);
             }
+            dailyTotals.addExpense(userId, expense.getDateSpent(), reported);
+            spendStats.add(userId, categoryIdOf(expense), reported);
         }
-
-        // Step 4: Save expense
-        return expenseRepository.save(expense);
+        categoryTotals.forEach((key, total) -> userSummaryService
+                .recordExpense(key.userId(), key.categoryId(), total));
+        monthlyTotals.forEach((key, total) -> monthlySpendService
+                .recordSpend(key.userId(), key.categoryId(),
+                        key.month().atDay(1), total));
+        transactionBatchWriter.addDailyTotals(dailyTotals);
+        spendStatsService.add(spendStats);
+        userIds.forEach(reportCache::evict);
+        return saved;
     }
 
     // =================== UPDATE ===================
@@ -161,6 +337,9 @@ public class ExpenseService {
                 ? details.getAmount()
                 : oldAmount;
 
+        Integer userId = userIdOf(existingExpense);
+        userSummaryService.ensureSummary(userId);
+
         // Adjust account balance if amount changed
         if (oldAmount.compareTo(newAmount) != 0
                 && existingExpense.getAccount() != null) {
@@ -170,16 +349,41 @@ public class ExpenseService {
                     .orElseThrow(() -> new RuntimeException(
                             "Account not found"
                     ));
+            userSummaryService.ensureSummary(ownerIdOf(account));
+
+            // A larger amount takes the difference out with the funds
+            // check, a smaller one refunds it
+            BigDecimal refund = oldAmount.subtract(newAmount);
+            if (refund.signum() < 0) {
+                accountBalanceService.withdraw(account, refund.negate());
+            } else {
+                accountBalanceService.adjust(account, refund);
+            }
+            userSummaryService.recordBalanceChange(account, refund);
+        }
 
-            BigDecimal currentBalance = account.getCurrentBalance() != null
-                    ? account.getCurrentBalance()
-                    : BigDecimal.ZERO;
+        // Each side converted at its own date's rate
+        BigDecimal oldReported = reported(existingExpense,
+                existingExpense.getDateSpent(), oldAmount);
+        BigDecimal newReported = reported(existingExpense,
+                details.getDateSpent(), newAmount);
 
-            // Add back old amount, deduct new amount
-            account.setCurrentBalance(
-                    currentBalance.add(oldAmount).subtract(newAmount)
-            );
-            accountRepository.save(account);
+        // Move the spend out of the old month and into the new one
+        if (oldAmount.compareTo(newAmount) != 0
+                || !Objects.equals(existingExpense.getDateSpent(),
+                details.getDateSpent())) {
+            monthlySpendService.recordSpend(userId, categoryIdOf(existingExpense),
+                    existingExpense.getDateSpent(), oldReported.negate());
+            monthlySpendService.recordSpend(userId, categoryIdOf(existingExpense),
+                    details.getDateSpent(), newReported);
+            dailyTotalService.recordExpense(userId,
+                    existingExpense.getDateSpent(), oldReported.negate());
+            dailyTotalService.recordExpense(userId,
+                    details.getDateSpent(), newReported);
+            spendStatsService.remove(userId,
+                    categoryIdOf(existingExpense), oldReported);
+            spendStatsService.add(userId,
+                    categoryIdOf(existingExpense), newReported);
         }
 
         existingExpense.setAmount(newAmount);
@@ -187,7 +391,11 @@ public class ExpenseService {
         existingExpense.setDateSpent(details.getDateSpent());
         existingExpense.setPaymentMethod(details.getPaymentMethod());
 
-        return expenseRepository.save(existingExpense);
+        Expense saved = expenseRepository.save(existingExpense);
+        userSummaryService.recordExpense(
+                userId, categoryIdOf(saved), newReported.subtract(oldReported));
+        reportCache.evict(userId);
+        return saved;
     }
 
     // =================== DELETE ===================
@@ -199,6 +407,9 @@ public class ExpenseService {
                         "Expense not found with ID: " + id
                 ));
 
+        Integer userId = userIdOf(expense);
+        userSummaryService.ensureSummary(userId);
+
         // Reverse balance on delete
         if (expense.getAccount() != null) {
             Account account = accountRepository
@@ -206,46 +417,57 @@ public class ExpenseService {
                     .orElseThrow(() -> new RuntimeException(
                             "Account not found"
                     ));
+            userSummaryService.ensureSummary(ownerIdOf(account));
 
-            BigDecimal currentBalance = account.getCurrentBalance() != null
-                    ? account.getCurrentBalance()
-                    : BigDecimal.ZERO;
-
-            account.setCurrentBalance(
-                    currentBalance.add(expense.getAmount())
-            );
-            accountRepository.save(account);
+            accountBalanceService.adjust(account, expense.getAmount());
+            userSummaryService.recordBalanceChange(
+                    account, expense.getAmount());
         }
 
         // Reverse budget spent
-        if (expense.getUser() != null
-                && expense.getCategory() != null
-                && expense.getDateSpent() != null) {
-
-            String monthYear = expense.getDateSpent()
-                    .format(DateTimeFormatter.ofPattern("yyyy-MM"));
-
-            List<Budget> budgets = budgetRepository
-                    .findByUserUserIdAndMonthYear(
-                            expense.getUser().getUserId(), monthYear
-                    );
-
-            for (Budget budget : budgets) {
-                if (budget.getCategory().getCategoryId()
-                        .equals(expense.getCategory().getCategoryId())) {
-
-                    BigDecimal spent = budget.getAmountSpent() != null
-                            ? budget.getAmountSpent()
-                            : BigDecimal.ZERO;
-
-                    budget.setAmountSpent(
-                            spent.subtract(expense.getAmount()).max(BigDecimal.ZERO)
-                    );
-                    budgetRepository.save(budget);
-                }
-            }
-        }
+        BigDecimal reported = reported(expense,
+                expense.getDateSpent(), expense.getAmount());
+        monthlySpendService.recordSpend(userId, categoryIdOf(expense),
+                expense.getDateSpent(), reported.negate());
+        dailyTotalService.recordExpense(userId,
+                expense.getDateSpent(), reported.negate());
+        spendStatsService.remove(userId, categoryIdOf(expense), reported);
 
         expenseRepository.deleteById(id);
+        userSummaryService.recordExpense(
+                userId, categoryIdOf(expense), reported.negate());
+        reportCache.evict(userId);
+    }
+
+    // The amount in the user's reporting currency at the given date
+    private BigDecimal reported(Expense expense, LocalDate date,
+                                BigDecimal amount) {
+        return currencyService.toReporting(
+                userIdOf(expense), expense.getCurrency(), date, amount);
+    }
+
+    private Integer userIdOf(Expense expense) {
+        return expense.getUser() != null
+                ? expense.getUser().getUserId()
+                : null;
+    }
+
+    private Integer categoryIdOf(Expense expense) {
+        return expense.getCategory() != null
+                ? expense.getCategory().getCategoryId()
+                : null;
+    }
+
+    private Integer ownerIdOf(Account account) {
+        return account.getUser() != null
+                ? account.getUser().getUserId()
+                : null;
+    }
+
+    private record SpendKey(Integer userId, Integer categoryId) {
+    }
+
+    private record MonthKey(Integer userId, Integer categoryId,
+                            YearMonth month) {
     }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.example.budgettracker.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Rolling contribution rate of a goal from three stored values, so a
+ * forecast never reads the contribution history.
+ *
+ * The weight is the sum of all contributions, each decayed by
+ * exp(-age / WINDOW_DAYS), as of the last contribution. A contribution
+ * multiplies the old weight by the decay since then and adds itself. The
+ * rate on a day ages the weight to that day and divides it by the decayed
+ * length of the span contributions cover, so steady saving of c a day
+ * gives a rate of c, and a rate fades once contributions stop. Spans
+ * shorter than MIN_SPAN_DAYS count as that long, so a single deposit does
+ * not read as that much every day.
+ */
+final class GoalForecaster {
+
+    static final double WINDOW_DAYS = 90;
+    static final long MIN_SPAN_DAYS = 30;
+
+    // Projections further out than this are reported as none
+    private static final long MAX_PROJECTION_DAYS = 100L * 365;
+
+    private GoalForecaster() {
+    }
+
+    static BigDecimal addContribution(BigDecimal weight, LocalDate lastDate,
+                                      LocalDate day, BigDecimal amount) {
+        return BigDecimal.valueOf(aged(weight, lastDate, day)
+                        + amount.doubleValue())
+                .setScale(4, RoundingMode.HALF_UP);
+    }
+
+    // Per day, zero before the first contribution
+    static BigDecimal rate(BigDecimal weight, LocalDate firstDate,
+                           LocalDate lastDate, LocalDate day) {
+        if (weight == null || firstDate == null || lastDate == null) {
+            return BigDecimal.ZERO;
+        }
+        long span = Math.max(
+                ChronoUnit.DAYS.between(firstDate, day) + 1, MIN_SPAN_DAYS);
+        double window = WINDOW_DAYS * (1 - Math.exp(-span / WINDOW_DAYS));
+        return BigDecimal.valueOf(aged(weight, lastDate, day) / window)
+                .setScale(4, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * The day the remaining amount is reached at the given daily rate:
+     * today when it already is, null when the rate is zero or the day is
+     * out of reach.
+     */
+    static LocalDate projectedDate(BigDecimal target, BigDecimal current,
+                                   BigDecimal rate, LocalDate day) {
+        if (target == null) {
+            return null;
+        }
+        BigDecimal remaining = target.subtract(
+                current != null ? current : BigDecimal.ZERO);
+        if (remaining.signum() <= 0) {
+            return day;
+        }
+        if (rate.signum() <= 0) {
+            return null;
+        }
+        long days = remaining.divide(rate, 0, RoundingMode.CEILING)
+                .longValue();
+        return days > MAX_PROJECTION_DAYS ? null : day.plusDays(days);
+    }
+
+    private static double aged(BigDecimal weight, LocalDate lastDate,
+                               LocalDate day) {
+        if (weight == null || lastDate == null) {
+            return 0;
+        }
+        long age = Math.max(ChronoUnit.DAYS.between(lastDate, day), 0);
+        return weight.doubleValue() * Math.exp(-age / WINDOW_DAYS);
+    }
+}
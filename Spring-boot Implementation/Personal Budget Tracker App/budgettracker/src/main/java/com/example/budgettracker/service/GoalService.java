@@ -1,7 +1,11 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.dto.GoalDTO;
+import com.example.budgettracker.dto.GoalForecastDTO;
 import com.example.budgettracker.model.Goal;
+import com.example.budgettracker.model.GoalContribution;
 
+import com.example.budgettracker.repository.GoalContributionRepository;
 import com.example.budgettracker.repository.GoalRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -14,6 +18,8 @@ import java.util.Optional;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +29,17 @@ public class GoalService {
     @Autowired
     private GoalRepository goalRepository;
 
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Autowired
+    private GoalContributionRepository contributionRepository;
+
+    private static final BigDecimal DAYS_PER_MONTH = BigDecimal.valueOf(30);
+
     public List<Goal> getAllGoals() {
         return goalRepository.findAll();
     }
@@ -31,36 +48,60 @@ public class GoalService {
         return goalRepository.findById(id);
     }
 
-    public List<Goal> getGoalsByUserId(Integer userId) {
-        return goalRepository.findByUserUserId(userId);
+    @Transactional(readOnly = true)
+    public List<GoalDTO> getGoalsByUserId(Integer userId) {
+        return goalRepository.findDtosByUserId(userId);
     }
 
     public List<Goal> getActiveGoals(Integer userId) {
         return goalRepository.findByUserUserIdAndStatus(userId, "ACTIVE");
     }
 
+    @Transactional
     public Goal createGoal(Goal goal) {
         if (goal.getCurrentAmount() == null) {
             goal.setCurrentAmount(BigDecimal.ZERO);
         }
-        return goalRepository.save(goal);
+
+        Integer userId = userIdOf(goal);
+        userSummaryService.ensureSummary(userId);
+
+        Goal saved = goalRepository.save(goal);
+        userSummaryService.recordGoalStatusChange(
+                userId, null, saved.getStatus());
+        reportCache.evict(userId);
+        return saved;
     }
 
+    @Transactional
     public Goal updateGoal(Integer id, Goal details) {
         Goal goal = goalRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException(
                         "Goal not found with ID: " + id
                 ));
 
+        Integer userId = userIdOf(goal);
+        userSummaryService.ensureSummary(userId);
+        String oldStatus = goal.getStatus();
+
         goal.setGoalName(details.getGoalName());
         goal.setTargetAmount(details.getTargetAmount());
         goal.setCurrentAmount(details.getCurrentAmount());
         goal.setTargetDate(details.getTargetDate());
         goal.setStatus(details.getStatus());
 
-        return goalRepository.save(goal);
+        Goal saved = goalRepository.save(goal);
+        userSummaryService.recordGoalStatusChange(
+                userId, oldStatus, saved.getStatus());
+        reportCache.evict(userId);
+        return saved;
     }
 
+    /**
+     * Adds to the goal, appends the contribution to its log and advances
+     * the forecast state. The goal row is locked so concurrent
+     * contributions apply one after the other.
+     */
     @Transactional
     public Goal contributeToGoal(Integer id, BigDecimal amount) {
 
@@ -70,11 +111,15 @@ public class GoalService {
             );
         }
 
-        Goal goal = goalRepository.findById(id)
+        Goal goal = goalRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException(
                         "Goal not found with ID: " + id
                 ));
 
+        Integer userId = userIdOf(goal);
+        userSummaryService.ensureSummary(userId);
+        String oldStatus = goal.getStatus();
+
         BigDecimal currentAmount = goal.getCurrentAmount() != null
                 ? goal.getCurrentAmount()
                 : BigDecimal.ZERO;
@@ -86,13 +131,91 @@ public class GoalService {
             goal.setStatus("COMPLETED");
         }
 
-        return goalRepository.save(goal);
+        LocalDate today = LocalDate.now();
+        contributionRepository.save(
+                new GoalContribution(null, goal, amount, today));
+        recordContribution(goal, amount, today);
+
+        Goal saved = goalRepository.save(goal);
+        userSummaryService.recordGoalStatusChange(
+                userId, oldStatus, saved.getStatus());
+        reportCache.evict(userId);
+        return saved;
     }
 
-    public void deleteGoal(Integer id) {
-        if (!goalRepository.existsById(id)) {
-            throw new RuntimeException("Goal not found with ID: " + id);
+    public List<GoalContribution> getContributions(Integer goalId) {
+        return contributionRepository
+                .findByGoalGoalIdOrderByContributedOnAscContributionIdAsc(goalId);
+    }
+
+    /**
+     * Forecasts for all of a user's active goals from one query. The
+     * stored state is aged to today, so a goal nobody has paid into for
+     * a while shows its rate fading rather than the last projection.
+     */
+    @Transactional(readOnly = true)
+    public List<GoalForecastDTO> getForecasts(Integer userId) {
+        LocalDate today = LocalDate.now();
+        List<GoalForecastDTO> forecasts =
+                goalRepository.findActiveForecasts(userId);
+        for (GoalForecastDTO forecast : forecasts) {
+            BigDecimal rate = GoalForecaster.rate(
+                    forecast.getContributionWeight(),
+                    forecast.getFirstContributionDate(),
+                    forecast.getLastContributionDate(), today);
+            LocalDate projected = GoalForecaster.projectedDate(
+                    forecast.getTargetAmount(), forecast.getCurrentAmount(),
+                    rate, today);
+
+            forecast.setDailyRate(rate);
+            forecast.setMonthlyRate(rate.multiply(DAYS_PER_MONTH)
+                    .setScale(2, RoundingMode.HALF_UP));
+            forecast.setProjectedDate(projected);
+            forecast.setOnTrack(projected == null
+                    || forecast.getTargetDate() == null
+                    ? null
+                    : !projected.isAfter(forecast.getTargetDate()));
         }
+        return forecasts;
+    }
+
+    @Transactional
+    public void deleteGoal(Integer id) {
+        Goal goal = goalRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException(
+                        "Goal not found with ID: " + id
+                ));
+
+        Integer userId = userIdOf(goal);
+        userSummaryService.ensureSummary(userId);
+
         goalRepository.deleteById(id);
+        userSummaryService.recordGoalStatusChange(
+                userId, goal.getStatus(), null);
+        reportCache.evict(userId);
+    }
+
+    // O(1) whatever the length of the log
+    private void recordContribution(Goal goal, BigDecimal amount,
+                                    LocalDate day) {
+        goal.setContributionWeight(GoalForecaster.addContribution(
+                goal.getContributionWeight(), goal.getLastContributionDate(),
+                day, amount));
+        if (goal.getFirstContributionDate() == null) {
+            goal.setFirstContributionDate(day);
+        }
+        goal.setLastContributionDate(day);
+
+        BigDecimal rate = GoalForecaster.rate(goal.getContributionWeight(),
+                goal.getFirstContributionDate(), day, day);
+        goal.setContributionRate(rate);
+        goal.setProjectedDate(GoalForecaster.projectedDate(
+                goal.getTargetAmount(), goal.getCurrentAmount(), rate, day));
+    }
+
+    private Integer userIdOf(Goal goal) {
+        return goal.getUser() != null
+                ? goal.getUser().getUserId()
+                : null;
     }
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.dto.CursorPageDTO;
+import com.example.budgettracker.dto.IncomeDTO;
+import com.example.budgettracker.dto.PageCursor;
 import com.example.budgettracker.model.Account;
 import com.example.budgettracker.model.Income;
 import com.example.budgettracker.repository.AccountRepository;
@@ -11,8 +14,17 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import java.math.BigDecimal;
 
@@ -20,12 +32,32 @@ import java.math.BigDecimal;
 @Service
 public class IncomeService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private IncomeRepository incomeRepository;
 
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private AccountBalanceService accountBalanceService;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Autowired
+    private DailyTotalService dailyTotalService;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Autowired
+    private TransactionBatchWriter transactionBatchWriter;
+
+    @Autowired
+    private CurrencyService currencyService;
+
     public List<Income> getAllIncomes() {
         return incomeRepository.findAll();
     }
@@ -34,14 +66,57 @@ public class IncomeService {
         return incomeRepository.findById(id);
     }
 
-    public List<Income> getIncomesByUserId(Integer userId) {
-        return incomeRepository.findByUserUserId(userId);
+    @Transactional(readOnly = true)
+    public List<IncomeDTO> getIncomesByUserId(Integer userId) {
+        return incomeRepository.findDtosByUserId(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<IncomeDTO> getIncomePage(
+            Integer userId, String cursor, int limit,
+            LocalDate start, LocalDate end, Integer accountId) {
+
+        int size = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        PageCursor position = PageCursor.parse(cursor);
+
+        // Fetch one extra row to learn whether another page exists
+        List<IncomeDTO> rows = incomeRepository.findPageByUserId(
+                userId, start, end, accountId,
+                position.getDate(), position.getId(), size + 1);
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            IncomeDTO last = rows.get(rows.size() - 1);
+            nextCursor = new PageCursor(
+                    last.getDateReceived(), last.getIncomeId()).toString();
+        }
+        return new CursorPageDTO<>(rows, nextCursor, hasMore);
+    }
+
+    // Streams matching incomes newest first as unmanaged projections
+    @Transactional(readOnly = true)
+    public void exportIncomes(
+            Integer userId, LocalDate start, LocalDate end,
+            Integer accountId, Consumer<IncomeDTO> sink) {
+
+        try (Stream<IncomeDTO> incomes = incomeRepository.streamByUserId(
+                userId, start, end, accountId)) {
+            incomes.forEach(sink);
+        }
     }
 
+    // Converted into the user's currency, from the summary row like the dashboard
     public BigDecimal getTotalIncome(Integer userId) {
-        return incomeRepository.getTotalIncomeByUserId(userId);
+        return userSummaryService.findSummary(userId)
+                .orElseGet(() -> userSummaryService.getSummary(userId))
+                .getTotalIncome();
     }
 
+    @Transactional(readOnly = true)
     public BigDecimal getTotalIncomeByDateRange(
             Integer userId, LocalDate start, LocalDate end) {
         return incomeRepository
@@ -60,30 +135,125 @@ public class IncomeService {
             );
         }
 
+        Integer userId = userIdOf(income);
+        userSummaryService.ensureSummary(userId);
+
         // Step 2: Update account balance FIRST
+        Account account = null;
         if (income.getAccount() != null
                 && income.getAccount().getAccountId() != null) {
 
-            Account account = accountRepository
+            account = accountRepository
                     .findById(income.getAccount().getAccountId())
                     .orElseThrow(() -> new RuntimeException(
                             "Account not found with ID: "
                                     + income.getAccount().getAccountId()
                     ));
-
-            BigDecimal currentBalance = account.getCurrentBalance() != null
-                    ? account.getCurrentBalance()
-                    : BigDecimal.ZERO;
-
-            account.setCurrentBalance(currentBalance.add(income.getAmount()));
-            accountRepository.save(account);
+            userSummaryService.ensureSummary(ownerIdOf(account));
+        }
+        income.setCurrency(currencyService.transactionCurrency(
+                userId, account, income.getCurrency()));
+        if (account != null) {
+            accountBalanceService.deposit(account, income.getAmount());
+            userSummaryService.recordBalanceChange(account, income.getAmount());
 
             // Set fresh account reference
             income.setAccount(account);
         }
 
         // Step 3: Save income AFTER account update
-        return incomeRepository.save(income);
+        Income saved = incomeRepository.save(income);
+        BigDecimal reported = reported(saved,
+                saved.getDateReceived(), saved.getAmount());
+        userSummaryService.recordIncome(userId, reported);
+        dailyTotalService.recordIncome(
+                userId, saved.getDateReceived(), reported);
+        reportCache.evict(userId);
+        return saved;
+    }
+
+    // =================== BULK CREATE ===================
+    /**
+     * Creates many incomes in one transaction. Each account is credited
+     * once for the total of its incomes, the rows go through saveAll and
+     * are flushed as JDBC batches, and summaries and rollups get one
+     * increment per key.
+     */
+    @Transactional
+    public List<Income> createIncomes(List<Income> incomes) {
+
+        // Step 1: Validate
+        for (Income income : incomes) {
+            if (income.getAmount() == null
+                    || income.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+                throw new IllegalArgumentException(
+                        "Income amount must be positive"
+                );
+            }
+        }
+
+        // Step 2: Load every account once and total the credits
+        Set<Integer> accountIds = new HashSet<>();
+        for (Income income : incomes) {
+            if (income.getAccount() != null
+                    && income.getAccount().getAccountId() != null) {
+                accountIds.add(income.getAccount().getAccountId());
+            }
+        }
+        Map<Integer, Account> accounts = new HashMap<>();
+        accountRepository.findAllById(accountIds)
+                .forEach(account -> accounts.put(account.getAccountId(), account));
+
+        Map<Integer, BigDecimal> credits = new TreeMap<>();
+        Set<Integer> userIds = new LinkedHashSet<>();
+        for (Income income : incomes) {
+            userIds.add(userIdOf(income));
+            if (income.getAccount() == null
+                    || income.getAccount().getAccountId() == null) {
+                income.setCurrency(currencyService.transactionCurrency(
+                        userIdOf(income), null, income.getCurrency()));
+                continue;
+            }
+            Integer accountId = income.getAccount().getAccountId();
+            Account account = accounts.get(accountId);
+            if (account == null) {
+                throw new RuntimeException(
+                        "Account not found with ID: " + accountId);
+            }
+            income.setAccount(account);
+            income.setCurrency(currencyService.transactionCurrency(
+                    userIdOf(income), account, income.getCurrency()));
+            credits.merge(accountId, income.getAmount(), BigDecimal::add);
+            userIds.add(ownerIdOf(account));
+        }
+        userIds.forEach(userSummaryService::ensureSummary);
+
+        // Step 3: Credit, lowest account id first
+        credits.forEach((accountId, total) -> {
+            Account account = accounts.get(accountId);
+            accountBalanceService.deposit(account, total);
+            userSummaryService.recordBalanceChange(account, total);
+        });
+
+        // Step 4: Save
+        List<Income> saved = incomeRepository.saveAll(incomes);
+
+        // Step 5: One summary / rollup increment per key
+        Map<Integer, BigDecimal> incomeTotals = new HashMap<>();
+        DailyTotalBatch dailyTotals = new DailyTotalBatch();
+        for (Income income : saved) {
+            Integer userId = userIdOf(income);
+            BigDecimal reported = reported(income,
+                    income.getDateReceived(), income.getAmount());
+            if (userId != null) {
+                incomeTotals.merge(userId, reported, BigDecimal::add);
+            }
+            dailyTotals.addIncome(userId, income.getDateReceived(), reported);
+        }
+        incomeTotals.forEach(userSummaryService::recordIncome);
+        transactionBatchWriter.addDailyTotals(dailyTotals);
+        userIds.forEach(reportCache::evict);
+        return saved;
     }
 
     // =================== UPDATE ===================
@@ -103,6 +273,9 @@ public class IncomeService {
                 ? details.getAmount()
                 : oldAmount;
 
+        Integer userId = userIdOf(existingIncome);
+        userSummaryService.ensureSummary(userId);
+
         // Adjust account balance if amount changed
         if (oldAmount.compareTo(newAmount) != 0
                 && existingIncome.getAccount() != null) {
@@ -112,16 +285,29 @@ public class IncomeService {
                     .orElseThrow(() -> new RuntimeException(
                             "Account not found"
                     ));
-
-            BigDecimal currentBalance = account.getCurrentBalance() != null
-                    ? account.getCurrentBalance()
-                    : BigDecimal.ZERO;
+            userSummaryService.ensureSummary(ownerIdOf(account));
 
             // Remove old amount, add new amount
-            account.setCurrentBalance(
-                    currentBalance.subtract(oldAmount).add(newAmount)
-            );
-            accountRepository.save(account);
+            accountBalanceService.adjust(
+                    account, newAmount.subtract(oldAmount));
+            userSummaryService.recordBalanceChange(
+                    account, newAmount.subtract(oldAmount));
+        }
+
+        // Each side converted at its own date's rate
+        BigDecimal oldReported = reported(existingIncome,
+                existingIncome.getDateReceived(), oldAmount);
+        BigDecimal newReported = reported(existingIncome,
+                details.getDateReceived(), newAmount);
+
+        // Move the amount out of the old day and into the new one
+        if (oldAmount.compareTo(newAmount) != 0
+                || !Objects.equals(existingIncome.getDateReceived(),
+                details.getDateReceived())) {
+            dailyTotalService.recordIncome(userId,
+                    existingIncome.getDateReceived(), oldReported.negate());
+            dailyTotalService.recordIncome(userId,
+                    details.getDateReceived(), newReported);
         }
 
         existingIncome.setAmount(newAmount);
@@ -130,7 +316,11 @@ public class IncomeService {
         existingIncome.setDateReceived(details.getDateReceived());
         existingIncome.setIsRecurring(details.getIsRecurring());
 
-        return incomeRepository.save(existingIncome);
+        Income saved = incomeRepository.save(existingIncome);
+        userSummaryService.recordIncome(
+                userId, newReported.subtract(oldReported));
+        reportCache.evict(userId);
+        return saved;
     }
 
     // =================== DELETE ===================
@@ -142,6 +332,9 @@ public class IncomeService {
                         "Income not found with ID: " + id
                 ));
 
+        Integer userId = userIdOf(income);
+        userSummaryService.ensureSummary(userId);
+
         // Reverse balance on delete
         if (income.getAccount() != null) {
             Account account = accountRepository
@@ -149,17 +342,38 @@ public class IncomeService {
                     .orElseThrow(() -> new RuntimeException(
                             "Account not found"
                     ));
+            userSummaryService.ensureSummary(ownerIdOf(account));
 
-            BigDecimal currentBalance = account.getCurrentBalance() != null
-                    ? account.getCurrentBalance()
-                    : BigDecimal.ZERO;
-
-            account.setCurrentBalance(
-                    currentBalance.subtract(income.getAmount())
-            );
-            accountRepository.save(account);
+            accountBalanceService.adjust(account, income.getAmount().negate());
+            userSummaryService.recordBalanceChange(
+                    account, income.getAmount().negate());
         }
 
+        BigDecimal reported = reported(income,
+                income.getDateReceived(), income.getAmount());
         incomeRepository.deleteById(id);
+        userSummaryService.recordIncome(userId, reported.negate());
+        dailyTotalService.recordIncome(userId,
+                income.getDateReceived(), reported.negate());
+        reportCache.evict(userId);
+    }
+
+    // The amount in the user's reporting currency at the given date
+    private BigDecimal reported(Income income, LocalDate date,
+                                BigDecimal amount) {
+        return currencyService.toReporting(
+                userIdOf(income), income.getCurrency(), date, amount);
+    }
+
+    private Integer userIdOf(Income income) {
+        return income.getUser() != null
+                ? income.getUser().getUserId()
+                : null;
+    }
+
+    private Integer ownerIdOf(Account account) {
+        return account.getUser() != null
+                ? account.getUser().getUserId()
+                : null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.model.MonthlyCategorySpend;
+import com.example.budgettracker.repository.ExpenseRepository;
+import com.example.budgettracker.repository.MonthlyCategorySpendRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps the (user, category, month) spend rollup that Budget.amountSpent
+ * is derived from, in the user's reporting currency. Every change is a
+ * single upsert-increment.
+ */
+@Service
+public class MonthlySpendService {
+
+    @Autowired
+    private MonthlyCategorySpendRepository monthlyCategorySpendRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    public BigDecimal getSpend(
+            Integer userId, Integer categoryId, YearMonth month) {
+        return monthlyCategorySpendRepository
+                .findByUserIdAndCategoryIdAndMonthYear(
+                        userId, categoryId, month.toString())
+                .map(MonthlyCategorySpend::getTotalSpent)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    public List<MonthlyCategorySpend> getSpendForMonth(
+            Integer userId, YearMonth month) {
+        return monthlyCategorySpendRepository
+                .findByUserIdAndMonthYear(userId, month.toString());
+    }
+
+    @Transactional
+    public void recordSpend(Integer userId, Integer categoryId,
+                            LocalDate date, BigDecimal delta) {
+        if (userId == null || categoryId == null || date == null
+                || delta == null || delta.signum() == 0) {
+            return;
+        }
+        String monthYear = YearMonth.from(date).toString();
+        monthlyCategorySpendRepository.addSpend(
+                userId, categoryId, monthYear, delta);
+
+        // Budget thresholds are checked asynchronously after commit
+        eventPublisher.publishEvent(
+                new BudgetSpendEvent(userId, categoryId, monthYear));
+    }
+
+    @Transactional
+    public void rebuild(Integer userId) {
+        monthlyCategorySpendRepository.deleteByUserId(userId);
+        computeActual(userId).forEach((key, total) -> {
+            if (total.signum() != 0) {
+                monthlyCategorySpendRepository.addSpend(userId,
+                        key.categoryId(), key.month().toString(), total);
+            }
+        });
+    }
+
+    /**
+     * Compares the user's rollup with the raw tables without changing it,
+     * one line per (category, month) that differs; a missing row counts
+     * as zero.
+     */
+    public List<String> findDrift(Integer userId) {
+        Map<MonthKey, BigDecimal> stored = new HashMap<>();
+        for (MonthlyCategorySpend spend
+                : monthlyCategorySpendRepository.findByUserId(userId)) {
+            stored.put(new MonthKey(spend.getCategoryId(),
+                    YearMonth.parse(spend.getMonthYear())), spend.getTotalSpent());
+        }
+        Map<MonthKey, BigDecimal> actual = computeActual(userId);
+
+        Set<MonthKey> keys = new TreeSet<>(Comparator
+                .comparing(MonthKey::month)
+                .thenComparing(MonthKey::categoryId));
+        keys.addAll(stored.keySet());
+        keys.addAll(actual.keySet());
+        List<String> mismatches = new ArrayList<>();
+        for (MonthKey key : keys) {
+            Drift.compare(mismatches,
+                    "monthlySpend[" + key.categoryId() + ", " + key.month() + "]",
+                    stored.getOrDefault(key, BigDecimal.ZERO),
+                    actual.getOrDefault(key, BigDecimal.ZERO));
+        }
+        return mismatches;
+    }
+
+    // Totals per (category, month) from the expense table
+    private Map<MonthKey, BigDecimal> computeActual(Integer userId) {
+        Map<MonthKey, BigDecimal> totals = new HashMap<>();
+        for (Object[] row : expenseRepository
+                .getMonthlyExpenseByCategoryIdForUser(userId)) {
+            YearMonth month = YearMonth.of(
+                    ((Number) row[1]).intValue(), ((Number) row[2]).intValue());
+            totals.merge(new MonthKey((Integer) row[0], month),
+                    (BigDecimal) row[3], BigDecimal::add);
+        }
+        // Amounts in other currencies were summed unconverted above
+        for (CurrencyService.Adjustment adjustment
+                : currencyService.expenseAdjustments(userId)) {
+            if (adjustment.categoryId() != null && adjustment.date() != null) {
+                totals.merge(new MonthKey(adjustment.categoryId(),
+                                YearMonth.from(adjustment.date())),
+                        adjustment.delta(), BigDecimal::add);
+            }
+        }
+        return totals;
+    }
+
+    private record MonthKey(Integer categoryId, YearMonth month) {
+    }
+}
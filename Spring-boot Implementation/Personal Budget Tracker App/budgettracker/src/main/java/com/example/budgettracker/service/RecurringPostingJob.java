@@ -0,0 +1,56 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.repository.RecurringTransactionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Walks the due recurring transactions in id order and hands them to
+ * {@link RecurringPostingService} one chunk (and one transaction) at a
+ * time. Because every posted row has its next_date moved past the run
+ * date, a missed run is caught up by the next one.
+ */
+@Slf4j
+@Component
+public class RecurringPostingJob {
+
+    private static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Autowired
+    private RecurringPostingService recurringPostingService;
+
+    @Scheduled(cron = "${budgettracker.recurring.post-cron:0 0 1 * * *}")
+    public void scheduledPost() {
+        int posted = postDue(LocalDate.now());
+        log.info("Recurring posting finished, {} transaction(s) posted",
+                posted);
+    }
+
+    public int postDue(LocalDate today) {
+
+        int posted = 0;
+        int afterId = 0;
+        List<Integer> ids;
+
+        do {
+            ids = recurringTransactionRepository.findDueIdsAfter(
+                    today, afterId, PageRequest.of(0, CHUNK_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            posted += recurringPostingService.postChunk(ids, today);
+            afterId = ids.get(ids.size() - 1);
+        } while (ids.size() == CHUNK_SIZE);
+
+        return posted;
+    }
+}
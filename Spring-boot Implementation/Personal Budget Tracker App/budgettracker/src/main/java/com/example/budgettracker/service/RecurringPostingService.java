@@ -0,0 +1,299 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.RecurringDueDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns due recurring transactions into Expense / Income rows.
+ *
+ * A chunk of due rows is locked, every missed occurrence up to the run
+ * date is inserted with batched JDBC, next_date is moved past the run
+ * date and the account, summary and monthly spend effects are applied
+ * once per account / user / category / day instead of once per row. All of it
+ * happens in one transaction, so a crash part way through leaves the
+ * chunk untouched and a restart simply posts it again.
+ *
+ * Monthly and yearly rows fall on their anchor day, or the last day of
+ * a shorter month. Rows that can never post, with no positive amount or
+ * an unknown frequency, are deactivated instead of being skipped on
+ * every run.
+ *
+ * Rows whose transaction type is INCOME post as income, everything else
+ * posts as an expense, in the account's currency (the user's reporting
+ * currency without an account); the rollups get each occurrence
+ * converted at its own date. Like a standing order, a scheduled expense
+ * is posted even if it takes the account below zero.
+ */
+@Slf4j
+@Service
+public class RecurringPostingService {
+
+    // Upper bound on catch-up for a single row in one run (a year of dailies)
+    static final int MAX_OCCURRENCES_PER_RUN = 366;
+
+    private static final String LOCK_DUE_SQL =
+            "SELECT r.recurring_id, r.user_id, r.account_id, a.user_id, " +
+            "r.category_id, r.transaction_type, r.amount, r.frequency, " +
+            "r.next_date, r.anchor_day, a.currency " +
+            "FROM recurring_transaction r " +
+            "LEFT JOIN account a ON a.account_id = r.account_id " +
+            "WHERE r.recurring_id IN (%s) AND r.is_active = TRUE " +
+            "AND r.next_date <= ? " +
+            "FOR UPDATE";
+
+    private static final String UPDATE_NEXT_DATE_SQL =
+            "UPDATE recurring_transaction SET next_date = ? " +
+            "WHERE recurring_id = ?";
+
+    private static final int[] UPDATE_NEXT_DATE_TYPES = {
+            Types.DATE, Types.INTEGER
+    };
+
+    private static final String DEACTIVATE_SQL =
+            "UPDATE recurring_transaction SET is_active = FALSE " +
+            "WHERE recurring_id = ?";
+
+    private static final int[] DEACTIVATE_TYPES = {Types.INTEGER};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionBatchWriter transactionBatchWriter;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Autowired
+    private MonthlySpendService monthlySpendService;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @Autowired
+    private SpendStatsService spendStatsService;
+
+    // =================== POSTING ===================
+    /**
+     * Posts every occurrence on or before {@code today} for the given
+     * recurring transaction ids and returns the number of rows inserted.
+     */
+    @Transactional
+    public int postChunk(List<Integer> recurringIds, LocalDate today) {
+
+        if (recurringIds.isEmpty()) {
+            return 0;
+        }
+
+        // Step 1: Lock the rows and re-read them, so a concurrent run
+        // (or a row already posted by one) is never posted twice
+        List<RecurringDueDTO> due = lockDue(recurringIds, today);
+
+        // Summaries must exist before any raw write touches the tables
+        Set<Integer> userIds = new LinkedHashSet<>();
+        for (RecurringDueDTO rt : due) {
+            userIds.add(rt.getUserId());
+            userIds.add(rt.getAccountOwnerId());
+        }
+        userIds.forEach(userSummaryService::ensureSummary);
+
+        // Step 2: Expand occurrences and aggregate their effects
+        List<Object[]> expenseRows = new ArrayList<>();
+        List<Object[]> incomeRows = new ArrayList<>();
+        List<Object[]> nextDates = new ArrayList<>();
+        List<Object[]> unpostable = new ArrayList<>();
+
+        Map<Integer, BigDecimal> accountDeltas = new HashMap<>();
+        Map<BalanceKey, BigDecimal> balanceDeltas = new HashMap<>();
+        Map<Integer, BigDecimal> incomeTotals = new HashMap<>();
+        Map<SpendKey, BigDecimal> expenseTotals = new HashMap<>();
+        Map<MonthKey, BigDecimal> monthlyTotals = new HashMap<>();
+        DailyTotalBatch dailyTotals = new DailyTotalBatch();
+        SpendStatsBatch spendStats = new SpendStatsBatch();
+
+        for (RecurringDueDTO rt : due) {
+
+            // Would never post, so they are paused rather than picked
+            // up again on every run
+            if (rt.getAmount() == null || rt.getAmount().signum() <= 0) {
+                log.warn("Deactivating recurring transaction {}: invalid amount",
+                        rt.getRecurringId());
+                unpostable.add(new Object[]{rt.getRecurringId()});
+                continue;
+            }
+
+            List<LocalDate> dates = new ArrayList<>();
+            LocalDate next = rt.getNextDate();
+            while (next != null && !next.isAfter(today)
+                    && dates.size() < MAX_OCCURRENCES_PER_RUN) {
+                dates.add(next);
+                next = advance(next, rt.getFrequency(), rt.getAnchorDay());
+            }
+            if (next == null) {
+                log.warn("Deactivating recurring transaction {}: unknown " +
+                        "frequency {}", rt.getRecurringId(), rt.getFrequency());
+                unpostable.add(new Object[]{rt.getRecurringId()});
+                continue;
+            }
+
+            boolean income = isIncome(rt);
+            BigDecimal amount = rt.getAmount();
+            BigDecimal total = amount.multiply(BigDecimal.valueOf(dates.size()));
+            String currency = rt.getAccountCurrency() != null
+                    ? rt.getAccountCurrency()
+                    : currencyService.reportingCurrency(rt.getUserId());
+
+            // Each occurrence is converted at its own date
+            BigDecimal reportedTotal = BigDecimal.ZERO;
+            for (LocalDate date : dates) {
+                BigDecimal reported = currencyService.toReporting(
+                        rt.getUserId(), currency, date, amount);
+                reportedTotal = reportedTotal.add(reported);
+                if (income) {
+                    incomeRows.add(new Object[]{
+                            rt.getUserId(), rt.getAccountId(), amount,
+                            "Recurring", rt.getTransactionType(),
+                            Date.valueOf(date), Boolean.TRUE, currency
+                    });
+                    dailyTotals.addIncome(rt.getUserId(), date, reported);
+                } else {
+                    expenseRows.add(new Object[]{
+                            rt.getUserId(), rt.getAccountId(),
+                            rt.getCategoryId(), amount,
+                            rt.getTransactionType(), Date.valueOf(date),
+                            "Recurring", currency
+                    });
+                    dailyTotals.addExpense(rt.getUserId(), date, reported);
+                    spendStats.add(rt.getUserId(), rt.getCategoryId(), reported);
+                    if (rt.getCategoryId() != null) {
+                        monthlyTotals.merge(new MonthKey(rt.getUserId(),
+                                        rt.getCategoryId(), YearMonth.from(date)),
+                                reported, BigDecimal::add);
+                    }
+                }
+            }
+
+            BigDecimal signed = income ? total : total.negate();
+            if (rt.getAccountId() != null) {
+                accountDeltas.merge(rt.getAccountId(), signed, BigDecimal::add);
+                if (rt.getAccountOwnerId() != null) {
+                    balanceDeltas.merge(new BalanceKey(rt.getAccountOwnerId(),
+                            currency), signed, BigDecimal::add);
+                }
+            }
+            if (income) {
+                incomeTotals.merge(rt.getUserId(), reportedTotal,
+                        BigDecimal::add);
+            } else {
+                expenseTotals.merge(
+                        new SpendKey(rt.getUserId(), rt.getCategoryId()),
+                        reportedTotal, BigDecimal::add);
+            }
+
+            nextDates.add(new Object[]{Date.valueOf(next), rt.getRecurringId()});
+        }
+
+        // Step 3: Batched writes
+        transactionBatchWriter.insertExpenses(expenseRows);
+        transactionBatchWriter.insertIncomes(incomeRows);
+        transactionBatchWriter.addBalances(accountDeltas);
+        transactionBatchWriter.addDailyTotals(dailyTotals);
+        spendStatsService.add(spendStats);
+        transactionBatchWriter.batchUpdate(UPDATE_NEXT_DATE_SQL, nextDates,
+                UPDATE_NEXT_DATE_TYPES);
+        transactionBatchWriter.batchUpdate(DEACTIVATE_SQL, unpostable,
+                DEACTIVATE_TYPES);
+
+        // Step 4: One summary / rollup increment per user and category
+        balanceDeltas.forEach((key, delta) -> userSummaryService
+                .recordBalanceChange(key.userId(), key.currency(), delta));
+        incomeTotals.forEach(userSummaryService::recordIncome);
+        expenseTotals.forEach((key, total) -> userSummaryService
+                .recordExpense(key.userId(), key.categoryId(), total));
+        monthlyTotals.forEach((key, total) -> monthlySpendService
+                .recordSpend(key.userId(), key.categoryId(),
+                        key.month().atDay(1), total));
+        userIds.forEach(reportCache::evict);
+
+        return expenseRows.size() + incomeRows.size();
+    }
+
+    // =================== HELPERS ===================
+    static LocalDate advance(LocalDate date, String frequency,
+                             Integer anchorDay) {
+        if (frequency == null) {
+            return null;
+        }
+        return switch (frequency.trim().toUpperCase()) {
+            case "DAILY" -> date.plusDays(1);
+            case "WEEKLY" -> date.plusWeeks(1);
+            case "MONTHLY" -> onAnchorDay(date.plusMonths(1), anchorDay);
+            case "YEARLY" -> onAnchorDay(date.plusYears(1), anchorDay);
+            default -> null;
+        };
+    }
+
+    // The anchor day, or the month's last day when the month is shorter;
+    // plusMonths alone would keep the shortened day from then on
+    private static LocalDate onAnchorDay(LocalDate date, Integer anchorDay) {
+        if (anchorDay == null) {
+            return date;
+        }
+        return date.withDayOfMonth(Math.min(anchorDay, date.lengthOfMonth()));
+    }
+
+    private static boolean isIncome(RecurringDueDTO rt) {
+        return "INCOME".equalsIgnoreCase(rt.getTransactionType());
+    }
+
+    private List<RecurringDueDTO> lockDue(List<Integer> ids, LocalDate today) {
+        String sql = String.format(LOCK_DUE_SQL,
+                String.join(",", Collections.nCopies(ids.size(), "?")));
+        List<Object> args = new ArrayList<>(ids);
+        args.add(Date.valueOf(today));
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new RecurringDueDTO(
+                rs.getInt(1),
+                rs.getObject(2, Integer.class),
+                rs.getObject(3, Integer.class),
+                rs.getObject(4, Integer.class),
+                rs.getObject(5, Integer.class),
+                rs.getString(6),
+                rs.getBigDecimal(7),
+                rs.getString(8),
+                rs.getObject(9, LocalDate.class),
+                rs.getObject(10, Integer.class),
+                rs.getString(11)
+        ), args.toArray());
+    }
+
+    private record SpendKey(Integer userId, Integer categoryId) {
+    }
+
+    private record BalanceKey(Integer userId, String currency) {
+    }
+
+    private record MonthKey(Integer userId, Integer categoryId,
+                            YearMonth month) {
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.dto.RecurringTransactionDTO;
 import com.example.budgettracker.model.RecurringTransaction;
 import com.example.budgettracker.repository.RecurringTransactionRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -12,6 +14,7 @@ import java.util.List;
 import java.util.Optional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,8 +32,9 @@ public class RecurringTransactionService {
         return repository.findById(id);
     }
 
-    public List<RecurringTransaction> getByUserId(Integer userId) {
-        return repository.findByUserUserId(userId);
+    @Transactional(readOnly = true)
+    public List<RecurringTransactionDTO> getByUserId(Integer userId) {
+        return repository.findDtosByUserId(userId);
     }
 
     public List<RecurringTransaction> getActiveByUserId(Integer userId) {
@@ -46,6 +50,7 @@ public class RecurringTransactionService {
             );
         }
 
+        rt.setAnchorDay(anchorDay(rt.getNextDate()));
         return repository.save(rt);
     }
 
@@ -55,10 +60,13 @@ public class RecurringTransactionService {
                         "Recurring transaction not found with ID: " + id
                 ));
 
+        rt.setAccount(details.getAccount());
+        rt.setCategory(details.getCategory());
         rt.setTransactionType(details.getTransactionType());
         rt.setAmount(details.getAmount());
         rt.setFrequency(details.getFrequency());
         rt.setNextDate(details.getNextDate());
+        rt.setAnchorDay(anchorDay(details.getNextDate()));
         rt.setIsActive(details.getIsActive());
 
         return repository.save(rt);
@@ -72,4 +80,9 @@ public class RecurringTransactionService {
         }
         repository.deleteById(id);
     }
+
+    // Later occurrences come back to the day the schedule was set on
+    private static Integer anchorDay(LocalDate nextDate) {
+        return nextDate != null ? nextDate.getDayOfMonth() : null;
+    }
 }
\ No newline at end of file
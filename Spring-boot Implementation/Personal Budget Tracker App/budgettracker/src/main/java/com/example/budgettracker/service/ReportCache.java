@@ -0,0 +1,109 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generated report content, keyed by user, report type, period and the
+ * user's data stamp.
+ *
+ * Every user has a stamp that changes whenever their transactions,
+ * goals or categories change. A report is cached under the stamp that
+ * was current when its computation started, so content computed from
+ * data that has since changed can never be served: the next lookup uses
+ * the new stamp and misses. Superseded entries are never read again and
+ * simply age out of the size-bounded cache.
+ */
+@Component
+public class ReportCache {
+
+    private final AtomicLong nextStamp = new AtomicLong();
+
+    private final Cache<Integer, Long> stamps =
+            Caffeine.newBuilder()
+                    .maximumSize(100_000)
+                    .expireAfterAccess(Duration.ofHours(6))
+                    .build();
+
+    private final Cache<Key, String> contents =
+            Caffeine.newBuilder()
+                    .maximumSize(1_000)
+                    .expireAfterWrite(Duration.ofHours(1))
+                    .recordStats()
+                    .build();
+
+    /**
+     * Identifies one report's content. The stamp must come from
+     * {@link #stamp(Integer)} taken before the data is read.
+     */
+    public record Key(Integer userId, String reportType, LocalDate periodStart,
+                      LocalDate periodEnd, long stamp) {
+    }
+
+    // A user seen for the first time (or whose stamp expired) gets a
+    // fresh one, which no cached entry can carry yet
+    public long stamp(Integer userId) {
+        return stamps.get(userId, id -> nextStamp.incrementAndGet());
+    }
+
+    public String get(Key key) {
+        return contents.getIfPresent(key);
+    }
+
+    public void put(Key key, String content) {
+        contents.put(key, content);
+    }
+
+    // =================== INVALIDATION ===================
+    /**
+     * Moves the user to a new stamp. Inside a transaction this waits for
+     * the commit, so a report computed before the commit is never served
+     * afterwards.
+     */
+    public void evict(Integer userId) {
+        if (userId == null) {
+            return;
+        }
+        afterCommit(() -> stamps.put(userId, nextStamp.incrementAndGet()));
+    }
+
+    // Used when shared data, such as a global category, changes
+    public void evictAll() {
+        afterCommit(() -> {
+            stamps.invalidateAll();
+            contents.invalidateAll();
+        });
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            eviction.run();
+                        }
+                    });
+        } else {
+            eviction.run();
+        }
+    }
+
+    // =================== METRICS ===================
+    public CacheStatsDTO getStats() {
+        CacheStats stats = contents.stats();
+        return new CacheStatsDTO("reports.content", contents.estimatedSize(),
+                stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount());
+    }
+}
@@ -0,0 +1,394 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.ExpenseDTO;
+import com.example.budgettracker.dto.GoalDTO;
+import com.example.budgettracker.dto.IncomeDTO;
+import com.example.budgettracker.repository.ExpenseRepository;
+import com.example.budgettracker.repository.GoalRepository;
+import com.example.budgettracker.repository.IncomeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Computes report content as JSON.
+ *
+ * Transaction based reports read the period's incomes and expenses
+ * through the streaming queries, each table once, and fold every row
+ * into running totals as it arrives. Memory depends on the number of
+ * categories, accounts and months in the report, never on the number of
+ * transactions.
+ *
+ * Amounts are reported in the user's reporting currency. Rows in other
+ * currencies are converted at their own date as they stream past; the
+ * rows arrive in date order, so the converter only looks a rate up when
+ * the day or the currency changes.
+ */
+@Component
+public class ReportGenerator {
+
+    public static final String MONTHLY_STATEMENT = "MONTHLY_STATEMENT";
+    public static final String CATEGORY_BREAKDOWN = "CATEGORY_BREAKDOWN";
+    public static final String CASH_FLOW = "CASH_FLOW";
+    public static final String GOAL_PROGRESS = "GOAL_PROGRESS";
+
+    static final Set<String> REPORT_TYPES = Set.of(
+            MONTHLY_STATEMENT, CATEGORY_BREAKDOWN, CASH_FLOW, GOAL_PROGRESS);
+
+    static final int LARGEST_EXPENSES = 5;
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @Transactional(readOnly = true)
+    public String generate(Integer userId, String reportType,
+                           LocalDate from, LocalDate to) {
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("reportType", reportType);
+        report.put("userId", userId);
+        report.put("periodStart", from);
+        report.put("periodEnd", to);
+
+        CurrencyService.Converter converter = currencyService.converter(userId);
+        report.put("currency", converter.getCurrency());
+
+        switch (reportType) {
+            case MONTHLY_STATEMENT ->
+                    monthlyStatement(report, userId, from, to, converter);
+            case CATEGORY_BREAKDOWN ->
+                    categoryBreakdown(report, userId, from, to, converter);
+            case CASH_FLOW -> cashFlow(report, userId, from, to, converter);
+            case GOAL_PROGRESS -> goalProgress(report, userId, to);
+            default -> throw new IllegalArgumentException(
+                    "Unknown report type: " + reportType);
+        }
+        return objectMapper.writeValueAsString(report);
+    }
+
+    // =================== MONTHLY STATEMENT ===================
+    private void monthlyStatement(Map<String, Object> report, Integer userId,
+                                  LocalDate from, LocalDate to,
+                                  CurrencyService.Converter converter) {
+
+        Totals income = new Totals();
+        Map<String, Totals> byIncomeType = new TreeMap<>();
+        Map<Integer, AccountFlow> byAccount = new LinkedHashMap<>();
+
+        try (Stream<IncomeDTO> incomes =
+                     incomeRepository.streamByUserId(userId, from, to, null)) {
+            incomes.forEach(i -> {
+                BigDecimal amount = converter.apply(i.getCurrency(),
+                        i.getDateReceived(), orZero(i.getAmount()));
+                income.add(amount);
+                byIncomeType.computeIfAbsent(
+                        i.getIncomeType() != null ? i.getIncomeType() : "Other",
+                        type -> new Totals()).add(amount);
+                byAccount.computeIfAbsent(i.getAccountId(), id ->
+                                new AccountFlow(id, i.getAccountName()))
+                        .income.add(amount);
+            });
+        }
+
+        Totals expense = new Totals();
+        Map<Integer, CategoryTotals> byCategory = new HashMap<>();
+        PriorityQueue<ExpenseDTO> largest = new PriorityQueue<>(
+                Comparator.comparing((ExpenseDTO e) -> orZero(e.getAmount())));
+
+        try (Stream<ExpenseDTO> expenses = expenseRepository
+                .streamByUserId(userId, from, to, null, null)) {
+            expenses.forEach(e -> {
+                // The unmanaged row carries the converted amount from here on
+                BigDecimal amount = converter.apply(e.getCurrency(),
+                        e.getDateSpent(), orZero(e.getAmount()));
+                e.setAmount(amount);
+                expense.add(amount);
+                addToCategory(byCategory, e, amount);
+                byAccount.computeIfAbsent(e.getAccountId(), id ->
+                                new AccountFlow(id, e.getAccountName()))
+                        .expense.add(amount);
+                largest.add(e);
+                if (largest.size() > LARGEST_EXPENSES) {
+                    largest.poll();
+                }
+            });
+        }
+
+        BigDecimal net = income.total.subtract(expense.total);
+        report.put("totalIncome", income.total);
+        report.put("totalExpense", expense.total);
+        report.put("net", net);
+        report.put("incomeCount", income.count);
+        report.put("expenseCount", expense.count);
+        report.put("savingsRate", percent(net, income.total));
+
+        List<TypeLine> incomeLines = new ArrayList<>();
+        byIncomeType.forEach((type, totals) ->
+                incomeLines.add(new TypeLine(type, totals.total, totals.count)));
+        report.put("incomeByType", incomeLines);
+
+        report.put("expenseByCategory", categoryLines(byCategory, expense.total));
+
+        List<AccountLine> accountLines = new ArrayList<>();
+        for (AccountFlow flow : byAccount.values()) {
+            accountLines.add(new AccountLine(flow.accountId, flow.accountName,
+                    flow.income.total, flow.expense.total,
+                    flow.income.total.subtract(flow.expense.total)));
+        }
+        report.put("byAccount", accountLines);
+
+        List<ExpenseLine> largestLines = new ArrayList<>();
+        for (ExpenseDTO e : largest) {
+            largestLines.add(new ExpenseLine(e.getExpenseId(), e.getDateSpent(),
+                    orZero(e.getAmount()), e.getDescription(),
+                    e.getCategoryName()));
+        }
+        largestLines.sort(Comparator.comparing(ExpenseLine::amount).reversed());
+        report.put("largestExpenses", largestLines);
+    }
+
+    // =================== CATEGORY BREAKDOWN ===================
+    private void categoryBreakdown(Map<String, Object> report, Integer userId,
+                                   LocalDate from, LocalDate to,
+                                   CurrencyService.Converter converter) {
+
+        Totals expense = new Totals();
+        Map<Integer, CategoryTotals> byCategory = new HashMap<>();
+
+        try (Stream<ExpenseDTO> expenses = expenseRepository
+                .streamByUserId(userId, from, to, null, null)) {
+            expenses.forEach(e -> {
+                BigDecimal amount = converter.apply(e.getCurrency(),
+                        e.getDateSpent(), orZero(e.getAmount()));
+                expense.add(amount);
+                addToCategory(byCategory, e, amount);
+            });
+        }
+
+        report.put("totalExpense", expense.total);
+        report.put("expenseCount", expense.count);
+        report.put("categories", categoryLines(byCategory, expense.total));
+    }
+
+    // =================== CASH FLOW ===================
+    private void cashFlow(Map<String, Object> report, Integer userId,
+                          LocalDate from, LocalDate to,
+                          CurrencyService.Converter converter) {
+
+        // Every month of the period, including empty ones
+        Map<YearMonth, MonthFlow> months = new TreeMap<>();
+        for (YearMonth month = YearMonth.from(from);
+             !month.isAfter(YearMonth.from(to)); month = month.plusMonths(1)) {
+            months.put(month, new MonthFlow());
+        }
+
+        try (Stream<IncomeDTO> incomes =
+                     incomeRepository.streamByUserId(userId, from, to, null)) {
+            incomes.forEach(i -> months.get(YearMonth.from(i.getDateReceived()))
+                    .income.add(converter.apply(i.getCurrency(),
+                            i.getDateReceived(), orZero(i.getAmount()))));
+        }
+        try (Stream<ExpenseDTO> expenses = expenseRepository
+                .streamByUserId(userId, from, to, null, null)) {
+            expenses.forEach(e -> months.get(YearMonth.from(e.getDateSpent()))
+                    .expense.add(converter.apply(e.getCurrency(),
+                            e.getDateSpent(), orZero(e.getAmount()))));
+        }
+
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        List<MonthLine> lines = new ArrayList<>();
+        for (Map.Entry<YearMonth, MonthFlow> entry : months.entrySet()) {
+            MonthFlow flow = entry.getValue();
+            totalIncome = totalIncome.add(flow.income.total);
+            totalExpense = totalExpense.add(flow.expense.total);
+            lines.add(new MonthLine(entry.getKey().toString(),
+                    flow.income.total, flow.expense.total,
+                    flow.income.total.subtract(flow.expense.total),
+                    totalIncome.subtract(totalExpense)));
+        }
+
+        report.put("totalIncome", totalIncome);
+        report.put("totalExpense", totalExpense);
+        report.put("net", totalIncome.subtract(totalExpense));
+        report.put("averageMonthlyNet", totalIncome.subtract(totalExpense)
+                .divide(BigDecimal.valueOf(lines.size()), 2, RoundingMode.HALF_UP));
+        report.put("months", lines);
+    }
+
+    // =================== GOAL PROGRESS ===================
+    private void goalProgress(Map<String, Object> report, Integer userId,
+                              LocalDate asOf) {
+
+        BigDecimal totalTarget = BigDecimal.ZERO;
+        BigDecimal totalSaved = BigDecimal.ZERO;
+        List<GoalLine> lines = new ArrayList<>();
+
+        for (GoalDTO goal : goalRepository.findDtosByUserId(userId)) {
+            BigDecimal target = orZero(goal.getTargetAmount());
+            BigDecimal saved = orZero(goal.getCurrentAmount());
+            BigDecimal remaining = target.subtract(saved).max(BigDecimal.ZERO);
+
+            // Whole or part months left until the target date
+            Long monthsLeft = null;
+            BigDecimal requiredMonthly = null;
+            if (goal.getTargetDate() != null) {
+                long months = ChronoUnit.MONTHS.between(asOf, goal.getTargetDate());
+                if (asOf.plusMonths(months).isBefore(goal.getTargetDate())) {
+                    months++;
+                }
+                monthsLeft = Math.max(months, 0);
+                requiredMonthly = remaining.divide(
+                        BigDecimal.valueOf(Math.max(monthsLeft, 1)),
+                        2, RoundingMode.HALF_UP);
+            }
+
+            totalTarget = totalTarget.add(target);
+            totalSaved = totalSaved.add(saved.min(target));
+            lines.add(new GoalLine(goal.getGoalId(), goal.getGoalName(),
+                    goal.getStatus(), target, saved, remaining,
+                    percent(saved, target), goal.getTargetDate(),
+                    monthsLeft, requiredMonthly));
+        }
+
+        report.put("asOf", asOf);
+        report.put("totalTarget", totalTarget);
+        report.put("totalSaved", totalSaved);
+        report.put("percentComplete", percent(totalSaved, totalTarget));
+        report.put("goals", lines);
+    }
+
+    // =================== HELPERS ===================
+    private static void addToCategory(Map<Integer, CategoryTotals> byCategory,
+                                      ExpenseDTO e, BigDecimal amount) {
+        CategoryTotals totals = byCategory.computeIfAbsent(e.getCategoryId(),
+                id -> new CategoryTotals(id, id != null
+                        ? e.getCategoryName()
+                        : "Uncategorized"));
+        totals.add(amount);
+        totals.largest = totals.largest.max(amount);
+    }
+
+    // Largest category first
+    private static List<CategoryLine> categoryLines(
+            Map<Integer, CategoryTotals> byCategory, BigDecimal overall) {
+        List<CategoryLine> lines = new ArrayList<>();
+        for (CategoryTotals totals : byCategory.values()) {
+            lines.add(new CategoryLine(totals.categoryId, totals.categoryName,
+                    totals.total, totals.count,
+                    totals.total.divide(BigDecimal.valueOf(totals.count),
+                            2, RoundingMode.HALF_UP),
+                    totals.largest, percent(totals.total, overall)));
+        }
+        lines.sort(Comparator.comparing(CategoryLine::total).reversed());
+        return lines;
+    }
+
+    // Null when the base is zero
+    private static BigDecimal percent(BigDecimal part, BigDecimal base) {
+        return base.signum() == 0
+                ? null
+                : part.multiply(HUNDRED).divide(base, 2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal orZero(BigDecimal amount) {
+        return amount != null ? amount : BigDecimal.ZERO;
+    }
+
+    private static class Totals {
+        BigDecimal total = BigDecimal.ZERO;
+        long count;
+
+        void add(BigDecimal amount) {
+            total = total.add(amount);
+            count++;
+        }
+    }
+
+    private static class CategoryTotals extends Totals {
+        final Integer categoryId;
+        final String categoryName;
+        BigDecimal largest = BigDecimal.ZERO;
+
+        CategoryTotals(Integer categoryId, String categoryName) {
+            this.categoryId = categoryId;
+            this.categoryName = categoryName;
+        }
+    }
+
+    private static class AccountFlow {
+        final Integer accountId;
+        final String accountName;
+        final Totals income = new Totals();
+        final Totals expense = new Totals();
+
+        AccountFlow(Integer accountId, String accountName) {
+            this.accountId = accountId;
+            this.accountName = accountName;
+        }
+    }
+
+    private static class MonthFlow {
+        final Totals income = new Totals();
+        final Totals expense = new Totals();
+    }
+
+    // Rows of the JSON output
+    record TypeLine(String incomeType, BigDecimal total, long count) {
+    }
+
+    record CategoryLine(Integer categoryId, String categoryName,
+                        BigDecimal total, long count, BigDecimal average,
+                        BigDecimal largest, BigDecimal share) {
+    }
+
+    record AccountLine(Integer accountId, String accountName,
+                       BigDecimal income, BigDecimal expense, BigDecimal net) {
+    }
+
+    record ExpenseLine(Integer expenseId, LocalDate dateSpent, BigDecimal amount,
+                       String description, String categoryName) {
+    }
+
+    record MonthLine(String month, BigDecimal income, BigDecimal expense,
+                     BigDecimal net, BigDecimal cumulativeNet) {
+    }
+
+    record GoalLine(Integer goalId, String goalName, String status,
+                    BigDecimal targetAmount, BigDecimal currentAmount,
+                    BigDecimal remaining, BigDecimal percentComplete,
+                    LocalDate targetDate, Long monthsLeft,
+                    BigDecimal requiredMonthly) {
+    }
+}
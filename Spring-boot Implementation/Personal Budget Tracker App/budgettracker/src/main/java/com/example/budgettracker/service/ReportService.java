@@ -1,29 +1,87 @@
 package com.example.budgettracker.service;
 
+import com.example.budgettracker.dto.CacheStatsDTO;
+import com.example.budgettracker.dto.ReportDTO;
 import com.example.budgettracker.model.Report;
+import com.example.budgettracker.model.User;
 import com.example.budgettracker.repository.ReportRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.stereotype.Service;
-import java.util.List;
+import com.example.budgettracker.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Stores reports and generates their content.
+ *
+ * A generation request saves a PENDING report and returns straight
+ * away; the content is computed by {@link ReportGenerator} on the
+ * bounded report executor and written into {@link Report#getData()},
+ * moving the report to COMPLETED (or FAILED). Clients poll the status.
+ * Content already computed for the same user, type and period, with no
+ * change to the user's data since, is taken from {@link ReportCache}
+ * and the report completes immediately.
+ */
+@Slf4j
 @Service
 public class ReportService {
 
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    // Longest period one report may cover
+    static final int MAX_PERIOD_MONTHS = 120;
+
     @Autowired
     private ReportRepository reportRepository;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReportGenerator reportGenerator;
+
+    @Autowired
+    private ReportCache reportCache;
+
+    @Autowired
+    private ThreadPoolTaskExecutor reportExecutor;
+
     public List<Report> getAllReports() {
         return reportRepository.findAll();
     }
 
-    public List<Report> getReportsByUserId(Integer userId) {
-        return reportRepository.findByUserUserId(userId);
+    public Optional<Report> getReportById(Integer id) {
+        return reportRepository.findById(id);
+    }
+
+    public List<ReportDTO> getReportsByUserId(Integer userId) {
+        return reportRepository.findDtosByUserId(userId);
+    }
+
+    public ReportDTO getReportStatus(Integer id) {
+        return reportRepository.findDtoById(id)
+                .orElseThrow(() -> new RuntimeException(
+                        "Report not found with ID: " + id
+                ));
     }
 
+    // Client-supplied content is stored as-is
     public Report createReport(Report report) {
+        if (report.getStatus() == null) {
+            report.setStatus(STATUS_COMPLETED);
+        }
         return reportRepository.save(report);
     }
 
@@ -33,4 +91,110 @@ public class ReportService {
         }
         reportRepository.deleteById(id);
     }
-}
\ No newline at end of file
+
+    // =================== GENERATE ===================
+    /**
+     * Queues generation of a report over [from, to] and returns its
+     * status. The report is committed before it is handed to the
+     * executor, so the worker always finds it.
+     */
+    public ReportDTO generateReport(Integer userId, String reportType,
+                                    LocalDate from, LocalDate to) {
+
+        String type = reportType == null ? "" : reportType.trim().toUpperCase();
+        if (!ReportGenerator.REPORT_TYPES.contains(type)) {
+            throw new IllegalArgumentException(
+                    "Report type must be one of " + ReportGenerator.REPORT_TYPES);
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.MONTHS.between(from, to) >= MAX_PERIOD_MONTHS) {
+            throw new IllegalArgumentException(
+                    "Period too long, max " + MAX_PERIOD_MONTHS + " months");
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException(
+                        "User not found with ID: " + userId
+                ));
+
+        // Stamp first: content cached under it reflects current data
+        ReportCache.Key key = new ReportCache.Key(userId, type, from, to,
+                reportCache.stamp(userId));
+        String cached = reportCache.get(key);
+
+        Report report = new Report();
+        report.setUser(user);
+        report.setReportType(type);
+        report.setPeriodStart(from);
+        report.setPeriodEnd(to);
+        if (cached != null) {
+            report.setData(cached);
+            report.setStatus(STATUS_COMPLETED);
+            report.setCompletedAt(LocalDateTime.now());
+            return toDto(reportRepository.save(report));
+        }
+
+        report.setStatus(STATUS_PENDING);
+        Report saved = reportRepository.save(report);
+        try {
+            reportExecutor.execute(() -> run(saved.getReportId(), key));
+        } catch (TaskRejectedException e) {
+            saved.setStatus(STATUS_FAILED);
+            saved.setErrorMessage("Too many reports in progress, try again later");
+            saved.setCompletedAt(LocalDateTime.now());
+            reportRepository.markFailed(saved.getReportId(),
+                    saved.getErrorMessage(), saved.getCompletedAt());
+        }
+        return toDto(saved);
+    }
+
+    // Runs on the report executor
+    private void run(Integer reportId, ReportCache.Key key) {
+        if (reportRepository.markRunning(reportId) == 0) {
+            return;
+        }
+        try {
+            // An identical report may have finished while this one waited
+            String data = reportCache.get(key);
+            if (data == null) {
+                data = reportGenerator.generate(key.userId(), key.reportType(),
+                        key.periodStart(), key.periodEnd());
+                reportCache.put(key, data);
+            }
+            reportRepository.markCompleted(reportId, data, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.error("Report {} failed", reportId, e);
+            reportRepository.markFailed(reportId,
+                    truncate(String.valueOf(e.getMessage())),
+                    LocalDateTime.now());
+        }
+    }
+
+    // Queued work does not survive a restart
+    @EventListener(ApplicationReadyEvent.class)
+    public void failUnfinishedReports() {
+        int failed = reportRepository.markUnfinishedFailed(
+                "Interrupted by a restart, generate the report again",
+                LocalDateTime.now());
+        if (failed > 0) {
+            log.warn("Marked {} unfinished reports as failed", failed);
+        }
+    }
+
+    public CacheStatsDTO getCacheStats() {
+        return reportCache.getStats();
+    }
+
+    private static ReportDTO toDto(Report report) {
+        return new ReportDTO(report.getReportId(), report.getReportType(),
+                report.getGeneratedAt(), report.getStatus(),
+                report.getPeriodStart(), report.getPeriodEnd(),
+                report.getCompletedAt(), report.getErrorMessage());
+    }
+
+    private static String truncate(String message) {
+        return message.length() > 255 ? message.substring(0, 255) : message;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.budgettracker.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects count / mean / M2 of expense amounts per (user, category) for
+ * the bulk paths and rebuilds, so the running statistics get one merge
+ * per category rather than one per row.
+ */
+class SpendStatsBatch {
+
+    private final Map<StatsKey, double[]> stats = new HashMap<>();
+
+    // Welford's update; values are {count, mean, m2}
+    void add(Integer userId, Integer categoryId, BigDecimal amount) {
+        if (userId == null || categoryId == null || amount == null) {
+            return;
+        }
+        double x = amount.doubleValue();
+        double[] s = stats.computeIfAbsent(new StatsKey(userId, categoryId),
+                key -> new double[3]);
+        s[0]++;
+        double delta = x - s[1];
+        s[1] += delta / s[0];
+        s[2] += delta * (x - s[1]);
+    }
+
+    // Chan's parallel merge of an already aggregated group
+    void merge(Integer userId, Integer categoryId,
+               int count, double mean, double m2) {
+        if (userId == null || categoryId == null || count <= 0) {
+            return;
+        }
+        double[] s = stats.computeIfAbsent(new StatsKey(userId, categoryId),
+                key -> new double[3]);
+        double total = s[0] + count;
+        double delta = mean - s[1];
+        s[2] += m2 + delta * delta * s[0] * count / total;
+        s[1] += delta * count / total;
+        s[0] = total;
+    }
+
+    List<Group> groups() {
+        List<Group> groups = new ArrayList<>(stats.size());
+        stats.forEach((key, s) -> groups.add(new Group(
+                key.userId(), key.categoryId(), (int) s[0], s[1], s[2])));
+        return groups;
+    }
+
+    record Group(Integer userId, Integer categoryId,
+                 int count, double mean, double m2) {
+    }
+
+    private record StatsKey(Integer userId, Integer categoryId) {
+    }
+}
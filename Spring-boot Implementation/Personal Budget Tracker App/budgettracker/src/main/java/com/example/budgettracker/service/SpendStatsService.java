@@ -0,0 +1,138 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.model.CategorySpendStats;
+import com.example.budgettracker.repository.CategorySpendStatsRepository;
+import com.example.budgettracker.repository.ExpenseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Keeps the running count / mean / M2 of each user's expense amounts per
+ * category, in the user's reporting currency, that
+ * {@link ExpenseAnomalyService} scores new expenses against. Every
+ * change is one upsert on the (user, category) row: adding an amount is
+ * Welford's update, a batch is merged with Chan's formula and a removed
+ * amount is Welford in reverse. Expenses without a category are not
+ * tracked.
+ */
+@Service
+public class SpendStatsService {
+
+    @Autowired
+    private CategorySpendStatsRepository categorySpendStatsRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    public Optional<CategorySpendStats> find(Integer userId, Integer categoryId) {
+        if (userId == null || categoryId == null) {
+            return Optional.empty();
+        }
+        return categorySpendStatsRepository
+                .findByUserIdAndCategoryId(userId, categoryId);
+    }
+
+    public void add(Integer userId, Integer categoryId, BigDecimal amount) {
+        if (userId != null && categoryId != null && amount != null) {
+            categorySpendStatsRepository.addSamples(
+                    userId, categoryId, 1, amount.doubleValue(), 0);
+        }
+    }
+
+    public void remove(Integer userId, Integer categoryId, BigDecimal amount) {
+        if (userId != null && categoryId != null && amount != null) {
+            categorySpendStatsRepository.removeSample(
+                    userId, categoryId, amount.doubleValue());
+        }
+    }
+
+    void add(SpendStatsBatch batch) {
+        for (SpendStatsBatch.Group group : batch.groups()) {
+            categorySpendStatsRepository.addSamples(group.userId(),
+                    group.categoryId(), group.count(), group.mean(), group.m2());
+        }
+    }
+
+    // =================== REBUILD ===================
+    @Transactional
+    public void rebuild(Integer userId) {
+        categorySpendStatsRepository.deleteByUserId(userId);
+        add(computeActual(userId));
+    }
+
+    /**
+     * Compares the user's statistics with the expense table without
+     * changing them, one line per category and figure that differs; a
+     * missing row counts as no samples. Means and M2 are compared to a
+     * relative tolerance since the running values are accumulated in
+     * floating point.
+     */
+    public List<String> findDrift(Integer userId) {
+        Map<Integer, SpendStatsBatch.Group> stored = new TreeMap<>();
+        for (CategorySpendStats stats
+                : categorySpendStatsRepository.findByUserId(userId)) {
+            stored.put(stats.getCategoryId(), new SpendStatsBatch.Group(userId,
+                    stats.getCategoryId(), stats.getSampleCount(),
+                    stats.getMean(), stats.getM2()));
+        }
+        Map<Integer, SpendStatsBatch.Group> actual = new TreeMap<>();
+        for (SpendStatsBatch.Group group : computeActual(userId).groups()) {
+            actual.put(group.categoryId(), group);
+        }
+
+        Set<Integer> categoryIds = new TreeSet<>(stored.keySet());
+        categoryIds.addAll(actual.keySet());
+        List<String> mismatches = new ArrayList<>();
+        for (Integer categoryId : categoryIds) {
+            SpendStatsBatch.Group none = new SpendStatsBatch.Group(
+                    userId, categoryId, 0, 0, 0);
+            SpendStatsBatch.Group was = stored.getOrDefault(categoryId, none);
+            SpendStatsBatch.Group is = actual.getOrDefault(categoryId, none);
+            String field = "spendStats[" + categoryId + "]";
+            Drift.compare(mismatches, field + ".count", was.count(), is.count());
+            Drift.compareApproximately(mismatches, field + ".mean", was.mean(), is.mean());
+            Drift.compareApproximately(mismatches, field + ".m2", was.m2(), is.m2());
+        }
+        return mismatches;
+    }
+
+    /*
+     * A user's statistics from the expense table: one grouped aggregate
+     * over the rows already in the reporting currency, then the other rows
+     * converted one by one, as the write paths do, and merged in.
+     */
+    private SpendStatsBatch computeActual(Integer userId) {
+        SpendStatsBatch batch = new SpendStatsBatch();
+        CurrencyService.Converter converter = currencyService.converter(userId);
+        for (Object[] row : expenseRepository.getAmountStatsByCategoryIdForUser(
+                userId, converter.getCurrency())) {
+            int count = ((Number) row[1]).intValue();
+            double mean = ((Number) row[2]).doubleValue();
+            double variance = row[3] != null ? ((Number) row[3]).doubleValue() : 0;
+            batch.merge(userId, ((Number) row[0]).intValue(),
+                    count, mean, variance * count);
+        }
+
+        for (Object[] row : expenseRepository
+                .findForeignAmounts(userId, converter.getCurrency())) {
+            BigDecimal amount = (BigDecimal) row[3];
+            batch.add(userId, (Integer) row[0], converter.apply(
+                    (String) row[1], (LocalDate) row[2], amount));
+        }
+        return batch;
+    }
+}
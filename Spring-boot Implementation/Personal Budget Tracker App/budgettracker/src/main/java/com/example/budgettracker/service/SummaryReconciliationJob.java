@@ -0,0 +1,61 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.SummaryDriftDTO;
+import com.example.budgettracker.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Periodically checks every user's summary and rollups against the raw
+ * tables, rebuilding whichever drifted (or creating the summary for
+ * users who have none yet) and logging the drift found along the way.
+ */
+@Slf4j
+@Component
+public class SummaryReconciliationJob {
+
+    private static final int PAGE_SIZE = 500;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Scheduled(cron = "${budgettracker.summary.reconcile-cron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        List<SummaryDriftDTO> drifts = reconcileAll();
+        log.info("Summary reconciliation finished, {} user(s) drifted",
+                drifts.size());
+    }
+
+    public List<SummaryDriftDTO> reconcileAll() {
+
+        List<SummaryDriftDTO> drifts = new ArrayList<>();
+        int page = 0;
+        List<Integer> userIds;
+
+        do {
+            userIds = userRepository
+                    .findUserIds(PageRequest.of(page++, PAGE_SIZE));
+
+            // Each user is reconciled in its own transaction
+            for (Integer userId : userIds) {
+                SummaryDriftDTO drift = userSummaryService.reconcile(userId);
+                if (!drift.getMismatches().isEmpty()) {
+                    log.warn("Summary drift for user {}: {}",
+                            userId, drift.getMismatches());
+                    drifts.add(drift);
+                }
+            }
+        } while (userIds.size() == PAGE_SIZE);
+
+        return drifts;
+    }
+}
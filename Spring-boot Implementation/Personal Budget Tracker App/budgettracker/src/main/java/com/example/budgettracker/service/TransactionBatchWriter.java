@@ -0,0 +1,149 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.model.Expense;
+import com.example.budgettracker.model.Income;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC batch writes for the bulk paths (recurring posting, CSV
+ * import, budget alerts) that insert far too many rows to go through
+ * JPA one by one. Callers apply the matching summary, monthly spend and
+ * daily total increments.
+ *
+ * Expense rows are {user_id, account_id, category_id, amount,
+ * description, date_spent, payment_method, currency}; income rows are
+ * {user_id, account_id, amount, income_type, description, date_received,
+ * is_recurring, currency}. Dates are java.sql.Date.
+ *
+ * Expense and income ids are drawn from the same pooled generators JPA
+ * uses, so the two write paths can never hand out the same id.
+ */
+@Component
+public class TransactionBatchWriter {
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_EXPENSE_SQL =
+            "INSERT INTO expense (expense_id, user_id, account_id, " +
+            "category_id, amount, description, date_spent, payment_method, " +
+            "currency) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int[] INSERT_EXPENSE_TYPES = {
+            Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.INTEGER,
+            Types.DECIMAL, Types.VARCHAR, Types.DATE, Types.VARCHAR,
+            Types.VARCHAR
+    };
+
+    private static final String INSERT_INCOME_SQL =
+            "INSERT INTO income (income_id, user_id, account_id, amount, " +
+            "income_type, description, date_received, is_recurring, " +
+            "currency) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int[] INSERT_INCOME_TYPES = {
+            Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.DECIMAL,
+            Types.VARCHAR, Types.VARCHAR, Types.DATE, Types.BOOLEAN,
+            Types.VARCHAR
+    };
+
+    private static final String ADD_BALANCE_SQL =
+            "UPDATE account SET current_balance = " +
+            "COALESCE(current_balance, 0) + ? WHERE account_id = ?";
+
+    private static final int[] ADD_BALANCE_TYPES = {
+            Types.DECIMAL, Types.INTEGER
+    };
+
+    private static final String ADD_DAILY_TOTAL_SQL =
+            "INSERT INTO daily_total " +
+            "(user_id, total_date, income_total, expense_total) " +
+            "VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "income_total = income_total + VALUES(income_total), " +
+            "expense_total = expense_total + VALUES(expense_total)";
+
+    private static final int[] ADD_DAILY_TOTAL_TYPES = {
+            Types.INTEGER, Types.DATE, Types.DECIMAL, Types.DECIMAL
+    };
+
+    private static final String INSERT_ALERT_SQL =
+            "INSERT INTO alert (user_id, alert_type, message, created_at, " +
+            "is_read) VALUES (?, ?, ?, ?, ?)";
+
+    private static final int[] INSERT_ALERT_TYPES = {
+            Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP,
+            Types.BOOLEAN
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public void insertExpenses(List<Object[]> rows) {
+        batchUpdate(INSERT_EXPENSE_SQL, withIds(Expense.class, rows),
+                INSERT_EXPENSE_TYPES);
+    }
+
+    public void insertIncomes(List<Object[]> rows) {
+        batchUpdate(INSERT_INCOME_SQL, withIds(Income.class, rows),
+                INSERT_INCOME_TYPES);
+    }
+
+    // Rows are {user_id, alert_type, message, created_at, is_read}
+    public void insertAlerts(List<Object[]> rows) {
+        batchUpdate(INSERT_ALERT_SQL, rows, INSERT_ALERT_TYPES);
+    }
+
+    // One atomic UPDATE per account, whatever the number of rows behind it
+    public void addBalances(Map<Integer, BigDecimal> deltas) {
+        List<Object[]> rows = new ArrayList<>();
+        deltas.forEach((accountId, delta) -> {
+            if (delta.signum() != 0) {
+                rows.add(new Object[]{delta, accountId});
+            }
+        });
+        batchUpdate(ADD_BALANCE_SQL, rows, ADD_BALANCE_TYPES);
+    }
+
+    void addDailyTotals(DailyTotalBatch totals) {
+        batchUpdate(ADD_DAILY_TOTAL_SQL, totals.rows(), ADD_DAILY_TOTAL_TYPES);
+    }
+
+    // Prepends a generated id to each row. Must run inside a transaction
+    private List<Object[]> withIds(Class<?> entityType, List<Object[]> rows) {
+        SharedSessionContractImplementor session =
+                entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session
+                .getFactory().getMappingMetamodel()
+                .getEntityDescriptor(entityType).getGenerator();
+
+        List<Object[]> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Object[] withId = new Object[row.length + 1];
+            withId[0] = generator.generate(session, null);
+            System.arraycopy(row, 0, withId, 1, row.length);
+            result.add(withId);
+        }
+        return result;
+    }
+
+    public void batchUpdate(String sql, List<Object[]> rows, int[] types) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from,
+                    Math.min(from + BATCH_SIZE, rows.size())), types);
+        }
+    }
+}
@@ -1,4 +1,5 @@
 package com.example.budgettracker.service;
+import com.example.budgettracker.dto.TransferDTO;
 import com.example.budgettracker.model.Account;
 import com.example.budgettracker.model.Transfer;
 import com.example.budgettracker.repository.AccountRepository;
@@ -11,18 +12,39 @@ import java.util.List;
 import java.util.Optional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class TransferService {
 
+    // Owners' summary rows are written in user id order, as account rows
+    // are locked in account id order, so that transfers between two users
+    // in opposite directions cannot deadlock on the summaries
+    private static final Comparator<Account> OWNER_ORDER = Comparator
+            .comparing(TransferService::ownerIdOf,
+                    Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Account::getAccountId);
+
     @Autowired
     private TransferRepository transferRepository;
 
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private AccountBalanceService accountBalanceService;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
     public List<Transfer> getAllTransfers() {
         return transferRepository.findAll();
     }
@@ -31,8 +53,8 @@ public class TransferService {
         return transferRepository.findById(id);
     }
 
-    public List<Transfer> getTransfersByUserId(Integer userId) {
-        return transferRepository.findByUserId(userId);
+    public List<TransferDTO> getTransfersByUserId(Integer userId) {
+        return transferRepository.findDtosByUserId(userId);
     }
 
     @Transactional
@@ -67,33 +89,18 @@ public class TransferService {
                         "Destination account not found"
                 ));
 
-        BigDecimal fromBalance = fromAccount.getCurrentBalance() != null
-                ? fromAccount.getCurrentBalance()
-                : BigDecimal.ZERO;
-
-        BigDecimal toBalance = toAccount.getCurrentBalance() != null
-                ? toAccount.getCurrentBalance()
-                : BigDecimal.ZERO;
+        requireSameCurrency(fromAccount, toAccount);
 
-        // Check sufficient balance
-        if (fromBalance.compareTo(transfer.getAmount()) < 0) {
-            throw new RuntimeException(
-                    "Insufficient balance in source account. Available: "
-                            + fromBalance
-            );
-        }
+        // Accounts, then owners' summaries, as every transfer path does
+        accountBalanceService.lockInOrder(fromAccount, toAccount);
+        ensureSummaries(fromAccount, toAccount);
 
-        // Deduct from source
-        fromAccount.setCurrentBalance(
-                fromBalance.subtract(transfer.getAmount())
-        );
-        accountRepository.save(fromAccount);
+        // Debit (with the funds check) and credit in account id order
+        accountBalanceService.transfer(
+                fromAccount, toAccount, transfer.getAmount());
 
-        // Add to destination
-        toAccount.setCurrentBalance(
-                toBalance.add(transfer.getAmount())
-        );
-        accountRepository.save(toAccount);
+        recordBalanceChanges(fromAccount, transfer.getAmount().negate(),
+                toAccount, transfer.getAmount());
 
         // Set fresh references
         transfer.setFromAccount(fromAccount);
@@ -102,6 +109,94 @@ public class TransferService {
         return transferRepository.save(transfer);
     }
 
+    /**
+     * Creates many transfers in one transaction. Every account involved
+     * is locked up front in id order, then each transfer is funds-checked
+     * in list order exactly as separate requests would be; one shortfall
+     * rolls back the whole batch. The rows are saved with saveAll and
+     * flushed as JDBC batches.
+     */
+    @Transactional
+    public List<Transfer> createTransfers(List<Transfer> transfers) {
+
+        // Validate and collect the accounts
+        Set<Integer> accountIds = new HashSet<>();
+        for (Transfer transfer : transfers) {
+            if (transfer.getAmount() == null
+                    || transfer.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
+                throw new IllegalArgumentException(
+                        "Transfer amount must be positive"
+                );
+            }
+            if (transfer.getFromAccount() == null
+                    || transfer.getToAccount() == null) {
+                throw new IllegalArgumentException(
+                        "Source and destination accounts are required"
+                );
+            }
+            if (transfer.getFromAccount().getAccountId()
+                    .equals(transfer.getToAccount().getAccountId())) {
+                throw new IllegalArgumentException(
+                        "Cannot transfer to the same account"
+                );
+            }
+            accountIds.add(transfer.getFromAccount().getAccountId());
+            accountIds.add(transfer.getToAccount().getAccountId());
+        }
+
+        Map<Integer, Account> accounts = new HashMap<>();
+        accountRepository.findAllById(accountIds)
+                .forEach(account -> accounts.put(account.getAccountId(), account));
+        for (Integer accountId : accountIds) {
+            if (!accounts.containsKey(accountId)) {
+                throw new RuntimeException(
+                        "Account not found with ID: " + accountId);
+            }
+        }
+
+        for (Transfer transfer : transfers) {
+            requireSameCurrency(
+                    accounts.get(transfer.getFromAccount().getAccountId()),
+                    accounts.get(transfer.getToAccount().getAccountId()));
+        }
+
+        accountBalanceService.lockInOrder(
+                accounts.values().toArray(new Account[0]));
+        List<Account> byOwner = new ArrayList<>(accounts.values());
+        byOwner.sort(OWNER_ORDER);
+        byOwner.forEach(account ->
+                userSummaryService.ensureSummary(ownerIdOf(account)));
+
+        // Post in order; owner totals are recorded once per account at
+        // the end, as accounts of one owner may be in different currencies
+        Map<Integer, BigDecimal> accountDeltas = new HashMap<>();
+        for (Transfer transfer : transfers) {
+            Account fromAccount = accounts.get(
+                    transfer.getFromAccount().getAccountId());
+            Account toAccount = accounts.get(
+                    transfer.getToAccount().getAccountId());
+
+            accountBalanceService.transfer(
+                    fromAccount, toAccount, transfer.getAmount());
+
+            accountDeltas.merge(fromAccount.getAccountId(),
+                    transfer.getAmount().negate(), BigDecimal::add);
+            accountDeltas.merge(toAccount.getAccountId(),
+                    transfer.getAmount(), BigDecimal::add);
+
+            transfer.setFromAccount(fromAccount);
+            transfer.setToAccount(toAccount);
+        }
+        for (Account account : byOwner) {
+            BigDecimal delta = accountDeltas.get(account.getAccountId());
+            if (delta != null) {
+                userSummaryService.recordBalanceChange(account, delta);
+            }
+        }
+
+        return transferRepository.saveAll(transfers);
+    }
+
     @Transactional
     public void deleteTransfer(Integer id) {
 
@@ -110,18 +205,14 @@ public class TransferService {
                         "Transfer not found with ID: " + id
                 ));
 
-        // Reverse the transfer
-        Account fromAccount = accountRepository
-                .findById(transfer.getFromAccount().getAccountId())
-                .orElseThrow(() -> new RuntimeException(
-                        "Source account not found"
-                ));
+        Account fromAccount = transfer.getFromAccount();
+        Account toAccount = transfer.getToAccount();
 
-        Account toAccount = accountRepository
-                .findById(transfer.getToAccount().getAccountId())
-                .orElseThrow(() -> new RuntimeException(
-                        "Destination account not found"
-                ));
+        // Reverse the transfer. The destination is clamped at zero, which
+        // needs its current balance, so both rows are locked first
+        accountBalanceService.lockInOrder(fromAccount, toAccount);
+
+        ensureSummaries(fromAccount, toAccount);
 
         BigDecimal fromBalance = fromAccount.getCurrentBalance() != null
                 ? fromAccount.getCurrentBalance()
@@ -142,6 +233,59 @@ public class TransferService {
         accountRepository.save(fromAccount);
         accountRepository.save(toAccount);
 
+        // The destination may have been clamped at zero, so record the
+        // balance changes that actually happened
+        recordBalanceChanges(
+                fromAccount, fromAccount.getCurrentBalance().subtract(fromBalance),
+                toAccount, toAccount.getCurrentBalance().subtract(toBalance));
+
         transferRepository.deleteById(id);
     }
+
+    private void recordBalanceChanges(Account fromAccount, BigDecimal fromDelta,
+                                      Account toAccount, BigDecimal toDelta) {
+        Integer fromOwnerId = ownerIdOf(fromAccount);
+        Integer toOwnerId = ownerIdOf(toAccount);
+
+        // Transfers between a user's own accounts leave their total
+        // unchanged; both accounts are in the same currency
+        if (fromOwnerId != null && fromOwnerId.equals(toOwnerId)) {
+            userSummaryService.recordBalanceChange(
+                    fromAccount, fromDelta.add(toDelta));
+            return;
+        }
+        if (OWNER_ORDER.compare(fromAccount, toAccount) <= 0) {
+            userSummaryService.recordBalanceChange(fromAccount, fromDelta);
+            userSummaryService.recordBalanceChange(toAccount, toDelta);
+        } else {
+            userSummaryService.recordBalanceChange(toAccount, toDelta);
+            userSummaryService.recordBalanceChange(fromAccount, fromDelta);
+        }
+    }
+
+    private void ensureSummaries(Account fromAccount, Account toAccount) {
+        if (OWNER_ORDER.compare(fromAccount, toAccount) <= 0) {
+            userSummaryService.ensureSummary(ownerIdOf(fromAccount));
+            userSummaryService.ensureSummary(ownerIdOf(toAccount));
+        } else {
+            userSummaryService.ensureSummary(ownerIdOf(toAccount));
+            userSummaryService.ensureSummary(ownerIdOf(fromAccount));
+        }
+    }
+
+    // A transfer moves the same amount out and in, so there is no rate
+    private void requireSameCurrency(Account fromAccount, Account toAccount) {
+        if (!Objects.equals(fromAccount.getCurrency(), toAccount.getCurrency())) {
+            throw new IllegalArgumentException(
+                    "Cannot transfer between accounts in different " +
+                            "currencies: " + fromAccount.getCurrency()
+                            + " and " + toAccount.getCurrency());
+        }
+    }
+
+    private static Integer ownerIdOf(Account account) {
+        return account.getUser() != null
+                ? account.getUser().getUserId()
+                : null;
+    }
 }
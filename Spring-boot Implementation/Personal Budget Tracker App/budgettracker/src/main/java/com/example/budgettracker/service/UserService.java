@@ -1,14 +1,21 @@
 package com.example.budgettracker.service;
 
 import com.example.budgettracker.model.User;
+import com.example.budgettracker.repository.CategorySpendStatsRepository;
+import com.example.budgettracker.repository.DailyTotalRepository;
+import com.example.budgettracker.repository.MonthlyCategorySpendRepository;
+import com.example.budgettracker.repository.UserCategorySpendRepository;
 import com.example.budgettracker.repository.UserRepository;
+import com.example.budgettracker.repository.UserSummaryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -17,6 +24,33 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserSummaryRepository userSummaryRepository;
+
+    @Autowired
+    private UserCategorySpendRepository userCategorySpendRepository;
+
+    @Autowired
+    private MonthlyCategorySpendRepository monthlyCategorySpendRepository;
+
+    @Autowired
+    private DailyTotalRepository dailyTotalRepository;
+
+    @Autowired
+    private CategorySpendStatsRepository categorySpendStatsRepository;
+
+    @Autowired
+    private CategoryCache categoryCache;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Autowired
+    private ReportCache reportCache;
+
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -33,23 +67,45 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    @Transactional
     public User updateUser(Integer id, User userDetails) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException(
                         "User not found with ID: " + id
                 ));
 
+        boolean currencyChanged = !Objects.equals(
+                user.getCurrencyPreference(),
+                userDetails.getCurrencyPreference());
+
         user.setName(userDetails.getName());
         user.setEmail(userDetails.getEmail());
         user.setCurrencyPreference(userDetails.getCurrencyPreference());
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+
+        // Every rollup is kept in the preferred currency
+        if (currencyChanged) {
+            currencyService.evict(id);
+            userSummaryService.rebuild(id);
+            reportCache.evict(id);
+        }
+        return saved;
     }
 
+    @Transactional
     public void deleteUser(Integer id) {
         if (!userRepository.existsById(id)) {
             throw new RuntimeException("User not found with ID: " + id);
         }
+        userCategorySpendRepository.deleteByUserId(id);
+        monthlyCategorySpendRepository.deleteByUserId(id);
+        dailyTotalRepository.deleteByUserId(id);
+        categorySpendStatsRepository.deleteByUserId(id);
+        if (userSummaryRepository.existsById(id)) {
+            userSummaryRepository.deleteById(id);
+        }
         userRepository.deleteById(id);
+        categoryCache.evict(id);
     }
 }
\ No newline at end of file
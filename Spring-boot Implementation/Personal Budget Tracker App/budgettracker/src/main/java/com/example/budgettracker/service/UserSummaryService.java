@@ -0,0 +1,314 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.dto.SummaryDriftDTO;
+import com.example.budgettracker.model.Account;
+import com.example.budgettracker.model.UserCategorySpend;
+import com.example.budgettracker.model.UserSummary;
+import com.example.budgettracker.repository.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Maintains the per-user {@link UserSummary} and {@link UserCategorySpend}
+ * rows that back the dashboard.
+ *
+ * Write paths call {@link #ensureSummary(Integer)} before touching the raw
+ * tables and then apply their deltas with the record* methods, all inside
+ * the caller's transaction. A user without a summary row gets one rebuilt
+ * from the raw tables on first touch, together with the user's monthly
+ * spend rollup.
+ *
+ * Amounts are in the user's reporting currency (see
+ * {@link CurrencyService}); callers convert income and expense deltas
+ * at the transaction date, balance deltas are converted here.
+ */
+@Service
+public class UserSummaryService {
+
+    @Autowired
+    private UserSummaryRepository userSummaryRepository;
+
+    @Autowired
+    private UserCategorySpendRepository userCategorySpendRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private MonthlySpendService monthlySpendService;
+
+    @Autowired
+    private DailyTotalService dailyTotalService;
+
+    @Autowired
+    private CurrencyService currencyService;
+
+    @Autowired
+    private SpendStatsService spendStatsService;
+
+    // =================== READ ===================
+    @Transactional
+    public UserSummary getSummary(Integer userId) {
+        ensureSummary(userId);
+        return userSummaryRepository.findById(userId).orElseThrow();
+    }
+
+    // Read-only, so it may be served by the replica; never builds a summary
+    @Transactional(readOnly = true)
+    public Optional<UserSummary> findSummary(Integer userId) {
+        return userSummaryRepository.findById(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserCategorySpend> getCategorySpend(Integer userId) {
+        return userCategorySpendRepository.findByUserId(userId);
+    }
+
+    // =================== INCREMENTS ===================
+    // Only the transaction whose insert created the row builds it
+    @Transactional
+    public void ensureSummary(Integer userId) {
+        if (userId != null && !userSummaryRepository.existsById(userId)
+                && userSummaryRepository.insertIfAbsent(userId) == 1) {
+            rebuild(userId);
+        }
+    }
+
+    // The delta is in the account's currency
+    @Transactional
+    public void recordBalanceChange(
+            Integer userId, String currency, BigDecimal delta) {
+        if (userId != null && isNonZero(delta)) {
+            userSummaryRepository.addBalance(userId,
+                    currencyService.balanceToReporting(userId, currency, delta));
+        }
+    }
+
+    @Transactional
+    public void recordBalanceChange(Account account, BigDecimal delta) {
+        recordBalanceChange(account.getUser() != null
+                ? account.getUser().getUserId()
+                : null, account.getCurrency(), delta);
+    }
+
+    @Transactional
+    public void recordIncome(Integer userId, BigDecimal delta) {
+        if (userId != null && isNonZero(delta)) {
+            userSummaryRepository.addIncome(userId, delta);
+        }
+    }
+
+    @Transactional
+    public void recordExpense(
+            Integer userId, Integer categoryId, BigDecimal delta) {
+        if (userId == null || !isNonZero(delta)) {
+            return;
+        }
+        userSummaryRepository.addExpense(userId, delta);
+        if (categoryId != null) {
+            userCategorySpendRepository.addSpend(userId, categoryId, delta);
+        }
+    }
+
+    @Transactional
+    public void recordAccountCount(Integer userId, int delta) {
+        if (userId != null && delta != 0) {
+            userSummaryRepository.addAccountCount(userId, delta);
+        }
+    }
+
+    @Transactional
+    public void recordGoalStatusChange(
+            Integer userId, String oldStatus, String newStatus) {
+        int delta = ("ACTIVE".equals(newStatus) ? 1 : 0)
+                - ("ACTIVE".equals(oldStatus) ? 1 : 0);
+        if (userId != null && delta != 0) {
+            userSummaryRepository.addActiveGoals(userId, delta);
+        }
+    }
+
+    @Transactional
+    public void recordNewUnreadAlerts(Integer userId, long count) {
+        if (userId != null && count != 0) {
+            userSummaryRepository.addUnreadAlerts(userId, count);
+        }
+    }
+
+    @Transactional
+    public void recordAlertReadChange(
+            Integer userId, Boolean oldIsRead, Boolean newIsRead) {
+        long delta = (Boolean.FALSE.equals(newIsRead) ? 1 : 0)
+                - (Boolean.FALSE.equals(oldIsRead) ? 1 : 0);
+        if (userId != null && delta != 0) {
+            userSummaryRepository.addUnreadAlerts(userId, delta);
+        }
+    }
+
+    // =================== REBUILD ===================
+    @Transactional
+    public UserSummary rebuild(Integer userId) {
+        UserSummary summary = rebuildSummary(userId);
+        monthlySpendService.rebuild(userId);
+        dailyTotalService.rebuild(userId);
+        spendStatsService.rebuild(userId);
+        return summary;
+    }
+
+    // The summary row and the per-category totals, without the rollups
+    private UserSummary rebuildSummary(Integer userId) {
+
+        // Created through the insert, never by save, so a concurrent
+        // first build waits here instead of failing on the primary key
+        userSummaryRepository.insertIfAbsent(userId);
+        UserSummary summary = userSummaryRepository.findById(userId)
+                .orElseThrow();
+        copyActuals(summary, computeActual(userId));
+        summary.setRebuiltAt(LocalDateTime.now());
+
+        userCategorySpendRepository.deleteByUserId(userId);
+        for (Map.Entry<Integer, BigDecimal> entry
+                : computeActualCategorySpend(userId).entrySet()) {
+            userCategorySpendRepository
+                    .addSpend(userId, entry.getKey(), entry.getValue());
+        }
+        return userSummaryRepository.save(summary);
+    }
+
+    /**
+     * Compares the stored summary and each rollup for a user against the
+     * raw tables, rebuilds only the ones that differ and reports what
+     * differed.
+     */
+    @Transactional
+    public SummaryDriftDTO reconcile(Integer userId) {
+
+        List<String> mismatches = new ArrayList<>();
+        UserSummary actual = computeActual(userId);
+        Optional<UserSummary> stored = userSummaryRepository.findById(userId);
+
+        if (stored.isEmpty()) {
+            mismatches.add("summary row missing");
+        } else {
+            UserSummary s = stored.get();
+            Drift.compare(mismatches, "totalBalance",
+                    s.getTotalBalance(), actual.getTotalBalance());
+            Drift.compare(mismatches, "totalIncome",
+                    s.getTotalIncome(), actual.getTotalIncome());
+            Drift.compare(mismatches, "totalExpense",
+                    s.getTotalExpense(), actual.getTotalExpense());
+            Drift.compare(mismatches, "accountCount",
+                    s.getAccountCount(), actual.getAccountCount());
+            Drift.compare(mismatches, "activeGoals",
+                    s.getActiveGoals(), actual.getActiveGoals());
+            Drift.compare(mismatches, "unreadAlerts",
+                    s.getUnreadAlerts(), actual.getUnreadAlerts());
+        }
+
+        Map<Integer, BigDecimal> storedSpend = new HashMap<>();
+        for (UserCategorySpend spend : getCategorySpend(userId)) {
+            if (spend.getCategory() != null) {
+                storedSpend.put(spend.getCategory().getCategoryId(),
+                        spend.getTotalSpent());
+            }
+        }
+        Map<Integer, BigDecimal> actualSpend = computeActualCategorySpend(userId);
+        Set<Integer> categoryIds = new TreeSet<>(storedSpend.keySet());
+        categoryIds.addAll(actualSpend.keySet());
+        for (Integer categoryId : categoryIds) {
+            Drift.compare(mismatches, "category[" + categoryId + "]",
+                    storedSpend.getOrDefault(categoryId, BigDecimal.ZERO),
+                    actualSpend.getOrDefault(categoryId, BigDecimal.ZERO));
+        }
+
+        if (!mismatches.isEmpty()) {
+            rebuildSummary(userId);
+        }
+
+        List<String> monthlyDrift = monthlySpendService.findDrift(userId);
+        if (!monthlyDrift.isEmpty()) {
+            monthlySpendService.rebuild(userId);
+            mismatches.addAll(monthlyDrift);
+        }
+        List<String> dailyDrift = dailyTotalService.findDrift(userId);
+        if (!dailyDrift.isEmpty()) {
+            dailyTotalService.rebuild(userId);
+            mismatches.addAll(dailyDrift);
+        }
+        List<String> statsDrift = spendStatsService.findDrift(userId);
+        if (!statsDrift.isEmpty()) {
+            spendStatsService.rebuild(userId);
+            mismatches.addAll(statsDrift);
+        }
+        return new SummaryDriftDTO(userId, mismatches);
+    }
+
+    // =================== HELPERS ===================
+    private UserSummary computeActual(Integer userId) {
+        UserSummary actual = new UserSummary();
+        actual.setUserId(userId);
+        actual.setTotalBalance(
+                accountRepository.getTotalBalanceByUserId(userId)
+                        .add(currencyService.balanceAdjustment(userId)));
+        actual.setTotalIncome(
+                incomeRepository.getTotalIncomeByUserId(userId)
+                        .add(CurrencyService.total(
+                                currencyService.incomeAdjustments(userId))));
+        actual.setTotalExpense(
+                expenseRepository.getTotalExpenseByUserId(userId)
+                        .add(CurrencyService.total(
+                                currencyService.expenseAdjustments(userId))));
+        actual.setAccountCount(
+                (int) accountRepository.countByUserUserId(userId));
+        actual.setActiveGoals(
+                (int) goalRepository.countByUserUserIdAndStatus(userId, "ACTIVE"));
+        actual.setUnreadAlerts(
+                alertRepository.countByUserUserIdAndIsRead(userId, false));
+        return actual;
+    }
+
+    private Map<Integer, BigDecimal> computeActualCategorySpend(Integer userId) {
+        Map<Integer, BigDecimal> spend = new HashMap<>();
+        for (Object[] row : expenseRepository
+                .getExpenseByCategoryIdForUser(userId)) {
+            spend.put((Integer) row[0], (BigDecimal) row[1]);
+        }
+        for (CurrencyService.Adjustment adjustment
+                : currencyService.expenseAdjustments(userId)) {
+            if (adjustment.categoryId() != null) {
+                spend.merge(adjustment.categoryId(), adjustment.delta(),
+                        BigDecimal::add);
+            }
+        }
+        return spend;
+    }
+
+    private void copyActuals(UserSummary target, UserSummary actual) {
+        target.setTotalBalance(actual.getTotalBalance());
+        target.setTotalIncome(actual.getTotalIncome());
+        target.setTotalExpense(actual.getTotalExpense());
+        target.setAccountCount(actual.getAccountCount());
+        target.setActiveGoals(actual.getActiveGoals());
+        target.setUnreadAlerts(actual.getUnreadAlerts());
+    }
+
+    private boolean isNonZero(BigDecimal delta) {
+        return delta != null && delta.signum() != 0;
+    }
+}
@@ -0,0 +1,95 @@
+-- What the application added to the schema while it was still managed by
+-- ddl-auto=update, before Flyway: the read models, the budget alert and
+-- report status columns, the recurring transaction's account and
+-- category, and pooled ids. Numbered 1.1 so that databases baselined at
+-- V1 run it before V2.
+--
+-- The read models start empty. A user without a summary row has it and
+-- every rollup rebuilt from the raw tables on first touch, and the
+-- nightly reconciliation does the same for everyone else.
+
+-- Spend per budget now comes from monthly_category_spend
+ALTER TABLE budget DROP COLUMN amount_spent;
+ALTER TABLE budget ADD COLUMN alerted_threshold INT;
+
+-- Reports are generated asynchronously; the existing ones were complete
+-- when they were saved
+ALTER TABLE report
+    ADD COLUMN status        VARCHAR(20),
+    ADD COLUMN period_start  DATE,
+    ADD COLUMN period_end    DATE,
+    ADD COLUMN completed_at  DATETIME(6),
+    ADD COLUMN error_message VARCHAR(255);
+
+UPDATE report SET status = 'COMPLETED', completed_at = generated_at;
+
+-- Rows without an account are deactivated by the posting job
+ALTER TABLE recurring_transaction
+    ADD COLUMN account_id  INT,
+    ADD COLUMN category_id INT,
+    ADD CONSTRAINT fk_recurring_account FOREIGN KEY (account_id) REFERENCES account (account_id),
+    ADD CONSTRAINT fk_recurring_category FOREIGN KEY (category_id) REFERENCES category (category_id);
+
+-- Read models maintained alongside the raw tables
+
+CREATE TABLE user_summary (
+    user_id       INT NOT NULL,
+    total_balance DECIMAL(14, 2),
+    total_income  DECIMAL(14, 2),
+    total_expense DECIMAL(14, 2),
+    account_count INT,
+    active_goals  INT,
+    unread_alerts BIGINT,
+    rebuilt_at    DATETIME(6),
+    PRIMARY KEY (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE user_category_spend (
+    spend_id    INT NOT NULL AUTO_INCREMENT,
+    user_id     INT,
+    category_id INT,
+    total_spent DECIMAL(14, 2),
+    PRIMARY KEY (spend_id),
+    CONSTRAINT uk_user_category_spend UNIQUE (user_id, category_id),
+    CONSTRAINT fk_user_category_spend_category FOREIGN KEY (category_id) REFERENCES category (category_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE monthly_category_spend (
+    monthly_spend_id INT NOT NULL AUTO_INCREMENT,
+    user_id          INT,
+    category_id      INT,
+    month_year       VARCHAR(20),
+    total_spent      DECIMAL(14, 2),
+    PRIMARY KEY (monthly_spend_id),
+    CONSTRAINT uk_monthly_category_spend UNIQUE (user_id, category_id, month_year)
+) ENGINE = InnoDB;
+
+CREATE TABLE daily_total (
+    daily_total_id INT NOT NULL AUTO_INCREMENT,
+    user_id        INT,
+    total_date     DATE,
+    income_total   DECIMAL(14, 2),
+    expense_total  DECIMAL(14, 2),
+    PRIMARY KEY (daily_total_id),
+    CONSTRAINT uk_daily_total UNIQUE (user_id, total_date)
+) ENGINE = InnoDB;
+
+-- Pooled id sequences (see IdSequences); IdSequenceInitializer moves
+-- them past existing ids at startup. The ids were AUTO_INCREMENT before.
+
+ALTER TABLE expense MODIFY expense_id INT NOT NULL;
+ALTER TABLE income MODIFY income_id INT NOT NULL;
+ALTER TABLE transfer MODIFY transfer_id INT NOT NULL;
+ALTER TABLE budget MODIFY budget_id INT NOT NULL;
+
+CREATE TABLE expense_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO expense_seq VALUES (1);
+
+CREATE TABLE income_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO income_seq VALUES (1);
+
+CREATE TABLE transfer_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO transfer_seq VALUES (1);
+
+CREATE TABLE budget_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO budget_seq VALUES (1);
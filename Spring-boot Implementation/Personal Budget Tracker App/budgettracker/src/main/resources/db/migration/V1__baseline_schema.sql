@@ -0,0 +1,136 @@
+-- Schema as ddl-auto=update created it from the original JPA entities.
+-- Databases created by ddl-auto are baselined at this version instead of
+-- running it (spring.flyway.baseline-on-migrate), so everything added
+-- since lives in the later migrations, starting with V1_1.
+
+CREATE TABLE `user` (
+    user_id             INT NOT NULL AUTO_INCREMENT,
+    name                VARCHAR(100),
+    email               VARCHAR(150),
+    password_hash       VARCHAR(255),
+    role                VARCHAR(20),
+    created_at          DATETIME(6),
+    currency_preference VARCHAR(20),
+    PRIMARY KEY (user_id),
+    CONSTRAINT uk_user_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE account (
+    account_id      INT NOT NULL AUTO_INCREMENT,
+    user_id         INT,
+    account_name    VARCHAR(100),
+    account_type    VARCHAR(50),
+    initial_balance DECIMAL(12, 2),
+    current_balance DECIMAL(12, 2),
+    is_active       BIT,
+    PRIMARY KEY (account_id),
+    CONSTRAINT fk_account_user FOREIGN KEY (user_id) REFERENCES `user` (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE category (
+    category_id   INT NOT NULL AUTO_INCREMENT,
+    category_name VARCHAR(100),
+    category_type VARCHAR(50),
+    user_id       INT,
+    is_custom     BIT,
+    PRIMARY KEY (category_id),
+    CONSTRAINT fk_category_user FOREIGN KEY (user_id) REFERENCES `user` (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE expense (
+    expense_id     INT NOT NULL AUTO_INCREMENT,
+    user_id        INT,
+    account_id     INT,
+    category_id    INT,
+    amount         DECIMAL(12, 2),
+    description    VARCHAR(255),
+    date_spent     DATE,
+    payment_method VARCHAR(50),
+    PRIMARY KEY (expense_id),
+    CONSTRAINT fk_expense_user FOREIGN KEY (user_id) REFERENCES `user` (user_id),
+    CONSTRAINT fk_expense_account FOREIGN KEY (account_id) REFERENCES account (account_id),
+    CONSTRAINT fk_expense_category FOREIGN KEY (category_id) REFERENCES category (category_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE income (
+    income_id     INT NOT NULL AUTO_INCREMENT,
+    user_id       INT,
+    account_id    INT,
+    amount        DECIMAL(12, 2),
+    income_type   VARCHAR(50),
+    description   VARCHAR(255),
+    date_received DATE,
+    is_recurring  BIT,
+    PRIMARY KEY (income_id),
+    CONSTRAINT fk_income_user FOREIGN KEY (user_id) REFERENCES `user` (user_id),
+    CONSTRAINT fk_income_account FOREIGN KEY (account_id) REFERENCES account (account_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE transfer (
+    transfer_id     INT NOT NULL AUTO_INCREMENT,
+    from_account_id INT,
+    to_account_id   INT,
+    amount          DECIMAL(12, 2),
+    `date`          DATE,
+    description     VARCHAR(255),
+    PRIMARY KEY (transfer_id),
+    CONSTRAINT fk_transfer_from_account FOREIGN KEY (from_account_id) REFERENCES account (account_id),
+    CONSTRAINT fk_transfer_to_account FOREIGN KEY (to_account_id) REFERENCES account (account_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE budget (
+    budget_id         INT NOT NULL AUTO_INCREMENT,
+    user_id           INT,
+    category_id       INT,
+    month_year        VARCHAR(20),
+    amount_limit      DECIMAL(12, 2),
+    amount_spent      DECIMAL(12, 2),
+    PRIMARY KEY (budget_id),
+    CONSTRAINT fk_budget_user FOREIGN KEY (user_id) REFERENCES `user` (user_id),
+    CONSTRAINT fk_budget_category FOREIGN KEY (category_id) REFERENCES category (category_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE goal (
+    goal_id        INT NOT NULL AUTO_INCREMENT,
+    user_id        INT,
+    goal_name      VARCHAR(100),
+    target_amount  DECIMAL(12, 2),
+    current_amount DECIMAL(12, 2),
+    target_date    DATE,
+    status         VARCHAR(50),
+    PRIMARY KEY (goal_id),
+    CONSTRAINT fk_goal_user FOREIGN KEY (user_id) REFERENCES `user` (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE alert (
+    alert_id   INT NOT NULL AUTO_INCREMENT,
+    user_id    INT,
+    alert_type VARCHAR(50),
+    message    VARCHAR(255),
+    created_at DATETIME(6),
+    is_read    BIT,
+    PRIMARY KEY (alert_id),
+    CONSTRAINT fk_alert_user FOREIGN KEY (user_id) REFERENCES `user` (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE recurring_transaction (
+    recurring_id     INT NOT NULL AUTO_INCREMENT,
+    user_id          INT,
+    transaction_type VARCHAR(50),
+    amount           DECIMAL(12, 2),
+    frequency        VARCHAR(50),
+    next_date        DATE,
+    is_active        BIT,
+    PRIMARY KEY (recurring_id),
+    CONSTRAINT fk_recurring_user FOREIGN KEY (user_id) REFERENCES `user` (user_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE report (
+    report_id    INT NOT NULL AUTO_INCREMENT,
+    user_id      INT,
+    report_type  VARCHAR(50),
+    generated_at DATETIME(6),
+    data         JSON,
+    PRIMARY KEY (report_id),
+    CONSTRAINT fk_report_user FOREIGN KEY (user_id) REFERENCES `user` (user_id)
+) ENGINE = InnoDB;
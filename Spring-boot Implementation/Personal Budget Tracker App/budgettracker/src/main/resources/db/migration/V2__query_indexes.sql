@@ -0,0 +1,28 @@
+-- Composite indexes for the repository queries. InnoDB appends the primary
+-- key to every secondary index, and MySQL already indexes each foreign key
+-- column on its own; these cover the multi-column predicates on top.
+-- QueryPlanTests runs EXPLAIN over every query they serve.
+
+-- Date ranges, totals and newest-first keyset pages per user. The id
+-- follows the date so ORDER BY date, id reads the index backwards, and
+-- the amount makes the SUMs index-only.
+CREATE INDEX idx_expense_user_date ON expense (user_id, date_spent, expense_id, amount);
+CREATE INDEX idx_income_user_date ON income (user_id, date_received, income_id, amount);
+
+-- Per-category lists and breakdowns
+CREATE INDEX idx_expense_user_category ON expense (user_id, category_id, date_spent, amount);
+
+-- A user's month, a single (user, category, month) budget and the batched
+-- alert candidate lookup
+CREATE INDEX idx_budget_user_month ON budget (user_id, month_year, category_id);
+
+-- Month-wide key scan of the alert sweep, in budget id order
+CREATE INDEX idx_budget_month ON budget (month_year, budget_id, user_id, category_id);
+
+-- Unread alerts and the unread badge count
+CREATE INDEX idx_alert_user_read ON alert (user_id, is_read);
+
+-- Due recurring transactions for the daily posting job, and a user's
+-- active ones
+CREATE INDEX idx_recurring_active_next ON recurring_transaction (is_active, next_date);
+CREATE INDEX idx_recurring_user_active ON recurring_transaction (user_id, is_active);
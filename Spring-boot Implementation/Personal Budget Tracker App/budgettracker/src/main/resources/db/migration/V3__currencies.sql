@@ -0,0 +1,25 @@
+-- Accounts and transactions carry an ISO 4217 currency code. Existing rows
+-- are in their owner's preferred currency (INR when none is set), which is
+-- what every total was computed in until now.
+
+ALTER TABLE account ADD COLUMN currency VARCHAR(3);
+ALTER TABLE expense ADD COLUMN currency VARCHAR(3);
+ALTER TABLE income ADD COLUMN currency VARCHAR(3);
+
+UPDATE account a LEFT JOIN `user` u ON u.user_id = a.user_id
+SET a.currency = UPPER(COALESCE(u.currency_preference, 'INR'));
+UPDATE expense e LEFT JOIN `user` u ON u.user_id = e.user_id
+SET e.currency = UPPER(COALESCE(u.currency_preference, 'INR'));
+UPDATE income i LEFT JOIN `user` u ON u.user_id = i.user_id
+SET i.currency = UPPER(COALESCE(u.currency_preference, 'INR'));
+
+-- Daily rates: one unit of the currency in the base currency
+-- (budgettracker.currency.base), the latest on or before a date applies
+CREATE TABLE exchange_rate (
+    rate_id   INT NOT NULL AUTO_INCREMENT,
+    currency  VARCHAR(3) NOT NULL,
+    rate_date DATE NOT NULL,
+    rate      DECIMAL(19, 8) NOT NULL,
+    PRIMARY KEY (rate_id),
+    CONSTRAINT uk_exchange_rate_currency_date UNIQUE (currency, rate_date)
+) ENGINE = InnoDB;
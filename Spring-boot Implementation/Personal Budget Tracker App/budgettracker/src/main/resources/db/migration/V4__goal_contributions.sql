@@ -0,0 +1,21 @@
+-- Append-only log of goal contributions. Rows are never updated or
+-- deleted on their own; they go when their goal does.
+CREATE TABLE goal_contribution (
+    contribution_id INT NOT NULL AUTO_INCREMENT,
+    goal_id         INT NOT NULL,
+    amount          DECIMAL(12, 2) NOT NULL,
+    contributed_on  DATE NOT NULL,
+    PRIMARY KEY (contribution_id),
+    CONSTRAINT fk_goal_contribution_goal FOREIGN KEY (goal_id)
+        REFERENCES goal (goal_id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+-- Forecast state kept on the goal and advanced on each contribution: the
+-- time-decayed sum of contributions as of the last one, the span they
+-- cover, and the rate and completion date projected at that point.
+ALTER TABLE goal
+    ADD COLUMN contribution_weight     DECIMAL(16, 4),
+    ADD COLUMN first_contribution_date DATE,
+    ADD COLUMN last_contribution_date  DATE,
+    ADD COLUMN contribution_rate       DECIMAL(12, 4),
+    ADD COLUMN projected_date          DATE;
@@ -0,0 +1,5 @@
+-- Inverted index over expense descriptions for the search endpoint, so
+-- text matching is MATCH ... AGAINST rather than a LIKE '%...%' scan.
+-- InnoDB keeps it in step with every write path, the JDBC batch inserts
+-- included, inside the writing transaction.
+CREATE FULLTEXT INDEX ft_expense_description ON expense (description);
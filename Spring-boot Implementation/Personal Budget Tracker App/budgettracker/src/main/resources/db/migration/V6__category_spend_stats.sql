@@ -0,0 +1,13 @@
+-- Running count, mean and sum of squared deviations (Welford) of each
+-- user's expense amounts per category, in the user's reporting currency.
+-- Derived from expense; rebuilt with the rest of the user's rollups.
+CREATE TABLE category_spend_stats (
+    stats_id     INT NOT NULL AUTO_INCREMENT,
+    user_id      INT,
+    category_id  INT,
+    sample_count INT NOT NULL,
+    mean         DOUBLE NOT NULL,
+    m2           DOUBLE NOT NULL,
+    PRIMARY KEY (stats_id),
+    CONSTRAINT uk_category_spend_stats UNIQUE (user_id, category_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,9 @@
+-- The day of the month a monthly or yearly recurring transaction falls
+-- on. Months too short for it post on their last day, and the next date
+-- goes back to the anchor afterwards, so the 31st does not drift to the
+-- 28th after February. Existing rows anchor on their current next date.
+
+ALTER TABLE recurring_transaction ADD COLUMN anchor_day INT;
+
+UPDATE recurring_transaction SET anchor_day = DAYOFMONTH(next_date)
+WHERE next_date IS NOT NULL;
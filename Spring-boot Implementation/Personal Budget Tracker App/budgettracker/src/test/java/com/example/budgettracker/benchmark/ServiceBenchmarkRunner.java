@@ -0,0 +1,91 @@
+package com.example.budgettracker.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.mysql.MySQLContainer;
+
+import java.io.File;
+
+/**
+ * Runs {@link ServiceBenchmarks} once per thread count against a MySQL
+ * started in a container for the whole run, and writes one JMH JSON
+ * result file per thread count to target/jmh, e.g.
+ * service-benchmarks-4t.json. Compare files from two commits with any
+ * JMH JSON viewer or diff tool.
+ *
+ * Started by the benchmark profile: {@code mvn -Pbenchmark test-compile
+ * exec:exec}. System properties (passed as -D to Maven):
+ * <ul>
+ *   <li>benchmark.threads: comma separated thread counts, default 1,4</li>
+ *   <li>benchmark.users, benchmark.accounts, benchmark.years,
+ *       benchmark.expenses-per-day: shape of the seeded data</li>
+ *   <li>benchmark.include: regex of benchmarks to run, default all</li>
+ * </ul>
+ */
+public class ServiceBenchmarkRunner {
+
+    static final String JDBC_URL = "benchmark.jdbc-url";
+    static final String JDBC_USERNAME = "benchmark.jdbc-username";
+    static final String JDBC_PASSWORD = "benchmark.jdbc-password";
+
+    // Same driver options as application.properties
+    private static final String URL_OPTIONS =
+            "useCursorFetch=true&rewriteBatchedStatements=true";
+
+    public static void main(String[] args) throws RunnerException {
+
+        File output = new File("target/jmh");
+        if (!output.isDirectory() && !output.mkdirs()) {
+            throw new IllegalStateException("Cannot create " + output);
+        }
+
+        try (MySQLContainer mysql = new MySQLContainer("mysql:8.4")) {
+            mysql.start();
+
+            for (String threads : System.getProperty(
+                    "benchmark.threads", "1,4").split(",")) {
+                int count = Integer.parseInt(threads.trim());
+
+                ChainedOptionsBuilder options = new OptionsBuilder()
+                        .include(ServiceBenchmarks.class.getSimpleName() + "."
+                                + System.getProperty("benchmark.include", ".*"))
+                        .threads(count)
+                        .jvmArgsAppend(
+                                "-D" + JDBC_URL + "=" + mysql.getJdbcUrl(),
+                                "-D" + JDBC_USERNAME + "=" + mysql.getUsername(),
+                                "-D" + JDBC_PASSWORD + "=" + mysql.getPassword())
+                        .resultFormat(ResultFormatType.JSON)
+                        .result(new File(output,
+                                "service-benchmarks-" + count + "t.json").getPath());
+
+                param(options, "users", "benchmark.users");
+                param(options, "accountsPerUser", "benchmark.accounts");
+                param(options, "years", "benchmark.years");
+                param(options, "expensesPerDay", "benchmark.expenses-per-day");
+
+                new Runner(options.build()).run();
+            }
+        }
+    }
+
+    // Read in the forked benchmark JVMs
+    static String jdbcUrl() {
+        String url = System.getProperty(JDBC_URL);
+        if (url == null) {
+            throw new IllegalStateException(
+                    "Run the benchmarks through ServiceBenchmarkRunner");
+        }
+        return url + (url.contains("?") ? "&" : "?") + URL_OPTIONS;
+    }
+
+    private static void param(ChainedOptionsBuilder options,
+                              String name, String property) {
+        String value = System.getProperty(property);
+        if (value != null && !value.isBlank()) {
+            options.param(name, value);
+        }
+    }
+}
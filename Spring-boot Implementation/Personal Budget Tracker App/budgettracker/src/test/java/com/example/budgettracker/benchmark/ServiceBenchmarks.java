@@ -0,0 +1,493 @@
+package com.example.budgettracker.benchmark;
+
+import com.example.budgettracker.BudgettrackerApplication;
+import com.example.budgettracker.dto.DashboardDTO;
+import com.example.budgettracker.dto.ExpenseDTO;
+import com.example.budgettracker.model.Account;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Expense;
+import com.example.budgettracker.model.Income;
+import com.example.budgettracker.model.Transfer;
+import com.example.budgettracker.model.User;
+import com.example.budgettracker.repository.AccountRepository;
+import com.example.budgettracker.repository.CategoryRepository;
+import com.example.budgettracker.repository.ExpenseRepository;
+import com.example.budgettracker.repository.UserRepository;
+import com.example.budgettracker.service.DashboardService;
+import com.example.budgettracker.service.ExpenseService;
+import com.example.budgettracker.service.IncomeService;
+import com.example.budgettracker.service.TransferService;
+import com.example.budgettracker.service.UserService;
+import com.example.budgettracker.service.UserSummaryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JMH benchmarks of the service calls behind the dashboard, expense and
+ * transfer screens, run against a MySQL seeded with synthetic users,
+ * accounts and years of daily expenses. {@link ServiceBenchmarkRunner}
+ * starts the database and runs these at each thread count; each thread
+ * works on its own user, as concurrent requests mostly would.
+ *
+ * Rows created while measuring are deleted after every iteration, so
+ * every benchmark sees the seeded data set.
+ *
+ * Two pairs compare an old path with its replacement. listExpenseEntities
+ * against listExpenseDtos is GET /api/expenses/user/{userId} as it was,
+ * entities with their eager user, account and category serialized whole,
+ * and as it is, the flat projection. insertExpensesOneByOne against
+ * insertExpensesBatched inserts {@value #BULK_ROWS} expenses through
+ * createExpense per row and through createExpenses in one batch, scored
+ * in rows per second.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmarks {
+
+    static final int BULK_ROWS = 10_000;
+
+    @Benchmark
+    public DashboardDTO getDashboard(Application app, Caller caller) {
+        return app.dashboardService.getDashboard(caller.userId);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> getExpenseByCategory(Application app,
+                                                          Caller caller) {
+        return app.expenseService.getExpenseByCategory(caller.userId);
+    }
+
+    @Benchmark
+    public byte[] listExpenseEntities(Application app, Caller caller) {
+        List<Expense> expenses = app.expenseRepository.findByUserUserId(caller.userId);
+        return app.objectMapper.writeValueAsBytes(expenses);
+    }
+
+    @Benchmark
+    public byte[] listExpenseDtos(Application app, Caller caller) {
+        List<ExpenseDTO> expenses = app.expenseService.getExpensesByUserId(caller.userId);
+        return app.objectMapper.writeValueAsBytes(expenses);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BULK_ROWS)
+    @Warmup(iterations = 1, time = 10)
+    @Measurement(iterations = 3, time = 10)
+    public void insertExpensesOneByOne(Application app, BulkUser bulk) {
+        for (Expense expense : bulk.expenses) {
+            app.expenseService.createExpense(expense);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BULK_ROWS)
+    @Warmup(iterations = 1, time = 10)
+    @Measurement(iterations = 3, time = 10)
+    public List<Expense> insertExpensesBatched(Application app, BulkUser bulk) {
+        return app.expenseService.createExpenses(bulk.expenses);
+    }
+
+    @Benchmark
+    public Expense createExpense(Application app, Caller caller) {
+        Expense saved = app.expenseService.createExpense(caller.newExpense());
+        caller.createdExpenses.add(saved.getExpenseId());
+        return saved;
+    }
+
+    @Benchmark
+    public void deleteExpense(Application app, PendingExpense pending) {
+        app.expenseService.deleteExpense(pending.expenseId);
+    }
+
+    @Benchmark
+    public Transfer createTransfer(Application app, Caller caller) {
+        Transfer saved = app.transferService.createTransfer(caller.newTransfer());
+        caller.createdTransfers.add(saved.getTransferId());
+        return saved;
+    }
+
+    // =================== STATE ===================
+    /**
+     * The application context and the seeded data, shared by all threads.
+     * Data is seeded once per database and data shape; later forks find
+     * it by the users' email prefix and reuse it.
+     */
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        private static final int CATEGORIES = 8;
+
+        @Param("20")
+        public int users;
+
+        @Param("2")
+        public int accountsPerUser;
+
+        @Param("2")
+        public int years;
+
+        @Param("3")
+        public int expensesPerDay;
+
+        ConfigurableApplicationContext context;
+        DashboardService dashboardService;
+        ExpenseService expenseService;
+        ExpenseRepository expenseRepository;
+        TransferService transferService;
+        UserSummaryService userSummaryService;
+        UserService userService;
+        JdbcTemplate jdbcTemplate;
+        ObjectMapper objectMapper;
+
+        final List<Integer> userIds = new ArrayList<>();
+        final List<List<Integer>> accountIds = new ArrayList<>();
+        final List<Integer> categoryIds = new ArrayList<>();
+        private final AtomicInteger nextUser = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void start() {
+            if (accountsPerUser < 2) {
+                throw new IllegalArgumentException(
+                        "accountsPerUser must be at least 2 for transfers");
+            }
+            context = new SpringApplicationBuilder(BudgettrackerApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .properties(
+                            "spring.datasource.url=" + ServiceBenchmarkRunner.jdbcUrl(),
+                            "spring.datasource.username=" + System.getProperty(
+                                    ServiceBenchmarkRunner.JDBC_USERNAME),
+                            "spring.datasource.password=" + System.getProperty(
+                                    ServiceBenchmarkRunner.JDBC_PASSWORD),
+                            // Keep the nightly jobs out of the measurements
+                            "budgettracker.summary.reconcile-cron=-",
+                            "budgettracker.recurring.post-cron=-",
+                            "logging.level.root=WARN")
+                    .run();
+            dashboardService = context.getBean(DashboardService.class);
+            expenseService = context.getBean(ExpenseService.class);
+            expenseRepository = context.getBean(ExpenseRepository.class);
+            transferService = context.getBean(TransferService.class);
+            userSummaryService = context.getBean(UserSummaryService.class);
+            userService = context.getBean(UserService.class);
+            jdbcTemplate = context.getBean(JdbcTemplate.class);
+            objectMapper = context.getBean(ObjectMapper.class);
+
+            String prefix = "bench-" + users + "x" + accountsPerUser + "x"
+                    + years + "x" + expensesPerDay + "-";
+            userIds.addAll(context.getBean(JdbcTemplate.class).queryForList(
+                    "SELECT user_id FROM `user` WHERE email LIKE ? " +
+                            "ORDER BY user_id", Integer.class, prefix + "%"));
+            if (userIds.isEmpty()) {
+                seed(prefix);
+            }
+
+            AccountRepository accounts = context.getBean(AccountRepository.class);
+            for (Integer userId : userIds) {
+                accountIds.add(accounts.findByUserUserId(userId).stream()
+                        .map(Account::getAccountId)
+                        .toList());
+            }
+            categoryIds.addAll(context.getBean(JdbcTemplate.class).queryForList(
+                    "SELECT category_id FROM category " +
+                            "WHERE category_name LIKE 'Bench %' " +
+                            "ORDER BY category_id", Integer.class));
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+
+        int nextUserIndex() {
+            return nextUser.getAndIncrement() % userIds.size();
+        }
+
+        private void seed(String prefix) {
+            UserRepository userRepository = context.getBean(UserRepository.class);
+            AccountRepository accountRepository =
+                    context.getBean(AccountRepository.class);
+            CategoryRepository categoryRepository =
+                    context.getBean(CategoryRepository.class);
+            UserSummaryService userSummaryService =
+                    context.getBean(UserSummaryService.class);
+            IncomeService incomeService = context.getBean(IncomeService.class);
+
+            List<Category> categories = new ArrayList<>();
+            if (categoryRepository.findAll().stream().noneMatch(category ->
+                    category.getCategoryName().startsWith("Bench "))) {
+                for (int c = 0; c < CATEGORIES; c++) {
+                    Category category = new Category();
+                    category.setCategoryName("Bench " + c);
+                    category.setCategoryType("EXPENSE");
+                    category.setIsCustom(false);
+                    categories.add(categoryRepository.save(category));
+                }
+            } else {
+                categories.addAll(categoryRepository.findAll().stream()
+                        .filter(category ->
+                                category.getCategoryName().startsWith("Bench "))
+                        .toList());
+            }
+
+            LocalDate today = LocalDate.now();
+            LocalDate firstDay = today.minusYears(years);
+
+            for (int u = 0; u < users; u++) {
+                User user = new User();
+                user.setName("Benchmark User " + u);
+                user.setEmail(prefix + u + "@example.com");
+                user.setCurrencyPreference("INR");
+                user = userRepository.save(user);
+
+                List<Account> accounts = new ArrayList<>();
+                for (int a = 0; a < accountsPerUser; a++) {
+                    Account account = new Account();
+                    account.setUser(user);
+                    account.setAccountName("Benchmark Account " + a);
+                    account.setAccountType("SAVINGS");
+                    // Enough that no benchmark call is refused for funds
+                    account.setInitialBalance(new BigDecimal("1000000000.00"));
+                    account.setCurrentBalance(new BigDecimal("1000000000.00"));
+                    account.setIsActive(true);
+                    accounts.add(accountRepository.save(account));
+                }
+                userSummaryService.rebuild(user.getUserId());
+
+                List<Income> incomes = new ArrayList<>();
+                List<Expense> expenses = new ArrayList<>();
+                int n = 0;
+                for (LocalDate day = firstDay; day.isBefore(today);
+                     day = day.plusDays(1)) {
+                    if (day.getDayOfMonth() == 1) {
+                        for (Account account : accounts) {
+                            Income income = new Income();
+                            income.setUser(user);
+                            income.setAccount(account);
+                            income.setAmount(new BigDecimal("50000.00"));
+                            income.setIncomeType("Salary");
+                            income.setDateReceived(day);
+                            income.setIsRecurring(false);
+                            incomes.add(income);
+                        }
+                    }
+                    for (int e = 0; e < expensesPerDay; e++, n++) {
+                        Expense expense = new Expense();
+                        expense.setUser(user);
+                        expense.setAccount(accounts.get(n % accounts.size()));
+                        expense.setCategory(categories.get(n % categories.size()));
+                        expense.setAmount(BigDecimal.valueOf(100 + n % 9900, 2));
+                        expense.setDescription("Benchmark expense " + n);
+                        expense.setDateSpent(day);
+                        expense.setPaymentMethod("CARD");
+                        expenses.add(expense);
+                    }
+                    if (expenses.size() >= 5000) {
+                        expenseService.createExpenses(expenses);
+                        expenses = new ArrayList<>();
+                    }
+                }
+                if (!expenses.isEmpty()) {
+                    expenseService.createExpenses(expenses);
+                }
+                if (!incomes.isEmpty()) {
+                    incomeService.createIncomes(incomes);
+                }
+                userIds.add(user.getUserId());
+            }
+        }
+    }
+
+    /**
+     * One benchmark thread: its user, and the rows it created while
+     * measuring, which are removed between iterations.
+     */
+    @State(Scope.Thread)
+    public static class Caller {
+
+        private Application app;
+        private int user;
+        Integer userId;
+        private int sequence;
+
+        final List<Integer> createdExpenses = new ArrayList<>();
+        final List<Integer> createdTransfers = new ArrayList<>();
+
+        @Setup(Level.Trial)
+        public void pickUser(Application app) {
+            this.app = app;
+            user = app.nextUserIndex();
+            userId = app.userIds.get(user);
+        }
+
+        @TearDown(Level.Iteration)
+        public void removeCreatedRows() {
+            createdTransfers.forEach(app.transferService::deleteTransfer);
+            createdTransfers.clear();
+            createdExpenses.forEach(app.expenseService::deleteExpense);
+            createdExpenses.clear();
+        }
+
+        Expense newExpense() {
+            int n = sequence++;
+            List<Integer> accounts = app.accountIds.get(user);
+
+            Expense expense = new Expense();
+            expense.setUser(reference(userId));
+            Account account = new Account();
+            account.setAccountId(accounts.get(n % accounts.size()));
+            expense.setAccount(account);
+            Category category = new Category();
+            category.setCategoryId(app.categoryIds.get(n % app.categoryIds.size()));
+            expense.setCategory(category);
+            expense.setAmount(new BigDecimal("12.50"));
+            expense.setDescription("Benchmark call " + n);
+            expense.setDateSpent(LocalDate.now());
+            expense.setPaymentMethod("CARD");
+            return expense;
+        }
+
+        // Alternates direction so neither account drains during an iteration
+        Transfer newTransfer() {
+            int n = sequence++;
+            List<Integer> accounts = app.accountIds.get(user);
+            Account from = new Account();
+            Account to = new Account();
+            from.setAccountId(accounts.get(n % 2));
+            to.setAccountId(accounts.get((n + 1) % 2));
+
+            Transfer transfer = new Transfer();
+            transfer.setFromAccount(from);
+            transfer.setToAccount(to);
+            transfer.setAmount(new BigDecimal("25.00"));
+            transfer.setDate(LocalDate.now());
+            transfer.setDescription("Benchmark call " + n);
+            return transfer;
+        }
+
+        private static User reference(Integer userId) {
+            User user = new User();
+            user.setUserId(userId);
+            return user;
+        }
+    }
+
+    /**
+     * A user of its own for the bulk inserts, so their rows never reach
+     * the seeded users. A fresh batch of expenses is built before every
+     * call, outside the measurement. The user's expenses are deleted and
+     * its account and rollups reset after every iteration, and the user
+     * is removed at the end.
+     */
+    @State(Scope.Thread)
+    public static class BulkUser {
+
+        private Application app;
+        private User user;
+        private Account account;
+        private Category category;
+        List<Expense> expenses;
+
+        @Setup(Level.Trial)
+        public void create(Application app) {
+            this.app = app;
+            user = new User();
+            user.setName("Bulk Benchmark User");
+            user.setEmail("bulk-" + System.nanoTime() + "@example.com");
+            user.setCurrencyPreference("INR");
+            user = app.context.getBean(UserRepository.class).save(user);
+
+            account = new Account();
+            account.setUser(user);
+            account.setAccountName("Bulk Benchmark Account");
+            account.setAccountType("SAVINGS");
+            account.setInitialBalance(new BigDecimal("1000000000.00"));
+            account.setCurrentBalance(new BigDecimal("1000000000.00"));
+            account.setIsActive(true);
+            account = app.context.getBean(AccountRepository.class).save(account);
+
+            category = new Category();
+            category.setCategoryId(app.categoryIds.get(0));
+            app.userSummaryService.rebuild(user.getUserId());
+        }
+
+        @Setup(Level.Invocation)
+        public void prepare() {
+            expenses = new ArrayList<>(BULK_ROWS);
+            LocalDate today = LocalDate.now();
+            for (int i = 0; i < BULK_ROWS; i++) {
+                Expense expense = new Expense();
+                expense.setUser(user);
+                expense.setAccount(account);
+                expense.setCategory(category);
+                expense.setAmount(new BigDecimal("12.50"));
+                expense.setDescription("Bulk benchmark " + i);
+                expense.setDateSpent(today.minusDays(i % 365));
+                expense.setPaymentMethod("CARD");
+                expenses.add(expense);
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void reset() {
+            app.jdbcTemplate.update("DELETE FROM expense WHERE user_id = ?",
+                    user.getUserId());
+            app.jdbcTemplate.update("UPDATE account SET current_balance = " +
+                    "initial_balance WHERE account_id = ?", account.getAccountId());
+            app.userSummaryService.rebuild(user.getUserId());
+        }
+
+        @TearDown(Level.Trial)
+        public void remove() {
+            reset();
+            app.userService.deleteUser(user.getUserId());
+        }
+    }
+
+    /**
+     * An expense inserted before each deleteExpense call, outside the
+     * measurement.
+     */
+    @State(Scope.Thread)
+    public static class PendingExpense {
+
+        Integer expenseId;
+
+        @Setup(Level.Invocation)
+        public void insert(Application app, Caller caller) {
+            expenseId = app.expenseService.createExpense(caller.newExpense())
+                    .getExpenseId();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.budgettracker.config;
+
+import com.example.budgettracker.dto.AccountDTO;
+import com.example.budgettracker.model.Account;
+import com.example.budgettracker.model.User;
+import com.example.budgettracker.service.AccountService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the application against two schemas on one MySQL server: the
+ * Flyway-migrated primary and a "replica" schema with copies of the
+ * account tables but not their rows. Nothing replicates between them, so
+ * which rows come back shows which side served a read.
+ *
+ * Needs Docker; skipped where it is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReplicaRoutingTests {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer mysql = new MySQLContainer("mysql:8.4")
+            .withUsername("root");
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) {
+        registry.add("budgettracker.datasource.replica.url",
+                ReplicaRoutingTests::createReplicaSchema);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountService accountService;
+
+    @BeforeAll
+    void seed() {
+        for (String table : List.of("`user`", "account")) {
+            jdbcTemplate.execute("CREATE TABLE replica." + table +
+                    " LIKE " + mysql.getDatabaseName() + "." + table);
+        }
+        // Outside a transaction, so these go through the primary pool
+        jdbcTemplate.update("INSERT INTO `user` (user_id, name, email, role, " +
+                "currency_preference) VALUES (1, 'Reader', 'reader@example.com', " +
+                "'USER', 'INR'), (2, 'Writer', 'writer@example.com', 'USER', 'INR')");
+        jdbcTemplate.update("INSERT INTO replica.account (account_id, user_id, " +
+                "account_name, account_type, initial_balance, current_balance, " +
+                "is_active, currency) VALUES " +
+                "(9001, 1, 'Replica only', 'BANK', 0, 0, 1, 'INR'), " +
+                "(9002, 2, 'Replica only', 'BANK', 0, 0, 1, 'INR')");
+    }
+
+    @AfterEach
+    void unpin() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void readOnlyMethodsReadFromTheReplica() {
+        assertEquals(List.of("Replica only"), accountNames(1));
+    }
+
+    @Test
+    void readsAfterAWriteStayOnThePrimary() {
+        User owner = new User();
+        owner.setUserId(2);
+        Account account = new Account();
+        account.setUser(owner);
+        account.setAccountName("Primary");
+        account.setAccountType("BANK");
+        account.setInitialBalance(new BigDecimal("10.00"));
+        account.setIsActive(true);
+        accountService.createAccount(account);
+
+        // The commit pinned this thread to the primary
+        assertEquals(List.of("Primary"), accountNames(2));
+
+        // Once the pin is gone the replica, which never got the row, serves it
+        ReadYourWrites.clear();
+        assertEquals(List.of("Replica only"), accountNames(2));
+    }
+
+    private List<String> accountNames(Integer userId) {
+        return accountService.getAccountsByUserId(userId).stream()
+                .map(AccountDTO::getAccountName)
+                .toList();
+    }
+
+    // A second schema on the same server stands in for the replica
+    private static String createReplicaSchema() {
+        try (Connection connection = DriverManager.getConnection(
+                mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword())) {
+            connection.createStatement()
+                    .execute("CREATE DATABASE IF NOT EXISTS replica");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return "jdbc:mysql://" + mysql.getHost() + ":"
+                + mysql.getMappedPort(3306) + "/replica";
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.dto.ExpenseDTO;
+import com.example.budgettracker.model.Account;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Expense;
+import com.example.budgettracker.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the shape of the projection behind GET /api/expenses/user/{userId}
+ * against the entity query it replaced: the same rows, read by a single
+ * statement that selects only the DTO's columns, and serialized without
+ * the nested user, account and category objects.
+ *
+ * Needs Docker; skipped where it is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = RecordingStatementInspector.PROPERTY)
+@Transactional
+class ExpenseProjectionTests {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer mysql = new MySQLContainer("mysql:8.4");
+
+    private static final int EXPENSES = 200;
+    private static final Set<String> DTO_FIELDS = new TreeSet<>(List.of(
+            "expenseId", "amount", "description", "dateSpent",
+            "paymentMethod", "accountId", "accountName",
+            "categoryId", "categoryName", "currency"));
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void projectionReadsOnlyTheDtoColumnsInOneStatement() {
+        Integer userId = seed();
+
+        RecordingStatementInspector.Recorded<List<ExpenseDTO>> projections =
+                RecordingStatementInspector.record(
+                        () -> expenseRepository.findDtosByUserId(userId));
+
+        assertEquals(EXPENSES, projections.result().size());
+        assertEquals(1, projections.statements().size(),
+                () -> "Expected one statement, got " + projections.statements());
+        assertEquals(DTO_FIELDS.size(),
+                selectedColumns(projections.statements().get(0)));
+    }
+
+    @Test
+    void projectionJsonCarriesOnlyTheDtoFields() {
+        Integer userId = seed();
+
+        List<Expense> entities = expenseRepository.findByUserUserId(userId);
+        byte[] entityJson = objectMapper.writeValueAsBytes(entities);
+        entityManager.clear();
+        List<ExpenseDTO> projections = expenseRepository.findDtosByUserId(userId);
+
+        assertEquals(entities.size(), projections.size());
+        JsonNode first = objectMapper.valueToTree(projections).get(0);
+        Set<String> fields = new TreeSet<>(first.propertyNames());
+        assertEquals(DTO_FIELDS, fields);
+
+        byte[] projectionJson = objectMapper.writeValueAsBytes(projections);
+        assertTrue(projectionJson.length < entityJson.length,
+                () -> "projection " + projectionJson.length
+                        + " bytes, entities " + entityJson.length + " bytes");
+    }
+
+    // Items in the select list of Hibernate's generated SQL
+    private static int selectedColumns(String sql) {
+        String lower = sql.toLowerCase();
+        String list = lower.substring("select ".length(), lower.indexOf(" from "));
+        return list.split(",").length;
+    }
+
+    private Integer seed() {
+        User user = new User();
+        user.setName("Projection User");
+        user.setEmail("projection-" + System.nanoTime() + "@example.com");
+        user.setCurrencyPreference("INR");
+        user = userRepository.save(user);
+
+        Account account = new Account();
+        account.setUser(user);
+        account.setAccountName("Projection Account");
+        account.setAccountType("SAVINGS");
+        account.setInitialBalance(BigDecimal.ZERO);
+        account.setCurrentBalance(BigDecimal.ZERO);
+        account.setIsActive(true);
+        account = accountRepository.save(account);
+
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Category category = new Category();
+            category.setCategoryName("Category " + i);
+            category.setCategoryType("EXPENSE");
+            category.setUser(user);
+            category.setIsCustom(true);
+            categories.add(categoryRepository.save(category));
+        }
+
+        List<Expense> expenses = new ArrayList<>();
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < EXPENSES; i++) {
+            Expense expense = new Expense();
+            expense.setUser(user);
+            expense.setAccount(account);
+            expense.setCategory(categories.get(i % categories.size()));
+            expense.setAmount(BigDecimal.valueOf(100 + i, 2));
+            expense.setDescription("Expense " + i);
+            expense.setDateSpent(day.plusDays(i));
+            expense.setPaymentMethod("CARD");
+            expenses.add(expense);
+        }
+        expenseRepository.saveAll(expenses);
+
+        entityManager.flush();
+        entityManager.clear();
+        return user.getUserId();
+    }
+}
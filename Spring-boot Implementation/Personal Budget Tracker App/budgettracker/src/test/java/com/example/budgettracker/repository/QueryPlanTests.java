@@ -0,0 +1,488 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.service.ExpenseSearchService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Builds the schema from the Flyway migrations in a throwaway MySQL,
+ * checks the entities against it (ddl-auto=validate), seeds enough rows
+ * over many users for the optimizer to prefer indexes where they help,
+ * then calls every query method of the hot repositories and runs EXPLAIN
+ * on each statement the call really executed, with the parameters it
+ * bound. A plan that reads a whole table (type ALL) fails the test, as
+ * does a query method that no case here calls.
+ *
+ * Needs Docker; skipped where it is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTests {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer mysql = new MySQLContainer("mysql:8.4");
+
+    private static final int USERS = 50;
+    private static final int CATEGORIES = 10;
+    private static final int EXPENSES_PER_USER = 200;
+    private static final int INCOMES_PER_USER = 100;
+    private static final int BUDGET_MONTHS = 12;
+    private static final int BUDGET_CATEGORIES = 5;
+    private static final int ALERTS_PER_USER = 50;
+    private static final int RECURRING_PER_USER = 20;
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            ExpenseRepository.class, ExpenseRepositoryCustom.class,
+            IncomeRepository.class, IncomeRepositoryCustom.class,
+            BudgetRepository.class, AlertRepository.class,
+            RecurringTransactionRepository.class);
+
+    // Ten global categories, joined by primary key; the optimizer may read
+    // them whole and look expenses up per category instead
+    private static final Set<String> LOOKUP_TABLES = Set.of("category");
+
+    // "FROM table alias" and "JOIN table alias", to name EXPLAIN rows
+    private static final Pattern TABLE_ALIAS = Pattern.compile(
+            "\\b(?:from|join|update)\\s+`?(\\w+)`?(?:\\s+(?:as\\s+)?(\\w+))?",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Set<String> NOT_ALIASES = Set.of("where", "left",
+            "right", "inner", "cross", "join", "on", "group", "order", "limit",
+            "set", "using", "for", "union", "having");
+
+    // Repository methods called on this thread during a case
+    private static final ThreadLocal<Set<String>> INVOKED = new ThreadLocal<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private IncomeRepository incomeRepository;
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Autowired
+    private ExpenseSearchService expenseSearchService;
+
+    // Case name to the statements it executed and the methods it called
+    private final Map<String, Run> runs = new LinkedHashMap<>();
+
+    @TestConfiguration
+    static class Recording {
+
+        @Bean
+        static BeanPostProcessor recordingPostProcessor() {
+            RepositoryMethodInvocationListener listener = invocation -> {
+                Set<String> invoked = INVOKED.get();
+                if (invoked != null) {
+                    Method method = invocation.getMethod();
+                    invoked.add(method.getDeclaringClass().getSimpleName()
+                            + "." + method.getName());
+                }
+            };
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessBeforeInitialization(Object bean,
+                                                              String beanName) {
+                    if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factory) {
+                        factory.addRepositoryFactoryCustomizer(
+                                repositoryFactory -> repositoryFactory
+                                        .addInvocationListener(listener));
+                    }
+                    return bean;
+                }
+
+                @Override
+                public Object postProcessAfterInitialization(Object bean,
+                                                             String beanName) {
+                    return bean instanceof DataSource dataSource
+                            && "dataSource".equals(beanName)
+                            ? new RecordingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> accounts = new ArrayList<>();
+        for (int u = 1; u <= USERS; u++) {
+            users.add(new Object[]{u, "Plan User " + u,
+                    "plan-user-" + u + "@example.com"});
+            accounts.add(new Object[]{u, u, "Account " + u});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO `user` (user_id, name, email, " +
+                "role, currency_preference) VALUES (?, ?, ?, 'USER', 'INR')", users);
+        jdbcTemplate.batchUpdate("INSERT INTO account (account_id, user_id, " +
+                "account_name, account_type, initial_balance, current_balance, " +
+                "is_active, currency) VALUES (?, ?, ?, 'SAVINGS', 0, 0, 1, 'INR')",
+                accounts);
+
+        List<Object[]> categories = new ArrayList<>();
+        for (int c = 1; c <= CATEGORIES; c++) {
+            categories.add(new Object[]{c, "Category " + c});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO category (category_id, " +
+                "category_name, category_type, is_custom) " +
+                "VALUES (?, ?, 'EXPENSE', 0)", categories);
+
+        List<Object[]> expenses = new ArrayList<>();
+        List<Object[]> incomes = new ArrayList<>();
+        List<Object[]> budgets = new ArrayList<>();
+        List<Object[]> spends = new ArrayList<>();
+        List<Object[]> alerts = new ArrayList<>();
+        List<Object[]> recurring = new ArrayList<>();
+        for (int u = 1; u <= USERS; u++) {
+            for (int i = 0; i < EXPENSES_PER_USER; i++) {
+                expenses.add(new Object[]{expenses.size() + 1, u, u,
+                        i % CATEGORIES + 1, BigDecimal.valueOf(100 + i, 2),
+                        Date.valueOf(FIRST_DAY.plusDays(i * 3L % 730))});
+            }
+            for (int i = 0; i < INCOMES_PER_USER; i++) {
+                incomes.add(new Object[]{incomes.size() + 1, u, u,
+                        BigDecimal.valueOf(1000 + i, 2),
+                        Date.valueOf(FIRST_DAY.plusDays(i * 7L % 730))});
+            }
+            for (int m = 0; m < BUDGET_MONTHS; m++) {
+                String month = YearMonth.from(FIRST_DAY).plusMonths(m).toString();
+                for (int c = 1; c <= BUDGET_CATEGORIES; c++) {
+                    budgets.add(new Object[]{budgets.size() + 1, u, c, month});
+                    spends.add(new Object[]{u, c, month});
+                }
+            }
+            for (int i = 0; i < ALERTS_PER_USER; i++) {
+                alerts.add(new Object[]{u, i % 5 != 0});
+            }
+            for (int i = 0; i < RECURRING_PER_USER; i++) {
+                // A few due, most later; a quarter paused
+                recurring.add(new Object[]{u, u, i % CATEGORIES + 1,
+                        Date.valueOf(TODAY.plusDays(i * 3L - 6)), i % 4 != 0});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO expense (expense_id, user_id, " +
+                "account_id, category_id, amount, description, date_spent, " +
+                "payment_method, currency) VALUES (?, ?, ?, ?, ?, 'Seed', ?, 'CARD', 'INR')",
+                expenses);
+        jdbcTemplate.batchUpdate("INSERT INTO income (income_id, user_id, " +
+                "account_id, amount, income_type, description, date_received, " +
+                "is_recurring, currency) VALUES (?, ?, ?, ?, 'Salary', 'Seed', ?, 0, 'INR')",
+                incomes);
+        jdbcTemplate.batchUpdate("INSERT INTO budget (budget_id, user_id, " +
+                "category_id, month_year, amount_limit) " +
+                "VALUES (?, ?, ?, ?, 500)", budgets);
+        jdbcTemplate.batchUpdate("INSERT INTO monthly_category_spend " +
+                "(user_id, category_id, month_year, total_spent) " +
+                "VALUES (?, ?, ?, 250)", spends);
+        jdbcTemplate.batchUpdate("INSERT INTO alert (user_id, alert_type, " +
+                "message, created_at, is_read) " +
+                "VALUES (?, 'BUDGET', 'Seed', NOW(), ?)", alerts);
+        jdbcTemplate.batchUpdate("INSERT INTO recurring_transaction (user_id, " +
+                "account_id, category_id, transaction_type, amount, frequency, " +
+                "next_date, is_active) " +
+                "VALUES (?, ?, ?, 'EXPENSE', 10, 'MONTHLY', ?, ?)", recurring);
+
+        jdbcTemplate.execute("ANALYZE TABLE `user`, account, category, expense, " +
+                "income, budget, monthly_category_spend, alert, " +
+                "recurring_transaction");
+
+        cases().forEach((name, call) -> runs.put(name, run(call)));
+    }
+
+    @Test
+    void everyQueryMethodIsCalled() {
+        Set<String> invoked = new HashSet<>();
+        List<String> silent = new ArrayList<>();
+        runs.forEach((name, run) -> {
+            invoked.addAll(run.invoked());
+            if (run.executed().isEmpty()) {
+                silent.add(name + " ran no SQL");
+            }
+        });
+        assertEquals(List.of(), silent);
+
+        List<String> uncalled = new ArrayList<>();
+        for (Class<?> repository : REPOSITORIES) {
+            for (Method method : repository.getDeclaredMethods()) {
+                String name = repository.getSimpleName() + "." + method.getName();
+                if (!invoked.contains(name)) {
+                    uncalled.add("No case calls " + name);
+                }
+            }
+        }
+        assertEquals(List.of(), uncalled);
+    }
+
+    @Test
+    void noQueryScansAWholeTable() {
+        List<String> fullScans = new ArrayList<>();
+        runs.forEach((name, run) -> {
+            for (RecordingDataSource.Executed executed : run.executed()) {
+                Map<String, String> tables = tablesByAlias(executed.sql());
+                for (Map<String, Object> row : jdbcTemplate.queryForList(
+                        "EXPLAIN " + executed.sql(), executed.args())) {
+                    String table = String.valueOf(row.get("table"));
+                    table = tables.getOrDefault(table, table);
+                    if ("ALL".equals(row.get("type"))
+                            && !LOOKUP_TABLES.contains(table)) {
+                        fullScans.add(name + " reads all of " + table
+                                + ": " + executed.sql());
+                    }
+                }
+            }
+        });
+        assertEquals(List.of(), fullScans);
+    }
+
+    /**
+     * One call per case, keyed by Repository.method, with a suffix where
+     * one method has several cases (the optional filters of the listing
+     * queries each change the SQL). Each runs in a transaction that is
+     * rolled back, so the updates leave the seed as it was.
+     */
+    private Map<String, Runnable> cases() {
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 31);
+        String month = "2024-03";
+        int user = 7;
+        int page = 51;
+
+        Map<String, Runnable> cases = new LinkedHashMap<>();
+
+        // =================== EXPENSE ===================
+        cases.put("ExpenseRepository.findByUserUserId",
+                () -> expenseRepository.findByUserUserId(user));
+        cases.put("ExpenseRepository.findByUserUserIdAndDateSpentBetween",
+                () -> expenseRepository.findByUserUserIdAndDateSpentBetween(
+                        user, from, to));
+        cases.put("ExpenseRepository.findByUserUserIdAndCategoryCategoryId",
+                () -> expenseRepository.findByUserUserIdAndCategoryCategoryId(
+                        user, 3));
+        cases.put("ExpenseRepository.getTotalExpenseByUserId",
+                () -> expenseRepository.getTotalExpenseByUserId(user));
+        cases.put("ExpenseRepository.getTotalExpenseByUserIdAndDateRange",
+                () -> expenseRepository.getTotalExpenseByUserIdAndDateRange(
+                        user, from, to));
+        cases.put("ExpenseRepository.getExpenseByCategoryIdForUser",
+                () -> expenseRepository.getExpenseByCategoryIdForUser(user));
+        cases.put("ExpenseRepository.getMonthlyExpenseByCategoryIdForUser",
+                () -> expenseRepository.getMonthlyExpenseByCategoryIdForUser(user));
+        cases.put("ExpenseRepository.findForeignAmounts",
+                () -> expenseRepository.findForeignAmounts(user, "INR"));
+        cases.put("ExpenseRepository.getAmountStatsByCategoryIdForUser",
+                () -> expenseRepository.getAmountStatsByCategoryIdForUser(
+                        user, "INR"));
+        cases.put("ExpenseRepository.findDtosByUserId",
+                () -> expenseRepository.findDtosByUserId(user));
+        cases.put("ExpenseRepository.findPageByUserId[first]",
+                () -> expenseRepository.findPageByUserId(
+                        user, null, null, null, null, null, null, page));
+        cases.put("ExpenseRepository.findPageByUserId[cursor]",
+                () -> expenseRepository.findPageByUserId(
+                        user, null, null, null, null, to, 5000, page));
+        cases.put("ExpenseRepository.findPageByUserId[range]",
+                () -> expenseRepository.findPageByUserId(
+                        user, from, to, null, null, null, null, page));
+        cases.put("ExpenseRepository.findPageByUserId[category]",
+                () -> expenseRepository.findPageByUserId(
+                        user, null, null, 3, null, null, null, page));
+        cases.put("ExpenseRepository.findPageByUserId[account]",
+                () -> expenseRepository.findPageByUserId(
+                        user, null, null, null, user, to, 5000, page));
+        cases.put("ExpenseRepository.streamByUserId[all]",
+                () -> drain(expenseRepository.streamByUserId(
+                        user, null, null, null, null)));
+        cases.put("ExpenseRepository.streamByUserId[range]",
+                () -> drain(expenseRepository.streamByUserId(
+                        user, from, to, null, null)));
+        cases.put("ExpenseRepository.streamByUserId[category]",
+                () -> drain(expenseRepository.streamByUserId(
+                        user, from, to, 3, null)));
+
+        // Built over JDBC; the first page also runs the facet query
+        cases.put("ExpenseSearchService.search",
+                () -> expenseSearchService.search(user, "see",
+                        new BigDecimal("1.50"), null, null, null,
+                        null, null, null, 50));
+
+        // =================== INCOME ===================
+        cases.put("IncomeRepository.findByUserUserId",
+                () -> incomeRepository.findByUserUserId(user));
+        cases.put("IncomeRepository.findByUserUserIdAndDateReceivedBetween",
+                () -> incomeRepository.findByUserUserIdAndDateReceivedBetween(
+                        user, from, to));
+        cases.put("IncomeRepository.getTotalIncomeByUserId",
+                () -> incomeRepository.getTotalIncomeByUserId(user));
+        cases.put("IncomeRepository.getTotalIncomeByUserIdAndDateRange",
+                () -> incomeRepository.getTotalIncomeByUserIdAndDateRange(
+                        user, from, to));
+        cases.put("IncomeRepository.findForeignAmounts",
+                () -> incomeRepository.findForeignAmounts(user, "INR"));
+        cases.put("IncomeRepository.findDtosByUserId",
+                () -> incomeRepository.findDtosByUserId(user));
+        cases.put("IncomeRepository.findPageByUserId[first]",
+                () -> incomeRepository.findPageByUserId(
+                        user, null, null, null, null, null, page));
+        cases.put("IncomeRepository.findPageByUserId[cursor]",
+                () -> incomeRepository.findPageByUserId(
+                        user, null, null, null, to, 2500, page));
+        cases.put("IncomeRepository.findPageByUserId[range]",
+                () -> incomeRepository.findPageByUserId(
+                        user, from, to, null, null, null, page));
+        cases.put("IncomeRepository.findPageByUserId[account]",
+                () -> incomeRepository.findPageByUserId(
+                        user, null, null, user, null, null, page));
+        cases.put("IncomeRepository.streamByUserId[all]",
+                () -> drain(incomeRepository.streamByUserId(
+                        user, null, null, null)));
+        cases.put("IncomeRepository.streamByUserId[range]",
+                () -> drain(incomeRepository.streamByUserId(
+                        user, from, to, null)));
+
+        // =================== BUDGET ===================
+        cases.put("BudgetRepository.findByUserUserId",
+                () -> budgetRepository.findByUserUserId(user));
+        cases.put("BudgetRepository.findByUserUserIdAndMonthYear",
+                () -> budgetRepository.findByUserUserIdAndMonthYear(user, month));
+        cases.put("BudgetRepository.findByUserUserIdAndCategoryCategoryIdAndMonthYear",
+                () -> budgetRepository
+                        .findByUserUserIdAndCategoryCategoryIdAndMonthYear(
+                                user, 3, month));
+        cases.put("BudgetRepository.findDtosByUserId",
+                () -> budgetRepository.findDtosByUserId(user));
+        cases.put("BudgetRepository.findAlertCandidates",
+                () -> budgetRepository.findAlertCandidates(
+                        List.of(user, user + 1), List.of(month, "2024-04")));
+        cases.put("BudgetRepository.findKeysByMonthYear",
+                () -> budgetRepository.findKeysByMonthYear(
+                        month, PageRequest.of(0, 500)));
+        cases.put("BudgetRepository.raiseAlertedThreshold",
+                () -> budgetRepository.raiseAlertedThreshold(42, 80));
+        cases.put("BudgetRepository.lowerAlertedThreshold",
+                () -> budgetRepository.lowerAlertedThreshold(42, 50));
+        cases.put("BudgetRepository.resetAlertedThreshold",
+                () -> budgetRepository.resetAlertedThreshold(42));
+
+        // =================== ALERT ===================
+        cases.put("AlertRepository.findByUserUserId",
+                () -> alertRepository.findByUserUserId(user));
+        cases.put("AlertRepository.findByUserUserIdAndIsRead",
+                () -> alertRepository.findByUserUserIdAndIsRead(user, false));
+        cases.put("AlertRepository.countByUserUserIdAndIsRead",
+                () -> alertRepository.countByUserUserIdAndIsRead(user, false));
+        cases.put("AlertRepository.findDtosByUserId",
+                () -> alertRepository.findDtosByUserId(user));
+
+        // =================== RECURRING ===================
+        cases.put("RecurringTransactionRepository.findByUserUserId",
+                () -> recurringTransactionRepository.findByUserUserId(user));
+        cases.put("RecurringTransactionRepository.findByUserUserIdAndIsActive",
+                () -> recurringTransactionRepository
+                        .findByUserUserIdAndIsActive(user, true));
+        cases.put("RecurringTransactionRepository.findByNextDateBeforeAndIsActive",
+                () -> recurringTransactionRepository
+                        .findByNextDateBeforeAndIsActive(TODAY, true));
+        cases.put("RecurringTransactionRepository.findDtosByUserId",
+                () -> recurringTransactionRepository.findDtosByUserId(user));
+        cases.put("RecurringTransactionRepository.findDueIdsAfter",
+                () -> recurringTransactionRepository.findDueIdsAfter(
+                        TODAY, 0, PageRequest.of(0, 500)));
+
+        return cases;
+    }
+
+    private Run run(Runnable call) {
+        Set<String> invoked = new HashSet<>();
+        INVOKED.set(invoked);
+        try {
+            List<RecordingDataSource.Executed> executed = RecordingDataSource
+                    .record(() -> transactionTemplate.executeWithoutResult(status -> {
+                        call.run();
+                        status.setRollbackOnly();
+                    }));
+            return new Run(executed, invoked);
+        } finally {
+            INVOKED.remove();
+        }
+    }
+
+    private static void drain(Stream<?> rows) {
+        try (rows) {
+            rows.forEach(row -> {
+            });
+        }
+    }
+
+    // Alias (or bare table name) to table, lower case
+    private static Map<String, String> tablesByAlias(String sql) {
+        Map<String, String> tables = new HashMap<>();
+        Matcher matcher = TABLE_ALIAS.matcher(sql);
+        while (matcher.find()) {
+            String table = matcher.group(1).toLowerCase(Locale.ROOT);
+            tables.put(table, table);
+            String alias = matcher.group(2);
+            if (alias != null && !NOT_ALIASES.contains(alias.toLowerCase(Locale.ROOT))) {
+                tables.put(alias, table);
+            }
+        }
+        return tables;
+    }
+
+    private record Run(List<RecordingDataSource.Executed> executed,
+                       Set<String> invoked) {
+    }
+}
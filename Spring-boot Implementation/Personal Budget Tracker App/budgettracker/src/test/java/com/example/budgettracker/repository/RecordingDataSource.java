@@ -0,0 +1,106 @@
+package com.example.budgettracker.repository;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Wraps the application DataSource so a test can see every prepared
+ * statement a call executes, with its bound parameters: the exact SQL
+ * Hibernate or JdbcTemplate sent, ready to be run again under EXPLAIN.
+ * Only statements executed on the current thread inside
+ * {@link #record(Runnable)} are kept.
+ */
+public class RecordingDataSource extends DelegatingDataSource {
+
+    private static final ThreadLocal<List<Executed>> RECORDED = new ThreadLocal<>();
+
+    public RecordingDataSource(DataSource target) {
+        super(target);
+    }
+
+    // Runs the call and returns every statement it executed, in order
+    public static List<Executed> record(Runnable call) {
+        List<Executed> executed = new ArrayList<>();
+        RECORDED.set(executed);
+        try {
+            call.run();
+        } finally {
+            RECORDED.remove();
+        }
+        return executed;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return recording(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password)
+            throws SQLException {
+        return recording(super.getConnection(username, password));
+    }
+
+    private static Connection recording(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof PreparedStatement statement
+                    && method.getName().equals("prepareStatement")) {
+                return recording(statement, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private static PreparedStatement recording(PreparedStatement statement,
+                                               String sql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if ((name.startsWith("execute") && (args == null || args.length == 0))
+                    || name.equals("addBatch")) {
+                List<Executed> executed = RECORDED.get();
+                if (executed != null) {
+                    executed.add(new Executed(sql, parameters.values().toArray()));
+                }
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args)
+            throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(
+                RecordingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler);
+    }
+
+    public record Executed(String sql, Object[] args) {
+    }
+}
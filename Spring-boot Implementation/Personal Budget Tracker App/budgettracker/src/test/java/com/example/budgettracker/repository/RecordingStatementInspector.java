@@ -0,0 +1,54 @@
+package com.example.budgettracker.repository;
+
+import com.example.budgettracker.config.StatementCounter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * StatementCounter that also keeps the SQL text Hibernate prepares on the
+ * current thread while recording, so tests can check what a repository
+ * method really sends. Tests register it in place of StatementCounter
+ * through hibernate.session_factory.statement_inspector.
+ */
+public class RecordingStatementInspector extends StatementCounter {
+
+    public static final String PROPERTY =
+            "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                    + "com.example.budgettracker.repository.RecordingStatementInspector";
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    // Runs the call and returns every statement it prepared, in order
+    public static List<String> record(Runnable call) {
+        List<String> statements = new ArrayList<>();
+        RECORDED.set(statements);
+        try {
+            call.run();
+        } finally {
+            RECORDED.remove();
+        }
+        return statements;
+    }
+
+    public static <T> Recorded<T> record(Supplier<T> call) {
+        List<Object> result = new ArrayList<>(1);
+        List<String> statements = record(() -> result.add(call.get()));
+        @SuppressWarnings("unchecked")
+        T value = (T) result.get(0);
+        return new Recorded<>(value, statements);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = RECORDED.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return super.inspect(sql);
+    }
+
+    public record Recorded<T>(T result, List<String> statements) {
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.model.Account;
+import com.example.budgettracker.model.Category;
+import com.example.budgettracker.model.Expense;
+import com.example.budgettracker.model.IdSequences;
+import com.example.budgettracker.model.User;
+import com.example.budgettracker.repository.AccountRepository;
+import com.example.budgettracker.repository.CategoryRepository;
+import com.example.budgettracker.repository.RecordingStatementInspector;
+import com.example.budgettracker.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that createExpenses reaches the database as JDBC batches: the
+ * expense INSERT is prepared once per batch_size rows rather than once
+ * per row, and ids come from the pooled sequence table once per
+ * allocation rather than from a generated key per row.
+ *
+ * Needs Docker; skipped where it is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = RecordingStatementInspector.PROPERTY)
+class ExpenseBulkInsertTests {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer mysql = new MySQLContainer("mysql:8.4");
+
+    private static final int ROWS = 1_000;
+    private static final int CATEGORIES = 10;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ExpenseService expenseService;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void createExpensesInsertsInBatches() {
+        User user = seedUser();
+        Account account = seedAccount(user);
+        List<Category> categories = seedCategories(user);
+        userSummaryService.rebuild(user.getUserId());
+
+        List<String> statements = RecordingStatementInspector.record(
+                () -> expenseService.createExpenses(
+                        expenses(user, account, categories)));
+
+        long inserts = statements.stream()
+                .filter(sql -> sql.toLowerCase().startsWith("insert into expense "))
+                .count();
+        long idTrips = statements.stream()
+                .filter(sql -> sql.toLowerCase().contains("expense_seq"))
+                .count();
+
+        int batches = (ROWS + batchSize - 1) / batchSize;
+        assertTrue(inserts > 0 && inserts <= batches,
+                "expense INSERT prepared " + inserts + " times for "
+                        + ROWS + " rows, expected at most " + batches);
+        // A read and an update of the sequence row per allocation
+        int allocations = ROWS / IdSequences.ALLOCATION_SIZE + 1;
+        assertTrue(idTrips <= 2L * allocations,
+                idTrips + " expense_seq statements for " + ROWS + " rows");
+
+        assertEquals(ROWS, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM expense WHERE user_id = ?",
+                Integer.class, user.getUserId()));
+    }
+
+    private User seedUser() {
+        User user = new User();
+        user.setName("Bulk Insert User");
+        user.setEmail("bulk-insert@example.com");
+        user.setCurrencyPreference("INR");
+        return userRepository.save(user);
+    }
+
+    // Enough that no expense is refused for funds
+    private Account seedAccount(User user) {
+        Account account = new Account();
+        account.setUser(user);
+        account.setAccountName("Bulk Insert Account");
+        account.setAccountType("SAVINGS");
+        account.setInitialBalance(new BigDecimal("10000000.00"));
+        account.setCurrentBalance(new BigDecimal("10000000.00"));
+        account.setIsActive(true);
+        return accountRepository.save(account);
+    }
+
+    private List<Category> seedCategories(User user) {
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) {
+            Category category = new Category();
+            category.setCategoryName("Bulk Category " + i);
+            category.setCategoryType("EXPENSE");
+            category.setUser(user);
+            category.setIsCustom(true);
+            categories.add(categoryRepository.save(category));
+        }
+        return categories;
+    }
+
+    private static List<Expense> expenses(
+            User user, Account account, List<Category> categories) {
+        List<Expense> expenses = new ArrayList<>(ROWS);
+        LocalDate day = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < ROWS; i++) {
+            Expense expense = new Expense();
+            expense.setUser(user);
+            expense.setAccount(account);
+            expense.setCategory(categories.get(i % CATEGORIES));
+            expense.setAmount(BigDecimal.valueOf(100 + i % 900, 2));
+            expense.setDescription("Bulk " + i);
+            expense.setDateSpent(day.plusDays(i % 365));
+            expense.setPaymentMethod("CARD");
+            expenses.add(expense);
+        }
+        return expenses;
+    }
+}
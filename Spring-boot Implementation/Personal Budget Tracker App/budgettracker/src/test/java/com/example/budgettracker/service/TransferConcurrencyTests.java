@@ -0,0 +1,212 @@
+package com.example.budgettracker.service;
+
+import com.example.budgettracker.model.Account;
+import com.example.budgettracker.model.Transfer;
+import com.example.budgettracker.model.User;
+import com.example.budgettracker.repository.AccountRepository;
+import com.example.budgettracker.repository.TransferRepository;
+import com.example.budgettracker.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fires thousands of random transfers between a handful of accounts from
+ * many threads at once, then checks that no money was created or lost
+ * and that every balance matches the transfers that were recorded. The
+ * accounts belong to two users, so transfers between them run in both
+ * directions and update both owners' summaries, which must still agree
+ * with the accounts. A deadlock fails the test. The data is committed by
+ * the transfers themselves, so it is removed again afterwards.
+ *
+ * Needs Docker; skipped where it is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest
+class TransferConcurrencyTests {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer mysql = new MySQLContainer("mysql:8.4");
+
+    private static final int ACCOUNTS = 8;
+    private static final int USERS = 2;
+    private static final int THREADS = 16;
+    private static final int TRANSFERS = 4_000;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserSummaryService userSummaryService;
+
+    private final List<Integer> userIds = new ArrayList<>();
+    private final List<Integer> transferIds =
+            Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void concurrentTransfersConserveMoney() throws Exception {
+
+        List<Integer> accountIds = seed();
+
+        AtomicInteger insufficient = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < TRANSFERS; i++) {
+            tasks.add(() -> {
+                transferOnce(accountIds, insufficient);
+                return null;
+            });
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<Void>> results;
+        try {
+            results = pool.invokeAll(tasks);
+        } finally {
+            pool.shutdown();
+        }
+
+        // Anything other than an insufficient-funds rejection fails here
+        for (Future<Void> result : results) {
+            result.get();
+        }
+        assertEquals(TRANSFERS, transferIds.size() + insufficient.get());
+
+        // Money is conserved
+        Map<Integer, BigDecimal> balances = new HashMap<>();
+        Map<Integer, BigDecimal> userBalances = new HashMap<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (Account account : accountRepository.findAllById(accountIds)) {
+            assertTrue(account.getCurrentBalance().signum() >= 0,
+                    "Account " + account.getAccountId() + " went negative");
+            balances.put(account.getAccountId(), account.getCurrentBalance());
+            userBalances.merge(account.getUser().getUserId(),
+                    account.getCurrentBalance(), BigDecimal::add);
+            total = total.add(account.getCurrentBalance());
+        }
+        assertEquals(0, OPENING_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS))
+                .compareTo(total));
+
+        // Each owner's summary followed the transfers across users
+        for (Integer userId : userIds) {
+            assertEquals(0, userBalances.get(userId).compareTo(
+                            userSummaryService.getSummary(userId).getTotalBalance()),
+                    "Summary balance mismatch for user " + userId);
+        }
+
+        // Every balance is explained by the transfers that were recorded
+        Map<Integer, BigDecimal> expected = new HashMap<>();
+        accountIds.forEach(id -> expected.put(id, OPENING_BALANCE));
+        for (Transfer transfer : transferRepository.findAllById(transferIds)) {
+            expected.merge(transfer.getFromAccount().getAccountId(),
+                    transfer.getAmount().negate(), BigDecimal::add);
+            expected.merge(transfer.getToAccount().getAccountId(),
+                    transfer.getAmount(), BigDecimal::add);
+        }
+        for (Integer id : accountIds) {
+            assertEquals(0, expected.get(id).compareTo(balances.get(id)),
+                    "Balance mismatch on account " + id);
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        transferRepository.deleteAllById(transferIds);
+        userIds.forEach(userService::deleteUser);
+    }
+
+    private void transferOnce(List<Integer> accountIds,
+                              AtomicInteger insufficient) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accountIds.size());
+        int to = (from + 1 + random.nextInt(accountIds.size() - 1))
+                % accountIds.size();
+
+        Transfer transfer = new Transfer();
+        transfer.setFromAccount(reference(accountIds.get(from)));
+        transfer.setToAccount(reference(accountIds.get(to)));
+        transfer.setAmount(BigDecimal.valueOf(random.nextInt(1, 20_000), 2));
+        transfer.setDate(LocalDate.now());
+        transfer.setDescription("Concurrency test");
+
+        try {
+            transferIds.add(
+                    transferService.createTransfer(transfer).getTransferId());
+        } catch (RuntimeException e) {
+            if (e.getMessage() == null
+                    || !e.getMessage().startsWith("Insufficient balance")) {
+                throw e;
+            }
+            insufficient.incrementAndGet();
+        }
+    }
+
+    private List<Integer> seed() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setName("Concurrency User " + i);
+            user.setEmail("transfer-concurrency-" + i + "@example.com");
+            user.setCurrencyPreference("INR");
+            users.add(userRepository.save(user));
+            userIds.add(user.getUserId());
+        }
+
+        List<Integer> accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Account account = new Account();
+            account.setUser(users.get(i % USERS));
+            account.setAccountName("Concurrency Account " + i);
+            account.setAccountType("SAVINGS");
+            account.setInitialBalance(OPENING_BALANCE);
+            account.setCurrentBalance(OPENING_BALANCE);
+            account.setIsActive(true);
+            accountIds.add(accountRepository.save(account).getAccountId());
+        }
+
+        // Create the summaries up front rather than racing to build them
+        userIds.forEach(userSummaryService::rebuild);
+        return accountIds;
+    }
+
+    private static Account reference(Integer accountId) {
+        Account account = new Account();
+        account.setAccountId(accountId);
+        return account;
+    }
+}